@@ -49,6 +49,7 @@ import org.sonatype.plexus.build.incremental.BuildContext;
 public final class CodeGeneratorImpl implements BasicCodeGenerator, BuildContextAware, MavenProjectAware {
     public static final String CONFIG_PERSISTENT_SOURCES_DIR = "persistentSourcesDir";
     public static final String CONFIG_IGNORE_DUPLICATE_FILES = "ignoreDuplicateFiles";
+    public static final String CONFIG_GENERATE_SERIALIZERS = "generateSerializers";
 
     private static final Logger LOG = LoggerFactory.getLogger(CodeGeneratorImpl.class);
     private static final String FS = File.separator;
@@ -67,10 +68,10 @@ public final class CodeGeneratorImpl implements BasicCodeGenerator, BuildContext
         outputBaseDir = outputDir == null ? getDefaultOutputBaseDir() : outputDir;
 
         final List<Type> types = new BindingGeneratorImpl().generateTypes(context, yangModules);
-        final GeneratorJavaFile generator = new GeneratorJavaFile(types);
 
         File persistentSourcesDir = null;
         boolean ignoreDuplicateFiles = true;
+        boolean generateSerializers = false;
         if (additionalConfig != null) {
             String persistenSourcesPath = additionalConfig.get(CONFIG_PERSISTENT_SOURCES_DIR);
             if (persistenSourcesPath != null) {
@@ -80,11 +81,16 @@ public final class CodeGeneratorImpl implements BasicCodeGenerator, BuildContext
             if (ignoreDuplicateFilesString != null) {
                 ignoreDuplicateFiles = Boolean.parseBoolean(ignoreDuplicateFilesString);
             }
+            String generateSerializersString = additionalConfig.get(CONFIG_GENERATE_SERIALIZERS);
+            if (generateSerializersString != null) {
+                generateSerializers = Boolean.parseBoolean(generateSerializersString);
+            }
         }
         if (persistentSourcesDir == null) {
             persistentSourcesDir = new File(projectBaseDir, "src" + FS + "main" + FS + "java");
         }
 
+        final GeneratorJavaFile generator = new GeneratorJavaFile(types, generateSerializers);
         final Table<FileKind, String, Supplier<String>> generatedFiles = generator.generateFileContent(
             ignoreDuplicateFiles);
         final List<File> result = new ArrayList<>(generatedFiles.size());
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.api;
+
+import com.google.common.annotations.Beta;
+import com.google.common.util.concurrent.FluentFuture;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.common.api.ReadFailedException;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.Identifiable;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * A {@link BindingService} which allows users to look up entries of a keyed list by the value of a leaf other than
+ * their key, using secondary indexes maintained by the underlying data stores. Which lists and leaves are indexed is
+ * a matter of data store configuration.
+ */
+@Beta
+public interface DataTreeIndexService extends BindingService {
+    /**
+     * Look up entries of a keyed list whose indexed leaf has the specified value. All entries are read from a single,
+     * consistent state of the data store.
+     *
+     * @param store Logical data store which should be searched
+     * @param list Wildcarded InstanceIdentifier of the list entries
+     * @param leaf Local name of the indexed leaf, as defined in the YANG model. The leaf must be a direct child of
+     *             the list entries.
+     * @param value Value of the leaf to look up
+     * @return a FluentFuture containing the result of the lookup. Once complete:
+     *         <ul>
+     *         <li>The Future returns a Map of matching entries, keyed by their InstanceIdentifier. The Map is empty
+     *         if there are no matching entries.</li>
+     *         <li>If the lookup fails, the Future will fail with a {@link ReadFailedException} or an exception derived
+     *         from ReadFailedException.</li>
+     *         </ul>
+     * @throws NullPointerException if any of the arguments is null
+     * @throws IllegalArgumentException if the list does not have the leaf, or the data store does not index the list
+     *                                  by the leaf
+     */
+    <T extends DataObject & Identifiable<?>> @NonNull FluentFuture<Map<InstanceIdentifier<T>, T>> lookup(
+            @NonNull LogicalDatastoreType store, @NonNull InstanceIdentifier<T> list, @NonNull String leaf,
+            @NonNull Object value);
+}
@@ -7,7 +7,11 @@
  */
 package org.opendaylight.mdsal.binding.api;
 
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.util.concurrent.FluentFutures;
@@ -87,4 +91,50 @@ public interface NotificationPublishService extends BindingService {
      */
     @NonNull ListenableFuture<? extends Object> offerNotification(@NonNull Notification notification,
             int timeout, @NonNull TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Publishes a batch of notifications to subscribed listeners, as if {@link #putNotification(Notification)} was
+     * invoked for each of them in iteration order. Implementations are free to amortize the cost of accepting
+     * the notifications across the entire batch.
+     *
+     * <p>
+     * The default implementation invokes {@link #putNotification(Notification)} for each notification.
+     *
+     * @param notifications the notifications to publish.
+     * @throws InterruptedException if interrupted while waiting
+     * @throws NullPointerException if notifications or any of its elements is null
+     */
+    default void putNotifications(final @NonNull Collection<? extends Notification> notifications)
+            throws InterruptedException {
+        for (Notification notification : notifications) {
+            putNotification(notification);
+        }
+    }
+
+    /**
+     * Publishes a batch of notifications to subscribed listeners. This method is guaranteed not to block.
+     *
+     * <p>
+     * The default implementation invokes {@link #offerNotification(Notification)} for each notification and reports
+     * {@link #REJECTED} as soon as a notification is rejected. Notifications preceding it will have been accepted for
+     * delivery.
+     *
+     * @param notifications the notifications to publish.
+     * @return A listenable future which will report completion when the service has finished propagating all
+     *         notifications to their immediate registrants, or {@link #REJECTED} if resource constraints prevent
+     *         the implementation from accepting the notifications for delivery.
+     * @throws NullPointerException if notifications or any of its elements is null
+     */
+    default @NonNull ListenableFuture<? extends Object> offerNotifications(
+            final @NonNull Collection<? extends Notification> notifications) {
+        final List<ListenableFuture<?>> futures = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            final ListenableFuture<?> future = offerNotification(notification);
+            if (REJECTED.equals(future)) {
+                return REJECTED;
+            }
+            futures.add(future);
+        }
+        return Futures.allAsList(futures);
+    }
 }
@@ -9,6 +9,8 @@ package org.opendaylight.mdsal.binding.api;
 
 import com.google.common.util.concurrent.FluentFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
@@ -71,4 +73,31 @@ public interface ReadOperations {
             final @NonNull InstanceIdentifier<?> path) {
         return read(store, path).transform(Optional::isPresent, MoreExecutors.directExecutor());
     }
+
+    /**
+     * Reads data from the provided logical data store located at each of the provided paths. All paths are read from
+     * the same state of the data store, and the results are delivered through a single future.
+     *
+     * <p>
+     * Default implementation just delegates to {@link #read(LogicalDatastoreType, InstanceIdentifier)} for each path.
+     * Implementations are recommended to override with a more efficient implementation.
+     *
+     * @param store Logical data store from which read should occur.
+     * @param paths Paths which uniquely identify subtrees which client want to read
+     * @return a FluentFuture containing the results of the read. The Future blocks until the operation is complete.
+     *         Once complete:
+     *         <ul>
+     *         <li>The Future returns a Map with an entry for each distinct path, in the order in which the paths were
+     *         supplied. The entry's value is an Optional object containing the data, or Optional.empty() if the data
+     *         at that path does not exist.</li>
+     *         <li>If the read of any of the paths fails, the Future will fail with a {@link ReadFailedException} or
+     *         an exception derived from ReadFailedException.</li>
+     *         </ul>
+     * @throws NullPointerException if any of the arguments is null
+     * @throws IllegalArgumentException if any of the paths is {@link InstanceIdentifier#isWildcarded()}
+     */
+    default <T extends DataObject> @NonNull FluentFuture<Map<InstanceIdentifier<T>, Optional<T>>> readAll(
+            final @NonNull LogicalDatastoreType store, final @NonNull Collection<InstanceIdentifier<T>> paths) {
+        return IndividualReads.readAll(paths, path -> read(store, path));
+    }
 }
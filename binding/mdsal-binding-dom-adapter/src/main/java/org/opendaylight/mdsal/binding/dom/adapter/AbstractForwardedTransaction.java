@@ -11,8 +11,13 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.FluentFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
@@ -22,6 +27,7 @@ import org.opendaylight.yangtools.concepts.Delegator;
 import org.opendaylight.yangtools.concepts.Identifiable;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 
 abstract class AbstractForwardedTransaction<T extends DOMDataTreeTransaction> implements Delegator<T>,
         Identifiable<Object> {
@@ -62,6 +68,26 @@ abstract class AbstractForwardedTransaction<T extends DOMDataTreeTransaction> im
                 .transform(codec.getCodecRegistry().deserializeFunction(path)::apply, MoreExecutors.directExecutor());
     }
 
+    protected final <D extends DataObject> @NonNull FluentFuture<Map<InstanceIdentifier<D>, Optional<D>>> doReadAll(
+            final DOMDataTreeReadOperations readOps, final LogicalDatastoreType store,
+            final Collection<InstanceIdentifier<D>> paths) {
+        final Map<YangInstanceIdentifier, InstanceIdentifier<D>> domPaths = new LinkedHashMap<>();
+        for (InstanceIdentifier<D> path : paths) {
+            checkArgument(!path.isWildcarded(), "Invalid read of wildcarded path %s", path);
+            domPaths.put(codec.toYangInstanceIdentifierBlocking(path), path);
+        }
+
+        return readOps.readAll(store, domPaths.keySet()).transform(results -> {
+            final ImmutableMap.Builder<InstanceIdentifier<D>, Optional<D>> builder = ImmutableMap.builder();
+            for (Entry<YangInstanceIdentifier, InstanceIdentifier<D>> entry : domPaths.entrySet()) {
+                final InstanceIdentifier<D> path = entry.getValue();
+                builder.put(path, codec.getCodecRegistry().deserializeFunction(path).apply(
+                    results.get(entry.getKey())));
+            }
+            return builder.build();
+        }, MoreExecutors.directExecutor());
+    }
+
     protected final @NonNull FluentFuture<Boolean> doExists(final DOMDataTreeReadOperations readOps,
             final LogicalDatastoreType store, final InstanceIdentifier<?> path) {
         checkArgument(!path.isWildcarded(), "Invalid exists of wildcarded path %s", path);
@@ -31,7 +31,7 @@ public class BindingDOMCursorAwareWriteTransactionAdapter<T extends DOMDataTreeC
         final YangInstanceIdentifier yPath = getCodec().toNormalized(path.getRootIdentifier());
         final DOMDataTreeWriteCursor cursor = getDelegate().createCursor(
                 new DOMDataTreeIdentifier(path.getDatastoreType(), yPath));
-        return new BindingDOMDataTreeWriteCursorAdapter<>(path, cursor, getCodec());
+        return new BindingDOMDataTreeWriteCursorAdapter<>(path, cursor, getCodec(), true);
     }
 
     @Override
@@ -9,22 +9,29 @@ package org.opendaylight.mdsal.binding.dom.adapter;
 
 import com.google.common.collect.ClassToInstanceMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.FluentFuture;
+import java.util.Map;
 import java.util.Set;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.binding.api.DataTreeChangeListener;
 import org.opendaylight.mdsal.binding.api.DataTreeChangeService;
 import org.opendaylight.mdsal.binding.api.DataTreeIdentifier;
+import org.opendaylight.mdsal.binding.api.DataTreeIndexService;
 import org.opendaylight.mdsal.binding.api.ReadTransaction;
 import org.opendaylight.mdsal.binding.api.ReadWriteTransaction;
 import org.opendaylight.mdsal.binding.api.TransactionChain;
 import org.opendaylight.mdsal.binding.api.TransactionChainListener;
 import org.opendaylight.mdsal.binding.api.WriteTransaction;
 import org.opendaylight.mdsal.binding.dom.adapter.BindingDOMAdapterBuilder.Factory;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMDataBroker;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIndexService;
 import org.opendaylight.mdsal.dom.api.DOMService;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.Identifiable;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 
 
 /**
@@ -38,11 +45,12 @@ import org.opendaylight.yangtools.yang.binding.DataObject;
  *
  */
 public class BindingDOMDataBrokerAdapter extends AbstractForwardedDataBroker implements
-        DataBroker, DataTreeChangeService {
+        DataBroker, DataTreeChangeService, DataTreeIndexService {
 
 
     static final Factory<DataBroker> BUILDER_FACTORY = Builder::new;
     private final DataTreeChangeService treeChangeService;
+    private final DataTreeIndexService indexService;
 
     public BindingDOMDataBrokerAdapter(final DOMDataBroker domDataBroker, final BindingToNormalizedNodeCodec codec) {
         super(domDataBroker, codec);
@@ -53,6 +61,9 @@ public class BindingDOMDataBrokerAdapter extends AbstractForwardedDataBroker imp
         } else {
             treeChangeService = null;
         }
+        final DOMDataTreeIndexService domIndex = domDataBroker.getExtensions()
+                .getInstance(DOMDataTreeIndexService.class);
+        indexService = domIndex != null ? BindingDOMDataTreeIndexServiceAdapter.create(codec, domIndex) : null;
     }
 
     @Override
@@ -100,4 +111,13 @@ public class BindingDOMDataBrokerAdapter extends AbstractForwardedDataBroker imp
         }
         return treeChangeService.registerDataTreeChangeListener(treeId, listener);
     }
+
+    @Override
+    public <T extends DataObject & Identifiable<?>> FluentFuture<Map<InstanceIdentifier<T>, T>> lookup(
+            final LogicalDatastoreType store, final InstanceIdentifier<T> list, final String leaf, final Object value) {
+        if (indexService == null) {
+            throw new UnsupportedOperationException("Underlying data broker does not expose DOMDataTreeIndexService.");
+        }
+        return indexService.lookup(store, list, leaf, value);
+    }
 }
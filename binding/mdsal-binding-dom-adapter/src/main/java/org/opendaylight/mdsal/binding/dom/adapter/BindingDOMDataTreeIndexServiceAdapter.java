@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.adapter;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.opendaylight.mdsal.binding.api.DataTreeIndexService;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIndexService;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.Identifiable;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+
+/**
+ * Adapter exposing Binding {@link DataTreeIndexService} and wrapping a {@link DOMDataTreeIndexService}. The list
+ * and the looked up value are translated to their DOM representation, the matching entries are translated back.
+ */
+final class BindingDOMDataTreeIndexServiceAdapter extends AbstractBindingAdapter<DOMDataTreeIndexService>
+        implements DataTreeIndexService {
+
+    private BindingDOMDataTreeIndexServiceAdapter(final BindingToNormalizedNodeCodec codec,
+            final DOMDataTreeIndexService indexService) {
+        super(codec, indexService);
+    }
+
+    static DataTreeIndexService create(final BindingToNormalizedNodeCodec codec,
+            final DOMDataTreeIndexService indexService) {
+        return new BindingDOMDataTreeIndexServiceAdapter(codec, indexService);
+    }
+
+    @Override
+    public <T extends DataObject & Identifiable<?>> FluentFuture<Map<InstanceIdentifier<T>, T>> lookup(
+            final LogicalDatastoreType store, final InstanceIdentifier<T> list, final String leaf, final Object value) {
+        final YangInstanceIdentifier domList = getCodec().toYangInstanceIdentifierBlocking(list);
+        final Entry<NodeIdentifier, Object> domLeaf = getCodec().getCodecRegistry().toNormalizedLeaf(list, leaf, value);
+
+        return getDelegate().lookup(store, domList, YangInstanceIdentifier.create(domLeaf.getKey()),
+            domLeaf.getValue()).transform(this::<T>fromNormalizedEntries, MoreExecutors.directExecutor());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends DataObject> Map<InstanceIdentifier<T>, T> fromNormalizedEntries(
+            final Map<YangInstanceIdentifier, MapEntryNode> entries) {
+        final ImmutableMap.Builder<InstanceIdentifier<T>, T> builder = ImmutableMap.builder();
+        for (Entry<YangInstanceIdentifier, MapEntryNode> entry : entries.entrySet()) {
+            final Entry<InstanceIdentifier<?>, DataObject> binding = getCodec().fromNormalizedNode(entry.getKey(),
+                entry.getValue());
+            builder.put((InstanceIdentifier<T>) binding.getKey(), (T) binding.getValue());
+        }
+        return builder.build();
+    }
+}
@@ -9,6 +9,7 @@
 package org.opendaylight.mdsal.binding.dom.adapter;
 
 import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayDeque;
 import java.util.Deque;
@@ -25,10 +26,26 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 public class BindingDOMDataTreeWriteCursorAdapter<T extends DOMDataTreeWriteCursor>
         extends AbstractBindingAdapter<T> implements DataTreeWriteCursor {
     private final Deque<PathArgument> stack = new ArrayDeque<>();
+    private final boolean streaming;
 
     public BindingDOMDataTreeWriteCursorAdapter(final DataTreeIdentifier<?> path, final T delegate,
             final BindingToNormalizedNodeCodec codec) {
+        this(path, delegate, codec, false);
+    }
+
+    /**
+     * Create a new adapter.
+     *
+     * @param path Initial position of the cursor
+     * @param delegate Backing DOM cursor
+     * @param codec Binding codec
+     * @param streaming True if written data should be streamed into the delegate, as opposed to being converted to
+     *                  a single NormalizedNode first.
+     */
+    public BindingDOMDataTreeWriteCursorAdapter(final DataTreeIdentifier<?> path, final T delegate,
+            final BindingToNormalizedNodeCodec codec, final boolean streaming) {
         super(codec, delegate);
+        this.streaming = streaming;
         path.getRootIdentifier().getPathArguments().forEach(stack::push);
     }
 
@@ -50,6 +67,21 @@ public class BindingDOMDataTreeWriteCursorAdapter<T extends DOMDataTreeWriteCurs
         return entry;
     }
 
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private <P extends DataObject> void streamToDelegate(final PathArgument child, final P data,
+            final boolean merge) {
+        stack.push(child);
+        final InstanceIdentifier iid = InstanceIdentifier.create(stack);
+        stack.pop();
+
+        // The delegate is positioned at our parent, hence the writer starts with the child itself
+        try {
+            getCodec().streamNormalizedNode(iid, data, new DOMDataTreeWriteCursorStreamWriter(getDelegate(), merge));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to stream " + iid, e);
+        }
+    }
+
     @Override
     public void delete(final PathArgument child) {
         getDelegate().delete(convertToNormalized(child));
@@ -57,12 +89,20 @@ public class BindingDOMDataTreeWriteCursorAdapter<T extends DOMDataTreeWriteCurs
 
     @Override
     public <P extends DataObject> void merge(final PathArgument child, final P data) {
+        if (streaming) {
+            streamToDelegate(child, data, true);
+            return;
+        }
         final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> entry = convertToNormalized(child, data);
         getDelegate().merge(entry.getKey().getLastPathArgument(), entry.getValue());
     }
 
     @Override
     public <P extends DataObject> void write(final PathArgument child, final P data) {
+        if (streaming) {
+            streamToDelegate(child, data, false);
+            return;
+        }
         final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> entry = convertToNormalized(child, data);
         getDelegate().write(entry.getKey().getLastPathArgument(), entry.getValue());
     }
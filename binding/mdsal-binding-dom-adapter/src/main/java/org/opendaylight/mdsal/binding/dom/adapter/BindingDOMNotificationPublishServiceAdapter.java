@@ -10,8 +10,11 @@ package org.opendaylight.mdsal.binding.dom.adapter;
 import com.google.common.collect.ClassToInstanceMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.ListenableFuture;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.opendaylight.mdsal.binding.api.NotificationPublishService;
 import org.opendaylight.mdsal.binding.dom.adapter.BindingDOMAdapterBuilder.Factory;
 import org.opendaylight.mdsal.dom.api.DOMNotification;
@@ -66,6 +69,25 @@ public class BindingDOMNotificationPublishServiceAdapter extends AbstractBinding
                 : offerResult;
     }
 
+    @Override
+    public void putNotifications(final Collection<? extends Notification> notifications)
+            throws InterruptedException {
+        getDelegate().putNotifications(toDomNotifications(notifications));
+    }
+
+    @Override
+    public ListenableFuture<? extends Object> offerNotifications(
+            final Collection<? extends Notification> notifications) {
+        ListenableFuture<?> offerResult = getDelegate().offerNotifications(toDomNotifications(notifications));
+        return DOMNotificationPublishService.REJECTED.equals(offerResult)
+                ? NotificationPublishService.REJECTED
+                : offerResult;
+    }
+
+    private List<DOMNotification> toDomNotifications(final Collection<? extends Notification> notifications) {
+        return notifications.stream().map(this::toDomNotification).collect(Collectors.toList());
+    }
+
     private DOMNotification toDomNotification(final Notification notification) {
         return LazySerializedDOMNotification.create(getCodec(), notification);
     }
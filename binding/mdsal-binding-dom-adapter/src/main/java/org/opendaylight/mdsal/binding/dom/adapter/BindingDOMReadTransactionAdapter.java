@@ -8,6 +8,8 @@
 package org.opendaylight.mdsal.binding.dom.adapter;
 
 import com.google.common.util.concurrent.FluentFuture;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import org.opendaylight.mdsal.binding.api.ReadTransaction;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
@@ -34,6 +36,12 @@ final class BindingDOMReadTransactionAdapter extends AbstractForwardedTransactio
         return doExists(getDelegate(), store, path);
     }
 
+    @Override
+    public <T extends DataObject> FluentFuture<Map<InstanceIdentifier<T>, Optional<T>>> readAll(
+            final LogicalDatastoreType store, final Collection<InstanceIdentifier<T>> paths) {
+        return doReadAll(getDelegate(), store, paths);
+    }
+
     @Override
     public void close() {
         getDelegate().close();
@@ -8,6 +8,8 @@
 package org.opendaylight.mdsal.binding.dom.adapter;
 
 import com.google.common.util.concurrent.FluentFuture;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import org.opendaylight.mdsal.binding.api.ReadWriteTransaction;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
@@ -33,4 +35,10 @@ class BindingDOMReadWriteTransactionAdapter extends BindingDOMWriteTransactionAd
     public FluentFuture<Boolean> exists(final LogicalDatastoreType store, final InstanceIdentifier<?> path) {
         return doExists(getDelegate(), store, path);
     }
+
+    @Override
+    public final <T extends DataObject> FluentFuture<Map<InstanceIdentifier<T>, Optional<T>>> readAll(
+            final LogicalDatastoreType store, final Collection<InstanceIdentifier<T>> paths) {
+        return doReadAll(getDelegate(), store, paths);
+    }
 }
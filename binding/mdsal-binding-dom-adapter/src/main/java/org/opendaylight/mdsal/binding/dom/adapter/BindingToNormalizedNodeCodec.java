@@ -11,12 +11,10 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterators;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.Collection;
@@ -37,6 +35,7 @@ import org.opendaylight.mdsal.binding.dom.codec.api.BindingLazyContainerNode;
 import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeSerializer;
 import org.opendaylight.mdsal.binding.dom.codec.gen.impl.StreamWriterGenerator;
 import org.opendaylight.mdsal.binding.dom.codec.impl.BindingNormalizedNodeCodecRegistry;
+import org.opendaylight.mdsal.binding.dom.codec.impl.InstanceIdentifierCacheStats;
 import org.opendaylight.mdsal.binding.dom.codec.impl.MissingSchemaException;
 import org.opendaylight.mdsal.binding.generator.api.ClassLoadingStrategy;
 import org.opendaylight.mdsal.binding.generator.util.BindingRuntimeContext;
@@ -47,6 +46,7 @@ import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMSchemaService;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.binding.Action;
+import org.opendaylight.yangtools.yang.binding.BindingStreamEventWriter;
 import org.opendaylight.yangtools.yang.binding.DataContainer;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
@@ -60,6 +60,7 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.impl.codec.DeserializationException;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
@@ -88,13 +89,6 @@ public class BindingToNormalizedNodeCodec implements BindingCodecTreeFactory,
     private static final long WAIT_DURATION_SEC = 5;
     private static final Logger LOG = LoggerFactory.getLogger(BindingToNormalizedNodeCodec.class);
 
-    private final LoadingCache<InstanceIdentifier<?>, YangInstanceIdentifier> iiCache = CacheBuilder.newBuilder()
-            .softValues().build(new CacheLoader<InstanceIdentifier<?>, YangInstanceIdentifier>() {
-                @Override
-                public YangInstanceIdentifier load(final InstanceIdentifier<?> key) {
-                    return toYangInstanceIdentifierBlocking(key);
-                }
-            });
     private final BindingNormalizedNodeCodecRegistry codecRegistry;
     private final ClassLoadingStrategy classLoadingStrategy;
     private final FutureSchema futureSchema;
@@ -152,7 +146,22 @@ public class BindingToNormalizedNodeCodec implements BindingCodecTreeFactory,
     }
 
     protected YangInstanceIdentifier toYangInstanceIdentifierCached(final InstanceIdentifier<?> binding) {
-        return iiCache.getUnchecked(binding);
+        try {
+            return codecRegistry.toYangInstanceIdentifierCached(binding);
+        } catch (final MissingSchemaException e) {
+            waitForSchema(decompose(binding), e);
+            return codecRegistry.toYangInstanceIdentifierCached(binding);
+        }
+    }
+
+    /**
+     * Return statistics of the cache used to translate InstanceIdentifiers of RPC implementations and routed RPC
+     * invocations.
+     *
+     * @return Cache statistics
+     */
+    public final InstanceIdentifierCacheStats getInstanceIdentifierCacheStats() {
+        return codecRegistry.getInstanceIdentifierCacheStats();
     }
 
     @Override
@@ -182,6 +191,28 @@ public class BindingToNormalizedNodeCodec implements BindingCodecTreeFactory,
         return toNormalizedNode((InstanceIdentifier) binding.getKey(), binding.getValue());
     }
 
+    /**
+     * Stream Binding data into a {@link NormalizedNodeStreamWriter}, without materializing its NormalizedNode
+     * representation. The first event emitted corresponds to the node identified by {@code path}.
+     *
+     * @param path Binding Instance Identifier of the data
+     * @param data Data to be serialized
+     * @param writer Target stream writer
+     * @throws IllegalArgumentException If supplied Instance Identifier is not valid.
+     * @throws IOException if the target writer reports a failure
+     */
+    public final <T extends DataObject> void streamNormalizedNode(final InstanceIdentifier<T> path, final T data,
+            final NormalizedNodeStreamWriter writer) throws IOException {
+        BindingStreamEventWriter bindingWriter;
+        try {
+            bindingWriter = codecRegistry.newWriter(path, writer);
+        } catch (final MissingSchemaException e) {
+            waitForSchema(decompose(path), e);
+            bindingWriter = codecRegistry.newWriter(path, writer);
+        }
+        codecRegistry.getSerializer(path.getTargetType()).serialize(data, bindingWriter);
+    }
+
     @Override
     public final Entry<InstanceIdentifier<?>, DataObject> fromNormalizedNode(final YangInstanceIdentifier path,
             final NormalizedNode<?, ?> data) {
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.adapter;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+
+/**
+ * A {@link NormalizedNodeStreamWriter} which writes or merges the events it receives directly into a
+ * {@link DOMDataTreeWriteCursor}, without building the complete NormalizedNode first.
+ *
+ * <p>
+ * Containers and maps are opened in the cursor as soon as they start, as empty nodes, and the cursor enters them.
+ * Every other node, such as a map entry, is buffered until it ends and is then written as a single unit. This means
+ * that at most one list entry is materialized at any given time, regardless of how large the list is.
+ */
+final class DOMDataTreeWriteCursorStreamWriter implements NormalizedNodeStreamWriter {
+    private final DOMDataTreeWriteCursor cursor;
+    private final boolean merge;
+
+    private NormalizedNodeStreamWriter buffer;
+    private NormalizedNodeResult bufferResult;
+    private PathArgument bufferId;
+    private DataSchemaNode nextSchema;
+    private int bufferDepth;
+
+    DOMDataTreeWriteCursorStreamWriter(final DOMDataTreeWriteCursor cursor, final boolean merge) {
+        this.cursor = requireNonNull(cursor);
+        this.merge = merge;
+    }
+
+    @Override
+    public void nextDataSchemaNode(final DataSchemaNode schema) {
+        if (buffer != null) {
+            buffer.nextDataSchemaNode(schema);
+        } else {
+            nextSchema = schema;
+        }
+    }
+
+    @Override
+    public void leafNode(final NodeIdentifier name, final Object value) throws IOException {
+        if (buffer != null) {
+            buffer.leafNode(name, value);
+        } else {
+            nextSchema = null;
+            apply(name, ImmutableNodes.leafNode(name, value));
+        }
+    }
+
+    @Override
+    public void anyxmlNode(final NodeIdentifier name, final Object value) throws IOException {
+        startBuffer(name).anyxmlNode(name, value);
+        endBuffer();
+    }
+
+    @Override
+    public void startLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startBuffer(name).startLeafSet(name, childSizeHint);
+    }
+
+    @Override
+    public void startOrderedLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startBuffer(name).startOrderedLeafSet(name, childSizeHint);
+    }
+
+    @Override
+    public void leafSetEntryNode(final QName name, final Object value) throws IOException {
+        checkState(buffer != null, "Leaf-set entry %s outside of a leaf-set", name);
+        buffer.leafSetEntryNode(name, value);
+    }
+
+    @Override
+    public void startContainerNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (buffer != null) {
+            startBuffer(name).startContainerNode(name, childSizeHint);
+        } else {
+            enter(name, Builders.containerBuilder().withNodeIdentifier(name).build());
+        }
+    }
+
+    @Override
+    public void startUnkeyedList(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startBuffer(name).startUnkeyedList(name, childSizeHint);
+    }
+
+    @Override
+    public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startBuffer(name).startUnkeyedListItem(name, childSizeHint);
+    }
+
+    @Override
+    public void startMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (buffer != null) {
+            startBuffer(name).startMapNode(name, childSizeHint);
+        } else {
+            enter(name, Builders.mapBuilder().withNodeIdentifier(name).build());
+        }
+    }
+
+    @Override
+    public void startOrderedMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (buffer != null) {
+            startBuffer(name).startOrderedMapNode(name, childSizeHint);
+        } else {
+            enter(name, Builders.orderedMapBuilder().withNodeIdentifier(name).build());
+        }
+    }
+
+    @Override
+    public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint)
+            throws IOException {
+        startBuffer(identifier).startMapEntryNode(identifier, childSizeHint);
+    }
+
+    @Override
+    public void startChoiceNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startBuffer(name).startChoiceNode(name, childSizeHint);
+    }
+
+    @Override
+    public void startAugmentationNode(final AugmentationIdentifier identifier) throws IOException {
+        startBuffer(identifier).startAugmentationNode(identifier);
+    }
+
+    @Override
+    public void startYangModeledAnyXmlNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startBuffer(name).startYangModeledAnyXmlNode(name, childSizeHint);
+    }
+
+    @Override
+    public void endNode() throws IOException {
+        if (buffer != null) {
+            buffer.endNode();
+            endBuffer();
+        } else {
+            cursor.exit();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        checkState(buffer == null, "Attempted to flush while %s is incomplete", bufferId);
+    }
+
+    private void apply(final PathArgument child, final NormalizedNode<?, ?> data) {
+        if (merge) {
+            cursor.merge(child, data);
+        } else {
+            cursor.write(child, data);
+        }
+    }
+
+    private void enter(final PathArgument child, final NormalizedNode<?, ?> emptyData) {
+        nextSchema = null;
+        apply(child, emptyData);
+        cursor.enter(child);
+    }
+
+    /**
+     * Return the writer to which the next start event should be routed, starting a new buffered unit if needed.
+     *
+     * @param child Identifier of the node being started
+     * @return Target writer
+     */
+    private NormalizedNodeStreamWriter startBuffer(final PathArgument child) {
+        if (buffer == null) {
+            bufferResult = new NormalizedNodeResult();
+            buffer = ImmutableNormalizedNodeStreamWriter.from(bufferResult);
+            bufferId = child;
+            if (nextSchema != null) {
+                buffer.nextDataSchemaNode(nextSchema);
+                nextSchema = null;
+            }
+        }
+        bufferDepth++;
+        return buffer;
+    }
+
+    private void endBuffer() {
+        if (--bufferDepth == 0) {
+            final NormalizedNode<?, ?> data = bufferResult.getResult();
+            final PathArgument child = bufferId;
+            buffer = null;
+            bufferResult = null;
+            bufferId = null;
+            apply(child, data);
+        }
+    }
+}
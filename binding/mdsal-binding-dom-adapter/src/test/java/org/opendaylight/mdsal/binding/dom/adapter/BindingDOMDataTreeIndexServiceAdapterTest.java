@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.adapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.mdsal.binding.api.DataTreeIndexService;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIndexService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelListKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.top.level.list.NestedList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.top.level.list.NestedListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.top.level.list.NestedListKey;
+import org.opendaylight.yangtools.util.concurrent.FluentFutures;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class BindingDOMDataTreeIndexServiceAdapterTest extends AbstractAdapterTest {
+    private static final QName TOP_LEVEL_NAME = QName.create(TopLevelList.QNAME, "name");
+    private static final QName NESTED_NAME = QName.create(NestedList.QNAME, "name");
+    private static final QName NESTED_TYPE = QName.create(NestedList.QNAME, "type");
+
+    private static final InstanceIdentifier<NestedList> NESTED_LISTS = InstanceIdentifier.builder(Top.class)
+            .child(TopLevelList.class).child(NestedList.class).build();
+    private static final YangInstanceIdentifier DOM_NESTED_LISTS = YangInstanceIdentifier.create(
+        new NodeIdentifier(Top.QNAME), new NodeIdentifier(TopLevelList.QNAME), new NodeIdentifier(TopLevelList.QNAME),
+        new NodeIdentifier(NestedList.QNAME), new NodeIdentifier(NestedList.QNAME));
+    private static final YangInstanceIdentifier DOM_TYPE = YangInstanceIdentifier.create(
+        new NodeIdentifier(NESTED_TYPE));
+
+    @Mock
+    private DOMDataTreeIndexService delegate;
+
+    private DataTreeIndexService service;
+
+    @Override
+    @Before
+    public void before() {
+        MockitoAnnotations.initMocks(this);
+        super.before();
+
+        service = BindingDOMDataTreeIndexServiceAdapter.create(codec, delegate);
+    }
+
+    @Test
+    public void testLookup() throws InterruptedException, ExecutionException {
+        final NodeIdentifierWithPredicates domEntryId = new NodeIdentifierWithPredicates(NestedList.QNAME,
+            NESTED_NAME, "bar");
+        final YangInstanceIdentifier domEntryPath = YangInstanceIdentifier.create(new NodeIdentifier(Top.QNAME),
+            new NodeIdentifier(TopLevelList.QNAME), new NodeIdentifierWithPredicates(TopLevelList.QNAME,
+                TOP_LEVEL_NAME, "foo"), new NodeIdentifier(NestedList.QNAME), domEntryId);
+        final MapEntryNode domEntry = Builders.mapEntryBuilder()
+                .withNodeIdentifier(domEntryId)
+                .withChild(ImmutableNodes.leafNode(NESTED_NAME, "bar"))
+                .withChild(ImmutableNodes.leafNode(NESTED_TYPE, "baz"))
+                .build();
+        doReturn(FluentFutures.immediateFluentFuture(ImmutableMap.of(domEntryPath, domEntry))).when(delegate)
+            .lookup(LogicalDatastoreType.OPERATIONAL, DOM_NESTED_LISTS, DOM_TYPE, "baz");
+
+        final Map<InstanceIdentifier<NestedList>, NestedList> result = service.lookup(
+            LogicalDatastoreType.OPERATIONAL, NESTED_LISTS, "type", "baz").get();
+        assertEquals(ImmutableMap.of(InstanceIdentifier.builder(Top.class)
+            .child(TopLevelList.class, new TopLevelListKey("foo"))
+            .child(NestedList.class, new NestedListKey("bar")).build(),
+            new NestedListBuilder().withKey(new NestedListKey("bar")).setType("baz").build()), result);
+    }
+
+    @Test
+    public void testLookupNoMatches() throws InterruptedException, ExecutionException {
+        doReturn(FluentFutures.immediateFluentFuture(ImmutableMap.of())).when(delegate)
+            .lookup(LogicalDatastoreType.CONFIGURATION, DOM_NESTED_LISTS, DOM_TYPE, "baz");
+
+        assertTrue(service.lookup(LogicalDatastoreType.CONFIGURATION, NESTED_LISTS, "type", "baz").get().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLookupUnknownLeaf() {
+        try {
+            service.lookup(LogicalDatastoreType.OPERATIONAL, NESTED_LISTS, "unknown", "baz");
+        } finally {
+            verifyNoMoreInteractions(delegate);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLookupNestedLeaf() {
+        try {
+            service.lookup(LogicalDatastoreType.OPERATIONAL, InstanceIdentifier.create(Top.class)
+                .child(TopLevelList.class), "type", "baz");
+        } finally {
+            verifyNoMoreInteractions(delegate);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.adapter;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class DOMDataTreeWriteCursorStreamWriterTest {
+    private static final QName TOP = QName.create("urn:test", "top");
+    private static final QName LIST = QName.create(TOP, "list");
+    private static final QName NAME = QName.create(TOP, "name");
+    private static final NodeIdentifier TOP_ID = new NodeIdentifier(TOP);
+    private static final NodeIdentifier LIST_ID = new NodeIdentifier(LIST);
+    private static final NodeIdentifier NAME_ID = new NodeIdentifier(NAME);
+    private static final NodeIdentifierWithPredicates FOO_ID = new NodeIdentifierWithPredicates(LIST, NAME, "foo");
+    private static final NodeIdentifierWithPredicates BAR_ID = new NodeIdentifierWithPredicates(LIST, NAME, "bar");
+
+    @Test
+    public void testWrite() throws Exception {
+        final DOMDataTreeWriteCursor cursor = mock(DOMDataTreeWriteCursor.class);
+        streamTop(new DOMDataTreeWriteCursorStreamWriter(cursor, false));
+
+        final InOrder inOrder = inOrder(cursor);
+        inOrder.verify(cursor).write(TOP_ID, Builders.containerBuilder().withNodeIdentifier(TOP_ID).build());
+        inOrder.verify(cursor).enter(TOP_ID);
+        inOrder.verify(cursor).write(LIST_ID, Builders.mapBuilder().withNodeIdentifier(LIST_ID).build());
+        inOrder.verify(cursor).enter(LIST_ID);
+        inOrder.verify(cursor).write(FOO_ID, ImmutableNodes.mapEntry(LIST, NAME, "foo"));
+        inOrder.verify(cursor).write(BAR_ID, ImmutableNodes.mapEntry(LIST, NAME, "bar"));
+        inOrder.verify(cursor).exit();
+        inOrder.verify(cursor).write(NAME_ID, ImmutableNodes.leafNode(NAME_ID, "top"));
+        inOrder.verify(cursor).exit();
+        verifyNoMoreInteractions(cursor);
+    }
+
+    @Test
+    public void testMerge() throws Exception {
+        final DOMDataTreeWriteCursor cursor = mock(DOMDataTreeWriteCursor.class);
+        streamTop(new DOMDataTreeWriteCursorStreamWriter(cursor, true));
+
+        final InOrder inOrder = inOrder(cursor);
+        inOrder.verify(cursor).merge(TOP_ID, Builders.containerBuilder().withNodeIdentifier(TOP_ID).build());
+        inOrder.verify(cursor).enter(TOP_ID);
+        inOrder.verify(cursor).merge(LIST_ID, Builders.mapBuilder().withNodeIdentifier(LIST_ID).build());
+        inOrder.verify(cursor).enter(LIST_ID);
+        inOrder.verify(cursor).merge(FOO_ID, ImmutableNodes.mapEntry(LIST, NAME, "foo"));
+        inOrder.verify(cursor).merge(BAR_ID, ImmutableNodes.mapEntry(LIST, NAME, "bar"));
+        inOrder.verify(cursor).exit();
+        inOrder.verify(cursor).merge(NAME_ID, ImmutableNodes.leafNode(NAME_ID, "top"));
+        inOrder.verify(cursor).exit();
+        verifyNoMoreInteractions(cursor);
+    }
+
+    private static void streamTop(final DOMDataTreeWriteCursorStreamWriter writer) throws Exception {
+        writer.startContainerNode(TOP_ID, 2);
+        writer.startMapNode(LIST_ID, 2);
+        writer.startMapEntryNode(FOO_ID, 1);
+        writer.leafNode(NAME_ID, "foo");
+        writer.endNode();
+        writer.startMapEntryNode(BAR_ID, 1);
+        writer.leafNode(NAME_ID, "bar");
+        writer.endNode();
+        writer.endNode();
+        writer.leafNode(NAME_ID, "top");
+        writer.endNode();
+        writer.close();
+    }
+}
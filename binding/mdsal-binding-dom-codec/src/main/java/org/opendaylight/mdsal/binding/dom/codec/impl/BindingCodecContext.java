@@ -132,6 +132,24 @@ final class BindingCodecContext implements CodecContextFactory, BindingCodecTree
         return currentNode;
     }
 
+    /**
+     * Traverse a single step in the codec tree, gathering YANG path arguments into the supplied collection. This is
+     * used by {@link InstanceIdentifierCodec} to resume translation from a cached prefix.
+     *
+     * @param parent Codec of the parent node, null indicates the schema root
+     * @param bindingArg Binding path argument to traverse
+     * @param builder Collection for YANG path arguments
+     * @return Codec for the child node
+     * @throws IllegalArgumentException if the path argument does not identify a valid child
+     */
+    @NonNull DataContainerCodecContext<?, ?> getCodecContextNode(final @Nullable DataContainerCodecContext<?, ?> parent,
+            final InstanceIdentifier.PathArgument bindingArg, final List<YangInstanceIdentifier.PathArgument> builder) {
+        final DataContainerCodecContext<?, ?> child = (parent != null ? parent : root).bindingPathArgumentChild(
+            bindingArg, builder);
+        checkArgument(child != null, "Supplied path argument %s is not valid.", bindingArg);
+        return child;
+    }
+
     /**
      * Multi-purpose utility function. Traverse the codec tree, looking for
      * the appropriate codec for the specified {@link YangInstanceIdentifier}.
@@ -7,8 +7,10 @@
  */
 package org.opendaylight.mdsal.binding.dom.codec.impl;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.annotations.Beta;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -96,6 +98,51 @@ public class BindingNormalizedNodeCodecRegistry implements DataObjectSerializerR
         return codecContext.getInstanceIdentifierCodec().serialize(binding);
     }
 
+    /**
+     * Translate a Binding InstanceIdentifier into a YangInstanceIdentifier, reusing previous translations. Unlike
+     * {@link #toYangInstanceIdentifier(InstanceIdentifier)}, this method caches its results, hence it is suitable for
+     * identifiers which are expected to be translated repeatedly, or which share a common parent with such
+     * identifiers. The cache is bounded and is reset when the runtime context is updated.
+     *
+     * @param binding Binding InstanceIdentifier
+     * @return DOM YangInstanceIdentifier
+     * @throws IllegalArgumentException if the identifier is not valid
+     */
+    @Beta
+    public YangInstanceIdentifier toYangInstanceIdentifierCached(final InstanceIdentifier<?> binding) {
+        return codecContext.getInstanceIdentifierCodec().serializeCached(binding);
+    }
+
+    /**
+     * Return statistics of the cache used by {@link #toYangInstanceIdentifierCached(InstanceIdentifier)}.
+     *
+     * @return Cache statistics
+     */
+    @Beta
+    public InstanceIdentifierCacheStats getInstanceIdentifierCacheStats() {
+        return codecContext.getInstanceIdentifierCodec().cacheStats();
+    }
+
+    /**
+     * Translate the value of a leaf of a Binding DataObject into its DOM representation. This is useful when
+     * the value is not available as part of a DataObject, for example when it is used as a search criterion.
+     *
+     * @param parent Binding InstanceIdentifier of the DataObject containing the leaf, which may be wildcarded
+     * @param localName Local name of the leaf, as defined in the YANG model
+     * @param value Binding representation of the value
+     * @return Entry of the DOM identifier of the leaf and the DOM representation of the value
+     * @throws IllegalArgumentException if the DataObject does not contain the leaf or the value is not valid
+     */
+    @Beta
+    public Entry<NodeIdentifier, Object> toNormalizedLeaf(final InstanceIdentifier<?> parent, final String localName,
+            final Object value) {
+        final DataContainerCodecContext<?, ?> parentContext = codecContext.getCodecContextNode(parent, null);
+        checkArgument(parentContext instanceof DataObjectCodecContext, "%s does not identify a DataObject with leaves",
+            parent);
+        final LeafNodeCodecContext<?> leaf = ((DataObjectCodecContext<?, ?>) parentContext).getLeafChild(localName);
+        return new SimpleEntry<>((NodeIdentifier) leaf.getDomPathArgument(), leaf.getValueCodec().serialize(value));
+    }
+
     @Override
     public InstanceIdentifier<?> fromYangInstanceIdentifier(final YangInstanceIdentifier dom) {
         return codecContext.getInstanceIdentifierCodec().deserialize(dom);
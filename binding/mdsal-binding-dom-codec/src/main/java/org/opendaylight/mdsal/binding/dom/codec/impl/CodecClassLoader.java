@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.ref.WeakReference;
+import java.security.ProtectionDomain;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * A {@link ClassLoader} hosting classes generated by {@link CodecDataObjectGenerator}. Generated classes implement
+ * binding interfaces and at the same time extend {@link CodecDataObject}, hence they need to see both the class loader
+ * which loaded the binding interface and the class loader which loaded this bundle -- which in an OSGi environment do
+ * not see each other. We therefore delegate to the binding class loader first and fall back to our own class loader.
+ *
+ * <p>
+ * There is at most one instance for each binding class loader. It is kept alive by the classes it has defined, which
+ * in turn are kept alive by the {@link DataObjectCodecContext}s using them.
+ */
+final class CodecClassLoader extends ClassLoader {
+    private static final ClassLoader CODEC_LOADER = CodecClassLoader.class.getClassLoader();
+
+    @GuardedBy("LOADERS")
+    private static final Map<ClassLoader, WeakReference<CodecClassLoader>> LOADERS = new WeakHashMap<>();
+
+    private CodecClassLoader(final ClassLoader parent) {
+        super(requireNonNull(parent));
+    }
+
+    static CodecClassLoader forParent(final ClassLoader parent) {
+        synchronized (LOADERS) {
+            final WeakReference<CodecClassLoader> ref = LOADERS.get(parent);
+            if (ref != null) {
+                final CodecClassLoader existing = ref.get();
+                if (existing != null) {
+                    return existing;
+                }
+            }
+
+            final CodecClassLoader created = new CodecClassLoader(parent);
+            LOADERS.put(parent, new WeakReference<>(created));
+            return created;
+        }
+    }
+
+    @Override
+    protected Class<?> findClass(final String name) throws ClassNotFoundException {
+        return CODEC_LOADER.loadClass(name);
+    }
+
+    /**
+     * Return a class previously defined by this loader.
+     *
+     * @param name Class name
+     * @return Defined class, or null if no such class has been defined
+     */
+    Class<?> findGenerated(final String name) {
+        return findLoadedClass(name);
+    }
+
+    Class<?> defineGenerated(final String name, final byte[] bytecode, final ProtectionDomain domain) {
+        return defineClass(name, bytecode, 0, bytecode.length, domain);
+    }
+}
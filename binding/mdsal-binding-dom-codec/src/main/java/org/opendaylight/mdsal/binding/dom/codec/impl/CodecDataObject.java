@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.MoreObjects.ToStringHelper;
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.mdsal.binding.dom.codec.util.AugmentationReader;
+import org.opendaylight.mdsal.binding.spec.reflect.BindingReflections;
+import org.opendaylight.yangtools.yang.binding.Augmentable;
+import org.opendaylight.yangtools.yang.binding.Augmentation;
+import org.opendaylight.yangtools.yang.binding.AugmentationHolder;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+
+/**
+ * A base class for {@link DataObject}s backed by {@link DataObjectCodecContext}. Concrete subclasses are generated at
+ * runtime by {@link CodecDataObjectGenerator}, one for each binding interface. Each such class has a dedicated field
+ * for every property, which is lazily populated from the backing {@link NormalizedNodeContainer} on first access.
+ *
+ * <p>
+ * This class is public only because generated classes are defined in a different package and class loader, it should
+ * not be used by any other code.
+ *
+ * @param <T> DataObject type
+ */
+@Beta
+public abstract class CodecDataObject<T extends DataObject> implements DataObject, AugmentationHolder<T>,
+        AugmentationReader {
+    private static final @NonNull Object NULL_VALUE = new Object();
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<CodecDataObject, ImmutableMap> CACHED_AUGMENTATIONS_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(CodecDataObject.class, ImmutableMap.class, "cachedAugmentations");
+
+    private final @NonNull DataObjectCodecContext<T, ?> context;
+    private final @NonNull NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> data;
+
+    private volatile ImmutableMap<Class<? extends Augmentation<?>>, Augmentation<?>> cachedAugmentations = null;
+    // Zero indicates the hash code has not been computed yet. Objects hashing to zero recompute it, which is cheaper
+    // than keeping a boxed Integer around.
+    private volatile int cachedHashcode;
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    protected CodecDataObject(final DataObjectCodecContext<T, ?> context, final NormalizedNodeContainer data) {
+        this.context = requireNonNull(context, "Context must not be null");
+        this.data = requireNonNull(data, "Data must not be null");
+    }
+
+    @Override
+    public final Class<T> getImplementedInterface() {
+        return context.getBindingClass();
+    }
+
+    @Override
+    public final int hashCode() {
+        final int cached = cachedHashcode;
+        if (cached != 0) {
+            return cached;
+        }
+
+        int result = codecHashCode();
+        if (this instanceof Augmentable) {
+            result = 31 * result + getAugmentationsImpl().hashCode();
+        }
+        cachedHashcode = result;
+        return result;
+    }
+
+    @Override
+    public final boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        final Class<T> iface = getImplementedInterface();
+        if (!iface.isInstance(obj)) {
+            return false;
+        }
+        if (obj instanceof CodecDataObject && data == ((CodecDataObject<?>) obj).data) {
+            return true;
+        }
+        if (!codecEquals(iface.cast(obj))) {
+            return false;
+        }
+        return !(this instanceof Augmentable) || getAugmentationsImpl().equals(getAllAugmentations(obj));
+    }
+
+    @Override
+    public final String toString() {
+        final ToStringHelper helper = codecFillToString(MoreObjects.toStringHelper(getImplementedInterface())
+            .omitNullValues());
+        if (this instanceof Augmentable) {
+            helper.add("augmentations", getAugmentationsImpl());
+        }
+        return helper.toString();
+    }
+
+    @Override
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public final Map augmentations() {
+        return getAugmentationsImpl();
+    }
+
+    @Override
+    public final Map<Class<? extends Augmentation<?>>, Augmentation<?>> getAugmentations(final Object obj) {
+        checkArgument(this == obj, "Supplied object is not associated with this object");
+        return getAugmentationsImpl();
+    }
+
+    /**
+     * Implementation of {@link Augmentable#augmentation(Class)}. The generated subclass implements the binding
+     * interface, hence this method satisfies the interface contract if the interface is {@link Augmentable}.
+     *
+     * @param augmentationType Augmentation class
+     * @return Augmentation, or null if not present
+     */
+    public final Augmentation<?> augmentation(final Class<?> augmentationType) {
+        requireNonNull(augmentationType, "Supplied augmentation must not be null.");
+
+        final ImmutableMap<Class<? extends Augmentation<?>>, Augmentation<?>> aug = cachedAugmentations;
+        if (aug != null) {
+            return aug.get(augmentationType);
+        }
+
+        @SuppressWarnings({"unchecked","rawtypes"})
+        final Optional<DataContainerCodecContext<?, ?>> optAugCtx = context.possibleStreamChild(
+            (Class) augmentationType);
+        if (optAugCtx.isPresent()) {
+            final DataContainerCodecContext<?, ?> augCtx = optAugCtx.get();
+            // Due to binding specification not representing grouping instantiations we can end up having the same
+            // augmentation applied to a grouping multiple times. While these augmentations have the same shape, they
+            // are still represented by distinct binding classes and therefore we need to make sure the result matches
+            // the augmentation the user is requesting -- otherwise a strict receiver would end up with a cryptic
+            // ClassCastException.
+            if (augmentationType.isAssignableFrom(augCtx.getBindingClass())) {
+                final Optional<NormalizedNode<?, ?>> augData = data.getChild(augCtx.getDomPathArgument());
+                if (augData.isPresent()) {
+                    return (Augmentation<?>) augCtx.deserialize(augData.get());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return the value of a property, loading it from backing data if it has not been accessed before. This method is
+     * invoked from generated getters.
+     *
+     * @param updater Updater for the field holding the property value
+     * @param slot Property slot, as assigned by {@link DataObjectCodecContext}
+     * @return Property value, may be null
+     */
+    protected final Object codecMember(final AtomicReferenceFieldUpdater<CodecDataObject<?>, Object> updater,
+            final int slot) {
+        final Object cached = updater.get(this);
+        return cached != null ? unmaskNull(cached) : loadMember(updater, slot);
+    }
+
+    /**
+     * Compare two property values. This method is invoked from generated {@link #codecEquals(Object)}.
+     *
+     * @param thisValue Value of this object's property
+     * @param otherValue Value of the other object's property
+     * @return True if the values are equal
+     */
+    protected static boolean codecEqual(final Object thisValue, final Object otherValue) {
+        // Added for valid byte array comparison, when list key type is binary. deepEquals is not used since it does
+        // excessive amount of instanceof calls.
+        if (thisValue instanceof byte[] && otherValue instanceof byte[]) {
+            return Arrays.equals((byte[]) thisValue, (byte[]) otherValue);
+        }
+        return Objects.equals(thisValue, otherValue);
+    }
+
+    /**
+     * Compute the hash code of all properties, in the order of their getter names.
+     *
+     * @return Hash code of properties
+     */
+    protected abstract int codecHashCode();
+
+    /**
+     * Compare all properties of this object to those of another object. The other object is guaranteed to implement
+     * the same binding interface.
+     *
+     * @param other Other object
+     * @return True if all properties are equal
+     */
+    protected abstract boolean codecEquals(Object other);
+
+    /**
+     * Add all properties to a {@link ToStringHelper}.
+     *
+     * @param helper Helper to fill
+     * @return The helper
+     */
+    protected abstract ToStringHelper codecFillToString(ToStringHelper helper);
+
+    private Object loadMember(final AtomicReferenceFieldUpdater<CodecDataObject<?>, Object> updater, final int slot) {
+        final Object value = context.getBindingChildValue(slot, data);
+        // If we raced we need to return previously-stored value
+        return updater.compareAndSet(this, null, value == null ? NULL_VALUE : value) ? value
+                : unmaskNull(updater.get(this));
+    }
+
+    private static Object unmaskNull(final @NonNull Object masked) {
+        return masked == NULL_VALUE ? null : masked;
+    }
+
+    private ImmutableMap<Class<? extends Augmentation<?>>, Augmentation<?>> getAugmentationsImpl() {
+        ImmutableMap<Class<? extends Augmentation<?>>, Augmentation<?>> local = cachedAugmentations;
+        if (local != null) {
+            return local;
+        }
+
+        local = ImmutableMap.copyOf(context.getAllAugmentationsFrom(data));
+        return CACHED_AUGMENTATIONS_UPDATER.compareAndSet(this, null, local) ? local : cachedAugmentations;
+    }
+
+    private static Map<Class<? extends Augmentation<?>>, Augmentation<?>> getAllAugmentations(final Object dataObject) {
+        if (dataObject instanceof AugmentationReader) {
+            return ((AugmentationReader) dataObject).getAugmentations(dataObject);
+        } else if (dataObject instanceof Augmentable<?>) {
+            return BindingReflections.getAugmentations((Augmentable<?>) dataObject);
+        }
+
+        throw new IllegalArgumentException("Unable to get all augmentations from " + dataObject);
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static com.google.common.base.Verify.verify;
+import static org.opendaylight.mdsal.binding.spec.naming.BindingMapping.IDENTIFIABLE_KEY_NAME;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtConstructor;
+import javassist.CtField;
+import javassist.CtNewMethod;
+import javassist.Modifier;
+import javassist.NotFoundException;
+import org.opendaylight.mdsal.binding.generator.util.JavassistUtils;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.Identifiable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generator of {@link CodecDataObject} subclasses. For each binding interface we generate a final class, which has a
+ * volatile field for each property, backed by a static {@link AtomicReferenceFieldUpdater}, and getters which load the
+ * field via {@link CodecDataObject#codecMember(AtomicReferenceFieldUpdater, int)}. {@code hashCode()},
+ * {@code equals()} and {@code toString()} are also generated, so that no reflection is involved in their
+ * implementation.
+ *
+ * <p>
+ * Generated classes are defined in a {@link CodecClassLoader} and are reused across {@link DataObjectCodecContext}
+ * instances.
+ */
+final class CodecDataObjectGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(CodecDataObjectGenerator.class);
+    private static final JavassistUtils JAVASSIST = JavassistUtils.forClassPool(ClassPool.getDefault());
+    private static final String BASE = CodecDataObject.class.getName();
+    private static final String UPDATER = AtomicReferenceFieldUpdater.class.getName();
+    private static final String SUFFIX = "$$$codecImpl";
+
+    static {
+        JAVASSIST.appendClassLoaderIfMissing(CodecDataObjectPrototype.class.getClassLoader());
+    }
+
+    private CodecDataObjectGenerator() {
+        // Hidden on purpose
+    }
+
+    /**
+     * Return the {@link CodecDataObject} subclass implementing specified binding interface, generating it if needed.
+     *
+     * @param bindingClass Binding interface
+     * @param properties Property getters, sorted by name
+     * @return Generated class
+     */
+    static Class<?> generate(final Class<? extends DataObject> bindingClass, final Method[] properties) {
+        final String name = bindingClass.getName() + SUFFIX;
+        final CodecClassLoader loader = CodecClassLoader.forParent(bindingClass.getClassLoader());
+
+        synchronized (loader) {
+            final Class<?> existing = loader.findGenerated(name);
+            if (existing != null) {
+                return existing;
+            }
+
+            final byte[] bytecode;
+            try {
+                bytecode = generateBytecode(bindingClass, name, properties);
+            } catch (CannotCompileException | NotFoundException | IOException e) {
+                LOG.error("Failed to generate implementation of {}", bindingClass, e);
+                throw new LinkageError("Failed to generate implementation of " + bindingClass, e);
+            }
+
+            final Class<?> generated = loader.defineGenerated(name, bytecode, bindingClass.getProtectionDomain());
+            LOG.debug("Generated {} for {}", generated, bindingClass);
+            return generated;
+        }
+    }
+
+    private static byte[] generateBytecode(final Class<?> bindingClass, final String name, final Method[] properties)
+            throws CannotCompileException, NotFoundException, IOException {
+        JAVASSIST.appendClassLoaderIfMissing(bindingClass.getClassLoader());
+
+        final CtClass product = JAVASSIST.instantiatePrototype(CodecDataObjectPrototype.class.getName(), name, cls -> {
+            cls.addInterface(JAVASSIST.asCtClass(bindingClass));
+
+            final String iface = javaName(bindingClass);
+            final StringBuilder clinit = new StringBuilder("{\n");
+            final StringBuilder hashCode = new StringBuilder("{\nint result = 1;\n");
+            final StringBuilder equals = new StringBuilder("{\n").append(iface).append(" other = (").append(iface)
+                    .append(") $1;\n");
+            final StringBuilder toString = new StringBuilder("{\nreturn $1");
+
+            // Each property is backed by a field and its updater. Slots need to match DataObjectCodecContext's layout.
+            final Map<String, Integer> slots = new HashMap<>();
+            for (int i = 0; i < properties.length; ++i) {
+                slots.put(properties[i].getName(), i);
+            }
+            if (Identifiable.class.isAssignableFrom(bindingClass)) {
+                // Not a property, but needs to be cached as well, see DataObjectCodecContext.keySlot()
+                slots.put(IDENTIFIABLE_KEY_NAME, properties.length);
+            }
+
+            final List<CtField> updaters = new ArrayList<>(slots.size());
+            for (int i = 0; i < slots.size(); ++i) {
+                final String field = "value" + i;
+                final CtField updater = CtField.make("private static " + UPDATER + " UPDATER" + i + ";", cls);
+                cls.addField(CtField.make("private volatile java.lang.Object " + field + ";", cls));
+                cls.addField(updater);
+                updaters.add(updater);
+                clinit.append(updater.getName()).append(" = ").append(UPDATER).append(".newUpdater(").append(name)
+                    .append(".class, java.lang.Object.class, \"").append(field).append("\");\n");
+            }
+
+            // Implement getters for each return type we encounter, as interfaces may override getters covariantly
+            final Set<String> implemented = new HashSet<>();
+            for (Method method : bindingClass.getMethods()) {
+                final Integer slot = slots.get(method.getName());
+                if (slot == null || method.isDefault() || method.getParameterCount() != 0) {
+                    continue;
+                }
+
+                final Class<?> returnType = method.getReturnType();
+                verify(!returnType.isPrimitive(), "Unexpected primitive property %s", method);
+                final String type = javaName(returnType);
+                final String methodName = method.getName();
+                if (implemented.add(methodName + ' ' + type)) {
+                    cls.addMethod(CtNewMethod.make("public " + type + ' ' + methodName + "() {\nreturn (" + type
+                        + ") codecMember(UPDATER" + slot + ", " + slot + ");\n}", cls));
+                }
+            }
+
+            for (Method method : properties) {
+                final String methodName = method.getName();
+                hashCode.append("result = 31 * result + java.util.Objects.hashCode(").append(methodName)
+                    .append("());\n");
+                equals.append("if (!").append(BASE).append(".codecEqual(").append(methodName).append("(), other.")
+                    .append(methodName).append("())) {\nreturn false;\n}\n");
+                toString.append(".add(\"").append(methodName).append("\", (java.lang.Object) ").append(methodName)
+                    .append("())");
+            }
+
+            cls.makeClassInitializer().setBody(clinit.append('}').toString());
+            for (CtField updater : updaters) {
+                // Updaters are assigned exactly once in the class initializer
+                updater.setModifiers(Modifier.PRIVATE | Modifier.STATIC | Modifier.FINAL);
+            }
+            cls.getDeclaredMethod("codecHashCode").setBody(hashCode.append("return result;\n}").toString());
+            cls.getDeclaredMethod("codecEquals").setBody(equals.append("return true;\n}").toString());
+            cls.getDeclaredMethod("codecFillToString").setBody(toString.append(";\n}").toString());
+
+            // The prototype is not visible, so we need to take care of that
+            cls.setModifiers(Modifier.PUBLIC | Modifier.FINAL);
+            for (CtConstructor ctor : cls.getDeclaredConstructors()) {
+                ctor.setModifiers(Modifier.PUBLIC);
+            }
+        });
+
+        try {
+            return product.toBytecode();
+        } finally {
+            // Generated classes are cached by their class loader, do not keep them in the pool
+            product.detach();
+        }
+    }
+
+    private static String javaName(final Class<?> cls) {
+        return cls.isArray() ? javaName(cls.getComponentType()) + "[]" : cls.getName();
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import com.google.common.base.MoreObjects.ToStringHelper;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+
+/**
+ * Prototype of a {@link CodecDataObject}. This is a template class, which the {@link CodecDataObjectGenerator} uses
+ * to instantiate a {@link CodecDataObject} on a per-interface basis. During that time, the abstract methods' bodies
+ * will be replaced by the real implementation and property getters will be added.
+ */
+final class CodecDataObjectPrototype extends CodecDataObject<DataObject> {
+    @SuppressWarnings("rawtypes")
+    CodecDataObjectPrototype(final DataObjectCodecContext<DataObject, ?> context, final NormalizedNodeContainer data) {
+        super(context, data);
+    }
+
+    @Override
+    protected int codecHashCode() {
+        throw new UnsupportedOperationException("Prototype body, this code should never be invoked.");
+    }
+
+    @Override
+    protected boolean codecEquals(final Object other) {
+        throw new UnsupportedOperationException("Prototype body, this code should never be invoked.");
+    }
+
+    @Override
+    protected ToStringHelper codecFillToString(final ToStringHelper helper) {
+        throw new UnsupportedOperationException("Prototype body, this code should never be invoked.");
+    }
+}
@@ -9,7 +9,6 @@ package org.opendaylight.mdsal.binding.dom.codec.impl;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Verify.verify;
-import static com.google.common.base.Verify.verifyNotNull;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Throwables;
@@ -18,9 +17,7 @@ import com.google.common.collect.ImmutableMap.Builder;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
-import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -35,13 +32,11 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.binding.generator.api.ClassLoadingStrategy;
 import org.opendaylight.mdsal.binding.model.api.JavaTypeName;
 import org.opendaylight.mdsal.binding.model.api.Type;
-import org.opendaylight.mdsal.binding.spec.naming.BindingMapping;
 import org.opendaylight.mdsal.binding.spec.reflect.BindingReflections;
 import org.opendaylight.yangtools.concepts.Immutable;
 import org.opendaylight.yangtools.util.ClassLoaderUtils;
 import org.opendaylight.yangtools.yang.binding.Augmentable;
 import org.opendaylight.yangtools.yang.binding.Augmentation;
-import org.opendaylight.yangtools.yang.binding.AugmentationHolder;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier.Item;
@@ -76,21 +71,23 @@ abstract class DataObjectCodecContext<D extends DataObject, T extends DataNodeCo
     }
 
     private static final Logger LOG = LoggerFactory.getLogger(DataObjectCodecContext.class);
-    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, InvocationHandler.class);
-    private static final MethodType DATAOBJECT_TYPE = MethodType.methodType(DataObject.class, InvocationHandler.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class,
+        DataObjectCodecContext.class, NormalizedNodeContainer.class);
+    private static final MethodType DATAOBJECT_TYPE = MethodType.methodType(DataObject.class,
+        DataObjectCodecContext.class, NormalizedNodeContainer.class);
     private static final Comparator<Method> METHOD_BY_ALPHABET = Comparator.comparing(Method::getName);
     private static final Augmentations EMPTY_AUGMENTATIONS = new Augmentations(ImmutableMap.of(), ImmutableMap.of());
     private static final Method[] EMPTY_METHODS = new Method[0];
+    private static final NodeContextSupplier[] EMPTY_SLOTS = new NodeContextSupplier[0];
 
     private final ImmutableMap<String, LeafNodeCodecContext<?>> leafChild;
     private final ImmutableMap<YangInstanceIdentifier.PathArgument, NodeContextSupplier> byYang;
-    private final ImmutableMap<String, NodeContextSupplier> byMethod;
-    private final ImmutableMap<String, String> nonnullToGetter;
+    // Property slots, indexed in the order of propertyMethods as laid out by CodecDataObjectGenerator
+    private final NodeContextSupplier[] bySlot;
     private final ImmutableMap<Class<?>, DataContainerCodecPrototype<?>> byStreamClass;
     private final ImmutableMap<Class<?>, DataContainerCodecPrototype<?>> byBindingArgClass;
     private final ImmutableMap<AugmentationIdentifier, Type> possibleAugmentations;
-    private final MethodHandle proxyConstructor;
-    private final Method[] propertyMethods;
+    private final MethodHandle generatedConstructor;
 
     @SuppressWarnings("rawtypes")
     private static final AtomicReferenceFieldUpdater<DataObjectCodecContext, Augmentations>
@@ -135,43 +132,20 @@ abstract class DataObjectCodecContext<D extends DataObject, T extends DataNodeCo
         }
 
         final int methodCount = tmpMethodToSupplier.size();
-        final Builder<String, NodeContextSupplier> byMethodBuilder = ImmutableMap.builderWithExpectedSize(methodCount);
-        this.propertyMethods = methodCount == 0 ? EMPTY_METHODS : new Method[methodCount];
+        final Method[] propertyMethods = tmpMethodToSupplier.keySet().toArray(EMPTY_METHODS);
 
-        int offset = 0;
-        for (Entry<Method, NodeContextSupplier> entry : tmpMethodToSupplier.entrySet()) {
-            final Method method = entry.getKey();
-            propertyMethods[offset++] = method;
-            byMethodBuilder.put(method.getName(), entry.getValue());
-        }
-
-        // Make sure properties are alpha-sorted
+        // Make sure properties are alpha-sorted, slots are assigned in this order
         Arrays.sort(propertyMethods, METHOD_BY_ALPHABET);
 
-        this.byMethod = byMethodBuilder.build();
+        this.bySlot = methodCount == 0 ? EMPTY_SLOTS : new NodeContextSupplier[methodCount];
+        for (int i = 0; i < methodCount; ++i) {
+            bySlot[i] = tmpMethodToSupplier.get(propertyMethods[i]);
+        }
         this.byYang = ImmutableMap.copyOf(byYangBuilder);
         this.byStreamClass = ImmutableMap.copyOf(byStreamClassBuilder);
         byBindingArgClassBuilder.putAll(byStreamClass);
         this.byBindingArgClass = ImmutableMap.copyOf(byBindingArgClassBuilder);
 
-        final Map<Class<?>, Method> clsToNonnull = BindingReflections.getChildrenClassToNonnullMethod(bindingClass);
-        final Map<String, String> nonnullToGetterBuilder = new HashMap<>();
-        for (final Entry<Class<?>, Method> entry : clsToNonnull.entrySet()) {
-            final Method method = entry.getValue();
-            if (!method.isDefault()) {
-                LOG.warn("Ignoring non-default method {} in {}", method, bindingClass);
-                continue;
-            }
-
-            // Derive getter name from the nonnull method and verify we have the corresponding getter. Note that
-            // the intern() call is important, as it makes sure we use the same instance to bridge to byMethod map.
-            final String methodName = method.getName();
-            final String getterName = BindingMapping.getGetterMethodForNonnull(methodName).intern();
-            verify(byMethod.containsKey(getterName), "Cannot find getter %s for %s", getterName, methodName);
-            nonnullToGetterBuilder.put(methodName, getterName);
-        }
-        nonnullToGetter = ImmutableMap.copyOf(nonnullToGetterBuilder);
-
         if (Augmentable.class.isAssignableFrom(bindingClass)) {
             this.possibleAugmentations = factory().getRuntimeContext().getAvailableAugmentationTypes(getSchema());
         } else {
@@ -179,13 +153,12 @@ abstract class DataObjectCodecContext<D extends DataObject, T extends DataNodeCo
         }
         reloadAllAugmentations();
 
-        final Class<?> proxyClass = Proxy.getProxyClass(bindingClass.getClassLoader(), bindingClass,
-            AugmentationHolder.class);
+        final Class<?> generatedClass = CodecDataObjectGenerator.generate(bindingClass, propertyMethods);
         try {
-            proxyConstructor = MethodHandles.publicLookup().findConstructor(proxyClass, CONSTRUCTOR_TYPE)
+            generatedConstructor = MethodHandles.lookup().findConstructor(generatedClass, CONSTRUCTOR_TYPE)
                     .asType(DATAOBJECT_TYPE);
         } catch (NoSuchMethodException | IllegalAccessException e) {
-            throw new IllegalStateException("Failed to find contructor for class " + proxyClass, e);
+            throw new IllegalStateException("Failed to find contructor for class " + generatedClass, e);
         }
     }
 
@@ -513,16 +486,20 @@ abstract class DataObjectCodecContext<D extends DataObject, T extends DataNodeCo
         return DataContainerCodecPrototype.from(augClass, augSchema.getKey(), augSchema.getValue(), factory());
     }
 
-    // Unlike BindingMapping.getGetterMethodForNonnull() this returns an interned String
-    @NonNull String getterNameForNonnullName(final String nonnullMethod) {
-        return verifyNotNull(nonnullToGetter.get(nonnullMethod), "Failed to look up getter method for %s",
-            nonnullMethod);
+    /**
+     * Return the slot of {@link org.opendaylight.yangtools.yang.binding.Identifiable#key()}, which follows all
+     * property slots.
+     *
+     * @return Key slot
+     */
+    final int keySlot() {
+        return bySlot.length;
     }
 
     @SuppressWarnings("rawtypes")
-    @Nullable Object getBindingChildValue(final String method, final NormalizedNodeContainer domData) {
-        final NodeCodecContext<?> childContext = verifyNotNull(byMethod.get(method),
-            "Cannot find data handler for method %s", method).get();
+    @Nullable Object getBindingChildValue(final int slot, final NormalizedNodeContainer domData) {
+        checkArgument(slot >= 0 && slot < bySlot.length, "Cannot find data handler for slot %s", slot);
+        final NodeCodecContext<?> childContext = bySlot[slot].get();
 
         @SuppressWarnings("unchecked")
         final Optional<NormalizedNode<?, ?>> domChild = domData.getChild(childContext.getDomPathArgument());
@@ -535,7 +512,7 @@ abstract class DataObjectCodecContext<D extends DataObject, T extends DataNodeCo
     @SuppressWarnings("checkstyle:illegalCatch")
     protected final D createBindingProxy(final NormalizedNodeContainer<?, ?, ?> node) {
         try {
-            return (D) proxyConstructor.invokeExact((InvocationHandler)new LazyDataObject<>(this, node));
+            return (D) generatedConstructor.invokeExact(this, node);
         } catch (final Throwable e) {
             Throwables.throwIfUnchecked(e);
             throw new RuntimeException(e);
@@ -568,10 +545,6 @@ abstract class DataObjectCodecContext<D extends DataObject, T extends DataNodeCo
         return map;
     }
 
-    final Method[] propertyMethods() {
-        return propertyMethods;
-    }
-
     @Override
     public InstanceIdentifier.PathArgument deserializePathArgument(final YangInstanceIdentifier.PathArgument arg) {
         checkArgument(getDomPathArgument().equals(arg));
@@ -57,13 +57,12 @@ final class EncapsulatedValueCodec extends ReflectionBasedCodec implements Schem
     }
 
     /**
-     * Quick check if a value object has a chance to deserialize using {@link #deserialize(Object)}.
+     * Return the type of DOM values this codec accepts.
      *
-     * @param value Value to be checked
-     * @return True if the value can be encapsulated
+     * @return Value type
      */
-    boolean canAcceptObject(final Object value) {
-        return valueType.isInstance(value);
+    Class<?> getValueType() {
+        return valueType;
     }
 
     @Override
@@ -64,6 +64,16 @@ final class EnumerationCodec extends ReflectionBasedCodec implements SchemaUnawa
         };
     }
 
+    /**
+     * Quick check if a value object has a chance to deserialize using {@link #deserialize(Object)}.
+     *
+     * @param value Value to be checked
+     * @return True if the value is a valid enumeration name
+     */
+    boolean canAcceptObject(final Object value) {
+        return value instanceof String && nameToEnum.containsKey(value);
+    }
+
     @Override
     public Enum<?> deserialize(final Object input) {
         checkArgument(input instanceof String, "Input %s is not a String", input);
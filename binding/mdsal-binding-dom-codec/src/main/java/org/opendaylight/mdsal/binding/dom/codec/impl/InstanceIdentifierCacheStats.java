@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import org.opendaylight.yangtools.concepts.Immutable;
+
+/**
+ * Snapshot of statistics of the InstanceIdentifier translation cache, as exposed by
+ * {@link BindingNormalizedNodeCodecRegistry#getInstanceIdentifierCacheStats()}.
+ */
+@Beta
+public final class InstanceIdentifierCacheStats implements Immutable {
+    private final long hitCount;
+    private final long prefixHitCount;
+    private final long missCount;
+    private final long size;
+
+    InstanceIdentifierCacheStats(final long hitCount, final long prefixHitCount, final long missCount,
+            final long size) {
+        this.hitCount = hitCount;
+        this.prefixHitCount = prefixHitCount;
+        this.missCount = missCount;
+        this.size = size;
+    }
+
+    /**
+     * Return the number of translations which were satisfied directly from the cache.
+     *
+     * @return Number of full hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Return the number of translations which were resumed from a cached ancestor.
+     *
+     * @return Number of prefix hits
+     */
+    public long getPrefixHitCount() {
+        return prefixHitCount;
+    }
+
+    /**
+     * Return the number of translations which did not find any cached ancestor.
+     *
+     * @return Number of misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Return the approximate number of cached identifiers, including intermediate prefixes.
+     *
+     * @return Cache size
+     */
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("hits", hitCount).add("prefixHits", prefixHitCount)
+                .add("misses", missCount).add("size", size).toString();
+    }
+}
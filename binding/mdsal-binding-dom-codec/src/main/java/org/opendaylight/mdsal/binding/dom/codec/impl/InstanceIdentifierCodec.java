@@ -7,16 +7,43 @@
  */
 package org.opendaylight.mdsal.binding.dom.codec.impl;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import org.opendaylight.yangtools.concepts.Codec;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 
 final class InstanceIdentifierCodec implements Codec<YangInstanceIdentifier, InstanceIdentifier<?>> {
+    /**
+     * A translated prefix, along with the codec node it resolves to, so translation can be resumed from it.
+     */
+    private static final class CachedPath {
+        final YangInstanceIdentifier path;
+        final DataContainerCodecContext<?, ?> codec;
+
+        CachedPath(final YangInstanceIdentifier path, final DataContainerCodecContext<?, ?> codec) {
+            this.path = requireNonNull(path);
+            this.codec = requireNonNull(codec);
+        }
+    }
+
+    // Bounded rather than soft, so that we do not lose the cache when under memory pressure
+    private static final int CACHE_SIZE = 65536;
+
+    private final Cache<InstanceIdentifier<?>, CachedPath> cache = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE).build();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder prefixHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
     private final BindingCodecContext context;
 
     InstanceIdentifierCodec(final BindingCodecContext context) {
@@ -30,6 +57,62 @@ final class InstanceIdentifierCodec implements Codec<YangInstanceIdentifier, Ins
         return YangInstanceIdentifier.create(domArgs);
     }
 
+    /**
+     * Serialize an InstanceIdentifier, reusing the result of previous translations. If the identifier itself has not
+     * been translated before, translation resumes from its longest cached ancestor and all intermediate results are
+     * cached, too.
+     *
+     * @param input Binding InstanceIdentifier
+     * @return YangInstanceIdentifier
+     * @throws IllegalArgumentException if the identifier is not valid
+     */
+    YangInstanceIdentifier serializeCached(final InstanceIdentifier<?> input) {
+        final CachedPath cached = cache.getIfPresent(input);
+        if (cached != null) {
+            hitCount.increment();
+            return cached.path;
+        }
+
+        final List<InstanceIdentifier.PathArgument> args = ImmutableList.copyOf(input.getPathArguments());
+        final InstanceIdentifier<?>[] prefixes = new InstanceIdentifier<?>[args.size()];
+        prefixes[args.size() - 1] = input;
+
+        // Find the longest prefix we have already translated
+        int offset = args.size() - 1;
+        CachedPath parent = null;
+        while (offset > 0) {
+            final InstanceIdentifier<?> prefix = InstanceIdentifier.create(args.subList(0, offset));
+            parent = cache.getIfPresent(prefix);
+            if (parent != null) {
+                break;
+            }
+            prefixes[--offset] = prefix;
+        }
+        if (parent != null) {
+            prefixHitCount.increment();
+        } else {
+            missCount.increment();
+        }
+
+        // Translate the remaining arguments, caching each intermediate result
+        YangInstanceIdentifier path = parent != null ? parent.path : YangInstanceIdentifier.EMPTY;
+        DataContainerCodecContext<?, ?> codec = parent != null ? parent.codec : null;
+        final List<PathArgument> domArgs = new ArrayList<>(2);
+        for (int i = offset; i < args.size(); ++i) {
+            domArgs.clear();
+            codec = context.getCodecContextNode(codec, args.get(i), domArgs);
+            for (PathArgument domArg : domArgs) {
+                path = path.node(domArg);
+            }
+            cache.put(prefixes[i], new CachedPath(path, codec));
+        }
+        return path;
+    }
+
+    InstanceIdentifierCacheStats cacheStats() {
+        return new InstanceIdentifierCacheStats(hitCount.sum(), prefixHitCount.sum(), missCount.sum(), cache.size());
+    }
+
     @Override
     public InstanceIdentifier<?> deserialize(final YangInstanceIdentifier input) {
         final List<InstanceIdentifier.PathArgument> builder = new ArrayList<>();
@@ -44,4 +127,4 @@ final class InstanceIdentifierCodec implements Codec<YangInstanceIdentifier, Ins
         }
         return InstanceIdentifier.create(builder);
     }
-}
\ No newline at end of file
+}
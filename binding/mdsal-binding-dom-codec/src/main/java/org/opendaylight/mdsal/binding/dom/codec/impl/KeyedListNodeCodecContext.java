@@ -59,12 +59,12 @@ final class KeyedListNodeCodecContext<D extends DataObject & Identifiable<?>> ex
 
     @Override
     @SuppressWarnings("rawtypes")
-    Object getBindingChildValue(final String methodName, final NormalizedNodeContainer dom) {
-        if (dom instanceof MapEntryNode && IDENTIFIABLE_KEY_NAME.equals(methodName)) {
+    Object getBindingChildValue(final int slot, final NormalizedNodeContainer dom) {
+        if (dom instanceof MapEntryNode && slot == keySlot()) {
             NodeIdentifierWithPredicates identifier = ((MapEntryNode) dom).getIdentifier();
             return codec.deserialize(identifier).getKey();
         }
-        return super.getBindingChildValue(methodName, dom);
+        return super.getBindingChildValue(slot, dom);
     }
 
     @Override
@@ -12,6 +12,8 @@ import java.lang.reflect.Method;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.opendaylight.mdsal.binding.spec.naming.BindingMapping;
 import org.opendaylight.mdsal.binding.yang.types.BaseYangTypes;
 import org.opendaylight.yangtools.concepts.Codec;
@@ -27,6 +29,8 @@ import org.opendaylight.yangtools.yang.model.util.SchemaContextUtil;
 
 final class UnionTypeCodec extends ReflectionBasedCodec {
     private final ImmutableSet<UnionValueOptionContext> typeCodecs;
+    // Options which can accept a particular DOM value class, in declaration order, populated on demand
+    private final ConcurrentMap<Class<?>, UnionValueOptionContext[]> dispatch = new ConcurrentHashMap<>();
 
     private UnionTypeCodec(final Class<?> unionCls,final Set<UnionValueOptionContext> codecs) {
         super(unionCls);
@@ -46,7 +50,7 @@ final class UnionTypeCodec extends ReflectionBasedCodec {
                     final Class<?> valueType = valueGetter.getReturnType();
                     final Codec<Object, Object> valueCodec = bindingCodecContext.getCodec(valueType, subtype);
 
-                    values.add(new UnionValueOptionContext(unionCls, valueType, valueGetter, valueCodec));
+                    values.add(new UnionValueOptionContext(unionCls, valueType, valueGetter, valueCodec, subtype));
                 }
             }
 
@@ -98,20 +102,43 @@ final class UnionTypeCodec extends ReflectionBasedCodec {
         // prepare codec of union subtype according to return type of referenced
         // leaf
         final Codec<Object, Object> valueCodec = bindingCodecContext.getCodec(returnType, subtype);
-        values.add(new UnionValueOptionContext(unionCls, returnType, valueGetterParent, valueCodec));
+        values.add(new UnionValueOptionContext(unionCls, returnType, valueGetterParent, valueCodec, subtype));
     }
 
     @Override
     public Object deserialize(final Object input) {
-        for (final UnionValueOptionContext member : typeCodecs) {
+        final Object ret = tryDeserialize(input);
+        if (ret != null) {
+            return ret;
+        }
+
+        throw new IllegalArgumentException(String.format("Failed to construct instance of %s for input %s",
+            getTypeClass(), input));
+    }
+
+    /**
+     * Attempt to deserialize a DOM value. Only the options which can accept the value's class are tried, and their
+     * restrictions are checked before invoking their codecs, so that a value matching one of the options does not
+     * cause any exceptions to be thrown.
+     *
+     * @param input DOM value
+     * @return Union instance, or null if the value does not match any of the options
+     */
+    Object tryDeserialize(final Object input) {
+        final UnionValueOptionContext[] members = input == null ? typeCodecs.toArray(new UnionValueOptionContext[0])
+                : dispatch.computeIfAbsent(input.getClass(), this::membersFor);
+        for (final UnionValueOptionContext member : members) {
             final Object ret = member.deserializeUnion(input);
             if (ret != null) {
                 return ret;
             }
         }
+        return null;
+    }
 
-        throw new IllegalArgumentException(String.format("Failed to construct instance of %s for input %s",
-            getTypeClass(), input));
+    private UnionValueOptionContext[] membersFor(final Class<?> inputClass) {
+        return typeCodecs.stream().filter(member -> member.canAcceptClass(inputClass))
+                .toArray(UnionValueOptionContext[]::new);
     }
 
     @Override
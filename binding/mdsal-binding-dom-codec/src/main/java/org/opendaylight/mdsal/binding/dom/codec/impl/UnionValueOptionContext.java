@@ -9,11 +9,26 @@ package org.opendaylight.mdsal.binding.dom.codec.impl;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import org.opendaylight.yangtools.concepts.Codec;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.LengthRestrictedTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.ModifierKind;
+import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.RangeConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.RangeRestrictedTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,11 +40,17 @@ final class UnionValueOptionContext {
     private final Codec<Object,Object> codec;
     private final MethodHandle getter;
     private final MethodHandle unionCtor;
+    // Java type of DOM values this option can accept, null if not known
+    private final Class<?> domType;
+    // Checks restrictions of the option's YANG type, which would otherwise be enforced by the binding constructor
+    private final Predicate<Object> restrictions;
 
     UnionValueOptionContext(final Class<?> unionType, final Class<?> valueType, final Method getter,
-            final Codec<Object, Object> codec) {
+            final Codec<Object, Object> codec, final TypeDefinition<?> typeDef) {
         this.bindingType = Preconditions.checkNotNull(valueType);
         this.codec = Preconditions.checkNotNull(codec);
+        this.domType = domTypeOf(valueType, codec);
+        this.restrictions = restrictionsOf(typeDef);
 
         try {
             this.getter = MethodHandles.publicLookup().unreflect(getter).asType(OBJECT_TYPE);
@@ -51,19 +72,38 @@ final class UnionValueOptionContext {
         return baValue == null ? null : codec.serialize(baValue);
     }
 
+    /**
+     * Check whether this option can accept DOM values of a particular class. This check is used to construct
+     * the dispatch table in {@link UnionTypeCodec}.
+     *
+     * @param inputClass DOM value class
+     * @return False if this option cannot accept values of the specified class
+     */
+    boolean canAcceptClass(final Class<?> inputClass) {
+        return domType == null || domType.isAssignableFrom(inputClass);
+    }
+
     @SuppressWarnings("checkstyle:illegalCatch")
     Object deserializeUnion(final Object input) {
-        // Side-step potential exceptions by checking the type if it is available
-        if (codec instanceof EncapsulatedValueCodec && !((EncapsulatedValueCodec) codec).canAcceptObject(input)) {
+        // Side-step potential exceptions by checking restrictions and values
+        if (!restrictions.test(input)
+                || codec instanceof EnumerationCodec && !((EnumerationCodec) codec).canAcceptObject(input)) {
             return null;
         }
 
         final Object value;
-        try {
-            value = codec.deserialize(input);
-        } catch (Exception e) {
-            LOG.debug("Codec {} failed to deserialize input {}", codec, input, e);
-            return null;
+        if (codec instanceof UnionTypeCodec) {
+            value = ((UnionTypeCodec) codec).tryDeserialize(input);
+            if (value == null) {
+                return null;
+            }
+        } else {
+            try {
+                value = codec.deserialize(input);
+            } catch (Exception e) {
+                LOG.debug("Codec {} failed to deserialize input {}", codec, input, e);
+                return null;
+            }
         }
 
         try {
@@ -87,6 +127,78 @@ final class UnionValueOptionContext {
         }
     }
 
+    private static Class<?> domTypeOf(final Class<?> valueType, final Codec<Object, Object> codec) {
+        if (codec instanceof EncapsulatedValueCodec) {
+            return ((EncapsulatedValueCodec) codec).getValueType();
+        } else if (codec == ValueTypeCodec.NOOP_CODEC) {
+            return valueType;
+        } else if (codec instanceof EnumerationCodec) {
+            return String.class;
+        } else if (codec instanceof BitsCodec) {
+            return Set.class;
+        }
+        return null;
+    }
+
+    private static Predicate<Object> restrictionsOf(final TypeDefinition<?> typeDef) {
+        final List<Predicate<Object>> checks = new ArrayList<>();
+        if (typeDef instanceof LengthRestrictedTypeDefinition) {
+            ((LengthRestrictedTypeDefinition<?>) typeDef).getLengthConstraint().ifPresent(constraint -> {
+                final RangeSet<Integer> ranges = constraint.getAllowedRanges();
+                checks.add(input -> isLengthAllowed(ranges, input));
+            });
+        }
+        if (typeDef instanceof StringTypeDefinition) {
+            for (PatternConstraint constraint : ((StringTypeDefinition) typeDef).getPatternConstraints()) {
+                final Pattern pattern = Pattern.compile(constraint.getJavaPatternString());
+                final boolean invert = constraint.getModifier().filter(ModifierKind.INVERT_MATCH::equals).isPresent();
+                checks.add(input -> !(input instanceof String) || pattern.matcher((String) input).matches() != invert);
+            }
+        }
+        if (typeDef instanceof RangeRestrictedTypeDefinition) {
+            final Optional<? extends RangeConstraint<?>> constraint =
+                    ((RangeRestrictedTypeDefinition<?, ?>) typeDef).getRangeConstraint();
+            if (constraint.isPresent()) {
+                final RangeSet<?> ranges = constraint.get().getAllowedRanges();
+                checks.add(input -> isInRange(ranges, input));
+            }
+        }
+
+        switch (checks.size()) {
+            case 0:
+                return input -> true;
+            case 1:
+                return checks.get(0);
+            default:
+                return input -> checks.stream().allMatch(check -> check.test(input));
+        }
+    }
+
+    private static boolean isLengthAllowed(final RangeSet<Integer> ranges, final Object input) {
+        if (input instanceof byte[]) {
+            return ranges.contains(((byte[]) input).length);
+        }
+        if (input instanceof String) {
+            // Do not second-guess whether the length is measured in chars or code points, accept either
+            final String str = (String) input;
+            return ranges.contains(str.length()) || ranges.contains(str.codePointCount(0, str.length()));
+        }
+        return true;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static boolean isInRange(final RangeSet<?> ranges, final Object input) {
+        // Only values of the same type as range endpoints can be compared, anything else is left to the codec
+        if (input == null || ranges.isEmpty()) {
+            return true;
+        }
+        final Range<?> span = ranges.span();
+        if (!span.hasLowerBound() || !span.lowerEndpoint().getClass().equals(input.getClass())) {
+            return true;
+        }
+        return ((RangeSet) ranges).contains((Comparable) input);
+    }
+
     @Override
     public int hashCode() {
         return bindingType.hashCode();
@@ -40,6 +40,8 @@ public class AugmentableDispatchSerializer implements DataObjectSerializerImplem
             final Map<Class<? extends Augmentation<?>>, Augmentation<?>> augmentations;
             if (reg instanceof AugmentationReader) {
                 augmentations = ((AugmentationReader) reg).getAugmentations(obj);
+            } else if (obj instanceof AugmentationReader) {
+                augmentations = ((AugmentationReader) obj).getAugmentations(obj);
             } else if (Proxy.isProxyClass(obj.getClass())) {
                 augmentations = getFromProxy(obj);
             } else {
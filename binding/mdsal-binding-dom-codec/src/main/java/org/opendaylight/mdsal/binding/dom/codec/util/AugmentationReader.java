@@ -11,8 +11,9 @@ import java.util.Map;
 import org.opendaylight.yangtools.yang.binding.Augmentation;
 
 /**
- * Interface which sould be implemented by proxy {@link java.lang.reflect.InvocationHandler} to obtain augmentations
- * from proxy implementations of {@link org.opendaylight.yangtools.yang.binding.Augmentable} object.
+ * Interface which sould be implemented by codec-backed implementations of
+ * {@link org.opendaylight.yangtools.yang.binding.Augmentable} objects, or by proxy
+ * {@link java.lang.reflect.InvocationHandler}s backing them, to obtain their augmentations.
  *
  * <p>
  * If implemented proxy does not implement this interface, its augmentations are not properly serialized / deserialized.
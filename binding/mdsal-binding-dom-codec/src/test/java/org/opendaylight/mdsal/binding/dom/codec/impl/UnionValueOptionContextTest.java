@@ -10,11 +10,23 @@ package org.opendaylight.mdsal.binding.dom.codec.impl;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
+import com.google.common.collect.ImmutableRangeSet;
+import com.google.common.collect.Range;
 import java.lang.reflect.Method;
+import java.util.Optional;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.opendaylight.yangtools.concepts.Codec;
+import org.opendaylight.yangtools.yang.model.api.type.BinaryTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.LengthConstraint;
 
 public class UnionValueOptionContextTest {
     private static UnionValueOptionContext TEST_UVOC_1;
@@ -25,16 +37,16 @@ public class UnionValueOptionContextTest {
         final Method methodFoo1 = TestDataObject1.class.getMethod("foo");
         final Method methodFoo2 = TestDataObject2.class.getMethod("foo");
         TEST_UVOC_1 = new UnionValueOptionContext(TestUnion.class, TestDataObject1.class, methodFoo1,
-            ValueTypeCodec.EMPTY_CODEC);
+            ValueTypeCodec.EMPTY_CODEC, null);
         TEST_UVOC_2 = new UnionValueOptionContext(TestUnion.class, TestDataObject2.class, methodFoo2,
-            ValueTypeCodec.EMPTY_CODEC);
+            ValueTypeCodec.EMPTY_CODEC, null);
     }
 
     @Test
     public void hashCodeTest() throws Exception {
         final Method methodFoo1 = TestDataObject1.class.getMethod("foo");
         final UnionValueOptionContext test_uvoc = new UnionValueOptionContext(TestUnion.class, TestDataObject1.class,
-            methodFoo1, ValueTypeCodec.EMPTY_CODEC);
+            methodFoo1, ValueTypeCodec.EMPTY_CODEC, null);
 
         assertEquals("HashCode", test_uvoc.hashCode(), TEST_UVOC_1.hashCode());
         assertNotEquals("HashCode", TEST_UVOC_1.hashCode(), TEST_UVOC_2.hashCode());
@@ -44,12 +56,45 @@ public class UnionValueOptionContextTest {
     public void equalsTest() throws Exception {
         final Method methodFoo1 = TestDataObject1.class.getMethod("foo");
         final UnionValueOptionContext test_uvoc = new UnionValueOptionContext(TestUnion.class, TestDataObject1.class,
-            methodFoo1, ValueTypeCodec.EMPTY_CODEC);
+            methodFoo1, ValueTypeCodec.EMPTY_CODEC, null);
 
         assertTrue("Equals", TEST_UVOC_1.equals(test_uvoc));
         assertFalse("Not equals", TEST_UVOC_1.equals(TEST_UVOC_2));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void restrictionsTest() throws Exception {
+        final LengthConstraint length = mock(LengthConstraint.class);
+        doReturn(ImmutableRangeSet.of(Range.singleton(4))).when(length).getAllowedRanges();
+        final BinaryTypeDefinition type = mock(BinaryTypeDefinition.class);
+        doReturn(Optional.of(length)).when(type).getLengthConstraint();
+
+        final byte[] valid = new byte[4];
+        final Codec<Object, Object> codec = mock(Codec.class);
+        doReturn(valid).when(codec).deserialize(valid);
+
+        final UnionValueOptionContext uvoc = new UnionValueOptionContext(BinaryUnion.class, byte[].class,
+            BinaryUnion.class.getMethod("getValue"), codec, type);
+        assertNotNull(uvoc.deserializeUnion(valid));
+
+        // Value violating the length restriction should not reach the codec
+        assertNull(uvoc.deserializeUnion(new byte[16]));
+        verify(codec).deserialize(ArgumentMatchers.any());
+    }
+
+    public static final class BinaryUnion {
+        private final byte[] value;
+
+        public BinaryUnion(final byte[] value) {
+            this.value = value;
+        }
+
+        public byte[] getValue() {
+            return value;
+        }
+    }
+
     protected static final class TestDataObject1 {
         public void foo() {
 
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Map.Entry;
+import org.junit.Test;
+import org.opendaylight.mdsal.binding.dom.codec.impl.CodecDataObject;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.augment.rev140709.TreeLeafOnlyAugment;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.augment.rev140709.TreeLeafOnlyAugmentBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelListKey;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+public class CodecDataObjectTest extends AbstractBindingCodecTest {
+    private static final TopLevelListKey TOP_FOO_KEY = new TopLevelListKey("foo");
+    private static final InstanceIdentifier<TopLevelList> BA_TOP_LEVEL_LIST = InstanceIdentifier.builder(Top.class)
+            .child(TopLevelList.class, TOP_FOO_KEY).build();
+
+    @Test
+    public void testGeneratedImplementation() {
+        final TopLevelList data = new TopLevelListBuilder()
+                .withKey(TOP_FOO_KEY)
+                .addAugmentation(TreeLeafOnlyAugment.class,
+                    new TreeLeafOnlyAugmentBuilder().setSimpleValue("simpleValue").build())
+                .build();
+        final TopLevelList deserialized = roundTrip(data);
+
+        assertTrue(deserialized instanceof CodecDataObject);
+        assertFalse(Proxy.isProxyClass(deserialized.getClass()));
+        assertSame(TopLevelList.class, deserialized.getImplementedInterface());
+
+        assertEquals(TOP_FOO_KEY, deserialized.key());
+        assertEquals("foo", deserialized.getName());
+        // Subsequent invocations need to return the cached value
+        assertSame(deserialized.key(), deserialized.key());
+
+        final TreeLeafOnlyAugment aug = deserialized.augmentation(TreeLeafOnlyAugment.class);
+        assertEquals("simpleValue", aug.getSimpleValue());
+        assertTrue(aug instanceof CodecDataObject);
+
+        assertEquals(data, deserialized);
+        assertEquals(deserialized, data);
+        final TopLevelList again = roundTrip(data);
+        assertEquals(deserialized, again);
+        assertEquals(deserialized.hashCode(), again.hashCode());
+
+        final TopLevelList other = roundTrip(new TopLevelListBuilder().withKey(TOP_FOO_KEY).build());
+        assertNotEquals(deserialized, other);
+        assertTrue(deserialized.toString().contains("simpleValue"));
+    }
+
+    private TopLevelList roundTrip(final TopLevelList data) {
+        final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> dom = registry.toNormalizedNode(BA_TOP_LEVEL_LIST,
+            data);
+        final Entry<InstanceIdentifier<?>, DataObject> readed = registry.fromNormalizedNode(dom.getKey(),
+            dom.getValue());
+        return (TopLevelList) readed.getValue();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.opendaylight.mdsal.binding.dom.codec.impl.InstanceIdentifierCacheStats;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.augment.rev140709.TreeLeafOnlyAugment;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelListKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+public class InstanceIdentifierCacheTest extends AbstractBindingCodecTest {
+    private static final InstanceIdentifier<Top> BA_TOP = InstanceIdentifier.create(Top.class);
+    private static final InstanceIdentifier<TopLevelList> BA_FOO = BA_TOP.child(TopLevelList.class,
+        new TopLevelListKey("foo"));
+    private static final InstanceIdentifier<TopLevelList> BA_BAR = BA_TOP.child(TopLevelList.class,
+        new TopLevelListKey("bar"));
+
+    @Test
+    public void testPrefixReuse() {
+        final YangInstanceIdentifier foo = registry.toYangInstanceIdentifierCached(BA_FOO);
+        assertEquals(registry.toYangInstanceIdentifier(BA_FOO), foo);
+        assertStats(0, 0, 1, 2);
+
+        // Full hit
+        assertSame(foo, registry.toYangInstanceIdentifierCached(BA_FOO));
+        assertStats(1, 0, 1, 2);
+
+        // Ancestors are cached as a side-effect of translating their children
+        final YangInstanceIdentifier top = registry.toYangInstanceIdentifierCached(BA_TOP);
+        assertEquals(registry.toYangInstanceIdentifier(BA_TOP), top);
+        assertStats(2, 0, 1, 2);
+
+        // Sibling resumes from the common parent
+        final YangInstanceIdentifier bar = registry.toYangInstanceIdentifierCached(BA_BAR);
+        assertEquals(registry.toYangInstanceIdentifier(BA_BAR), bar);
+        assertEquals(foo.getParent(), bar.getParent());
+        assertStats(2, 1, 1, 3);
+
+        // Augmentations are translated as well
+        final InstanceIdentifier<TreeLeafOnlyAugment> fooAug = BA_FOO.augmentation(TreeLeafOnlyAugment.class);
+        assertEquals(registry.toYangInstanceIdentifier(fooAug), registry.toYangInstanceIdentifierCached(fooAug));
+        assertStats(2, 2, 1, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidIdentifier() {
+        registry.toYangInstanceIdentifierCached(InstanceIdentifier.create(TopLevelList.class));
+    }
+
+    private void assertStats(final long hits, final long prefixHits, final long misses, final long size) {
+        final InstanceIdentifierCacheStats stats = registry.getInstanceIdentifierCacheStats();
+        assertEquals(hits, stats.getHitCount());
+        assertEquals(prefixHits, stats.getPrefixHitCount());
+        assertEquals(misses, stats.getMissCount());
+        assertEquals(size, stats.getSize());
+    }
+}
@@ -55,7 +55,16 @@ public class UnionTypeTest extends AbstractBindingCodecTest {
 
     @Test
     public void bug5446Test() {
-        IpAddressBinary ipAddress = IpAddressBinaryBuilder.getDefaultInstance("fwAAAQ==");
+        assertRootRoundTrip(IpAddressBinaryBuilder.getDefaultInstance("fwAAAQ=="));
+    }
+
+    @Test
+    public void secondOptionTest() {
+        // Matches only the second option of the union
+        assertRootRoundTrip(IpAddressBinaryBuilder.getDefaultInstance("AAAAAAAAAAAAAAAAAAAAAQ=="));
+    }
+
+    private void assertRootRoundTrip(final IpAddressBinary ipAddress) {
         Root root = new RootBuilder().setIpAddress(ipAddress).build();
         NormalizedNode<?, ?> rootNode = registry.toNormalizedNode(InstanceIdentifier.builder(Root.class).build(), root)
                 .getValue();
@@ -22,6 +22,7 @@ import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 public class UnionTypeWithIdentityrefTest extends AbstractBindingCodecTest {
@@ -59,4 +60,12 @@ public class UnionTypeWithIdentityrefTest extends AbstractBindingCodecTest {
         assertEquals(Short.valueOf((short)1), unionTypeObj.getUint8());
         assertEquals(null, unionTypeObj.getIdentityref());
     }
+
+    @Test
+    public void testToNormalizedLeaf() {
+        final Entry<NodeIdentifier, Object> leaf = registry.toNormalizedLeaf(InstanceIdentifier.create(UnionNode.class),
+            "value", new UnionType(IdentOne.class));
+        assertEquals(new NodeIdentifier(QName.create(UnionNode.QNAME, "value")), leaf.getKey());
+        assertEquals(IdentOne.QNAME, leaf.getValue());
+    }
 }
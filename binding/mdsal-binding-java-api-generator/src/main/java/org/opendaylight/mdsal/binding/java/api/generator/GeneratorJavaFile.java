@@ -79,11 +79,26 @@ public final class GeneratorJavaFile {
      * @param types set of types for which JAVA code should be generated
      */
     public GeneratorJavaFile(final Collection<? extends Type> types) {
+        this(types, false);
+    }
+
+    /**
+     * Creates instance of this class with the set of <code>types</code> for which the JAVA code is generated,
+     * optionally including build-time generated serializers, which are otherwise generated at runtime by the binding
+     * codec.
+     *
+     * @param types set of types for which JAVA code should be generated
+     * @param generateSerializers true if serializers should be generated, too
+     */
+    public GeneratorJavaFile(final Collection<? extends Type> types, final boolean generateSerializers) {
         this.types = Preconditions.checkNotNull(types);
         generators.add(new InterfaceGenerator());
         generators.add(new TOGenerator());
         generators.add(new EnumGenerator());
         generators.add(new BuilderGenerator());
+        if (generateSerializers) {
+            generators.add(new SerializerGenerator(types));
+        }
     }
 
     public Table<FileKind, String, Supplier<String>> generateFileContent(final boolean ignoreDuplicates) {
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.java.api.generator;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.opendaylight.mdsal.binding.model.api.CodeGenerator;
+import org.opendaylight.mdsal.binding.model.api.GeneratedTransferObject;
+import org.opendaylight.mdsal.binding.model.api.GeneratedType;
+import org.opendaylight.mdsal.binding.model.api.MethodSignature;
+import org.opendaylight.mdsal.binding.model.api.ParameterizedType;
+import org.opendaylight.mdsal.binding.model.api.Type;
+import org.opendaylight.mdsal.binding.model.api.YangSourceDefinition;
+import org.opendaylight.mdsal.binding.model.api.YangSourceDefinition.Single;
+import org.opendaylight.mdsal.binding.spec.naming.BindingMapping;
+import org.opendaylight.mdsal.binding.spec.reflect.BindingReflections;
+import org.opendaylight.yangtools.yang.binding.Augmentable;
+import org.opendaylight.yangtools.yang.binding.BindingSerializer;
+import org.opendaylight.yangtools.yang.binding.BindingStreamEventWriter;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.DataObjectSerializerImplementation;
+import org.opendaylight.yangtools.yang.binding.DataObjectSerializerRegistry;
+import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DocumentedNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.type.BooleanTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EmptyTypeDefinition;
+
+/**
+ * Generator of {@link DataObjectSerializerImplementation}s, which are otherwise generated at runtime by the binding
+ * codec. The emitted class is named {@code <Type>$StreamWriter} and exposes a static {@code getInstance()} method,
+ * which is the layout the codec looks up before resorting to runtime generation.
+ *
+ * <p>
+ * Serializers are emitted only for containers, lists, cases and notifications. Augmentations and anything this
+ * generator does not understand are left to the runtime generator. Children whose serializer is emitted in the same
+ * run are invoked directly, all others are looked up through the {@link DataObjectSerializerRegistry}.
+ *
+ * <p>
+ * Augmentations are retrieved through {@link BindingReflections#getAugmentations(Augmentable)}, hence the generated serializers
+ * require {@code mdsal-binding-spec-util} at runtime.
+ */
+@Beta
+public final class SerializerGenerator implements CodeGenerator {
+    static final String SUFFIX = "$StreamWriter";
+
+    private static final String REGISTRY = "_registry";
+    private static final String STREAM = "_stream";
+    private static final String INPUT = "_input";
+    private static final String SERIALIZER = "_serializer";
+    private static final String ITEM = "_item";
+
+    private static final String DATA_OBJECT = DataObject.class.getName();
+    private static final String WRITER = BindingStreamEventWriter.class.getName();
+    private static final String REFLECTIONS = BindingReflections.class.getName();
+    private static final String UNKNOWN_SIZE = WRITER + ".UNKNOWN_SIZE";
+
+    private final ImmutableSet<String> generated;
+
+    /**
+     * Create a new generator.
+     *
+     * @param types All types which are being generated, used to find out which children can be invoked directly
+     */
+    public SerializerGenerator(final Collection<? extends Type> types) {
+        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        for (Type type : types) {
+            if (isSupported(type)) {
+                builder.add(type.getFullyQualifiedName());
+            }
+        }
+        generated = builder.build();
+    }
+
+    @Override
+    public boolean isAcceptable(final Type type) {
+        return generated.contains(type.getFullyQualifiedName()) && isSupported(type);
+    }
+
+    @Override
+    public String getUnitName(final Type type) {
+        return type.getName() + SUFFIX;
+    }
+
+    @Override
+    public String generate(final Type type) {
+        if (!isAcceptable(type)) {
+            return "";
+        }
+
+        final GeneratedType genType = (GeneratedType) type;
+        final DocumentedNode node = sourceNode(genType).get();
+        final String typeName = genType.getFullyQualifiedName();
+        final String unitName = getUnitName(type);
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(genType.getPackageName()).append(";\n\n");
+        sb.append("/**\n");
+        sb.append(" * Build-time generated serializer of {@link ").append(typeName).append("}.\n");
+        sb.append(" */\n");
+        sb.append("public final class ").append(unitName).append(" implements ")
+            .append(DataObjectSerializerImplementation.class.getName()).append(" {\n");
+        sb.append("    private static final ").append(unitName).append(" INSTANCE = new ").append(unitName)
+            .append("();\n\n");
+        sb.append("    private ").append(unitName).append("() {\n");
+        sb.append("        // Hidden on purpose\n");
+        sb.append("    }\n\n");
+        sb.append("    public static ").append(unitName).append(" getInstance() {\n");
+        sb.append("        return INSTANCE;\n");
+        sb.append("    }\n\n");
+        sb.append("    @java.lang.Override\n");
+        sb.append("    @java.lang.SuppressWarnings({ \"rawtypes\", \"unchecked\" })\n");
+        sb.append("    public void serialize(final ").append(DataObjectSerializerRegistry.class.getName()).append(' ')
+            .append(REGISTRY).append(", final ").append(DATA_OBJECT).append(" obj, final ").append(WRITER)
+            .append(' ').append(STREAM).append(") throws java.io.IOException {\n");
+        sb.append("        final ").append(typeName).append(' ').append(INPUT).append(" = (").append(typeName)
+            .append(") obj;\n");
+        sb.append("        final ").append(BindingSerializer.class.getName()).append(' ').append(SERIALIZER)
+            .append(" = ").append(STREAM).append(" instanceof ").append(BindingSerializer.class.getName())
+            .append(" ? (").append(BindingSerializer.class.getName()).append(") ").append(STREAM)
+            .append(" : null;\n");
+        sb.append("        ").append(STREAM).append('.').append(startEvent(typeName, node)).append(";\n");
+
+        final Map<String, Type> getterToType = collectAllProperties(genType, new HashMap<>());
+        for (DataSchemaNode child : ((DataNodeContainer) node).getChildNodes()) {
+            if (!child.isAugmenting()) {
+                final String getter = getterName(child);
+                final Type childType = getterToType.get(getter);
+                if (childType == null) {
+                    if (child instanceof AnyXmlSchemaNode) {
+                        // Not exposed in binding, same as the runtime generator
+                        continue;
+                    }
+                    throw new IllegalStateException(String.format(
+                        "Unable to find type for child node %s. Expected child nodes: %s", child.getPath(),
+                        getterToType));
+                }
+                emitChild(sb, getter, childType, child);
+            }
+        }
+
+        // Same lookup as the runtime serializer, which covers AugmentationHolders and builder implementations alike
+        final String augmentable = Augmentable.class.getName();
+        sb.append("        if (").append(INPUT).append(" instanceof ").append(augmentable).append(") {\n");
+        sb.append("            for (java.util.Map.Entry ").append(ITEM)
+            .append(" : (java.util.Set<java.util.Map.Entry>) ").append(REFLECTIONS).append(".getAugmentations((")
+            .append(augmentable).append(") ").append(INPUT).append(").entrySet()) {\n");
+        sb.append("                if (").append(ITEM).append(".getValue() != null) {\n");
+        sb.append("                    ").append(REGISTRY).append(".getSerializer((java.lang.Class) ").append(ITEM)
+            .append(".getKey()).serialize((").append(DATA_OBJECT).append(") ").append(ITEM).append(".getValue(), ")
+            .append(STREAM).append(");\n");
+        sb.append("                }\n");
+        sb.append("            }\n");
+        sb.append("        }\n");
+        sb.append("        ").append(STREAM).append(".endNode();\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private void emitChild(final StringBuilder sb, final String getter, final Type childType,
+            final DataSchemaNode child) {
+        final String localName = child.getQName().getLocalName();
+        // Only collections need to be typed, everything else is passed on as an Object
+        final String localType = child instanceof LeafListSchemaNode || child instanceof ListSchemaNode
+                ? "java.util.List" : "java.lang.Object";
+
+        sb.append("        final ").append(localType).append(' ').append(getter).append(" = ").append(INPUT)
+            .append('.').append(getter).append("();\n");
+        sb.append("        if (").append(getter).append(" != null) {\n");
+        if (child instanceof LeafSchemaNode) {
+            sb.append("            ").append(STREAM).append(".leafNode(\"").append(localName).append("\", ")
+                .append(getter).append(");\n");
+        } else if (child instanceof LeafListSchemaNode) {
+            sb.append("            ").append(STREAM).append('.')
+                .append(((LeafListSchemaNode) child).isUserOrdered() ? "startOrderedLeafSet" : "startLeafSet")
+                .append("(\"").append(localName).append("\", ").append(getter).append(".size());\n");
+            sb.append("            for (java.lang.Object ").append(ITEM).append(" : ").append(getter).append(") {\n");
+            sb.append("                ").append(STREAM).append(".leafSetEntryNode(").append(ITEM).append(");\n");
+            sb.append("            }\n");
+            sb.append("            ").append(STREAM).append(".endNode();\n");
+        } else if (child instanceof ListSchemaNode) {
+            final ListSchemaNode list = (ListSchemaNode) child;
+            final Type valueType = ((ParameterizedType) childType).getActualTypeArguments()[0];
+            final String startEvent;
+            if (list.getKeyDefinition().isEmpty()) {
+                startEvent = "startUnkeyedList";
+            } else if (list.isUserOrdered()) {
+                startEvent = "startOrderedMapNode";
+            } else {
+                startEvent = "startMapNode";
+            }
+
+            sb.append("            ").append(STREAM).append('.').append(startEvent).append("((java.lang.Class) ")
+                .append(valueType.getFullyQualifiedName()).append(".class, ").append(getter).append(".size());\n");
+            sb.append("            for (java.lang.Object ").append(ITEM).append(" : ").append(getter).append(") {\n");
+            emitCached(sb, "                ", ITEM, invokeSerializer(valueType, ITEM));
+            sb.append("            }\n");
+            sb.append("            ").append(STREAM).append(".endNode();\n");
+        } else if (child instanceof ContainerSchemaNode) {
+            emitCached(sb, "            ", getter, invokeSerializer(childType, getter));
+        } else if (child instanceof ChoiceSchemaNode) {
+            final String dataObject = "((" + DATA_OBJECT + ") " + getter + ")";
+            final StringBuilder choice = new StringBuilder();
+            choice.append(STREAM).append(".startChoiceNode(").append(childType.getFullyQualifiedName())
+                .append(".class, ").append(UNKNOWN_SIZE).append(");\n");
+            choice.append(REGISTRY).append(".getSerializer((java.lang.Class) ").append(dataObject)
+                .append(".getImplementedInterface()).serialize(").append(dataObject).append(", ").append(STREAM)
+                .append(");\n");
+            choice.append(STREAM).append(".endNode();\n");
+            emitCached(sb, "            ", getter, choice);
+        }
+        sb.append("        }\n");
+    }
+
+    private static void emitCached(final StringBuilder sb, final String indent, final String value,
+            final CharSequence statements) {
+        sb.append(indent).append("if (").append(SERIALIZER).append(" == null || ").append(SERIALIZER)
+            .append(".serialize(").append(value).append(") == null) {\n");
+        for (String line : statements.toString().split("\n")) {
+            sb.append(indent).append("    ").append(line).append('\n');
+        }
+        sb.append(indent).append("}\n");
+    }
+
+    private String invokeSerializer(final Type type, final String value) {
+        final String typeName = type.getFullyQualifiedName();
+        final String dataObject = "(" + DATA_OBJECT + ") " + value;
+        if (generated.contains(typeName)) {
+            return typeName + SUFFIX + ".getInstance().serialize(" + REGISTRY + ", " + dataObject + ", " + STREAM
+                    + ");";
+        }
+        return REGISTRY + ".getSerializer(" + typeName + ".class).serialize(" + dataObject + ", " + STREAM + ");";
+    }
+
+    private static String startEvent(final String typeName, final DocumentedNode node) {
+        if (node instanceof CaseSchemaNode) {
+            return "startCase(" + typeName + ".class, " + UNKNOWN_SIZE + ")";
+        }
+        if (node instanceof ListSchemaNode) {
+            return ((ListSchemaNode) node).getKeyDefinition().isEmpty()
+                    ? "startUnkeyedListItem(" + UNKNOWN_SIZE + ")"
+                        : "startMapEntryNode(" + INPUT + "." + BindingMapping.IDENTIFIABLE_KEY_NAME + "(), "
+                            + UNKNOWN_SIZE + ")";
+        }
+        return "startContainerNode(" + typeName + ".class, " + UNKNOWN_SIZE + ")";
+    }
+
+    private static boolean isSupported(final Type type) {
+        if (!(type instanceof GeneratedType) || type instanceof GeneratedTransferObject) {
+            return false;
+        }
+        final Optional<DocumentedNode> node = sourceNode((GeneratedType) type);
+        if (!node.isPresent()) {
+            return false;
+        }
+        final DocumentedNode schema = node.get();
+        return schema instanceof ContainerSchemaNode || schema instanceof ListSchemaNode
+                || schema instanceof CaseSchemaNode || schema instanceof NotificationDefinition;
+    }
+
+    private static Optional<DocumentedNode> sourceNode(final GeneratedType type) {
+        final Optional<YangSourceDefinition> def = type.getYangSourceDefinition();
+        return def.isPresent() && def.get() instanceof Single ? Optional.of(((Single) def.get()).getNode())
+                : Optional.empty();
+    }
+
+    private static Map<String, Type> collectAllProperties(final GeneratedType type, final Map<String, Type> map) {
+        for (MethodSignature definition : type.getMethodDefinitions()) {
+            map.put(definition.getName(), definition.getReturnType());
+        }
+        for (Type parent : type.getImplements()) {
+            if (parent instanceof GeneratedType) {
+                collectAllProperties((GeneratedType) parent, map);
+            }
+        }
+        return map;
+    }
+
+    private static String getterName(final DataSchemaNode node) {
+        if (!(node instanceof TypedDataSchemaNode)) {
+            return BindingMapping.getGetterMethodName(node.getQName(), false);
+        }
+
+        // Derived boolean/empty types are generated as typedef classes and use a 'get' getter, see
+        // BindingSchemaMapping in the binding codec
+        final TypeDefinition<?> type = ((TypedDataSchemaNode) node).getType();
+        return BindingMapping.getGetterMethodName(node.getQName(),
+            (type instanceof BooleanTypeDefinition || type instanceof EmptyTypeDefinition)
+            && (type.getPath().equals(node.getPath()) || type.getBaseType() == null));
+    }
+}
@@ -52,9 +52,14 @@ public abstract class BaseCompilationTest {
 
     protected static final void generateTestSources(final List<Type> types, final File sourcesOutputDir)
             throws IOException {
+        generateTestSources(types, sourcesOutputDir, false);
+    }
+
+    private static void generateTestSources(final List<Type> types, final File sourcesOutputDir,
+            final boolean generateSerializers) throws IOException {
         types.sort((o1, o2) -> o2.getName().compareTo(o1.getName()));
 
-        final GeneratorJavaFile generator = new GeneratorJavaFile(ImmutableSet.copyOf(types));
+        final GeneratorJavaFile generator = new GeneratorJavaFile(ImmutableSet.copyOf(types), generateSerializers);
         final Table<?, String, Supplier<String>> generatedFiles = generator.generateFileContent(true);
         for (Cell<?, String, Supplier<String>> cell : generatedFiles.cellSet()) {
             final File target = new File(sourcesOutputDir, cell.getColumnKey());
@@ -65,10 +70,15 @@ public abstract class BaseCompilationTest {
 
     protected final List<Type> generateTestSources(final String resourceDirPath, final File sourcesOutputDir)
             throws IOException, URISyntaxException {
+        return generateTestSources(resourceDirPath, sourcesOutputDir, false);
+    }
+
+    protected final List<Type> generateTestSources(final String resourceDirPath, final File sourcesOutputDir,
+            final boolean generateSerializers) throws IOException, URISyntaxException {
         final List<File> sourceFiles = CompilationTestUtils.getSourceFiles(resourceDirPath);
         final SchemaContext context = YangParserTestUtils.parseYangFiles(sourceFiles);
         final List<Type> types = bindingGenerator.generateTypes(context);
-        generateTestSources(types, sourcesOutputDir);
+        generateTestSources(types, sourcesOutputDir, generateSerializers);
 
         // Also generate YangModuleInfo
         for (Module module : context.getModules()) {
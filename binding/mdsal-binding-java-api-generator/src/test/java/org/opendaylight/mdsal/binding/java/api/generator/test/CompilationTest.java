@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.binding.ChildOf;
+import org.opendaylight.yangtools.yang.binding.DataObjectSerializerImplementation;
 import org.opendaylight.yangtools.yang.binding.annotations.RoutingContext;
 
 /**
@@ -124,6 +125,31 @@ public class CompilationTest extends BaseCompilationTest {
         CompilationTestUtils.cleanUp(sourcesOutputDir, compiledOutputDir);
     }
 
+    @Test
+    public void testSerializerGeneration() throws Exception {
+        final File sourcesOutputDir = CompilationTestUtils.generatorOutput("serializer-gen");
+        final File compiledOutputDir = CompilationTestUtils.compilerOutput("serializer-gen");
+        generateTestSources("/compilation/list-gen", sourcesOutputDir, true);
+
+        // Serializers are generated for lists and containers, but not for groupings
+        final File parent = new File(sourcesOutputDir, CompilationTestUtils.NS_TEST);
+        assertTrue(new File(parent, "Links$StreamWriter.java").exists());
+        assertTrue(new File(parent, "links" + CompilationTestUtils.FS + "Node$StreamWriter.java").exists());
+        assertFalse(new File(parent, "KeyArgs$StreamWriter.java").exists());
+
+        // Test if sources are compilable
+        CompilationTestUtils.testCompilation(sourcesOutputDir, compiledOutputDir);
+
+        final ClassLoader loader = new URLClassLoader(new URL[] { compiledOutputDir.toURI().toURL() });
+        final Class<?> writerClass = Class.forName(CompilationTestUtils.BASE_PKG
+            + ".urn.opendaylight.test.rev131008.Links$StreamWriter", true, loader);
+        assertTrue(DataObjectSerializerImplementation.class.isAssignableFrom(writerClass));
+        final Object instance = writerClass.getDeclaredMethod("getInstance").invoke(null);
+        assertTrue(writerClass.isInstance(instance));
+
+        CompilationTestUtils.cleanUp(sourcesOutputDir, compiledOutputDir);
+    }
+
     @Test
     public void testAugmentUnderUsesGeneration() throws Exception {
         final File sourcesOutputDir = CompilationTestUtils.generatorOutput("augment-under-uses");
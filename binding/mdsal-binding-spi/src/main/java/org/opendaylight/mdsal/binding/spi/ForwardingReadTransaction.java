@@ -10,6 +10,8 @@ package org.opendaylight.mdsal.binding.spi;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.util.concurrent.FluentFuture;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import org.opendaylight.mdsal.binding.api.ReadTransaction;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
@@ -42,6 +44,12 @@ public class ForwardingReadTransaction extends ForwardingTransaction implements
         return delegate.exists(store, path);
     }
 
+    @Override
+    public <T extends DataObject> FluentFuture<Map<InstanceIdentifier<T>, Optional<T>>> readAll(
+            final LogicalDatastoreType store, final Collection<InstanceIdentifier<T>> paths) {
+        return delegate.readAll(store, paths);
+    }
+
     @Override
     public void close() {
         delegate.close();
@@ -20,7 +20,7 @@ import org.opendaylight.yangtools.yang.binding.Augmentation;
  * Adds an {@link #getAugmentations(Augmentable)} method to {@link Augmentable}.
  *
  * <p>Note that the generated *Impl classes in the *Builder do not implement
- * {@link AugmentationReader}, only the LazyDataObject (package local) does.
+ * {@link AugmentationReader}, only the codec-generated CodecDataObject subclasses do.
  *
  * @see Augmentable
  * @see AugmentationReader
@@ -38,7 +38,7 @@ class AugmentableExtension {
             return ImmutableClassToInstanceMap.copyOf(augmentationReader.getAugmentations(augmentable));
         } else if (Proxy.isProxyClass(augmentable.getClass())) {
             InvocationHandler invocationHandler = Proxy.getInvocationHandler(augmentable);
-            // class LazyDataObject implements InvocationHandler, AugmentationReader
+            // Proxies whose InvocationHandler implements AugmentationReader
             AugmentationReader augmentationReader = (AugmentationReader) invocationHandler;
             return ImmutableClassToInstanceMap.copyOf(augmentationReader.getAugmentations(augmentable));
         } else {
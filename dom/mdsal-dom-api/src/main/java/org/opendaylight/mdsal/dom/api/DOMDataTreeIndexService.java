@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.api;
+
+import com.google.common.annotations.Beta;
+import com.google.common.util.concurrent.FluentFuture;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.common.api.ReadFailedException;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+
+/**
+ * A {@link DOMDataBrokerExtension} which allows users to look up entries of a keyed list by the value of a leaf other
+ * than their key, using secondary indexes maintained by the underlying data stores. Which lists and leaves are indexed
+ * is a matter of data store configuration.
+ */
+@Beta
+public interface DOMDataTreeIndexService extends DOMDataBrokerExtension {
+    /**
+     * Look up entries of a keyed list whose indexed leaf has the specified value. All entries are read from a single,
+     * consistent state of the data store. Leaf values are compared using {@link Object#equals(Object)}.
+     *
+     * <p>
+     * The list is identified by the path of its entries, where the last argument is a
+     * {@link YangInstanceIdentifier.NodeIdentifier} matching the node type of the list, selecting all of its entries.
+     * Entries of enclosing lists may be selected in the same way, so that a single index covers all instances of
+     * a nested list.
+     *
+     * @param store Logical data store which should be searched
+     * @param list Wildcarded path of the list entries, for example {@code /interfaces/interface/interface}
+     * @param leaf Path of the indexed leaf, relative to a list entry
+     * @param value Value of the leaf to look up
+     * @return a FluentFuture containing the result of the lookup. Once complete:
+     *         <ul>
+     *         <li>The Future returns a Map of matching entries, keyed by their path. The Map is empty if there are no
+     *         matching entries.</li>
+     *         <li>If the lookup fails, the Future will fail with a {@link ReadFailedException} or an exception derived
+     *         from ReadFailedException.</li>
+     *         </ul>
+     * @throws NullPointerException if any of the arguments is null
+     * @throws IllegalArgumentException if the data store does not index the list by the leaf
+     */
+    @NonNull FluentFuture<Map<YangInstanceIdentifier, MapEntryNode>> lookup(@NonNull LogicalDatastoreType store,
+            @NonNull YangInstanceIdentifier list, @NonNull YangInstanceIdentifier leaf, @NonNull Object value);
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.api;
+
+import com.google.common.annotations.Beta;
+import com.google.common.util.concurrent.FluentFuture;
+import java.util.Collection;
+import java.util.Optional;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Extension of {@link DOMDataTreeReadOperations} exposed by implementations which are able to read a projection
+ * of a subtree. Users should check whether a particular read transaction implements this interface before using it.
+ * {@code NormalizedNodeProjection} in mdsal-dom-spi provides a read which falls back to reading the whole subtree
+ * and pruning it afterwards.
+ */
+@Beta
+public interface DOMDataTreeProjectedReadOperations extends DOMDataTreeReadOperations {
+    /**
+     * Reads a projection of data from provided logical data store located at the provided path. Only the subtrees
+     * identified by the supplied fields, along with the nodes leading to them, are returned. This allows a client
+     * interested in a few leaves of a large subtree to avoid having the rest of it materialized and delivered.
+     *
+     *<p>
+     * Each field is a path relative to the provided path. A {@code NodeIdentifier} matching the node type of a list
+     * selects all of its entries. Key leaves of selected list entries are always included. The result never contains
+     * any other nodes.
+     *
+     * @param store Logical data store from which read should occur.
+     * @param path Path which uniquely identifies subtree which client want to read
+     * @param fields Paths of the fields the client is interested in, relative to {@code path}. An empty collection
+     *               selects the whole subtree.
+     * @return a FluentFuture containing the result of the read, as specified by
+     *         {@link #read(LogicalDatastoreType, YangInstanceIdentifier)}.
+     */
+    FluentFuture<Optional<NormalizedNode<?, ?>>> read(LogicalDatastoreType store, YangInstanceIdentifier path,
+            Collection<YangInstanceIdentifier> fields);
+}
@@ -8,6 +8,8 @@
 package org.opendaylight.mdsal.dom.api;
 
 import com.google.common.util.concurrent.FluentFuture;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
@@ -56,4 +58,29 @@ public interface DOMDataTreeReadOperations {
      *         </ul>
      */
     FluentFuture<Boolean> exists(LogicalDatastoreType store, YangInstanceIdentifier path);
+
+    /**
+     * Reads data from provided logical data store located at each of the provided paths. All paths are read from
+     * the same state of the data store, and the results are delivered through a single future.
+     *
+     *<p>
+     * Default implementation issues an individual {@link #read(LogicalDatastoreType, YangInstanceIdentifier)} for each
+     * path. Implementations are recommended to override it with a more efficient implementation, for example one
+     * which resolves common prefixes of the paths only once.
+     *
+     * @param store Logical data store from which read should occur.
+     * @param paths Paths which uniquely identify subtrees which client want to read
+     * @return a FluentFuture containing the results of the read. Once complete:
+     *         <ul>
+     *         <li>The Future returns a Map with an entry for each distinct path, in the order in which the paths were
+     *         supplied. The entry's value is an Optional object containing the data, or Optional.empty() if the data
+     *         at that path does not exist.</li>
+     *         <li>If the read of any of the paths fails, the Future will fail with a {@link ReadFailedException} or
+     *         an exception derived from ReadFailedException.</li>
+     *         </ul>
+     */
+    default FluentFuture<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>> readAll(
+            final LogicalDatastoreType store, final Collection<YangInstanceIdentifier> paths) {
+        return IndividualReads.readAll(paths, path -> read(store, path));
+    }
 }
@@ -7,7 +7,11 @@
  */
 package org.opendaylight.mdsal.dom.api;
 
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnegative;
 import org.eclipse.jdt.annotation.NonNull;
@@ -102,4 +106,56 @@ public interface DOMNotificationPublishService extends DOMService {
      */
     @NonNull ListenableFuture<? extends Object> offerNotification(@NonNull DOMNotification notification,
             @Nonnegative long timeout, @NonNull TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Publish a batch of notifications. This method behaves as if {@link #putNotification(DOMNotification)} was
+     * invoked for each notification in iteration order, except implementations are free to amortize the cost
+     * of accepting the notifications for delivery across the entire batch.
+     *
+     * <p>
+     * The default implementation invokes {@link #putNotification(DOMNotification)} for each notification.
+     *
+     * @param notifications Notifications to be published.
+     * @return A listenable future which will report completion when the service has finished propagating all
+     *         notifications to their immediate registrants.
+     * @throws InterruptedException if interrupted while waiting
+     * @throws NullPointerException if notifications or any of its elements is null.
+     */
+    default @NonNull ListenableFuture<? extends Object> putNotifications(
+            final @NonNull Collection<? extends DOMNotification> notifications) throws InterruptedException {
+        final List<ListenableFuture<?>> futures = new ArrayList<>(notifications.size());
+        for (DOMNotification notification : notifications) {
+            futures.add(putNotification(notification));
+        }
+        return Futures.allAsList(futures);
+    }
+
+    /**
+     * Attempt to publish a batch of notifications. This method is guaranteed not to block if the underlying
+     * implementation encounters contention. The batch is either accepted or rejected as a whole.
+     *
+     * <p>
+     * The default implementation invokes {@link #offerNotification(DOMNotification)} for each notification and
+     * reports {@link #REJECTED} as soon as a notification is rejected. Notifications preceding it will have been
+     * accepted for delivery, hence implementations should override this method if they can provide all-or-nothing
+     * semantics.
+     *
+     * @param notifications Notifications to be published.
+     * @return A listenable future which will report completion when the service has finished propagating all
+     *         notifications to their immediate registrants, or {@link #REJECTED} if resource constraints prevent
+     *         the implementation from accepting the notifications for delivery.
+     * @throws NullPointerException if notifications or any of its elements is null.
+     */
+    default @NonNull ListenableFuture<? extends Object> offerNotifications(
+            final @NonNull Collection<? extends DOMNotification> notifications) {
+        final List<ListenableFuture<?>> futures = new ArrayList<>(notifications.size());
+        for (DOMNotification notification : notifications) {
+            final ListenableFuture<?> future = offerNotification(notification);
+            if (REJECTED.equals(future)) {
+                return REJECTED;
+            }
+            futures.add(future);
+        }
+        return Futures.allAsList(futures);
+    }
 }
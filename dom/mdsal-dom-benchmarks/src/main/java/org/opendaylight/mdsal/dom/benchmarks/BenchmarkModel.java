@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.benchmarks;
+
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+/**
+ * Constants and data factories for the {@code mdsal-dom-benchmark} model. Every benchmark writer owns its own
+ * {@code writer} list entry, so that concurrent writers never contend on producer attachment points.
+ */
+final class BenchmarkModel {
+    static final QName BENCHMARK_QNAME = QName.create("urn:opendaylight:params:xml:ns:yang:mdsal:dom:benchmark",
+        "2018-11-01", "benchmark").intern();
+    static final QName WRITER_QNAME = QName.create(BENCHMARK_QNAME, "writer").intern();
+    static final QName ID_QNAME = QName.create(BENCHMARK_QNAME, "id").intern();
+    static final QName VALUE_QNAME = QName.create(BENCHMARK_QNAME, "value").intern();
+    static final QName FLAT_LIST_QNAME = QName.create(BENCHMARK_QNAME, "flat-list").intern();
+    static final QName KEYED_LIST_QNAME = QName.create(BENCHMARK_QNAME, "keyed-list").intern();
+    static final QName DEEP_LIST_QNAME = QName.create(BENCHMARK_QNAME, "deep-list").intern();
+    static final int DEEP_LEVELS = 8;
+
+    static final YangInstanceIdentifier BENCHMARK_PATH = YangInstanceIdentifier.of(BENCHMARK_QNAME);
+
+    private BenchmarkModel() {
+        throw new UnsupportedOperationException();
+    }
+
+    static SchemaContext createSchemaContext() {
+        return YangParserTestUtils.parseYangResource("/mdsal-dom-benchmark.yang");
+    }
+
+    static QName levelQName(final int level) {
+        return QName.create(BENCHMARK_QNAME, "level-" + level);
+    }
+
+    static YangInstanceIdentifier writerListPath(final long writer, final TreeShape shape) {
+        return YangInstanceIdentifier.builder(BENCHMARK_PATH).node(WRITER_QNAME)
+                .nodeWithKey(WRITER_QNAME, ID_QNAME, writer).node(shape.listQName()).build();
+    }
+
+    /**
+     * Create the initial content of the benchmark container, with the specified number of writers, each of which
+     * holds {@code entriesPerWriter} entries in the list corresponding to specified shape.
+     *
+     * @param shape Tree shape
+     * @param writers Number of writers
+     * @param entriesPerWriter Number of entries each writer starts with
+     * @return Benchmark container
+     */
+    static ContainerNode initialData(final TreeShape shape, final int writers, final int entriesPerWriter) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> builder = ImmutableNodes.mapNodeBuilder(WRITER_QNAME);
+        for (long writer = 0; writer < writers; ++writer) {
+            builder.withChild(ImmutableNodes.mapEntryBuilder(WRITER_QNAME, ID_QNAME, writer)
+                .withChild(shape.list(entriesPerWriter))
+                .build());
+        }
+
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(BENCHMARK_QNAME))
+                .withChild(builder.build()).build();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataBroker;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeProducer;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeProducerException;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeShardingConflictException;
+import org.opendaylight.mdsal.dom.broker.SerializedDOMDataBroker;
+import org.opendaylight.mdsal.dom.broker.ShardedDOMDataBrokerAdapter;
+import org.opendaylight.mdsal.dom.broker.ShardedDOMDataTree;
+import org.opendaylight.mdsal.dom.broker.pingpong.PingPongDataBroker;
+import org.opendaylight.mdsal.dom.spi.store.DOMStore;
+import org.opendaylight.mdsal.dom.store.inmemory.InMemoryDOMDataStore;
+import org.opendaylight.mdsal.dom.store.inmemory.InMemoryDOMDataStoreConfigProperties;
+import org.opendaylight.mdsal.dom.store.inmemory.InMemoryDOMDataTreeShard;
+import org.opendaylight.yangtools.util.concurrent.SpecialExecutors;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * {@link DOMDataBroker} implementations covered by the benchmarks. Each of them is backed by in-memory storage.
+ */
+public enum BrokerType {
+    /**
+     * {@link SerializedDOMDataBroker} on top of two {@link InMemoryDOMDataStore}s. Transactions are allocated
+     * directly from the broker.
+     */
+    SERIALIZED {
+        @Override
+        DOMDataBroker create(final SchemaContext schemaContext, final Deque<AutoCloseable> resources) {
+            return createSerialized(schemaContext, resources);
+        }
+    },
+    /**
+     * {@link PingPongDataBroker} wrapping {@link #SERIALIZED}. Each writer allocates transactions from its own
+     * transaction chain.
+     */
+    PING_PONG {
+        @Override
+        DOMDataBroker create(final SchemaContext schemaContext, final Deque<AutoCloseable> resources) {
+            final PingPongDataBroker ret = new PingPongDataBroker(createSerialized(schemaContext, resources));
+            resources.push(ret);
+            return ret;
+        }
+
+        @Override
+        boolean useTransactionChain() {
+            return true;
+        }
+    },
+    /**
+     * {@link ShardedDOMDataBrokerAdapter} on top of a {@link ShardedDOMDataTree} with an
+     * {@link InMemoryDOMDataTreeShard} attached at the root of each datastore.
+     */
+    SHARDED {
+        @Override
+        DOMDataBroker create(final SchemaContext schemaContext, final Deque<AutoCloseable> resources)
+                throws DOMDataTreeShardingConflictException, DOMDataTreeProducerException {
+            final ExecutorService executor = newListenerExecutor(resources);
+            final ShardedDOMDataTree dataTree = new ShardedDOMDataTree();
+            for (LogicalDatastoreType type : LogicalDatastoreType.values()) {
+                final DOMDataTreeIdentifier rootId = new DOMDataTreeIdentifier(type, YangInstanceIdentifier.EMPTY);
+                final InMemoryDOMDataTreeShard shard = InMemoryDOMDataTreeShard.create(rootId, executor,
+                    InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_CHANGE_LISTENER_QUEUE_SIZE);
+                shard.onGlobalContextUpdated(schemaContext);
+
+                final DOMDataTreeProducer producer = dataTree.createProducer(Collections.singletonList(rootId));
+                resources.push(dataTree.registerDataTreeShard(rootId, shard, producer));
+                producer.close();
+            }
+
+            return new ShardedDOMDataBrokerAdapter(dataTree);
+        }
+    };
+
+    /**
+     * Create a new broker instance. Any resources which need to be released when the broker is no longer needed
+     * are pushed onto the specified stack.
+     *
+     * @param schemaContext Schema context
+     * @param resources Stack of resources to release
+     * @return A new broker
+     * @throws Exception if the broker cannot be instantiated
+     */
+    @SuppressWarnings("checkstyle:IllegalThrows")
+    abstract DOMDataBroker create(SchemaContext schemaContext, Deque<AutoCloseable> resources) throws Exception;
+
+    /**
+     * Return true if writers should allocate transactions from a transaction chain rather than from the broker.
+     *
+     * @return True if transaction chains should be used.
+     */
+    boolean useTransactionChain() {
+        return false;
+    }
+
+    static DOMDataBroker createSerialized(final SchemaContext schemaContext, final Deque<AutoCloseable> resources) {
+        final ExecutorService listenerExecutor = newListenerExecutor(resources);
+        final ImmutableMap.Builder<LogicalDatastoreType, DOMStore> stores = ImmutableMap.builder();
+        for (LogicalDatastoreType type : LogicalDatastoreType.values()) {
+            final InMemoryDOMDataStore store = new InMemoryDOMDataStore(type.name(), type, listenerExecutor,
+                InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_CHANGE_LISTENER_QUEUE_SIZE, false);
+            store.onGlobalContextUpdated(schemaContext);
+            stores.put(type, store);
+        }
+
+        final ExecutorService commitExecutor = SpecialExecutors.newBoundedSingleThreadExecutor(
+            InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE, "benchmark-commit",
+            BrokerType.class);
+        resources.push(commitExecutor::shutdownNow);
+
+        final SerializedDOMDataBroker ret = new SerializedDOMDataBroker(stores.build(),
+            MoreExecutors.listeningDecorator(commitExecutor));
+        resources.push(ret);
+        return ret;
+    }
+
+    private static ExecutorService newListenerExecutor(final Deque<AutoCloseable> resources) {
+        final ExecutorService ret = SpecialExecutors.newBlockingBoundedFastThreadPool(1,
+            InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_CHANGE_LISTENER_QUEUE_SIZE, "benchmark-listener",
+            BrokerType.class);
+        resources.push(ret::shutdownNow);
+        return ret;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataBroker;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeTransaction;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.mdsal.dom.api.DOMTransactionChain;
+import org.opendaylight.mdsal.dom.api.DOMTransactionChainListener;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Commit throughput and latency benchmark. Each benchmark operation allocates a write-only transaction, replaces
+ * a single entry in the list selected by {@link #shape} and waits for the commit to complete. Both throughput and
+ * latency distribution (including p99) are reported, for a single writer and for multiple concurrent writers.
+ *
+ * <p>
+ * The datastore is pre-populated with {@link #entries} entries, split evenly among the writers, so that commits
+ * operate on a tree of realistic size. Run with {@code java -jar target/benchmarks.jar CommitBenchmark}, standard
+ * JMH options can be used to select parameters, e.g. {@code -p broker=SERIALIZED -p entries=1000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class CommitBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(CommitBenchmark.class);
+    private static final int MANY_WRITERS = 8;
+
+    @Param
+    public BrokerType broker;
+
+    @Param
+    public TreeShape shape;
+
+    @Param({ "100", "10000", "1000000" })
+    public int entries;
+
+    private final Deque<AutoCloseable> resources = new ArrayDeque<>();
+    private DOMDataBroker dataBroker;
+    private int entriesPerWriter;
+
+    /**
+     * Per-thread writer state. Each writer owns a distinct {@code writer} list entry and cycles through the entries
+     * it has been assigned.
+     */
+    @State(Scope.Thread)
+    public static class Writer implements DOMTransactionChainListener {
+        private DOMDataBroker dataBroker;
+        private DOMTransactionChain chain;
+        private YangInstanceIdentifier listPath;
+        private TreeShape shape;
+        private int entries;
+        private long generation;
+
+        @Setup(Level.Trial)
+        public void setup(final CommitBenchmark benchmark, final ThreadParams params) {
+            dataBroker = benchmark.dataBroker;
+            shape = benchmark.shape;
+            entries = benchmark.entriesPerWriter;
+            // Generations below entries are taken by the initial data
+            generation = entries;
+            listPath = BenchmarkModel.writerListPath(params.getThreadIndex(), shape);
+            if (benchmark.broker.useTransactionChain()) {
+                chain = dataBroker.createTransactionChain(this);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (chain != null) {
+                chain.close();
+                chain = null;
+            }
+        }
+
+        void commitEntry() throws InterruptedException, ExecutionException {
+            final long id = generation % entries;
+            final PathArgument previous = shape.entryArgument(id, generation - entries);
+            final PathArgument current = shape.entryArgument(id, generation);
+
+            final DOMDataTreeWriteTransaction tx = chain != null ? chain.newWriteOnlyTransaction()
+                    : dataBroker.newWriteOnlyTransaction();
+            if (!previous.equals(current)) {
+                tx.delete(LogicalDatastoreType.OPERATIONAL, listPath.node(previous));
+            }
+            tx.put(LogicalDatastoreType.OPERATIONAL, listPath.node(current), shape.entry(id, generation));
+            generation++;
+            tx.commit().get();
+        }
+
+        @Override
+        public void onTransactionChainFailed(final DOMTransactionChain failedChain,
+                final DOMDataTreeTransaction transaction, final Throwable cause) {
+            LOG.error("Transaction chain {} failed in transaction {}", failedChain, transaction, cause);
+        }
+
+        @Override
+        public void onTransactionChainSuccessful(final DOMTransactionChain successfulChain) {
+            LOG.debug("Transaction chain {} completed", successfulChain);
+        }
+    }
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("checkstyle:IllegalThrows")
+    public void setup(final BenchmarkParams params) throws Exception {
+        final int writers = params.getThreads();
+        entriesPerWriter = Math.max(1, entries / writers);
+        dataBroker = broker.create(BenchmarkModel.createSchemaContext(), resources);
+
+        final DOMDataTreeWriteTransaction tx = dataBroker.newWriteOnlyTransaction();
+        tx.put(LogicalDatastoreType.OPERATIONAL, BenchmarkModel.BENCHMARK_PATH,
+            BenchmarkModel.initialData(shape, writers, entriesPerWriter));
+        tx.commit().get();
+        LOG.info("Populated {} {} entries for {} writers in {}", entries, shape, writers, broker);
+    }
+
+    @TearDown(Level.Trial)
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public void tearDown() {
+        dataBroker = null;
+        while (!resources.isEmpty()) {
+            final AutoCloseable resource = resources.pop();
+            try {
+                resource.close();
+            } catch (Exception e) {
+                LOG.warn("Failed to close {}", resource, e);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void singleWriter(final Writer writer) throws InterruptedException, ExecutionException {
+        writer.commitEntry();
+    }
+
+    @Benchmark
+    @Threads(MANY_WRITERS)
+    public void manyWriters(final Writer writer) throws InterruptedException, ExecutionException {
+        writer.commitEntry();
+    }
+}
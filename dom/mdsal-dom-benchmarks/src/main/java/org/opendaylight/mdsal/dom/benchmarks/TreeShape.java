@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.benchmarks;
+
+import static org.opendaylight.mdsal.dom.benchmarks.BenchmarkModel.DEEP_LEVELS;
+import static org.opendaylight.mdsal.dom.benchmarks.BenchmarkModel.DEEP_LIST_QNAME;
+import static org.opendaylight.mdsal.dom.benchmarks.BenchmarkModel.FLAT_LIST_QNAME;
+import static org.opendaylight.mdsal.dom.benchmarks.BenchmarkModel.ID_QNAME;
+import static org.opendaylight.mdsal.dom.benchmarks.BenchmarkModel.KEYED_LIST_QNAME;
+import static org.opendaylight.mdsal.dom.benchmarks.BenchmarkModel.VALUE_QNAME;
+
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.ListNodeBuilder;
+
+/**
+ * Shapes of the data written by each benchmark commit. Each shape is backed by a list in the {@code writer} entry,
+ * each commit replaces a single entry in that list.
+ */
+public enum TreeShape {
+    /**
+     * A leaf-list of uint32 values. A leaf-list entry is identified by its value, hence each commit replaces the value
+     * held by an entry with one derived from the generation.
+     */
+    FLAT_LIST(FLAT_LIST_QNAME) {
+        @Override
+        PathArgument entryArgument(final long id, final long generation) {
+            return new NodeWithValue<>(FLAT_LIST_QNAME, generation);
+        }
+
+        @Override
+        NormalizedNode<?, ?> entry(final long id, final long generation) {
+            return leafSetEntry(generation);
+        }
+
+        @Override
+        DataContainerChild<?, ?> list(final int size) {
+            final ListNodeBuilder<Object, LeafSetEntryNode<Object>> builder = Builders.leafSetBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(FLAT_LIST_QNAME));
+            for (long id = 0; id < size; ++id) {
+                builder.withChild(leafSetEntry(id));
+            }
+            return builder.build();
+        }
+
+        private LeafSetEntryNode<Object> leafSetEntry(final long value) {
+            return Builders.leafSetEntryBuilder().withNodeIdentifier(new NodeWithValue<>(FLAT_LIST_QNAME, value))
+                    .withValue(value).build();
+        }
+    },
+    /**
+     * A keyed list with a single value leaf. Each commit writes a single list entry.
+     */
+    KEYED_LIST(KEYED_LIST_QNAME) {
+        @Override
+        NormalizedNode<?, ?> entry(final long id, final long generation) {
+            return ImmutableNodes.mapEntryBuilder(KEYED_LIST_QNAME, ID_QNAME, id)
+                    .withChild(ImmutableNodes.leafNode(VALUE_QNAME, "value-" + generation))
+                    .build();
+        }
+    },
+    /**
+     * A keyed list whose entries contain a chain of eight nested containers, with
+     * a value leaf at the bottom. Each commit writes a single list entry, including the container chain.
+     */
+    DEEP_CONTAINERS(DEEP_LIST_QNAME) {
+        @Override
+        NormalizedNode<?, ?> entry(final long id, final long generation) {
+            ContainerNode level = Builders.containerBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(BenchmarkModel.levelQName(DEEP_LEVELS)))
+                    .withChild(ImmutableNodes.leafNode(VALUE_QNAME, "value-" + generation))
+                    .build();
+            for (int i = DEEP_LEVELS - 1; i > 0; --i) {
+                level = Builders.containerBuilder()
+                        .withNodeIdentifier(new NodeIdentifier(BenchmarkModel.levelQName(i)))
+                        .withChild(level)
+                        .build();
+            }
+
+            return ImmutableNodes.mapEntryBuilder(DEEP_LIST_QNAME, ID_QNAME, id).withChild(level).build();
+        }
+    };
+
+    private final QName listQName;
+
+    TreeShape(final QName listQName) {
+        this.listQName = listQName;
+    }
+
+    final QName listQName() {
+        return listQName;
+    }
+
+    /**
+     * Return the path argument identifying a particular entry.
+     *
+     * @param id Entry identifier
+     * @param generation Generation of the entry
+     * @return Entry path argument
+     */
+    PathArgument entryArgument(final long id, final long generation) {
+        return new NodeIdentifierWithPredicates(listQName, ID_QNAME, id);
+    }
+
+    /**
+     * Create a particular entry.
+     *
+     * @param id Entry identifier
+     * @param generation Generation of the entry, used to make sure subsequent writes actually modify data
+     * @return Entry data
+     */
+    abstract NormalizedNode<?, ?> entry(long id, long generation);
+
+    /**
+     * Create the list holding specified number of entries. Entry {@code id} is created with generation {@code id}.
+     *
+     * @param size Number of entries
+     * @return List node
+     */
+    DataContainerChild<?, ?> list(final int size) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> builder = ImmutableNodes.mapNodeBuilder(listQName);
+        for (long id = 0; id < size; ++id) {
+            builder.withChild((MapEntryNode) entry(id, id));
+        }
+        return builder.build();
+    }
+}
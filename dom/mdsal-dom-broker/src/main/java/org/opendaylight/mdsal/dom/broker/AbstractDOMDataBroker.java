@@ -20,9 +20,11 @@ import org.opendaylight.mdsal.dom.api.DOMDataBrokerExtension;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeService;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIndexService;
 import org.opendaylight.mdsal.dom.api.DOMTransactionChain;
 import org.opendaylight.mdsal.dom.api.DOMTransactionChainListener;
 import org.opendaylight.mdsal.dom.spi.store.DOMStore;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreIndexLookup;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreTransactionChain;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreTreeChangePublisher;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
@@ -43,30 +45,41 @@ public abstract class AbstractDOMDataBroker extends AbstractDOMForwardedTransact
         super(datastores);
 
         boolean treeChange = true;
+        boolean indexLookup = true;
         for (DOMStore ds : datastores.values()) {
             if (!(ds instanceof DOMStoreTreeChangePublisher)) {
                 treeChange = false;
-                break;
+            }
+            if (!(ds instanceof DOMStoreIndexLookup)) {
+                indexLookup = false;
             }
         }
 
+        final ImmutableClassToInstanceMap.Builder<DOMDataBrokerExtension> builder =
+                ImmutableClassToInstanceMap.builder();
         if (treeChange) {
-            extensions = ImmutableClassToInstanceMap.of(
-                    DOMDataTreeChangeService.class, new DOMDataTreeChangeService() {
-                        @Override
-                        public <L extends DOMDataTreeChangeListener> ListenerRegistration<L>
-                                registerDataTreeChangeListener(final DOMDataTreeIdentifier treeId, final L listener) {
-                            DOMStore publisher = getTxFactories().get(treeId.getDatastoreType());
-                            Preconditions.checkState(publisher != null,
-                                    "Requested logical data store is not available.");
-
-                            return ((DOMStoreTreeChangePublisher)publisher).registerTreeChangeListener(
-                                    treeId.getRootIdentifier(), listener);
-                            }
-                        });
-        } else {
-            extensions = ImmutableClassToInstanceMap.of();
+            builder.put(DOMDataTreeChangeService.class, new DOMDataTreeChangeService() {
+                @Override
+                public <L extends DOMDataTreeChangeListener> ListenerRegistration<L>
+                        registerDataTreeChangeListener(final DOMDataTreeIdentifier treeId, final L listener) {
+                    DOMStore publisher = getTxFactories().get(treeId.getDatastoreType());
+                    Preconditions.checkState(publisher != null,
+                            "Requested logical data store is not available.");
+
+                    return ((DOMStoreTreeChangePublisher)publisher).registerTreeChangeListener(
+                            treeId.getRootIdentifier(), listener);
+                }
+            });
+        }
+        if (indexLookup) {
+            builder.put(DOMDataTreeIndexService.class, (store, list, leaf, value) -> {
+                DOMStore lookup = getTxFactories().get(store);
+                Preconditions.checkState(lookup != null, "Requested logical data store is not available.");
+
+                return ((DOMStoreIndexLookup)lookup).lookup(list, leaf, value);
+            });
         }
+        extensions = builder.build();
     }
 
     public void setCloseable(final AutoCloseable closeable) {
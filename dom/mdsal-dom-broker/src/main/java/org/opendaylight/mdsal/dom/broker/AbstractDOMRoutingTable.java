@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -143,6 +144,33 @@ abstract class AbstractDOMRoutingTable<I, D, M, L extends EventListener,
         return ret;
     }
 
+    /**
+     * Compute the change in operations visible to a listener between a previous version of this table and this table.
+     * Only the specified identifiers are examined, hence the cost is proportional to the size of the change which
+     * produced this table, not to the size of the table.
+     *
+     * @param prev previous version of this table
+     * @param changed identifiers which were affected by the change
+     * @param listener listener to compute the change for
+     * @param added consumer of operations which became available
+     * @param removed consumer of operations which became unavailable
+     */
+    final void diffOperations(final AbstractDOMRoutingTable<I, D, M, L, E> prev,
+            final ListMultimap<SchemaPath, D> changed, final L listener, final BiConsumer<SchemaPath, D> added,
+            final BiConsumer<SchemaPath, D> removed) {
+        for (Entry<SchemaPath, D> e : changed.entries()) {
+            final boolean before = prev.isRegistered(e.getKey(), e.getValue(), listener);
+            if (before != isRegistered(e.getKey(), e.getValue(), listener)) {
+                (before ? removed : added).accept(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    private boolean isRegistered(final SchemaPath type, final D identifier, final L listener) {
+        final E entry = operations.get(type);
+        return entry != null && entry.isRegistered(identifier, listener);
+    }
+
     @Nullable AbstractDOMRoutingTableEntry<D, M, L> getEntry(final @NonNull SchemaPath type) {
         return operations.get(type);
     }
@@ -42,6 +42,13 @@ abstract class AbstractDOMRpcRoutingTableEntry extends AbstractDOMRoutingTableEn
             .anyMatch(listener::acceptsImplementation)).keySet();
     }
 
+    @Override
+    protected final boolean isRegistered(final YangInstanceIdentifier identifier,
+            final DOMRpcAvailabilityListener listener) {
+        final List<DOMRpcImplementation> impls = getImplementations(identifier);
+        return impls != null && impls.stream().anyMatch(listener::acceptsImplementation);
+    }
+
     @Override
     protected Comparator<DOMRpcImplementation> implComparator() {
         return Comparator.comparingLong(DOMRpcImplementation::invocationCost);
@@ -35,6 +35,12 @@ final class DOMActionRoutingTableEntry extends AbstractDOMRoutingTableEntry<DOMD
             .anyMatch(listener::acceptsImplementation)).keySet();
     }
 
+    @Override
+    protected boolean isRegistered(final DOMDataTreeIdentifier identifier, final AvailabilityListener listener) {
+        final List<DOMActionImplementation> impls = getImplementations(identifier);
+        return impls != null && impls.stream().anyMatch(listener::acceptsImplementation);
+    }
+
     @Override
     protected Comparator<DOMActionImplementation> implComparator() {
         return Comparator.comparingLong(DOMActionImplementation::invocationCost);
@@ -8,9 +8,11 @@
 package org.opendaylight.mdsal.dom.broker;
 
 import com.google.common.util.concurrent.FluentFuture;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeProjectedReadOperations;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadTransaction;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreReadTransaction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -24,7 +26,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
  */
 class DOMForwardedReadOnlyTransaction extends
         AbstractDOMForwardedCompositeTransaction<LogicalDatastoreType, DOMStoreReadTransaction> implements
-        DOMDataTreeReadTransaction {
+        DOMDataTreeReadTransaction, DOMDataTreeProjectedReadOperations {
 
     protected DOMForwardedReadOnlyTransaction(final Object identifier,
             final Map<LogicalDatastoreType, DOMStoreReadTransaction> backingTxs) {
@@ -37,11 +39,23 @@ class DOMForwardedReadOnlyTransaction extends
         return getSubtransaction(store).read(path);
     }
 
+    @Override
+    public FluentFuture<Optional<NormalizedNode<?, ?>>> read(final LogicalDatastoreType store,
+            final YangInstanceIdentifier path, final Collection<YangInstanceIdentifier> fields) {
+        return getSubtransaction(store).read(path, fields);
+    }
+
     @Override
     public FluentFuture<Boolean> exists(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
         return getSubtransaction(store).exists(path);
     }
 
+    @Override
+    public FluentFuture<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>> readAll(
+            final LogicalDatastoreType store, final Collection<YangInstanceIdentifier> paths) {
+        return getSubtransaction(store).readAll(paths);
+    }
+
     @Override
     public void close() {
         closeSubtransactions();
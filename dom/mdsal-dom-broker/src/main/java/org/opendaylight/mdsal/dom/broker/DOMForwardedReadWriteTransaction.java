@@ -8,9 +8,11 @@
 package org.opendaylight.mdsal.dom.broker;
 
 import com.google.common.util.concurrent.FluentFuture;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeProjectedReadOperations;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadWriteTransaction;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreReadWriteTransaction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -36,7 +38,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
  * underlying transactions.
  */
 final class DOMForwardedReadWriteTransaction extends DOMForwardedWriteTransaction<DOMStoreReadWriteTransaction>
-        implements DOMDataTreeReadWriteTransaction {
+        implements DOMDataTreeReadWriteTransaction, DOMDataTreeProjectedReadOperations {
 
     DOMForwardedReadWriteTransaction(final Object identifier,
         final Map<LogicalDatastoreType, DOMStoreReadWriteTransaction> backingTxs,
@@ -50,8 +52,20 @@ final class DOMForwardedReadWriteTransaction extends DOMForwardedWriteTransactio
         return getSubtransaction(store).read(path);
     }
 
+    @Override
+    public FluentFuture<Optional<NormalizedNode<?, ?>>> read(final LogicalDatastoreType store,
+            final YangInstanceIdentifier path, final Collection<YangInstanceIdentifier> fields) {
+        return getSubtransaction(store).read(path, fields);
+    }
+
     @Override
     public FluentFuture<Boolean> exists(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
         return getSubtransaction(store).exists(path);
     }
+
+    @Override
+    public FluentFuture<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>> readAll(
+            final LogicalDatastoreType store, final Collection<YangInstanceIdentifier> paths) {
+        return getSubtransaction(store).readAll(paths);
+    }
 }
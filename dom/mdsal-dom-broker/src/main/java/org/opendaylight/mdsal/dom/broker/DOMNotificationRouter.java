@@ -10,32 +10,33 @@ package org.opendaylight.mdsal.dom.broker;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableMultimap.Builder;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import com.lmax.disruptor.EventHandler;
-import com.lmax.disruptor.InsufficientCapacityException;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.lmax.disruptor.PhasedBackoffWaitStrategy;
 import com.lmax.disruptor.WaitStrategy;
-import com.lmax.disruptor.dsl.Disruptor;
-import com.lmax.disruptor.dsl.ProducerType;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import org.opendaylight.mdsal.dom.api.DOMNotification;
 import org.opendaylight.mdsal.dom.api.DOMNotificationListener;
 import org.opendaylight.mdsal.dom.api.DOMNotificationPublishService;
 import org.opendaylight.mdsal.dom.api.DOMNotificationService;
+import org.opendaylight.mdsal.dom.broker.DOMNotificationRouterPartition.Batch;
 import org.opendaylight.mdsal.dom.spi.DOMNotificationSubscriptionListener;
 import org.opendaylight.mdsal.dom.spi.DOMNotificationSubscriptionListenerRegistry;
 import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
@@ -57,42 +58,59 @@ import org.slf4j.LoggerFactory;
  * on this instance, notifications do not take any locks here.
  *
  *<p>
- * The fully-blocking {@link #publish(long, DOMNotification, Collection)}
+ * The router can optionally be split into multiple partitions, each with its own Disruptor, queue and handler thread.
+ * Notification types are assigned to partitions either explicitly or by hashing their {@link SchemaPath}, so that
+ * a slow listener or a flood of notifications of one type only delays notifications in the same partition. Ordering
+ * of notifications of a particular type is retained, as all of them are routed through the same partition.
+ * Back-pressure, i.e. rejection by {@link #offerNotification(DOMNotification)}, is also reported per partition.
+ *
+ *<p>
+ * The fully-blocking {@link #putNotification(DOMNotification)}
  * and non-blocking {@link #offerNotification(DOMNotification)}
  * are realized using the Disruptor's native operations. The bounded-blocking {@link
  * #offerNotification(DOMNotification, long, TimeUnit)}
- * is realized by arming a background wakeup interrupt.
+ * is realized by repeatedly attempting a non-blocking claim, parking the calling thread with an exponential backoff
+ * between attempts until the deadline expires. It does not use any timers, nor does it interrupt the calling thread.
  */
 public class DOMNotificationRouter implements AutoCloseable, DOMNotificationPublishService,
         DOMNotificationService, DOMNotificationSubscriptionListenerRegistry {
 
     private static final Logger LOG = LoggerFactory.getLogger(DOMNotificationRouter.class);
     private static final ListenableFuture<Void> NO_LISTENERS = Futures.immediateFuture(null);
+    private static final long MIN_CLAIM_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long MAX_CLAIM_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
     private static final WaitStrategy DEFAULT_STRATEGY = PhasedBackoffWaitStrategy.withLock(
             1L, 30L, TimeUnit.MILLISECONDS);
-    private static final EventHandler<DOMNotificationRouterEvent> DISPATCH_NOTIFICATIONS =
-        (event, sequence, endOfBatch) -> event.deliverNotification();
-    private static final EventHandler<DOMNotificationRouterEvent> NOTIFY_FUTURE =
-        (event, sequence, endOfBatch) -> event.setFuture();
 
-    private final Disruptor<DOMNotificationRouterEvent> disruptor;
+    private final DOMNotificationRouterPartition[] partitions;
+    private final Map<SchemaPath, Integer> partitionAssignments;
     private final ExecutorService executor;
     private volatile Multimap<SchemaPath, ListenerRegistration<? extends
             DOMNotificationListener>> listeners = ImmutableMultimap.of();
     private final ListenerRegistry<DOMNotificationSubscriptionListener> subscriptionListeners =
             ListenerRegistry.create();
-    private final ScheduledThreadPoolExecutor observer;
 
     @VisibleForTesting
     DOMNotificationRouter(final ExecutorService executor, final int queueDepth, final WaitStrategy strategy) {
+        this(executor, new int[] { queueDepth }, ImmutableMap.of(), strategy);
+    }
+
+    @VisibleForTesting
+    DOMNotificationRouter(final ExecutorService executor, final int[] queueDepths,
+            final Map<SchemaPath, Integer> partitionAssignments, final WaitStrategy strategy) {
+        Preconditions.checkArgument(queueDepths.length > 0, "At least one partition is required");
+        for (Entry<SchemaPath, Integer> entry : partitionAssignments.entrySet()) {
+            final int partition = entry.getValue();
+            Preconditions.checkArgument(partition >= 0 && partition < queueDepths.length,
+                "Type %s is assigned to non-existent partition %s", entry.getKey(), partition);
+        }
+
         this.executor = Preconditions.checkNotNull(executor);
-        this.observer = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
-                .setDaemon(true).setNameFormat("DOMNotificationRouter-%d").build());
-        disruptor = new Disruptor<>(DOMNotificationRouterEvent.FACTORY,
-                queueDepth, executor, ProducerType.MULTI, strategy);
-        disruptor.handleEventsWith(DISPATCH_NOTIFICATIONS);
-        disruptor.after(DISPATCH_NOTIFICATIONS).handleEventsWith(NOTIFY_FUTURE);
-        disruptor.start();
+        this.partitionAssignments = ImmutableMap.copyOf(partitionAssignments);
+        partitions = new DOMNotificationRouterPartition[queueDepths.length];
+        for (int i = 0; i < queueDepths.length; ++i) {
+            partitions[i] = new DOMNotificationRouterPartition(executor, queueDepths[i], strategy);
+        }
     }
 
     public static DOMNotificationRouter create(final int queueDepth) {
@@ -111,6 +129,49 @@ public class DOMNotificationRouter implements AutoCloseable, DOMNotificationPubl
         return new DOMNotificationRouter(executor, queueDepth, strategy);
     }
 
+    /**
+     * Create a router with a number of equally-sized partitions. Notification types are assigned to partitions based
+     * on the hash code of their {@link SchemaPath}.
+     *
+     * @param queueDepth Queue depth of each partition, must be a power of two
+     * @param spinTime Wait strategy spin time
+     * @param parkTime Wait strategy park time
+     * @param unit Time unit of spinTime and parkTime
+     * @param partitionCount Number of partitions
+     * @return A new router
+     */
+    public static DOMNotificationRouter create(final int queueDepth, final long spinTime, final long parkTime,
+            final TimeUnit unit, final int partitionCount) {
+        Preconditions.checkArgument(partitionCount > 0, "Partition count %s is not positive", partitionCount);
+        final int[] queueDepths = new int[partitionCount];
+        Arrays.fill(queueDepths, queueDepth);
+        return createPartitioned(queueDepths, ImmutableMap.of(), spinTime, parkTime, unit);
+    }
+
+    /**
+     * Create a router with explicitly configured partitions. Notification types which are not explicitly assigned
+     * to a partition are assigned based on the hash code of their {@link SchemaPath}.
+     *
+     * @param queueDepths Queue depths of individual partitions, each must be a power of two
+     * @param partitionAssignments Explicit assignment of notification types to partition indices
+     * @param spinTime Wait strategy spin time
+     * @param parkTime Wait strategy park time
+     * @param unit Time unit of spinTime and parkTime
+     * @return A new router
+     */
+    public static DOMNotificationRouter createPartitioned(final int[] queueDepths,
+            final Map<SchemaPath, Integer> partitionAssignments, final long spinTime, final long parkTime,
+            final TimeUnit unit) {
+        for (int queueDepth : queueDepths) {
+            Preconditions.checkArgument(Long.lowestOneBit(queueDepth) == Long.highestOneBit(queueDepth),
+                    "Queue depth %s is not power-of-two", queueDepth);
+        }
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        final WaitStrategy strategy = PhasedBackoffWaitStrategy.withLock(spinTime, parkTime, unit);
+
+        return new DOMNotificationRouter(executor, queueDepths, partitionAssignments, strategy);
+    }
+
     @Override
     public synchronized <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(
             final T listener, final Collection<SchemaPath> types) {
@@ -179,12 +240,13 @@ public class DOMNotificationRouter implements AutoCloseable, DOMNotificationPubl
         return subscriptionListeners.registerWithType(listener);
     }
 
-    private ListenableFuture<Void> publish(final long seq, final DOMNotification notification,
-            final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
-        final DOMNotificationRouterEvent event = disruptor.get(seq);
-        final ListenableFuture<Void> future = event.initialize(notification, subscribers);
-        disruptor.getRingBuffer().publish(seq);
-        return future;
+    private DOMNotificationRouterPartition partitionFor(final SchemaPath type) {
+        if (partitions.length == 1) {
+            return partitions[0];
+        }
+
+        final Integer assigned = partitionAssignments.get(type);
+        return partitions[assigned != null ? assigned : (type.hashCode() & Integer.MAX_VALUE) % partitions.length];
     }
 
     @Override
@@ -196,22 +258,15 @@ public class DOMNotificationRouter implements AutoCloseable, DOMNotificationPubl
             return NO_LISTENERS;
         }
 
-        final long seq = disruptor.getRingBuffer().next();
-        return publish(seq, notification, subscribers);
+        return partitionFor(notification.getType()).put(notification, subscribers);
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
     @VisibleForTesting
     ListenableFuture<? extends Object> tryPublish(final DOMNotification notification,
             final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
-        final long seq;
-        try {
-            seq = disruptor.getRingBuffer().tryNext();
-        } catch (final InsufficientCapacityException e) {
-            return DOMNotificationPublishService.REJECTED;
-        }
-
-        return publish(seq, notification, subscribers);
+        final ListenableFuture<Void> future = partitionFor(notification.getType()).tryPut(notification, subscribers);
+        return future != null ? future : DOMNotificationPublishService.REJECTED;
     }
 
     @Override
@@ -225,6 +280,71 @@ public class DOMNotificationRouter implements AutoCloseable, DOMNotificationPubl
         return tryPublish(notification, subscribers);
     }
 
+    @Override
+    public ListenableFuture<? extends Object> putNotifications(
+            final Collection<? extends DOMNotification> notifications) throws InterruptedException {
+        final Map<DOMNotificationRouterPartition, Batch> batches = partitionBatches(notifications);
+        if (batches.isEmpty()) {
+            return NO_LISTENERS;
+        }
+
+        final List<ListenableFuture<Void>> futures = new ArrayList<>(batches.size());
+        for (Entry<DOMNotificationRouterPartition, Batch> entry : batches.entrySet()) {
+            futures.add(entry.getKey().putAll(entry.getValue()));
+        }
+        return aggregateFutures(futures);
+    }
+
+    @Override
+    public ListenableFuture<? extends Object> offerNotifications(
+            final Collection<? extends DOMNotification> notifications) {
+        final Map<DOMNotificationRouterPartition, Batch> batches = partitionBatches(notifications);
+        if (batches.isEmpty()) {
+            return NO_LISTENERS;
+        }
+
+        // Claim space in all partitions first, so the batch is accepted or rejected as a whole
+        final List<Entry<DOMNotificationRouterPartition, Batch>> entries = new ArrayList<>(batches.entrySet());
+        final long[] claims = new long[entries.size()];
+        for (int i = 0; i < claims.length; ++i) {
+            final Entry<DOMNotificationRouterPartition, Batch> entry = entries.get(i);
+            final long hi = entry.getKey().tryClaim(entry.getValue());
+            if (hi < 0) {
+                for (int j = 0; j < i; ++j) {
+                    entries.get(j).getKey().abandonClaimed(entries.get(j).getValue(), claims[j]);
+                }
+                return DOMNotificationPublishService.REJECTED;
+            }
+            claims[i] = hi;
+        }
+
+        final List<ListenableFuture<Void>> futures = new ArrayList<>(claims.length);
+        for (int i = 0; i < claims.length; ++i) {
+            final Entry<DOMNotificationRouterPartition, Batch> entry = entries.get(i);
+            futures.add(entry.getKey().publishClaimed(entry.getValue(), claims[i]));
+        }
+        return aggregateFutures(futures);
+    }
+
+    private Map<DOMNotificationRouterPartition, Batch> partitionBatches(
+            final Collection<? extends DOMNotification> notifications) {
+        final Multimap<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> local = listeners;
+        final Map<DOMNotificationRouterPartition, Batch> batches = new LinkedHashMap<>();
+        for (DOMNotification notification : notifications) {
+            final SchemaPath type = notification.getType();
+            final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers = local.get(type);
+            if (!subscribers.isEmpty()) {
+                batches.computeIfAbsent(partitionFor(type), key -> new Batch()).add(notification, subscribers);
+            }
+        }
+        return batches;
+    }
+
+    private static ListenableFuture<Void> aggregateFutures(final List<ListenableFuture<Void>> futures) {
+        return futures.size() == 1 ? futures.get(0)
+                : Futures.whenAllSucceed(futures).call(() -> null, MoreExecutors.directExecutor());
+    }
+
     @Override
     public ListenableFuture<? extends Object> offerNotification(final DOMNotification notification, final long timeout,
             final TimeUnit unit) throws InterruptedException {
@@ -239,24 +359,33 @@ public class DOMNotificationRouter implements AutoCloseable, DOMNotificationPubl
             return noBlock;
         }
 
-        try {
-            final Thread publishThread = Thread.currentThread();
-            ScheduledFuture<?> timerTask = observer.schedule(publishThread::interrupt, timeout, unit);
-            final ListenableFuture<?> withBlock = putNotification(notification);
-            timerTask.cancel(true);
-            if (observer.getQueue().size() > 50) {
-                observer.purge();
+        // Wait for capacity to become available, backing off exponentially up to MAX_CLAIM_PARK_NANOS
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long parkNanos = MIN_CLAIM_PARK_NANOS;
+        while (true) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return DOMNotificationPublishService.REJECTED;
+            }
+
+            LockSupport.parkNanos(Math.min(parkNanos, remaining));
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Interrupted while waiting to publish " + notification);
+            }
+
+            final ListenableFuture<?> withBlock = tryPublish(notification, subscribers);
+            if (!DOMNotificationPublishService.REJECTED.equals(withBlock)) {
+                return withBlock;
             }
-            return withBlock;
-        } catch (InterruptedException e) {
-            return DOMNotificationPublishService.REJECTED;
+            parkNanos = Math.min(parkNanos * 2, MAX_CLAIM_PARK_NANOS);
         }
     }
 
     @Override
     public void close() {
-        observer.shutdown();
-        disruptor.shutdown();
+        for (DOMNotificationRouterPartition partition : partitions) {
+            partition.shutdown();
+        }
         executor.shutdown();
     }
 
@@ -265,6 +394,11 @@ public class DOMNotificationRouter implements AutoCloseable, DOMNotificationPubl
         return executor;
     }
 
+    @VisibleForTesting
+    DOMNotificationRouterPartition partition(final SchemaPath type) {
+        return partitionFor(type);
+    }
+
     @VisibleForTesting
     Multimap<SchemaPath, ?> listeners() {
         return listeners;
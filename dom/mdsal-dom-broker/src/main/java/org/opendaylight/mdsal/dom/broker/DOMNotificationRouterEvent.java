@@ -34,10 +34,26 @@ final class DOMNotificationRouterEvent {
     @SuppressWarnings("checkstyle:hiddenField")
     ListenableFuture<Void> initialize(final DOMNotification notification,
             final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
+        final SettableFuture<Void> ret = SettableFuture.create();
+        initialize(notification, subscribers, ret);
+        return ret;
+    }
+
+    /**
+     * Initialize this event as part of a batch. Only the last event of a batch carries a future, which completes once
+     * all events of the batch have been delivered.
+     *
+     * @param notification Notification to deliver
+     * @param subscribers Subscribers to which the notification should be delivered
+     * @param future Future to complete once the notification has been delivered, may be null
+     */
+    @SuppressWarnings("checkstyle:hiddenField")
+    void initialize(final DOMNotification notification,
+            final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers,
+            final SettableFuture<Void> future) {
         this.notification = Preconditions.checkNotNull(notification);
         this.subscribers = Preconditions.checkNotNull(subscribers);
-        this.future = SettableFuture.create();
-        return this.future;
+        this.future = future;
     }
 
     void deliverNotification() {
@@ -50,7 +66,9 @@ final class DOMNotificationRouterEvent {
     }
 
     void setFuture() {
-        future.set(null);
+        if (future != null) {
+            future.set(null);
+        }
     }
 
 }
\ No newline at end of file
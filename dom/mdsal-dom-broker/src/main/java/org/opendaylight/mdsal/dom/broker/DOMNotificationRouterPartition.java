@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.opendaylight.mdsal.dom.api.DOMNotification;
+import org.opendaylight.mdsal.dom.api.DOMNotificationListener;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+
+/**
+ * A single partition of {@link DOMNotificationRouter}. Each partition has its own Disruptor, hence its own queue and
+ * handler thread. Notifications routed to a partition are delivered in the order in which they were published,
+ * independently of notifications routed to other partitions.
+ */
+final class DOMNotificationRouterPartition {
+    private static final EventHandler<DOMNotificationRouterEvent> DISPATCH_NOTIFICATIONS =
+        (event, sequence, endOfBatch) -> event.deliverNotification();
+    private static final EventHandler<DOMNotificationRouterEvent> NOTIFY_FUTURE =
+        (event, sequence, endOfBatch) -> event.setFuture();
+
+    private final Disruptor<DOMNotificationRouterEvent> disruptor;
+    private final RingBuffer<DOMNotificationRouterEvent> ringBuffer;
+
+    DOMNotificationRouterPartition(final Executor executor, final int queueDepth, final WaitStrategy strategy) {
+        disruptor = new Disruptor<>(DOMNotificationRouterEvent.FACTORY, queueDepth, executor, ProducerType.MULTI,
+            strategy);
+        disruptor.handleEventsWith(DISPATCH_NOTIFICATIONS);
+        disruptor.after(DISPATCH_NOTIFICATIONS).handleEventsWith(NOTIFY_FUTURE);
+        ringBuffer = disruptor.start();
+    }
+
+    /**
+     * Publish a notification, waiting for queue space to become available.
+     *
+     * @param notification Notification to publish
+     * @param subscribers Subscribers to which the notification should be delivered
+     * @return Future completing when the notification has been delivered
+     */
+    ListenableFuture<Void> put(final DOMNotification notification,
+            final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
+        return publish(ringBuffer.next(), notification, subscribers);
+    }
+
+    /**
+     * Publish a notification if there is queue space available.
+     *
+     * @param notification Notification to publish
+     * @param subscribers Subscribers to which the notification should be delivered
+     * @return Future completing when the notification has been delivered, or null if this partition's queue is full
+     */
+    ListenableFuture<Void> tryPut(final DOMNotification notification,
+            final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
+        final long seq;
+        try {
+            seq = ringBuffer.tryNext();
+        } catch (final InsufficientCapacityException e) {
+            return null;
+        }
+
+        return publish(seq, notification, subscribers);
+    }
+
+    /**
+     * Publish a batch of notifications, waiting for queue space to become available. Sequences are claimed in ranges,
+     * so that the cost of claiming and publishing is amortized across the batch.
+     *
+     * @param batch Batch to publish
+     * @return Future completing when all notifications in the batch have been delivered
+     */
+    ListenableFuture<Void> putAll(final Batch batch) {
+        final int bufferSize = ringBuffer.getBufferSize();
+        final SettableFuture<Void> future = SettableFuture.create();
+        final int size = batch.size();
+        for (int offset = 0; offset < size; offset += bufferSize) {
+            final int count = Math.min(bufferSize, size - offset);
+            final long hi = ringBuffer.next(count);
+            publish(hi - count + 1, hi, batch, offset, offset + count == size ? future : null, false);
+        }
+        return future;
+    }
+
+    /**
+     * Attempt to claim queue space for a batch of notifications.
+     *
+     * @param batch Batch to claim space for
+     * @return Highest claimed sequence, or -1 if this partition's queue does not have enough space
+     */
+    long tryClaim(final Batch batch) {
+        final int size = batch.size();
+        if (size > ringBuffer.getBufferSize()) {
+            return -1;
+        }
+
+        try {
+            return ringBuffer.tryNext(size);
+        } catch (final InsufficientCapacityException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Publish a batch of notifications into space claimed by {@link #tryClaim(Batch)}.
+     *
+     * @param batch Batch to publish
+     * @param hi Highest claimed sequence
+     * @return Future completing when all notifications in the batch have been delivered
+     */
+    ListenableFuture<Void> publishClaimed(final Batch batch, final long hi) {
+        final SettableFuture<Void> future = SettableFuture.create();
+        publish(hi - batch.size() + 1, hi, batch, 0, future, false);
+        return future;
+    }
+
+    /**
+     * Release space claimed by {@link #tryClaim(Batch)} without delivering any notifications. Claimed sequences cannot
+     * be returned to the ring buffer, hence they are published as events without any subscribers.
+     *
+     * @param batch Batch whose space should be released
+     * @param hi Highest claimed sequence
+     */
+    void abandonClaimed(final Batch batch, final long hi) {
+        publish(hi - batch.size() + 1, hi, batch, 0, null, true);
+    }
+
+    /**
+     * Return the number of free slots in this partition's queue.
+     *
+     * @return Remaining capacity
+     */
+    long remainingCapacity() {
+        return ringBuffer.remainingCapacity();
+    }
+
+    void shutdown() {
+        disruptor.shutdown();
+    }
+
+    private void publish(final long lo, final long hi, final Batch batch, final int offset,
+            final SettableFuture<Void> future, final boolean abandon) {
+        for (long seq = lo; seq <= hi; ++seq) {
+            final int index = offset + (int) (seq - lo);
+            ringBuffer.get(seq).initialize(batch.notifications.get(index),
+                abandon ? ImmutableList.of() : batch.subscribers.get(index), seq == hi ? future : null);
+        }
+        ringBuffer.publish(lo, hi);
+    }
+
+    private ListenableFuture<Void> publish(final long seq, final DOMNotification notification,
+            final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
+        final DOMNotificationRouterEvent event = ringBuffer.get(seq);
+        final ListenableFuture<Void> future = event.initialize(notification, subscribers);
+        ringBuffer.publish(seq);
+        return future;
+    }
+
+    /**
+     * A batch of notifications destined for a single partition, along with their subscribers.
+     */
+    static final class Batch {
+        private final List<DOMNotification> notifications = new ArrayList<>();
+        private final List<Collection<ListenerRegistration<? extends DOMNotificationListener>>> subscribers =
+                new ArrayList<>();
+
+        void add(final DOMNotification notification,
+                final Collection<ListenerRegistration<? extends DOMNotificationListener>> notificationSubscribers) {
+            notifications.add(notification);
+            subscribers.add(notificationSubscribers);
+        }
+
+        int size() {
+            return notifications.size();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.opendaylight.mdsal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMRpcRejectedException;
+import org.opendaylight.mdsal.dom.api.DOMRpcResult;
+import org.opendaylight.yangtools.util.concurrent.FluentFutures;
+
+/**
+ * A bulkhead limiting the number of concurrent invocations of an RPC, as configured through
+ * {@link DOMRpcRouter#limitConcurrency(DOMRpcIdentifier, int, int)}. Invocations exceeding the limit wait in a bounded
+ * queue until a running invocation completes. Invocations which do not fit into the queue are rejected immediately
+ * with a {@link DOMRpcRejectedException}.
+ *
+ *<p>
+ * Queued invocations are started on a dedicated executor, not on the thread which completed the previous invocation,
+ * which may well belong to an implementation or an I/O framework.
+ */
+@Beta
+public final class DOMRpcConcurrencyLimit {
+    private static final class Waiting {
+        final SettableFuture<DOMRpcResult> future = SettableFuture.create();
+        final Supplier<FluentFuture<DOMRpcResult>> invocation;
+
+        Waiting(final Supplier<FluentFuture<DOMRpcResult>> invocation) {
+            this.invocation = invocation;
+        }
+    }
+
+    private final Queue<Waiting> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    // Number of requests to drain the queue. Only the thread which raises it from zero drains, others leave their
+    // request for it to pick up.
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final DOMRpcIdentifier rpc;
+    private final Executor executor;
+    private final int maxConcurrent;
+    private final int maxQueued;
+
+    DOMRpcConcurrencyLimit(final DOMRpcIdentifier rpc, final int maxConcurrent, final int maxQueued,
+            final Executor executor) {
+        checkArgument(maxConcurrent > 0, "Concurrency limit %s must be positive", maxConcurrent);
+        checkArgument(maxQueued >= 0, "Queue limit %s must not be negative", maxQueued);
+        this.rpc = requireNonNull(rpc);
+        this.executor = requireNonNull(executor);
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+    }
+
+    public DOMRpcIdentifier getRpc() {
+        return rpc;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    /**
+     * Return the number of invocations currently in progress.
+     *
+     * @return Number of active invocations
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Return the number of invocations which have been admitted for execution, either immediately or after waiting.
+     *
+     * @return Number of admitted invocations
+     */
+    public long getAdmittedCount() {
+        return admitted.sum();
+    }
+
+    /**
+     * Return the number of invocations which had to wait in the queue before being admitted.
+     *
+     * @return Number of queued invocations
+     */
+    public long getQueuedCount() {
+        return queued.sum();
+    }
+
+    /**
+     * Return the number of invocations which have been rejected because both the concurrency limit and the queue were
+     * exhausted.
+     *
+     * @return Number of rejected invocations
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    FluentFuture<DOMRpcResult> invoke(final Supplier<FluentFuture<DOMRpcResult>> invocation) {
+        if (tryAcquire()) {
+            admitted.increment();
+            return run(invocation);
+        }
+
+        if (waitingCount.incrementAndGet() > maxQueued) {
+            waitingCount.decrementAndGet();
+            rejected.increment();
+            return FluentFutures.immediateFailedFluentFuture(new DOMRpcRejectedException(
+                "RPC %s has reached its limit of %s concurrent invocations", rpc, maxConcurrent));
+        }
+
+        queued.increment();
+        final Waiting entry = new Waiting(invocation);
+        waiting.add(entry);
+        // An invocation may have completed while we were enqueueing, in which case nobody else would drain the queue
+        drain();
+        return FluentFuture.from(entry.future);
+    }
+
+    private boolean tryAcquire() {
+        int current = active.get();
+        while (current < maxConcurrent) {
+            if (active.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = active.get();
+        }
+        return false;
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private FluentFuture<DOMRpcResult> run(final Supplier<FluentFuture<DOMRpcResult>> invocation) {
+        final FluentFuture<DOMRpcResult> future;
+        try {
+            future = invocation.get();
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+        future.addListener(this::release, MoreExecutors.directExecutor());
+        return future;
+    }
+
+    private void release() {
+        active.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+
+        int requests = 1;
+        do {
+            while (!waiting.isEmpty() && tryAcquire()) {
+                final Waiting next = waiting.poll();
+                if (next == null) {
+                    // Only this thread polls, hence this should not happen, but do not leak the permit
+                    active.decrementAndGet();
+                    break;
+                }
+
+                waitingCount.decrementAndGet();
+                admitted.increment();
+                dispatch(next);
+            }
+            requests = drainRequests.addAndGet(-requests);
+        } while (requests != 0);
+    }
+
+    private void dispatch(final Waiting next) {
+        try {
+            executor.execute(() -> start(next));
+        } catch (RejectedExecutionException e) {
+            active.decrementAndGet();
+            next.future.setException(new DOMRpcRejectedException(e, "RPC %s cannot be started", rpc));
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void start(final Waiting next) {
+        try {
+            next.future.setFuture(run(next.invocation));
+        } catch (RuntimeException e) {
+            next.future.setException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("rpc", rpc).add("maxConcurrent", maxConcurrent)
+                .add("maxQueued", maxQueued).add("active", active.get()).add("waiting", waitingCount.get())
+                .toString();
+    }
+}
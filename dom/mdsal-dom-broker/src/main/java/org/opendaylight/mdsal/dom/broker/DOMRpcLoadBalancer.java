@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.mdsal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMRpcImplementation;
+import org.opendaylight.mdsal.dom.api.DOMRpcImplementationNotAvailableException;
+import org.opendaylight.mdsal.dom.api.DOMRpcResult;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Selects the implementation which should service an RPC invocation according to a {@link DOMRpcLoadBalancing}
+ * strategy and fails over to other implementations when the selected one is not available.
+ */
+final class DOMRpcLoadBalancer {
+    private static final class Outstanding {
+        final AtomicLong requests = new AtomicLong();
+
+        // Guarded by the owning DOMRpcRouter
+        int registrations;
+    }
+
+    static final DOMRpcLoadBalancer DEFAULT = new DOMRpcLoadBalancer(DOMRpcLoadBalancing.FIRST);
+
+    private static final Logger LOG = LoggerFactory.getLogger(DOMRpcLoadBalancer.class);
+
+    private final ConcurrentMap<DOMRpcImplementation, Outstanding> outstanding = new ConcurrentHashMap<>();
+    // Used by DOMRpcLoadBalancing.ROUND_ROBIN. Keyed by the RPC rather than held in its routing table entry, as entries
+    // are rebuilt on each registration change.
+    private final ConcurrentMap<DOMRpcIdentifier, AtomicInteger> sequences = new ConcurrentHashMap<>();
+    private final DOMRpcLoadBalancing strategy;
+
+    DOMRpcLoadBalancer(final DOMRpcLoadBalancing strategy) {
+        this.strategy = requireNonNull(strategy);
+    }
+
+    /**
+     * Note that an implementation has been registered. Must be called with the owning router's lock held.
+     *
+     * @param impl Registered implementation
+     */
+    void implementationAdded(final DOMRpcImplementation impl) {
+        if (strategy == DOMRpcLoadBalancing.LEAST_OUTSTANDING) {
+            outstanding.computeIfAbsent(impl, key -> new Outstanding()).registrations++;
+        }
+    }
+
+    /**
+     * Note that an implementation has been unregistered. Must be called with the owning router's lock held.
+     *
+     * @param impl Unregistered implementation
+     */
+    void implementationRemoved(final DOMRpcImplementation impl) {
+        final Outstanding counter = outstanding.get(impl);
+        if (counter != null && --counter.registrations == 0) {
+            outstanding.remove(impl);
+        }
+    }
+
+    @VisibleForTesting
+    long outstandingRequests(final DOMRpcImplementation impl) {
+        final Outstanding counter = outstanding.get(impl);
+        return counter == null ? 0 : counter.requests.get();
+    }
+
+    /**
+     * Invoke an RPC on one of the implementations.
+     *
+     * @param entry Routing table entry of the RPC
+     * @param impls Implementations ordered by cost, must not be empty
+     * @param rpc RPC identifier to pass to the implementation
+     * @param input RPC input
+     * @return Future result of the invocation
+     */
+    FluentFuture<DOMRpcResult> invoke(final AbstractDOMRpcRoutingTableEntry entry,
+            final List<DOMRpcImplementation> impls, final DOMRpcIdentifier rpc, final NormalizedNode<?, ?> input) {
+        return invoke(impls, select(entry, impls), 0, rpc, input);
+    }
+
+    private FluentFuture<DOMRpcResult> invoke(final List<DOMRpcImplementation> impls, final int first,
+            final int attempt, final DOMRpcIdentifier rpc, final NormalizedNode<?, ?> input) {
+        final DOMRpcImplementation impl = impls.get((first + attempt) % impls.size());
+        final FluentFuture<DOMRpcResult> future = invoke(impl, rpc, input);
+        if (attempt + 1 == impls.size()) {
+            return future;
+        }
+
+        return future.catchingAsync(DOMRpcImplementationNotAvailableException.class, cause -> {
+            LOG.debug("Implementation {} of {} is not available, trying next one", impl, rpc, cause);
+            return invoke(impls, first, attempt + 1, rpc, input);
+        }, MoreExecutors.directExecutor());
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private FluentFuture<DOMRpcResult> invoke(final DOMRpcImplementation impl, final DOMRpcIdentifier rpc,
+            final NormalizedNode<?, ?> input) {
+        final Outstanding counter = outstanding.get(impl);
+        if (counter == null) {
+            return impl.invokeRpc(rpc, input);
+        }
+
+        counter.requests.incrementAndGet();
+        final FluentFuture<DOMRpcResult> future;
+        try {
+            future = impl.invokeRpc(rpc, input);
+        } catch (RuntimeException e) {
+            counter.requests.decrementAndGet();
+            throw e;
+        }
+        future.addListener(counter.requests::decrementAndGet, MoreExecutors.directExecutor());
+        return future;
+    }
+
+    private int select(final AbstractDOMRpcRoutingTableEntry entry, final List<DOMRpcImplementation> impls) {
+        if (impls.size() == 1) {
+            return 0;
+        }
+
+        switch (strategy) {
+            case FIRST:
+                return 0;
+            case ROUND_ROBIN:
+                return Math.floorMod(sequences.computeIfAbsent(entry.getRpcId(), key -> new AtomicInteger())
+                    .getAndIncrement(), lowestCostCount(impls));
+            case LEAST_OUTSTANDING:
+                return leastOutstanding(impls);
+            case WEIGHTED_RANDOM:
+                return weightedRandom(impls);
+            default:
+                throw new IllegalStateException("Unhandled strategy " + strategy);
+        }
+    }
+
+    private int leastOutstanding(final List<DOMRpcImplementation> impls) {
+        final int count = lowestCostCount(impls);
+        int ret = 0;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < count; ++i) {
+            final long requests = outstandingRequests(impls.get(i));
+            if (requests < min) {
+                min = requests;
+                ret = i;
+            }
+        }
+        return ret;
+    }
+
+    private static int lowestCostCount(final List<DOMRpcImplementation> impls) {
+        final long cost = impls.get(0).invocationCost();
+        int count = 1;
+        while (count < impls.size() && impls.get(count).invocationCost() == cost) {
+            count++;
+        }
+        return count;
+    }
+
+    private static int weightedRandom(final List<DOMRpcImplementation> impls) {
+        double total = 0;
+        for (DOMRpcImplementation impl : impls) {
+            total += weight(impl);
+        }
+
+        double random = ThreadLocalRandom.current().nextDouble(total);
+        for (int i = 0; i < impls.size(); ++i) {
+            random -= weight(impls.get(i));
+            if (random < 0) {
+                return i;
+            }
+        }
+        return impls.size() - 1;
+    }
+
+    private static double weight(final DOMRpcImplementation impl) {
+        return 1.0 / (1.0 + Math.max(0, impl.invocationCost()));
+    }
+}
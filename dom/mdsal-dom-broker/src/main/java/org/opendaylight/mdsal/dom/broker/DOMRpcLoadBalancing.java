@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import com.google.common.annotations.Beta;
+import org.opendaylight.mdsal.dom.api.DOMRpcImplementation;
+
+/**
+ * Strategy used by {@link DOMRpcRouter} to select which of the implementations registered for an RPC should service
+ * a particular invocation. Implementations are ordered by their {@link DOMRpcImplementation#invocationCost()}. If the
+ * selected implementation fails with
+ * {@link org.opendaylight.mdsal.dom.api.DOMRpcImplementationNotAvailableException}, the invocation is retried with the
+ * remaining implementations.
+ */
+@Beta
+public enum DOMRpcLoadBalancing {
+    /**
+     * Always select the implementation with the lowest cost.
+     */
+    FIRST,
+    /**
+     * Cycle through the implementations with the lowest cost.
+     */
+    ROUND_ROBIN,
+    /**
+     * Select the implementation with the lowest cost which has the least invocations in progress.
+     */
+    LEAST_OUTSTANDING,
+    /**
+     * Select an implementation randomly, with the probability of selection being inversely proportional to its cost.
+     */
+    WEIGHTED_RANDOM;
+}
@@ -7,25 +7,26 @@
  */
 package org.opendaylight.mdsal.dom.broker;
 
-import static com.google.common.base.Verify.verifyNotNull;
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
 import com.google.common.collect.ClassToInstanceMap;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableClassToInstanceMap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.MapDifference;
-import com.google.common.collect.MapDifference.ValueDifference;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
+import com.google.common.collect.ListMultimap;
 import com.google.common.util.concurrent.FluentFuture;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -64,6 +65,7 @@ import org.opendaylight.yangtools.concepts.AbstractRegistration;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.concepts.ObjectRegistration;
 import org.opendaylight.yangtools.util.concurrent.FluentFutures;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -77,12 +79,17 @@ import org.slf4j.LoggerFactory;
 public final class DOMRpcRouter extends AbstractRegistration implements SchemaContextListener {
     private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder().setNameFormat(
             "DOMRpcRouter-listener-%s").setDaemon(true).build();
+    private static final ThreadFactory LIMIT_THREAD_FACTORY = new ThreadFactoryBuilder().setNameFormat(
+            "DOMRpcRouter-limit-%s").setDaemon(true).build();
 
     private final ExecutorService listenerNotifier = Executors.newSingleThreadExecutor(THREAD_FACTORY);
+    // Starts invocations which had to wait for a concurrency limit
+    private final ExecutorService limitExecutor = Executors.newCachedThreadPool(LIMIT_THREAD_FACTORY);
     private final DOMActionProviderService actionProviderService = new ActionProviderServiceFacade();
     private final DOMActionService actionService = new ActionServiceFacade();
     private final DOMRpcProviderService rpcProviderService = new RpcProviderServiceFacade();
     private final DOMRpcService rpcService = new RpcServiceFacade();
+    private final DOMRpcLoadBalancer loadBalancer;
 
     @GuardedBy("this")
     private Collection<Registration<?>> listeners = Collections.emptyList();
@@ -94,10 +101,54 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
 
     private volatile DOMActionRoutingTable actionRoutingTable = DOMActionRoutingTable.EMPTY;
 
+    private volatile Map<DOMRpcIdentifier, DOMRpcConcurrencyLimit> concurrencyLimits = ImmutableMap.of();
+
     private ListenerRegistration<?> listenerRegistration;
 
+    public DOMRpcRouter() {
+        this(DOMRpcLoadBalancing.FIRST);
+    }
+
+    public DOMRpcRouter(final DOMRpcLoadBalancing loadBalancing) {
+        loadBalancer = new DOMRpcLoadBalancer(loadBalancing);
+    }
+
     public static DOMRpcRouter newInstance(final DOMSchemaService schemaService) {
-        final DOMRpcRouter rpcRouter = new DOMRpcRouter();
+        return newInstance(schemaService, DOMRpcLoadBalancing.FIRST);
+    }
+
+    public static DOMRpcRouter newInstance(final DOMSchemaService schemaService,
+            final DOMRpcLoadBalancing loadBalancing) {
+        final DOMRpcRouter rpcRouter = new DOMRpcRouter(loadBalancing);
+        rpcRouter.listenerRegistration = schemaService.registerSchemaContextListener(rpcRouter);
+        return rpcRouter;
+    }
+
+    /**
+     * Create a new router with concurrency limits specified as a string. The string holds whitespace-separated limits
+     * of global RPCs, each in the form {@code qname=maxConcurrent:maxQueued}, where {@code qname} is the RPC's
+     * {@link QName} in its {@link QName#toString()} form, for example
+     * {@code (urn:example?revision=2018-11-01)reset=4:100}. Limits for specific context references of routed RPCs
+     * can only be set through {@link #limitConcurrency(DOMRpcIdentifier, int, int)}.
+     *
+     * @param schemaService Schema service
+     * @param loadBalancing Load balancing strategy
+     * @param concurrencyLimits Concurrency limits, may be empty
+     * @return A new router
+     * @throws IllegalArgumentException if the concurrency limits cannot be parsed
+     */
+    public static DOMRpcRouter newInstance(final DOMSchemaService schemaService,
+            final DOMRpcLoadBalancing loadBalancing, final String concurrencyLimits) {
+        final DOMRpcRouter rpcRouter = new DOMRpcRouter(loadBalancing);
+        for (String limit : Splitter.on(CharMatcher.whitespace()).omitEmptyStrings().split(concurrencyLimits)) {
+            // The QName may contain both '=' and ':', but not after the limits
+            final int equals = limit.lastIndexOf('=');
+            final int colon = limit.lastIndexOf(':');
+            checkArgument(equals > 0 && colon > equals, "Malformed concurrency limit %s", limit);
+            rpcRouter.limitConcurrency(DOMRpcIdentifier.create(SchemaPath.create(true,
+                QName.create(limit.substring(0, equals)))), Integer.parseInt(limit.substring(equals + 1, colon)),
+                Integer.parseInt(limit.substring(colon + 1)));
+        }
         rpcRouter.listenerRegistration = schemaService.registerSchemaContextListener(rpcRouter);
         return rpcRouter;
     }
@@ -118,13 +169,59 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
         return rpcProviderService;
     }
 
+    /**
+     * Limit the number of concurrent invocations of an RPC made through {@link #getRpcService()}. If the identifier
+     * specifies a context reference, the limit applies only to invocations routed to that context and takes precedence
+     * over the limit set for the RPC as a whole. Any previous limit for the same identifier is replaced.
+     *
+     * @param rpc RPC identifier
+     * @param maxConcurrent Maximum number of invocations in progress
+     * @param maxQueued Maximum number of invocations waiting for an invocation in progress to complete, invocations
+     *                  beyond this number are rejected with a
+     *                  {@link org.opendaylight.mdsal.dom.api.DOMRpcRejectedException}
+     * @return The installed limit, which also provides its usage statistics
+     * @throws IllegalArgumentException if maxConcurrent is not positive or maxQueued is negative
+     */
+    public synchronized DOMRpcConcurrencyLimit limitConcurrency(final DOMRpcIdentifier rpc, final int maxConcurrent,
+            final int maxQueued) {
+        final DOMRpcConcurrencyLimit limit = new DOMRpcConcurrencyLimit(rpc, maxConcurrent, maxQueued, limitExecutor);
+        final Map<DOMRpcIdentifier, DOMRpcConcurrencyLimit> limits = new HashMap<>(concurrencyLimits);
+        limits.put(rpc, limit);
+        concurrencyLimits = ImmutableMap.copyOf(limits);
+        return limit;
+    }
+
+    /**
+     * Remove the concurrency limit of an RPC. Invocations already admitted or queued are not affected.
+     *
+     * @param rpc RPC identifier
+     */
+    public synchronized void removeConcurrencyLimit(final DOMRpcIdentifier rpc) {
+        if (concurrencyLimits.containsKey(rpc)) {
+            final Map<DOMRpcIdentifier, DOMRpcConcurrencyLimit> limits = new HashMap<>(concurrencyLimits);
+            limits.remove(rpc);
+            concurrencyLimits = ImmutableMap.copyOf(limits);
+        }
+    }
+
+    /**
+     * Return currently configured concurrency limits.
+     *
+     * @return Concurrency limits, keyed by RPC identifier
+     */
+    public Map<DOMRpcIdentifier, DOMRpcConcurrencyLimit> getConcurrencyLimits() {
+        return concurrencyLimits;
+    }
+
     private synchronized void removeRpcImplementation(final DOMRpcImplementation implementation,
             final Set<DOMRpcIdentifier> rpcs) {
         final DOMRpcRoutingTable oldTable = routingTable;
         final DOMRpcRoutingTable newTable = (DOMRpcRoutingTable) oldTable.remove(implementation, rpcs);
         routingTable = newTable;
+        loadBalancer.implementationRemoved(implementation);
 
-        listenerNotifier.execute(() -> notifyRemoved(newTable, implementation));
+        final Collection<Registration<?>> toNotify = listeners;
+        listenerNotifier.execute(() -> notifyChanged(toNotify, oldTable, newTable, implementation, rpcs));
     }
 
     private synchronized void removeActionImplementation(final DOMActionImplementation implementation,
@@ -133,7 +230,8 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
         final DOMActionRoutingTable newTable = (DOMActionRoutingTable) oldTable.remove(implementation, actions);
         actionRoutingTable = newTable;
 
-        listenerNotifier.execute(() -> notifyActionChanged(newTable, implementation));
+        final Collection<ActionRegistration<?>> toNotify = actionListeners;
+        listenerNotifier.execute(() -> notifyActionChanged(toNotify, oldTable, newTable, implementation, actions));
     }
 
     private synchronized void removeListener(final ListenerRegistration<? extends DOMRpcAvailabilityListener> reg) {
@@ -144,23 +242,51 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
         actionListeners = ImmutableList.copyOf(Collections2.filter(actionListeners, input -> !reg.equals(input)));
     }
 
-    private synchronized void notifyAdded(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
-        for (Registration<?> l : listeners) {
-            l.addRpc(newTable, impl);
+    /*
+     * Listeners to notify are captured when the routing table is updated, so that a listener registered after
+     * the update, whose initial table already reflects it, does not see it again. Listeners are then handed only
+     * the change to the identifiers affected by the update.
+     */
+    private static void notifyChanged(final Collection<Registration<?>> toNotify,
+            final DOMRpcRoutingTable oldTable, final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl,
+            final Set<DOMRpcIdentifier> rpcs) {
+        if (!toNotify.isEmpty()) {
+            final ListMultimap<SchemaPath, YangInstanceIdentifier> changed = newTable.decomposeIdentifiers(rpcs);
+            for (Registration<?> l : toNotify) {
+                l.rpcChanged(oldTable, newTable, changed, impl);
+            }
         }
     }
 
-    private synchronized void notifyRemoved(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
-        for (Registration<?> l : listeners) {
-            l.removeRpc(newTable, impl);
+    private static void notifyActionChanged(final Collection<ActionRegistration<?>> toNotify,
+            final DOMActionRoutingTable oldTable, final DOMActionRoutingTable newTable,
+            final DOMActionImplementation impl, final Set<DOMActionInstance> actions) {
+        if (!toNotify.isEmpty()) {
+            final ListMultimap<SchemaPath, DOMDataTreeIdentifier> changed = newTable.decomposeIdentifiers(actions);
+            for (ActionRegistration<?> l : toNotify) {
+                l.actionChanged(oldTable, newTable, changed, impl);
+            }
         }
     }
 
-    private synchronized void notifyActionChanged(final DOMActionRoutingTable newTable,
-            final DOMActionImplementation impl) {
-        for (ActionRegistration<?> l : actionListeners) {
-            l.actionChanged(newTable, impl);
+    private static DOMRpcConcurrencyLimit findConcurrencyLimit(
+            final Map<DOMRpcIdentifier, DOMRpcConcurrencyLimit> limits, final AbstractDOMRpcRoutingTableEntry entry,
+            final NormalizedNode<?, ?> input) {
+        if (entry instanceof RoutedDOMRpcRoutingTableEntry && input != null) {
+            final Optional<NormalizedNode<?, ?>> maybeKey = NormalizedNodes.findNode(input,
+                entry.getRpcId().getContextReference());
+            if (maybeKey.isPresent()) {
+                final Object value = maybeKey.get().getValue();
+                if (value instanceof YangInstanceIdentifier) {
+                    final DOMRpcConcurrencyLimit limit = limits.get(DOMRpcIdentifier.create(entry.getType(),
+                        (YangInstanceIdentifier) value));
+                    if (limit != null) {
+                        return limit;
+                    }
+                }
+            }
         }
+        return limits.get(DOMRpcIdentifier.create(entry.getType()));
     }
 
     @Override
@@ -181,6 +307,7 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
             listenerRegistration = null;
         }
         listenerNotifier.shutdown();
+        limitExecutor.shutdown();
     }
 
     @VisibleForTesting
@@ -196,14 +323,14 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
     private static final class Registration<T extends DOMRpcAvailabilityListener>
         extends AbstractListenerRegistration<T> {
 
-        private Map<SchemaPath, Set<YangInstanceIdentifier>> prevRpcs;
+        private Map<SchemaPath, Set<YangInstanceIdentifier>> initialRpcs;
         private DOMRpcRouter router;
 
         Registration(final DOMRpcRouter router, final T listener,
                 final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs) {
             super(listener);
             this.router = requireNonNull(router);
-            this.prevRpcs = requireNonNull(rpcs);
+            this.initialRpcs = requireNonNull(rpcs);
         }
 
         @Override
@@ -214,78 +341,48 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
 
         void initialTable() {
             final Collection<DOMRpcIdentifier> added = new ArrayList<>();
-            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : prevRpcs.entrySet()) {
+            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : initialRpcs.entrySet()) {
                 added.addAll(Collections2.transform(e.getValue(), i -> DOMRpcIdentifier.create(e.getKey(), i)));
             }
+            initialRpcs = null;
             if (!added.isEmpty()) {
                 getInstance().onRpcAvailable(added);
             }
         }
 
-        void addRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
+        void rpcChanged(final DOMRpcRoutingTable oldTable, final DOMRpcRoutingTable newTable,
+                final ListMultimap<SchemaPath, YangInstanceIdentifier> changed, final DOMRpcImplementation impl) {
             final T l = getInstance();
-            if (!l.acceptsImplementation(impl)) {
+            if (isClosed() || !l.acceptsImplementation(impl)) {
                 return;
             }
 
-            final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs = verifyNotNull(newTable.getOperations(l));
-            final MapDifference<SchemaPath, Set<YangInstanceIdentifier>> diff = Maps.difference(prevRpcs, rpcs);
-
             final Collection<DOMRpcIdentifier> added = new ArrayList<>();
-            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : diff.entriesOnlyOnRight().entrySet()) {
-                added.addAll(Collections2.transform(e.getValue(), i -> DOMRpcIdentifier.create(e.getKey(), i)));
-            }
-            for (Entry<SchemaPath, ValueDifference<Set<YangInstanceIdentifier>>> e :
-                    diff.entriesDiffering().entrySet()) {
-                for (YangInstanceIdentifier i : Sets.difference(e.getValue().rightValue(), e.getValue().leftValue())) {
-                    added.add(DOMRpcIdentifier.create(e.getKey(), i));
-                }
-            }
-
-            prevRpcs = rpcs;
-            if (!added.isEmpty()) {
-                l.onRpcAvailable(added);
-            }
-        }
-
-        void removeRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
-            final T l = getInstance();
-            if (!l.acceptsImplementation(impl)) {
-                return;
-            }
-
-            final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs = verifyNotNull(newTable.getOperations(l));
-            final MapDifference<SchemaPath, Set<YangInstanceIdentifier>> diff = Maps.difference(prevRpcs, rpcs);
-
             final Collection<DOMRpcIdentifier> removed = new ArrayList<>();
-            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : diff.entriesOnlyOnLeft().entrySet()) {
-                removed.addAll(Collections2.transform(e.getValue(), i -> DOMRpcIdentifier.create(e.getKey(), i)));
-            }
-            for (Entry<SchemaPath, ValueDifference<Set<YangInstanceIdentifier>>> e :
-                    diff.entriesDiffering().entrySet()) {
-                for (YangInstanceIdentifier i : Sets.difference(e.getValue().leftValue(), e.getValue().rightValue())) {
-                    removed.add(DOMRpcIdentifier.create(e.getKey(), i));
-                }
-            }
+            newTable.diffOperations(oldTable, changed, l,
+                (type, id) -> added.add(DOMRpcIdentifier.create(type, id)),
+                (type, id) -> removed.add(DOMRpcIdentifier.create(type, id)));
 
-            prevRpcs = rpcs;
             if (!removed.isEmpty()) {
                 l.onRpcUnavailable(removed);
             }
+            if (!added.isEmpty()) {
+                l.onRpcAvailable(added);
+            }
         }
     }
 
     private static final class ActionRegistration<T extends AvailabilityListener>
         extends AbstractListenerRegistration<T> {
 
-        private Map<SchemaPath, Set<DOMDataTreeIdentifier>> prevActions;
+        private Map<SchemaPath, Set<DOMDataTreeIdentifier>> initialActions;
         private DOMRpcRouter router;
 
         ActionRegistration(final DOMRpcRouter router, final T listener,
                 final Map<SchemaPath, Set<DOMDataTreeIdentifier>> actions) {
             super(listener);
             this.router = requireNonNull(router);
-            this.prevActions = requireNonNull(actions);
+            this.initialActions = requireNonNull(actions);
         }
 
         @Override
@@ -296,46 +393,28 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
 
         void initialTable() {
             final Collection<DOMActionInstance> added = new ArrayList<>();
-            for (Entry<SchemaPath, Set<DOMDataTreeIdentifier>> e : prevActions.entrySet()) {
+            for (Entry<SchemaPath, Set<DOMDataTreeIdentifier>> e : initialActions.entrySet()) {
                 added.addAll(Collections2.transform(e.getValue(), i -> DOMActionInstance.of(e.getKey(), i)));
             }
+            initialActions = null;
             if (!added.isEmpty()) {
                 getInstance().onActionsChanged(ImmutableSet.of(), ImmutableSet.copyOf(added));
             }
         }
 
-        void actionChanged(final DOMActionRoutingTable newTable, final DOMActionImplementation impl) {
+        void actionChanged(final DOMActionRoutingTable oldTable, final DOMActionRoutingTable newTable,
+                final ListMultimap<SchemaPath, DOMDataTreeIdentifier> changed, final DOMActionImplementation impl) {
             final T l = getInstance();
-            if (!l.acceptsImplementation(impl)) {
+            if (isClosed() || !l.acceptsImplementation(impl)) {
                 return;
             }
 
-            final Map<SchemaPath, Set<DOMDataTreeIdentifier>> actions = verifyNotNull(newTable.getOperations(l));
-            final MapDifference<SchemaPath, Set<DOMDataTreeIdentifier>> diff = Maps.difference(prevActions, actions);
-
             final Set<DOMActionInstance> removed = new HashSet<>();
             final Set<DOMActionInstance> added = new HashSet<>();
+            newTable.diffOperations(oldTable, changed, l,
+                (type, id) -> added.add(DOMActionInstance.of(type, id)),
+                (type, id) -> removed.add(DOMActionInstance.of(type, id)));
 
-            for (Entry<SchemaPath, Set<DOMDataTreeIdentifier>> e : diff.entriesOnlyOnLeft().entrySet()) {
-                removed.addAll(Collections2.transform(e.getValue(), i -> DOMActionInstance.of(e.getKey(), i)));
-            }
-
-            for (Entry<SchemaPath, Set<DOMDataTreeIdentifier>> e : diff.entriesOnlyOnRight().entrySet()) {
-                added.addAll(Collections2.transform(e.getValue(), i -> DOMActionInstance.of(e.getKey(), i)));
-            }
-
-            for (Entry<SchemaPath, ValueDifference<Set<DOMDataTreeIdentifier>>> e :
-                diff.entriesDiffering().entrySet()) {
-                for (DOMDataTreeIdentifier i : Sets.difference(e.getValue().leftValue(), e.getValue().rightValue())) {
-                    removed.add(DOMActionInstance.of(e.getKey(), i));
-                }
-
-                for (DOMDataTreeIdentifier i : Sets.difference(e.getValue().rightValue(), e.getValue().leftValue())) {
-                    added.add(DOMActionInstance.of(e.getKey(), i));
-                }
-            }
-
-            prevActions = actions;
             if (!removed.isEmpty() || !added.isEmpty()) {
                 l.onActionsChanged(removed, added);
             }
@@ -399,7 +478,9 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
                 final DOMActionRoutingTable newTable = (DOMActionRoutingTable) oldTable.add(implementation, instances);
                 actionRoutingTable = newTable;
 
-                listenerNotifier.execute(() -> notifyActionChanged(newTable, implementation));
+                final Collection<ActionRegistration<?>> toNotify = actionListeners;
+                listenerNotifier.execute(() -> notifyActionChanged(toNotify, oldTable, newTable, implementation,
+                    instances));
             }
 
             return new AbstractObjectRegistration<T>(implementation) {
@@ -420,7 +501,15 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
                     new DOMRpcImplementationNotAvailableException("No implementation of RPC %s available", type));
             }
 
-            return OperationInvocation.invoke(entry, input);
+            final Map<DOMRpcIdentifier, DOMRpcConcurrencyLimit> limits = concurrencyLimits;
+            if (!limits.isEmpty()) {
+                final DOMRpcConcurrencyLimit limit = findConcurrencyLimit(limits, entry, input);
+                if (limit != null) {
+                    return limit.invoke(() -> OperationInvocation.invoke(entry, input, loadBalancer));
+                }
+            }
+
+            return OperationInvocation.invoke(entry, input, loadBalancer);
         }
 
         @Override
@@ -454,8 +543,10 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
                 final DOMRpcRoutingTable oldTable = routingTable;
                 final DOMRpcRoutingTable newTable = (DOMRpcRoutingTable) oldTable.add(implementation, rpcs);
                 routingTable = newTable;
+                loadBalancer.implementationAdded(implementation);
 
-                listenerNotifier.execute(() -> notifyAdded(newTable, implementation));
+                final Collection<Registration<?>> toNotify = listeners;
+                listenerNotifier.execute(() -> notifyChanged(toNotify, oldTable, newTable, implementation, rpcs));
             }
 
             return new AbstractDOMRpcImplementationRegistration<T>(implementation) {
@@ -477,14 +568,19 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
 
         static FluentFuture<DOMRpcResult> invoke(final AbstractDOMRpcRoutingTableEntry entry,
                 final NormalizedNode<?, ?> input) {
+            return invoke(entry, input, DOMRpcLoadBalancer.DEFAULT);
+        }
+
+        static FluentFuture<DOMRpcResult> invoke(final AbstractDOMRpcRoutingTableEntry entry,
+                final NormalizedNode<?, ?> input, final DOMRpcLoadBalancer loadBalancer) {
             if (entry instanceof UnknownDOMRpcRoutingTableEntry) {
                 return FluentFutures.immediateFailedFluentFuture(
                     new DOMRpcImplementationNotAvailableException("SchemaPath %s is not resolved to an RPC",
                         entry.getType()));
             } else if (entry instanceof RoutedDOMRpcRoutingTableEntry) {
-                return invokeRoutedRpc((RoutedDOMRpcRoutingTableEntry) entry, input);
+                return invokeRoutedRpc((RoutedDOMRpcRoutingTableEntry) entry, input, loadBalancer);
             } else if (entry instanceof GlobalDOMRpcRoutingTableEntry) {
-                return invokeGlobalRpc((GlobalDOMRpcRoutingTableEntry) entry, input);
+                return invokeGlobalRpc((GlobalDOMRpcRoutingTableEntry) entry, input, loadBalancer);
             }
 
             return FluentFutures.immediateFailedFluentFuture(
@@ -492,7 +588,7 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
         }
 
         private static FluentFuture<DOMRpcResult> invokeRoutedRpc(final RoutedDOMRpcRoutingTableEntry entry,
-                final NormalizedNode<?, ?> input) {
+                final NormalizedNode<?, ?> input, final DOMRpcLoadBalancer loadBalancer) {
             final Optional<NormalizedNode<?, ?>> maybeKey = NormalizedNodes.findNode(input,
                 entry.getRpcId().getContextReference());
 
@@ -506,8 +602,8 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
                     // Find a DOMRpcImplementation for a specific iid
                     final List<DOMRpcImplementation> specificImpls = entry.getImplementations(iid);
                     if (specificImpls != null) {
-                        return specificImpls.get(0)
-                            .invokeRpc(DOMRpcIdentifier.create(entry.getType(), iid), input);
+                        return loadBalancer.invoke(entry, specificImpls, DOMRpcIdentifier.create(entry.getType(), iid),
+                            input);
                     }
 
                     LOG.debug("No implementation for context {} found will now look for wildcard id", iid);
@@ -518,8 +614,8 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
                         entry.getImplementations(YangInstanceIdentifier.EMPTY);
 
                     if (mayBeRemoteImpls != null) {
-                        return mayBeRemoteImpls.get(0)
-                            .invokeRpc(DOMRpcIdentifier.create(entry.getType(), iid), input);
+                        return loadBalancer.invoke(entry, mayBeRemoteImpls,
+                            DOMRpcIdentifier.create(entry.getType(), iid), input);
                     }
 
                 } else {
@@ -529,7 +625,7 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
 
             final List<DOMRpcImplementation> impls = entry.getImplementations(null);
             if (impls != null) {
-                return impls.get(0).invokeRpc(entry.getRpcId(), input);
+                return loadBalancer.invoke(entry, impls, entry.getRpcId(), input);
             }
 
             return FluentFutures.immediateFailedFluentFuture(
@@ -538,8 +634,9 @@ public final class DOMRpcRouter extends AbstractRegistration implements SchemaCo
         }
 
         private static FluentFuture<DOMRpcResult> invokeGlobalRpc(final GlobalDOMRpcRoutingTableEntry entry,
-                final NormalizedNode<?, ?> input) {
-            return entry.getImplementations(YangInstanceIdentifier.EMPTY).get(0).invokeRpc(entry.getRpcId(), input);
+                final NormalizedNode<?, ?> input, final DOMRpcLoadBalancer loadBalancer) {
+            return loadBalancer.invoke(entry, entry.getImplementations(YangInstanceIdentifier.EMPTY), entry.getRpcId(),
+                input);
         }
     }
 }
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash array mapped trie. Updates are performed via {@link #with(Object, Object)} and
+ * {@link #without(Object)}, which return a new map sharing all unaffected trie nodes with this map, hence they
+ * complete in O(log32 N) time and space. Instances are immutable and can therefore be read without any locking.
+ * Neither keys nor values may be null.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private abstract static class Node {
+
+        abstract Object get(Object key, int hash, int shift);
+
+        abstract Node with(Object key, Object value, int hash, int shift, boolean[] added);
+
+        // Returns null if the resulting node would be empty
+        abstract Node without(Object key, int hash, int shift);
+
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * A node indexed by a bitmap of present hash fragments. Each present fragment occupies two slots in the array:
+     * either a key/value pair, or a null key and a child node.
+     */
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final Object[] array;
+        private final int bitmap;
+
+        BitmapNode(final int bitmap, final Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        Object get(final Object key, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+
+            final int idx = index(bit);
+            final Object k = array[idx];
+            final Object v = array[idx + 1];
+            if (k == null) {
+                return ((Node) v).get(key, hash, shift + BITS);
+            }
+            return key.equals(k) ? v : null;
+        }
+
+        @Override
+        Node with(final Object key, final Object value, final int hash, final int shift, final boolean[] added) {
+            final int bit = bit(hash, shift);
+            final int idx = index(bit);
+            if ((bitmap & bit) == 0) {
+                final Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, idx);
+                newArray[idx] = key;
+                newArray[idx + 1] = value;
+                System.arraycopy(array, idx, newArray, idx + 2, array.length - idx);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+
+            final Object k = array[idx];
+            final Object v = array[idx + 1];
+            if (k == null) {
+                final Node child = ((Node) v).with(key, value, hash, shift + BITS, added);
+                return child == v ? this : replace(idx + 1, child);
+            }
+            if (key.equals(k)) {
+                return value == v ? this : replace(idx + 1, value);
+            }
+
+            added[0] = true;
+            final Object[] newArray = array.clone();
+            newArray[idx] = null;
+            newArray[idx + 1] = createNode(k, v, spread(k.hashCode()), key, value, hash, shift + BITS);
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        @Override
+        Node without(final Object key, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            final int idx = index(bit);
+            final Object k = array[idx];
+            final Object v = array[idx + 1];
+            if (k == null) {
+                final Node child = ((Node) v).without(key, hash, shift + BITS);
+                if (child == v) {
+                    return this;
+                }
+                return child != null ? replace(idx + 1, child) : remove(bit, idx);
+            }
+            return key.equals(k) ? remove(bit, idx) : this;
+        }
+
+        @Override
+        void forEach(final BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                final Object k = array[i];
+                if (k == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(k, array[i + 1]);
+                }
+            }
+        }
+
+        private int index(final int bit) {
+            return Integer.bitCount(bitmap & bit - 1) * 2;
+        }
+
+        private BitmapNode replace(final int idx, final Object obj) {
+            final Object[] newArray = array.clone();
+            newArray[idx] = obj;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        private BitmapNode remove(final int bit, final int idx) {
+            if (bitmap == bit) {
+                return null;
+            }
+
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, idx);
+            System.arraycopy(array, idx + 2, newArray, idx, array.length - idx - 2);
+            return new BitmapNode(bitmap & ~bit, newArray);
+        }
+
+        private static int bit(final int hash, final int shift) {
+            return 1 << (hash >>> shift & MASK);
+        }
+    }
+
+    /**
+     * A node holding key/value pairs whose keys have the same hash.
+     */
+    private static final class CollisionNode extends Node {
+        private final Object[] array;
+        private final int hash;
+
+        CollisionNode(final int hash, final Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        Object get(final Object key, final int keyHash, final int shift) {
+            final int idx = find(key);
+            return idx != -1 ? array[idx + 1] : null;
+        }
+
+        @Override
+        Node with(final Object key, final Object value, final int keyHash, final int shift, final boolean[] added) {
+            if (keyHash != hash) {
+                // Push this node down into a bitmap node and add the key there
+                return new BitmapNode(BitmapNode.bit(hash, shift), new Object[] { null, this })
+                        .with(key, value, keyHash, shift, added);
+            }
+
+            final int idx = find(key);
+            if (idx != -1) {
+                if (array[idx + 1] == value) {
+                    return this;
+                }
+                final Object[] newArray = array.clone();
+                newArray[idx + 1] = value;
+                return new CollisionNode(hash, newArray);
+            }
+
+            final Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        Node without(final Object key, final int keyHash, final int shift) {
+            final int idx = find(key);
+            if (idx == -1) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, idx);
+            System.arraycopy(array, idx + 2, newArray, idx, array.length - idx - 2);
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        void forEach(final BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+
+        private int find(final Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(BitmapNode.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(final Node root, final int size) {
+        this.root = requireNonNull(root);
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> of() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> copyOf(final Map<K, V> map) {
+        if (map instanceof PersistentHashMap) {
+            return (PersistentHashMap<K, V>) map;
+        }
+
+        PersistentHashMap<K, V> ret = of();
+        for (Entry<K, V> entry : map.entrySet()) {
+            ret = ret.with(entry.getKey(), entry.getValue());
+        }
+        return ret;
+    }
+
+    /**
+     * Return a map with specified mapping added or replaced.
+     *
+     * @param key Key
+     * @param value Value
+     * @return A map containing the mapping
+     */
+    PersistentHashMap<K, V> with(final K key, final V value) {
+        final boolean[] added = new boolean[1];
+        final Node newRoot = root.with(requireNonNull(key), requireNonNull(value), spread(key.hashCode()), 0, added);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Return a map with specified mapping removed.
+     *
+     * @param key Key
+     * @return A map not containing the key
+     */
+    PersistentHashMap<K, V> without(final Object key) {
+        final Node newRoot = root.without(requireNonNull(key), spread(key.hashCode()), 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? of() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        return key == null ? null : (V) root.get(key, spread(key.hashCode()), 0);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        root.forEach((k, v) -> action.accept((K) k, (V) v));
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                final List<Entry<K, V>> entries = new ArrayList<>(size);
+                PersistentHashMap.this.forEach((k, v) -> entries.add(new SimpleImmutableEntry<>(k, v)));
+                return Collections.unmodifiableList(entries).iterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private static Node createNode(final Object key1, final Object value1, final int hash1, final Object key2,
+            final Object value2, final int hash2, final int shift) {
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1, new Object[] { key1, value1, key2, value2 });
+        }
+
+        final boolean[] added = new boolean[1];
+        return BitmapNode.EMPTY.with(key1, value1, hash1, shift, added).with(key2, value2, hash2, shift, added);
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ hash >>> 16;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Non-blocking three-phase commit coordinator. Unlike {@link CommitCoordinationTask}, it does not occupy a thread
+ * while waiting for cohorts, but chains each phase on completion of the previous one.
+ *
+ * <p>
+ * Transactions are pipelined on a per-store basis: the cohorts of a transaction are expected to be presented in
+ * the same order for every transaction, one cohort for each backing store. A cohort starts its canCommit phase as
+ * soon as the cohort of the previous transaction in the same store has finished its commit (or abort). This means
+ * transaction N+1 can be validated in one store while transaction N is still committing in another. If the number
+ * of cohorts does not match the number of stores, the transaction is conservatively ordered after all previously
+ * submitted transactions.
+ *
+ * <p>
+ * Phase transitions are executed on the thread which completes the last future of the previous phase. When
+ * a transaction has to wait for a previous transaction, its canCommit phase is dispatched via the supplied
+ * {@link Executor}, so that a long queue of transactions does not result in unbounded recursion.
+ */
+final class PipelinedCommitCoordinator {
+    private enum Phase {
+        CAN_COMMIT,
+        PRE_COMMIT,
+        DO_COMMIT
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(PipelinedCommitCoordinator.class);
+    private static final ListenableFuture<Void> COMPLETED_FUTURE = Futures.immediateFuture(null);
+
+    private final DurationStatisticsTracker commitStatTracker;
+    private final Executor executor;
+
+    /**
+     * Futures completing when the last transaction submitted to a particular store has finished with that store.
+     */
+    @GuardedBy("this")
+    private final ListenableFuture<?>[] tails;
+
+    PipelinedCommitCoordinator(final int storeCount, final Executor executor,
+            final DurationStatisticsTracker commitStatTracker) {
+        checkArgument(storeCount > 0, "Store count %s is not positive", storeCount);
+        this.executor = requireNonNull(executor, "executor must not be null");
+        this.commitStatTracker = commitStatTracker;
+        tails = new ListenableFuture<?>[storeCount];
+        Arrays.fill(tails, COMPLETED_FUTURE);
+    }
+
+    /**
+     * Submit a transaction for coordination.
+     *
+     * @param transaction Transaction being committed
+     * @param cohorts Cohorts of the transaction, one per backing store, in store order
+     * @return Future completing when the transaction has been committed. On failure, the Future fails with
+     *         a {@link TransactionCommitFailedException}.
+     */
+    FluentFuture<CommitInfo> submit(final DOMDataTreeWriteTransaction transaction,
+            final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
+        final Coordination coordination = new Coordination(transaction, cohorts);
+        coordination.canCommit(enqueue(coordination.completions));
+        return FluentFuture.from(coordination.result);
+    }
+
+    private synchronized ListenableFuture<?>[] enqueue(final SettableFuture<Void>[] completions) {
+        final ListenableFuture<?>[] gates = new ListenableFuture<?>[completions.length];
+        if (completions.length == tails.length) {
+            for (int i = 0; i < completions.length; ++i) {
+                gates[i] = tails[i];
+                tails[i] = completions[i];
+            }
+        } else {
+            Arrays.fill(gates, Futures.successfulAsList(tails));
+            Arrays.fill(tails, Futures.successfulAsList(completions));
+        }
+        return gates;
+    }
+
+    private Executor gateExecutor(final ListenableFuture<?> gate) {
+        return gate.isDone() ? MoreExecutors.directExecutor() : executor;
+    }
+
+    private static void whenAllComplete(final List<ListenableFuture<?>> futures,
+            final Consumer<List<ListenableFuture<?>>> callback) {
+        Futures.successfulAsList(futures).addListener(() -> callback.accept(futures),
+            MoreExecutors.directExecutor());
+    }
+
+    private final class Coordination {
+        private final SettableFuture<CommitInfo> result = SettableFuture.create();
+        private final DOMStoreThreePhaseCommitCohort[] cohorts;
+        private final SettableFuture<Void>[] completions;
+        private final DOMDataTreeWriteTransaction tx;
+        private final long startTime;
+
+        @SuppressWarnings("unchecked")
+        Coordination(final DOMDataTreeWriteTransaction transaction,
+                final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
+            this.tx = requireNonNull(transaction, "transaction must not be null");
+            this.cohorts = cohorts.toArray(new DOMStoreThreePhaseCommitCohort[0]);
+            completions = new SettableFuture[this.cohorts.length];
+            for (int i = 0; i < completions.length; ++i) {
+                completions[i] = SettableFuture.create();
+            }
+            startTime = commitStatTracker != null ? System.nanoTime() : 0;
+        }
+
+        void canCommit(final ListenableFuture<?>[] gates) {
+            LOG.debug("Transaction {}: canCommit Started", tx.getIdentifier());
+            final List<ListenableFuture<?>> futures = new ArrayList<>(cohorts.length);
+            for (int i = 0; i < cohorts.length; ++i) {
+                final DOMStoreThreePhaseCommitCohort cohort = cohorts[i];
+                futures.add(Futures.transformAsync(gates[i], ignored -> cohort.canCommit(),
+                    gateExecutor(gates[i])));
+            }
+            whenAllComplete(futures, this::canCommitComplete);
+        }
+
+        private void canCommitComplete(final List<ListenableFuture<?>> futures) {
+            for (ListenableFuture<?> future : futures) {
+                final Object canCommit;
+                try {
+                    canCommit = Futures.getDone(future);
+                } catch (ExecutionException | CancellationException e) {
+                    abort(Phase.CAN_COMMIT, TransactionCommitFailedExceptionMapper.CAN_COMMIT_ERROR_MAPPER.apply(e));
+                    return;
+                }
+
+                if (!Boolean.TRUE.equals(canCommit)) {
+                    abort(Phase.CAN_COMMIT,
+                        new TransactionCommitFailedException("Can Commit failed, no detailed cause available."));
+                    return;
+                }
+            }
+
+            LOG.debug("Transaction {}: preCommit Started", tx.getIdentifier());
+            whenAllComplete(invokeAll(DOMStoreThreePhaseCommitCohort::preCommit), this::preCommitComplete);
+        }
+
+        private void preCommitComplete(final List<ListenableFuture<?>> futures) {
+            final TransactionCommitFailedException failure = firstFailure(futures,
+                TransactionCommitFailedExceptionMapper.PRE_COMMIT_MAPPER);
+            if (failure != null) {
+                abort(Phase.PRE_COMMIT, failure);
+                return;
+            }
+
+            LOG.debug("Transaction {}: doCommit Started", tx.getIdentifier());
+            final List<ListenableFuture<?>> commits = invokeAll(DOMStoreThreePhaseCommitCohort::commit);
+            for (int i = 0; i < cohorts.length; ++i) {
+                final SettableFuture<Void> completion = completions[i];
+                final ListenableFuture<?> commit = commits.get(i);
+                // Release the store for the next transaction as soon as this cohort has committed
+                commit.addListener(() -> {
+                    if (isSuccessful(commit)) {
+                        completion.set(null);
+                    }
+                }, MoreExecutors.directExecutor());
+            }
+            whenAllComplete(commits, this::commitComplete);
+        }
+
+        private void commitComplete(final List<ListenableFuture<?>> futures) {
+            final TransactionCommitFailedException failure = firstFailure(futures,
+                TransactionCommitFailedExceptionMapper.COMMIT_ERROR_MAPPER);
+            if (failure != null) {
+                abort(Phase.DO_COMMIT, failure);
+                return;
+            }
+
+            LOG.debug("Transaction {}: doCommit completed", tx.getIdentifier());
+            finish();
+            result.set(CommitInfo.empty());
+        }
+
+        private void abort(final Phase phase, final TransactionCommitFailedException cause) {
+            LOG.warn("Tx: {} Error during phase {}, starting Abort", tx.getIdentifier(), phase, cause);
+            whenAllComplete(invokeAll(DOMStoreThreePhaseCommitCohort::abort), futures -> {
+                Exception failure = cause;
+                for (ListenableFuture<?> future : futures) {
+                    try {
+                        Futures.getDone(future);
+                    } catch (ExecutionException | CancellationException e) {
+                        LOG.error("Tx: {} Error during Abort.", tx.getIdentifier(), e);
+                        failure = new IllegalStateException("Abort failed.", e);
+                        failure.addSuppressed(cause);
+                        break;
+                    }
+                }
+
+                finish();
+                result.setException(failure);
+            });
+        }
+
+        private void finish() {
+            for (SettableFuture<Void> completion : completions) {
+                completion.set(null);
+            }
+            if (commitStatTracker != null) {
+                commitStatTracker.addDuration(System.nanoTime() - startTime);
+            }
+        }
+
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        private List<ListenableFuture<?>> invokeAll(
+                final Function<DOMStoreThreePhaseCommitCohort, ListenableFuture<?>> operation) {
+            final List<ListenableFuture<?>> ret = new ArrayList<>(cohorts.length);
+            for (DOMStoreThreePhaseCommitCohort cohort : cohorts) {
+                ListenableFuture<?> future;
+                try {
+                    future = operation.apply(cohort);
+                } catch (RuntimeException e) {
+                    future = Futures.immediateFailedFuture(e);
+                }
+                ret.add(future);
+            }
+            return ret;
+        }
+    }
+
+    private static boolean isSuccessful(final ListenableFuture<?> future) {
+        try {
+            Futures.getDone(future);
+            return true;
+        } catch (ExecutionException | CancellationException e) {
+            return false;
+        }
+    }
+
+    private static TransactionCommitFailedException firstFailure(final List<ListenableFuture<?>> futures,
+            final TransactionCommitFailedExceptionMapper mapper) {
+        for (ListenableFuture<?> future : futures) {
+            try {
+                Futures.getDone(future);
+            } catch (ExecutionException | CancellationException e) {
+                return mapper.apply(e);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FluentFuture;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.mdsal.dom.spi.store.DOMStore;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of non-blocking three phase commit coordinator, which supports coordination on multiple
+ * {@link DOMStoreThreePhaseCommitCohort}s.
+ *
+ *<p>
+ * Unlike {@link SerializedDOMDataBroker}, commit coordination does not occupy an executor thread for the duration
+ * of the commit. Phases are chained on completion of cohort futures and transactions are pipelined on a per-store
+ * basis, i.e. a transaction can start its canCommit phase in one store while the previous transaction is still
+ * committing in another store.
+ *
+ *<p>
+ * This implementation does not support cancellation of commit.
+ */
+public class PipelinedDOMDataBroker extends AbstractDOMDataBroker {
+    private static final Logger LOG = LoggerFactory.getLogger(PipelinedDOMDataBroker.class);
+    private final DurationStatisticsTracker commitStatsTracker = DurationStatisticsTracker.createConcurrent();
+    private final PipelinedCommitCoordinator coordinator;
+
+    /**
+     * Construct a PipelinedDOMDataBroker.
+     *
+     * @param datastores the Map of backing DOMStore instances
+     * @param executor the Executor used to resume transactions which had to wait for a previous transaction
+     */
+    public PipelinedDOMDataBroker(final Map<LogicalDatastoreType, DOMStore> datastores, final Executor executor) {
+        super(datastores);
+        coordinator = new PipelinedCommitCoordinator(getTxFactories().size(), executor, commitStatsTracker);
+    }
+
+    public DurationStatisticsTracker getCommitStatsTracker() {
+        return commitStatsTracker;
+    }
+
+    @Override
+    protected FluentFuture<? extends CommitInfo> commit(final DOMDataTreeWriteTransaction transaction,
+            final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
+        Preconditions.checkArgument(transaction != null, "Transaction must not be null.");
+        Preconditions.checkArgument(cohorts != null, "Cohorts must not be null.");
+        LOG.debug("Tx: {} is submitted for execution.", transaction.getIdentifier());
+
+        return coordinator.submit(transaction, cohorts);
+    }
+}
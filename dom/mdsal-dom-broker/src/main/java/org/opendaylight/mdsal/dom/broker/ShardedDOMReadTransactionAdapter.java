@@ -25,8 +25,10 @@ import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeListener;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeListeningException;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeLoopException;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeProjectedReadOperations;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadTransaction;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeService;
+import org.opendaylight.mdsal.dom.spi.NormalizedNodeProjection;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -35,7 +37,8 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ShardedDOMReadTransactionAdapter implements DOMDataTreeReadTransaction {
+public class ShardedDOMReadTransactionAdapter implements DOMDataTreeReadTransaction,
+        DOMDataTreeProjectedReadOperations {
     private static final Logger LOG = LoggerFactory.getLogger(ShardedDOMReadTransactionAdapter.class.getName());
 
     private final List<ListenerRegistration<DOMDataTreeListener>> registrations = new ArrayList<>();
@@ -87,6 +90,13 @@ public class ShardedDOMReadTransactionAdapter implements DOMDataTreeReadTransact
         return initialDataTreeChangeFuture;
     }
 
+    @Override
+    public FluentFuture<Optional<NormalizedNode<?, ?>>> read(final LogicalDatastoreType store,
+            final YangInstanceIdentifier path, final Collection<YangInstanceIdentifier> fields) {
+        return read(store, path).transform(data -> NormalizedNodeProjection.project(data, fields),
+            MoreExecutors.directExecutor());
+    }
+
     @Override
     public FluentFuture<Boolean> exists(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
         checkRunning();
@@ -8,8 +8,10 @@
 package org.opendaylight.mdsal.dom.broker;
 
 import com.google.common.util.concurrent.FluentFuture;
+import java.util.Collection;
 import java.util.Optional;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeProjectedReadOperations;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadWriteTransaction;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeService;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -17,7 +19,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 // FIXME: 4.0.0: make this class package-protected and final
 public class ShardedDOMReadWriteTransactionAdapter extends ShardedDOMWriteTransactionAdapter
-        implements DOMDataTreeReadWriteTransaction {
+        implements DOMDataTreeReadWriteTransaction, DOMDataTreeProjectedReadOperations {
 
     private final ShardedDOMReadTransactionAdapter readAdapter;
 
@@ -32,6 +34,12 @@ public class ShardedDOMReadWriteTransactionAdapter extends ShardedDOMWriteTransa
         return readAdapter.read(store, path);
     }
 
+    @Override
+    public FluentFuture<Optional<NormalizedNode<?, ?>>> read(final LogicalDatastoreType store,
+            final YangInstanceIdentifier path, final Collection<YangInstanceIdentifier> fields) {
+        return readAdapter.read(store, path, fields);
+    }
+
     @Override
     public FluentFuture<Boolean> exists(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
         return readAdapter.exists(store, path);
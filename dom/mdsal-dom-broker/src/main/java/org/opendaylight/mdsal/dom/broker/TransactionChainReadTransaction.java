@@ -11,14 +11,19 @@ import com.google.common.util.concurrent.FluentFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Supplier;
 import org.opendaylight.mdsal.common.api.CommitInfo;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeProjectedReadOperations;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadTransaction;
+import org.opendaylight.mdsal.dom.spi.NormalizedNodeProjection;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
-public class TransactionChainReadTransaction implements DOMDataTreeReadTransaction {
+public class TransactionChainReadTransaction implements DOMDataTreeReadTransaction,
+        DOMDataTreeProjectedReadOperations {
 
     private final DOMDataTreeReadTransaction delegateReadTx;
     private final FluentFuture<? extends CommitInfo> previousWriteTxFuture;
@@ -37,12 +42,23 @@ public class TransactionChainReadTransaction implements DOMDataTreeReadTransacti
     @Override
     public FluentFuture<Optional<NormalizedNode<?, ?>>> read(final LogicalDatastoreType store,
             final YangInstanceIdentifier path) {
+        return readAfterPreviousWrite(() -> delegateReadTx.read(store, path));
+    }
+
+    @Override
+    public FluentFuture<Optional<NormalizedNode<?, ?>>> read(final LogicalDatastoreType store,
+            final YangInstanceIdentifier path, final Collection<YangInstanceIdentifier> fields) {
+        return readAfterPreviousWrite(() -> NormalizedNodeProjection.read(delegateReadTx, store, path, fields));
+    }
+
+    private FluentFuture<Optional<NormalizedNode<?, ?>>> readAfterPreviousWrite(
+            final Supplier<FluentFuture<Optional<NormalizedNode<?, ?>>>> delegateRead) {
         final SettableFuture<Optional<NormalizedNode<?, ?>>> readResult = SettableFuture.create();
 
         previousWriteTxFuture.addCallback(new FutureCallback<CommitInfo>() {
             @Override
             public void onSuccess(final CommitInfo result) {
-                delegateReadTx.read(store, path).addCallback(new FutureCallback<Optional<NormalizedNode<?, ?>>>() {
+                delegateRead.get().addCallback(new FutureCallback<Optional<NormalizedNode<?, ?>>>() {
                     @Override
                     public void onSuccess(final Optional<NormalizedNode<?, ?>> result) {
                         readResult.set(result);
@@ -8,16 +8,18 @@
 package org.opendaylight.mdsal.dom.broker;
 
 import com.google.common.util.concurrent.FluentFuture;
+import java.util.Collection;
 import java.util.Optional;
 import org.opendaylight.mdsal.common.api.CommitInfo;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeProjectedReadOperations;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadTransaction;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadWriteTransaction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 final class TransactionChainReadWriteTransaction extends TransactionChainWriteTransaction
-        implements DOMDataTreeReadWriteTransaction {
+        implements DOMDataTreeReadWriteTransaction, DOMDataTreeProjectedReadOperations {
     private final TransactionChainReadTransaction readTx;
 
     TransactionChainReadWriteTransaction(final Object identifier,
@@ -34,6 +36,12 @@ final class TransactionChainReadWriteTransaction extends TransactionChainWriteTr
         return readTx.read(store, path);
     }
 
+    @Override
+    public FluentFuture<Optional<NormalizedNode<?, ?>>> read(final LogicalDatastoreType store,
+            final YangInstanceIdentifier path, final Collection<YangInstanceIdentifier> fields) {
+        return readTx.read(store, path, fields);
+    }
+
     @Override
     public FluentFuture<Boolean> exists(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
         return readTx.exists(store, path);
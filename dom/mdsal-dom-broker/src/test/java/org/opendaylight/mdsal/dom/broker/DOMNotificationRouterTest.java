@@ -11,12 +11,17 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.lmax.disruptor.PhasedBackoffWaitStrategy;
 import com.lmax.disruptor.WaitStrategy;
 import java.util.ArrayList;
@@ -33,6 +38,7 @@ import org.opendaylight.mdsal.dom.api.DOMNotificationPublishService;
 import org.opendaylight.mdsal.dom.spi.DOMNotificationSubscriptionListener;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.util.ListenerRegistry;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
 public class DOMNotificationRouterTest extends TestUtils {
@@ -114,15 +120,93 @@ public class DOMNotificationRouterTest extends TestUtils {
         assertNotNull(testRouter.registerNotificationListener(testListener, SchemaPath.ROOT));
         assertNotNull(testRouter.registerNotificationListener(testListener, SchemaPath.SAME));
 
+        testRouter.rejectFor(2, TimeUnit.SECONDS);
         assertNotEquals(DOMNotificationPublishService.REJECTED,
                 testRouter.offerNotification(domNotification, 3, TimeUnit.SECONDS));
         assertTrue("Listener was not notified", latch.await(5, TimeUnit.SECONDS));
         assertEquals("Received notifications", 1, testListener.getReceivedNotifications().size());
 
+        testRouter.rejectFor(2, TimeUnit.SECONDS);
         assertEquals(DOMNotificationPublishService.REJECTED,
                 testRouter.offerNotification(domNotification, 1, TimeUnit.SECONDS));
         assertEquals("Received notifications", 1, testListener.getReceivedNotifications().size());
+    }
+
+    @Test
+    public void testOfferNotificationWithBlockingInterrupted() throws Exception {
+        final DOMNotification domNotification = mock(DOMNotification.class);
+        doReturn(SchemaPath.ROOT).when(domNotification).getType();
+        final TestRouter testRouter = TestRouter.create(1);
+        testRouter.registerNotificationListener(new TestListener(new CountDownLatch(1)), SchemaPath.ROOT);
+        testRouter.rejectFor(5, TimeUnit.SECONDS);
+
+        Thread.currentThread().interrupt();
+        try {
+            testRouter.offerNotification(domNotification, 5, TimeUnit.SECONDS);
+            fail("Interrupted offer should have failed");
+        } catch (InterruptedException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testPartitionIsolation() throws Exception {
+        final SchemaPath slowType = SchemaPath.create(true, QName.create("test", "slow"));
+        final SchemaPath fastType = SchemaPath.create(true, QName.create("test", "fast"));
+        final DOMNotificationRouter router = DOMNotificationRouter.createPartitioned(new int[] { 4, 4 },
+            ImmutableMap.of(slowType, 0, fastType, 1), 0, 0, TimeUnit.MILLISECONDS);
+        assertNotSame(router.partition(slowType), router.partition(fastType));
+
+        final CountDownLatch slowEntered = new CountDownLatch(1);
+        final CountDownLatch slowRelease = new CountDownLatch(1);
+        router.registerNotificationListener(notification -> {
+            slowEntered.countDown();
+            Uninterruptibles.awaitUninterruptibly(slowRelease);
+        }, slowType);
+        final CountDownLatch fastLatch = new CountDownLatch(1);
+        final TestListener fastListener = new TestListener(fastLatch);
+        router.registerNotificationListener(fastListener, fastType);
+
+        final DOMNotification slowNotification = mock(DOMNotification.class);
+        doReturn(slowType).when(slowNotification).getType();
+        final DOMNotification fastNotification = mock(DOMNotification.class);
+        doReturn(fastType).when(fastNotification).getType();
+
+        router.putNotification(slowNotification);
+        assertTrue("Slow listener was not notified", slowEntered.await(5, TimeUnit.SECONDS));
+
+        // The slow listener is blocked, but it does not hold up the other partition
+        assertNotEquals(DOMNotificationPublishService.REJECTED, router.offerNotification(fastNotification));
+        assertTrue("Fast listener was not notified", fastLatch.await(5, TimeUnit.SECONDS));
+
+        slowRelease.countDown();
+        router.close();
+    }
+
+    @Test
+    public void testBatchedPublish() throws Exception {
+        final DOMNotificationRouter router = DOMNotificationRouter.create(4);
+        final CountDownLatch latch = new CountDownLatch(3);
+        final TestListener listener = new TestListener(latch);
+        router.registerNotificationListener(listener, SchemaPath.ROOT);
+
+        final DOMNotification first = mock(DOMNotification.class);
+        doReturn(SchemaPath.ROOT).when(first).getType();
+        final DOMNotification second = mock(DOMNotification.class);
+        doReturn(SchemaPath.ROOT).when(second).getType();
+        final DOMNotification unsubscribed = mock(DOMNotification.class);
+        doReturn(SchemaPath.SAME).when(unsubscribed).getType();
+
+        router.putNotifications(ImmutableList.of(first, unsubscribed, second)).get(5, TimeUnit.SECONDS);
+        router.offerNotifications(ImmutableList.of(first)).get(5, TimeUnit.SECONDS);
+        assertTrue("Listener was not notified", latch.await(5, TimeUnit.SECONDS));
+        assertEquals(ImmutableList.of(first, second, first), listener.getReceivedNotifications());
 
+        // A batch which does not fit into the queue is rejected as a whole
+        assertEquals(DOMNotificationPublishService.REJECTED,
+            router.offerNotifications(ImmutableList.of(first, second, first, second, first)));
+        assertEquals(3, listener.getReceivedNotifications().size());
+        router.close();
     }
 
     @Test
@@ -156,22 +240,23 @@ public class DOMNotificationRouterTest extends TestUtils {
     }
 
     private static class TestRouter extends DOMNotificationRouter {
+        private volatile long rejectUntil;
 
         TestRouter(final ExecutorService executor, final int queueDepth, final WaitStrategy strategy) {
             super(executor, queueDepth, strategy);
         }
 
-        @Override
-        protected ListenableFuture<? extends Object> tryPublish(final DOMNotification notification,
-                final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
-            return DOMNotificationPublishService.REJECTED;
+        void rejectFor(final long duration, final TimeUnit unit) {
+            rejectUntil = System.nanoTime() + unit.toNanos(duration);
         }
 
         @Override
-        public ListenableFuture<? extends Object> putNotification(final DOMNotification notification)
-                throws InterruptedException {
-            Thread.sleep(2000);
-            return super.putNotification(notification);
+        protected ListenableFuture<? extends Object> tryPublish(final DOMNotification notification,
+                final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
+            if (System.nanoTime() - rejectUntil < 0) {
+                return DOMNotificationPublishService.REJECTED;
+            }
+            return super.tryPublish(notification, subscribers);
         }
 
         public static TestRouter create(final int queueDepth) {
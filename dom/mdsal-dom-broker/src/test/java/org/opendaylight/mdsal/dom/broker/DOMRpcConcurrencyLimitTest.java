@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.opendaylight.mdsal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMRpcRejectedException;
+import org.opendaylight.mdsal.dom.api.DOMRpcResult;
+import org.opendaylight.mdsal.dom.api.DOMSchemaService;
+import org.opendaylight.yangtools.util.concurrent.FluentFutures;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMRpcConcurrencyLimitTest {
+    private static final DOMRpcIdentifier RPC = DOMRpcIdentifier.create(SchemaPath.ROOT);
+
+    @Test
+    public void testLimits() throws Exception {
+        final DOMRpcConcurrencyLimit limit = new DOMRpcConcurrencyLimit(RPC, 1, 1, MoreExecutors.directExecutor());
+        final DOMRpcResult result = mock(DOMRpcResult.class);
+        final SettableFuture<DOMRpcResult> first = SettableFuture.create();
+        final SettableFuture<DOMRpcResult> second = SettableFuture.create();
+        final AtomicInteger invocations = new AtomicInteger();
+
+        final FluentFuture<DOMRpcResult> firstResult = limit.invoke(() -> {
+            invocations.incrementAndGet();
+            return FluentFuture.from(first);
+        });
+        final FluentFuture<DOMRpcResult> secondResult = limit.invoke(() -> {
+            invocations.incrementAndGet();
+            return FluentFuture.from(second);
+        });
+        final FluentFuture<DOMRpcResult> thirdResult = limit.invoke(() -> {
+            throw new AssertionError("Rejected invocation should not run");
+        });
+
+        // Second invocation has to wait for the first one
+        assertEquals(1, invocations.get());
+        assertEquals(1, limit.getActiveCount());
+        assertEquals(1, limit.getAdmittedCount());
+        assertEquals(1, limit.getQueuedCount());
+        assertEquals(1, limit.getRejectedCount());
+
+        try {
+            thirdResult.get();
+            fail("Expected DOMRpcRejectedException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof DOMRpcRejectedException);
+        }
+
+        first.set(result);
+        assertSame(result, firstResult.get());
+        assertEquals(2, invocations.get());
+        assertEquals(1, limit.getActiveCount());
+        assertEquals(2, limit.getAdmittedCount());
+        assertFalse(secondResult.isDone());
+
+        second.set(result);
+        assertSame(result, secondResult.get());
+        assertEquals(0, limit.getActiveCount());
+    }
+
+    @Test
+    public void testSynchronousCompletions() throws Exception {
+        final List<Runnable> dispatched = new ArrayList<>();
+        final DOMRpcConcurrencyLimit limit = new DOMRpcConcurrencyLimit(RPC, 1, 100_000, dispatched::add);
+        final DOMRpcResult result = mock(DOMRpcResult.class);
+        final SettableFuture<DOMRpcResult> first = SettableFuture.create();
+        limit.invoke(() -> FluentFuture.from(first));
+
+        final List<FluentFuture<DOMRpcResult>> results = new ArrayList<>();
+        for (int i = 0; i < 100_000; ++i) {
+            results.add(limit.invoke(() -> FluentFutures.immediateFluentFuture(result)));
+        }
+
+        // The next invocation is handed off to the executor rather than run by the completing thread
+        first.set(result);
+        assertEquals(1, dispatched.size());
+        assertFalse(results.get(0).isDone());
+
+        // Each completion hands off the next invocation, without the stack growing
+        for (int i = 0; i < dispatched.size(); ++i) {
+            dispatched.get(i).run();
+        }
+        assertEquals(100_000, dispatched.size());
+        for (FluentFuture<DOMRpcResult> future : results) {
+            assertSame(result, future.get());
+        }
+        assertEquals(0, limit.getActiveCount());
+    }
+
+    @Test
+    public void testRouterLimits() {
+        try (DOMRpcRouter rpcRouter = new DOMRpcRouter()) {
+            final DOMRpcConcurrencyLimit limit = rpcRouter.limitConcurrency(RPC, 10, 100);
+            assertSame(limit, rpcRouter.getConcurrencyLimits().get(RPC));
+            assertEquals(10, limit.getMaxConcurrent());
+            assertEquals(100, limit.getMaxQueued());
+
+            rpcRouter.removeConcurrencyLimit(RPC);
+            assertTrue(rpcRouter.getConcurrencyLimits().isEmpty());
+        }
+    }
+
+    @Test
+    public void testConfiguredLimits() {
+        final DOMSchemaService schemaService = mock(DOMSchemaService.class);
+        doReturn(null).when(schemaService).registerSchemaContextListener(any());
+
+        try (DOMRpcRouter rpcRouter = DOMRpcRouter.newInstance(schemaService, DOMRpcLoadBalancing.FIRST,
+                " (urn:example?revision=2018-11-01)reset=4:100\n(urn:example)ping=1:0 ")) {
+            final Map<DOMRpcIdentifier, DOMRpcConcurrencyLimit> limits = rpcRouter.getConcurrencyLimits();
+            assertEquals(2, limits.size());
+
+            final DOMRpcConcurrencyLimit reset = limits.get(DOMRpcIdentifier.create(SchemaPath.create(true,
+                QName.create("urn:example", "2018-11-01", "reset"))));
+            assertEquals(4, reset.getMaxConcurrent());
+            assertEquals(100, reset.getMaxQueued());
+
+            final DOMRpcConcurrencyLimit ping = limits.get(DOMRpcIdentifier.create(SchemaPath.create(true,
+                QName.create("urn:example", "ping"))));
+            assertEquals(1, ping.getMaxConcurrent());
+            assertEquals(0, ping.getMaxQueued());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedConfiguredLimit() {
+        DOMRpcRouter.newInstance(mock(DOMSchemaService.class), DOMRpcLoadBalancing.FIRST, "(urn:example)ping=1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLimit() {
+        new DOMRpcConcurrencyLimit(RPC, 0, 0, MoreExecutors.directExecutor());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.mdsal.dom.api.DOMRpcImplementation;
+import org.opendaylight.mdsal.dom.api.DOMRpcImplementationNotAvailableException;
+import org.opendaylight.mdsal.dom.api.DOMRpcResult;
+import org.opendaylight.yangtools.util.concurrent.FluentFutures;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMRpcLoadBalancerTest {
+    private final DOMRpcResult result = mock(DOMRpcResult.class);
+    private final DOMRpcImplementation first = mock(DOMRpcImplementation.class);
+    private final DOMRpcImplementation second = mock(DOMRpcImplementation.class);
+    private final List<DOMRpcImplementation> impls = ImmutableList.of(first, second);
+    private GlobalDOMRpcRoutingTableEntry entry;
+
+    @Before
+    public void before() {
+        final RpcDefinition rpcDefinition = mock(RpcDefinition.class);
+        doReturn(SchemaPath.ROOT).when(rpcDefinition).getPath();
+        entry = new GlobalDOMRpcRoutingTableEntry(rpcDefinition, ImmutableMap.of(YangInstanceIdentifier.EMPTY, impls));
+        doReturn(FluentFutures.immediateFluentFuture(result)).when(first).invokeRpc(any(), any());
+        doReturn(FluentFutures.immediateFluentFuture(result)).when(second).invokeRpc(any(), any());
+    }
+
+    @Test
+    public void testRoundRobin() throws Exception {
+        final DOMRpcLoadBalancer balancer = new DOMRpcLoadBalancer(DOMRpcLoadBalancing.ROUND_ROBIN);
+        for (int i = 0; i < 4; ++i) {
+            assertSame(result, balancer.invoke(entry, impls, entry.getRpcId(), null).get());
+        }
+        verify(first, times(2)).invokeRpc(any(), any());
+        verify(second, times(2)).invokeRpc(any(), any());
+    }
+
+    @Test
+    public void testRoundRobinAcrossEntries() throws Exception {
+        final DOMRpcLoadBalancer balancer = new DOMRpcLoadBalancer(DOMRpcLoadBalancing.ROUND_ROBIN);
+        assertSame(result, balancer.invoke(entry, impls, entry.getRpcId(), null).get());
+
+        // Registration changes rebuild the entry, which must not restart the rotation
+        final GlobalDOMRpcRoutingTableEntry rebuilt = entry.newInstance(
+            ImmutableMap.of(YangInstanceIdentifier.EMPTY, impls));
+        assertSame(result, balancer.invoke(rebuilt, impls, rebuilt.getRpcId(), null).get());
+        verify(first).invokeRpc(any(), any());
+        verify(second).invokeRpc(any(), any());
+    }
+
+    @Test
+    public void testFailover() throws Exception {
+        doReturn(FluentFutures.immediateFailedFluentFuture(new DOMRpcImplementationNotAvailableException("test")))
+            .when(first).invokeRpc(any(), any());
+
+        final DOMRpcLoadBalancer balancer = new DOMRpcLoadBalancer(DOMRpcLoadBalancing.FIRST);
+        assertSame(result, balancer.invoke(entry, impls, entry.getRpcId(), null).get());
+        verify(first).invokeRpc(any(), any());
+        verify(second).invokeRpc(any(), any());
+    }
+
+    @Test
+    public void testLeastOutstanding() throws Exception {
+        final SettableFuture<DOMRpcResult> pending = SettableFuture.create();
+        doReturn(FluentFuture.from(pending)).when(first).invokeRpc(any(), any());
+
+        final DOMRpcLoadBalancer balancer = new DOMRpcLoadBalancer(DOMRpcLoadBalancing.LEAST_OUTSTANDING);
+        balancer.implementationAdded(first);
+        balancer.implementationAdded(second);
+
+        balancer.invoke(entry, impls, entry.getRpcId(), null);
+        assertEquals(1, balancer.outstandingRequests(first));
+
+        // first is busy, hence second should be selected
+        assertSame(result, balancer.invoke(entry, impls, entry.getRpcId(), null).get());
+        verify(first).invokeRpc(any(), any());
+        verify(second).invokeRpc(any(), any());
+        assertEquals(0, balancer.outstandingRequests(second));
+
+        pending.set(result);
+        assertEquals(0, balancer.outstandingRequests(first));
+
+        balancer.implementationRemoved(first);
+        balancer.implementationRemoved(second);
+        balancer.invoke(entry, impls, entry.getRpcId(), null);
+        assertEquals(0, balancer.outstandingRequests(first));
+    }
+}
@@ -11,13 +11,20 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 
+import com.google.common.collect.ImmutableList;
 import java.util.Collection;
 import java.util.concurrent.RejectedExecutionException;
 import org.junit.Test;
 import org.opendaylight.mdsal.dom.api.DOMRpcAvailabilityListener;
 import org.opendaylight.mdsal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMRpcImplementationRegistration;
 import org.opendaylight.mdsal.dom.broker.util.TestModel;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
@@ -64,6 +71,34 @@ public class DOMRpcRouterTest extends TestUtils {
         }
     }
 
+    @Test
+    public void rpcAvailabilityDeltas() {
+        try (DOMRpcRouter rpcRouter = new DOMRpcRouter()) {
+            final DOMRpcAvailabilityListener listener = mock(DOMRpcAvailabilityListener.class);
+            doReturn(true).when(listener).acceptsImplementation(any());
+            rpcRouter.getRpcService().registerRpcListener(listener);
+
+            final DOMRpcIdentifier first = DOMRpcIdentifier.create(SchemaPath.ROOT, null);
+            final DOMRpcIdentifier second = DOMRpcIdentifier.create(SchemaPath.SAME, null);
+
+            final DOMRpcImplementationRegistration<?> firstReg = rpcRouter.getRpcProviderService()
+                    .registerRpcImplementation(getTestRpcImplementation(), first);
+            verify(listener, timeout(1000)).onRpcAvailable(ImmutableList.of(first));
+
+            // Only the RPC which was not available before should be reported
+            final DOMRpcImplementationRegistration<?> secondReg = rpcRouter.getRpcProviderService()
+                    .registerRpcImplementation(getTestRpcImplementation(), first, second);
+            verify(listener, timeout(1000)).onRpcAvailable(ImmutableList.of(second));
+
+            // first is still provided by the second implementation
+            firstReg.close();
+            secondReg.close();
+            verify(listener, timeout(1000)).onRpcUnavailable(ImmutableList.of(first, second));
+            verify(listener).onRpcAvailable(ImmutableList.of(first));
+            verify(listener, never()).onRpcUnavailable(ImmutableList.of(first));
+        }
+    }
+
     @Test
     public void onGlobalContextUpdated() {
         try (DOMRpcRouter rpcRouter = new DOMRpcRouter()) {
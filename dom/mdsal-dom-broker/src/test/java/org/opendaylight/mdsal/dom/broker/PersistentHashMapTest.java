@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class PersistentHashMapTest {
+    private static final class CollidingKey {
+        private final int value;
+
+        CollidingKey(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof CollidingKey && value == ((CollidingKey) obj).value;
+        }
+    }
+
+    @Test
+    public void testWithWithout() {
+        final Map<Integer, String> expected = new HashMap<>();
+        PersistentHashMap<Integer, String> map = PersistentHashMap.of();
+        for (int i = 0; i < 10000; ++i) {
+            map = map.with(i, String.valueOf(i));
+            expected.put(i, String.valueOf(i));
+        }
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+
+        final PersistentHashMap<Integer, String> full = map;
+        for (int i = 0; i < 10000; i += 2) {
+            map = map.without(i);
+            expected.remove(i);
+        }
+        assertEquals(expected, map);
+        assertEquals(10000, full.size());
+        assertEquals("0", full.get(0));
+        assertNull(map.get(0));
+        assertEquals("1", map.get(1));
+
+        for (int i = 1; i < 10000; i += 2) {
+            map = map.without(i);
+        }
+        assertTrue(map.isEmpty());
+        assertSame(PersistentHashMap.of(), map);
+    }
+
+    @Test
+    public void testUnchanged() {
+        final String value = "value";
+        final PersistentHashMap<Integer, String> map = PersistentHashMap.<Integer, String>of().with(1, value);
+        assertSame(map, map.with(1, value));
+        assertSame(map, map.without(2));
+        assertEquals(1, map.with(1, "other").size());
+        assertEquals("other", map.with(1, "other").get(1));
+    }
+
+    @Test
+    public void testCollisions() {
+        PersistentHashMap<Object, Integer> map = PersistentHashMap.of();
+        for (int i = 0; i < 10; ++i) {
+            map = map.with(new CollidingKey(i), i);
+        }
+        map = map.with(42, 42);
+        assertEquals(11, map.size());
+        assertEquals(Integer.valueOf(5), map.get(new CollidingKey(5)));
+        assertEquals(Integer.valueOf(42), map.get(42));
+
+        map = map.without(new CollidingKey(5));
+        assertEquals(10, map.size());
+        assertFalse(map.containsKey(new CollidingKey(5)));
+        assertTrue(map.containsKey(new CollidingKey(6)));
+    }
+
+    @Test
+    public void testCopyOf() {
+        final Map<String, String> source = new HashMap<>();
+        source.put("a", "1");
+        source.put("b", "2");
+        final PersistentHashMap<String, String> map = PersistentHashMap.copyOf(source);
+        assertEquals(source, map);
+        assertSame(map, PersistentHashMap.copyOf(map));
+    }
+}
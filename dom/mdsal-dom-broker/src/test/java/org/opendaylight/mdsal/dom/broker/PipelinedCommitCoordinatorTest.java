@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
+import org.opendaylight.yangtools.util.concurrent.FluentFutures;
+
+public class PipelinedCommitCoordinatorTest {
+
+    private final DOMDataTreeWriteTransaction tx = mock(DOMDataTreeWriteTransaction.class);
+    private final DurationStatisticsTracker tracker = DurationStatisticsTracker.createConcurrent();
+    private PipelinedCommitCoordinator coordinator;
+
+    @Before
+    public void setUp() {
+        doReturn("test").when(tx).getIdentifier();
+        coordinator = new PipelinedCommitCoordinator(2, MoreExecutors.directExecutor(), tracker);
+    }
+
+    @Test
+    public void commitTest() throws Exception {
+        final DOMStoreThreePhaseCommitCohort first = successfulCohort();
+        final DOMStoreThreePhaseCommitCohort second = successfulCohort();
+
+        assertEquals(CommitInfo.empty(), coordinator.submit(tx, ImmutableList.of(first, second)).get());
+        verify(first).commit();
+        verify(second).commit();
+        verify(first, never()).abort();
+        assertEquals(1, tracker.getTotalDurations());
+    }
+
+    @Test
+    public void canCommitWithFail() throws Exception {
+        final DOMStoreThreePhaseCommitCohort cohort = successfulCohort();
+        doReturn(FluentFutures.immediateFalseFluentFuture()).when(cohort).canCommit();
+
+        assertCommitFailed(coordinator.submit(tx, ImmutableList.of(cohort, successfulCohort())));
+        verify(cohort).abort();
+        verify(cohort, never()).preCommit();
+    }
+
+    @Test
+    public void canCommitWithFailException() throws Exception {
+        final DOMStoreThreePhaseCommitCohort cohort = successfulCohort();
+        doReturn(Futures.immediateFailedFuture(new InterruptedException())).when(cohort).canCommit();
+
+        assertCommitFailed(coordinator.submit(tx, ImmutableList.of(cohort, successfulCohort())));
+        verify(cohort).abort();
+    }
+
+    @Test
+    public void preCommitWithFail() throws Exception {
+        final DOMStoreThreePhaseCommitCohort cohort = successfulCohort();
+        doReturn(Futures.immediateFailedFuture(new InterruptedException())).when(cohort).preCommit();
+
+        assertCommitFailed(coordinator.submit(tx, ImmutableList.of(cohort, successfulCohort())));
+        verify(cohort).abort();
+        verify(cohort, never()).commit();
+    }
+
+    @Test
+    public void commitWithFail() throws Exception {
+        final DOMStoreThreePhaseCommitCohort cohort = successfulCohort();
+        doReturn(Futures.immediateFailedFuture(new InterruptedException())).when(cohort).commit();
+
+        assertCommitFailed(coordinator.submit(tx, ImmutableList.of(cohort, successfulCohort())));
+        verify(cohort).abort();
+    }
+
+    @Test
+    public void pipelineTest() throws Exception {
+        final SettableFuture<Void> firstCommit = SettableFuture.create();
+        final DOMStoreThreePhaseCommitCohort first1 = successfulCohort();
+        doReturn(firstCommit).when(first1).commit();
+        final DOMStoreThreePhaseCommitCohort second1 = successfulCohort();
+        final DOMStoreThreePhaseCommitCohort first2 = successfulCohort();
+        final DOMStoreThreePhaseCommitCohort second2 = successfulCohort();
+
+        final Future<?> tx1 = coordinator.submit(tx, ImmutableList.of(first1, second1));
+        final Future<?> tx2 = coordinator.submit(tx, ImmutableList.of(first2, second2));
+
+        // First store is still committing tx1, second store has been released to tx2
+        assertFalse(tx1.isDone());
+        verify(second1).commit();
+        verify(second2).canCommit();
+        verify(first2, never()).canCommit();
+        assertFalse(tx2.isDone());
+
+        firstCommit.set(null);
+        assertTrue(tx1.isDone());
+        assertTrue(tx2.isDone());
+        verify(first2).commit();
+        assertEquals(2, tracker.getTotalDurations());
+    }
+
+    private static DOMStoreThreePhaseCommitCohort successfulCohort() {
+        final DOMStoreThreePhaseCommitCohort cohort = mock(DOMStoreThreePhaseCommitCohort.class);
+        doReturn(FluentFutures.immediateTrueFluentFuture()).when(cohort).canCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).preCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).commit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).abort();
+        return cohort;
+    }
+
+    private static void assertCommitFailed(final Future<?> future) throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TransactionCommitFailedException);
+            return;
+        }
+        throw new AssertionError("Commit should have failed");
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * Utility for collapsing a sequence of {@link DataTreeCandidate}s into their net effect. Candidates are grouped by
+ * their root path and each group is replaced by a single candidate, which transitions from the state before the first
+ * candidate to the state after the last candidate. Groups whose net effect is no change are dropped.
+ *
+ * <p>
+ * Child nodes of merged candidates are computed lazily, from the union of the children modified by the original
+ * candidates, so that the cost is proportional to the size of the modifications rather than the size of the data.
+ * Since data tree snapshots share unmodified subtrees, identical before and after instances are treated as unmodified
+ * without being traversed.
+ */
+final class CoalescedDataTreeCandidates {
+    private CoalescedDataTreeCandidates() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Coalesce candidates. Resulting candidates are ordered by the first appearance of their root path.
+     *
+     * @param candidates Candidates to coalesce, in the order in which they were committed
+     * @return Coalesced candidates
+     */
+    static @NonNull List<DataTreeCandidate> coalesce(final Collection<? extends DataTreeCandidate> candidates) {
+        final Map<YangInstanceIdentifier, List<DataTreeCandidate>> byPath = new LinkedHashMap<>();
+        for (DataTreeCandidate candidate : candidates) {
+            byPath.computeIfAbsent(candidate.getRootPath(), key -> new ArrayList<>(1)).add(candidate);
+        }
+
+        final List<DataTreeCandidate> ret = new ArrayList<>(byPath.size());
+        for (List<DataTreeCandidate> group : byPath.values()) {
+            final DataTreeCandidate last = group.get(group.size() - 1);
+            if (group.size() == 1) {
+                ret.add(last);
+                continue;
+            }
+
+            final List<DataTreeCandidateNode> roots = new ArrayList<>(group.size());
+            for (DataTreeCandidate candidate : group) {
+                roots.add(candidate.getRootNode());
+            }
+
+            final DataTreeCandidateNode lastRoot = last.getRootNode();
+            final NetEffectNode node = new NetEffectNode(lastRoot.getIdentifier(),
+                group.get(0).getRootNode().getDataBefore().orElse(null), lastRoot.getDataAfter().orElse(null), roots);
+            if (node.getModificationType() != ModificationType.UNMODIFIED) {
+                ret.add(DataTreeCandidates.newDataTreeCandidate(last.getRootPath(), node));
+            }
+        }
+        return ret;
+    }
+
+    private static final class NetEffectNode implements DataTreeCandidateNode {
+        private final PathArgument identifier;
+        private final NormalizedNode<?, ?> before;
+        private final NormalizedNode<?, ?> after;
+        private final ModificationType type;
+        // Nodes of the original candidates at this node's path, in commit order
+        private final List<DataTreeCandidateNode> originals;
+
+        private Collection<DataTreeCandidateNode> children;
+
+        NetEffectNode(final PathArgument identifier, final @Nullable NormalizedNode<?, ?> before,
+                final @Nullable NormalizedNode<?, ?> after, final List<DataTreeCandidateNode> originals) {
+            this.identifier = requireNonNull(identifier);
+            this.before = before;
+            this.after = after;
+            this.originals = requireNonNull(originals);
+            type = modificationType(before, after);
+        }
+
+        @Override
+        public PathArgument getIdentifier() {
+            return identifier;
+        }
+
+        @Override
+        public ModificationType getModificationType() {
+            // Distinct container instances may still have equal content, in which case there are no modified children
+            if (type == ModificationType.SUBTREE_MODIFIED && getChildNodes().isEmpty()) {
+                return ModificationType.UNMODIFIED;
+            }
+            return type;
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> getDataBefore() {
+            return Optional.ofNullable(before);
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> getDataAfter() {
+            return Optional.ofNullable(after);
+        }
+
+        @Override
+        public DataTreeCandidateNode getModifiedChild(final PathArgument childIdentifier) {
+            if (type == ModificationType.UNMODIFIED) {
+                return null;
+            }
+
+            final List<DataTreeCandidateNode> childOriginals = new ArrayList<>(originals.size());
+            for (DataTreeCandidateNode original : originals) {
+                final DataTreeCandidateNode child = original.getModifiedChild(childIdentifier);
+                if (child != null) {
+                    childOriginals.add(child);
+                }
+            }
+            return childOriginals.isEmpty() ? null : modifiedChild(childIdentifier, childOriginals);
+        }
+
+        @Override
+        public synchronized Collection<DataTreeCandidateNode> getChildNodes() {
+            if (children == null) {
+                children = computeChildren();
+            }
+            return children;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("identifier", identifier).add("type", type).toString();
+        }
+
+        private Collection<DataTreeCandidateNode> computeChildren() {
+            if (type == ModificationType.UNMODIFIED) {
+                return ImmutableList.of();
+            }
+
+            final Map<PathArgument, List<DataTreeCandidateNode>> childOriginals = new LinkedHashMap<>();
+            for (DataTreeCandidateNode original : originals) {
+                for (DataTreeCandidateNode child : original.getChildNodes()) {
+                    if (child.getModificationType() != ModificationType.UNMODIFIED) {
+                        childOriginals.computeIfAbsent(child.getIdentifier(), key -> new ArrayList<>(1)).add(child);
+                    }
+                }
+            }
+
+            final List<DataTreeCandidateNode> ret = new ArrayList<>(childOriginals.size());
+            for (Entry<PathArgument, List<DataTreeCandidateNode>> entry : childOriginals.entrySet()) {
+                final DataTreeCandidateNode child = modifiedChild(entry.getKey(), entry.getValue());
+                if (child != null) {
+                    ret.add(child);
+                }
+            }
+            return ret;
+        }
+
+        private @Nullable DataTreeCandidateNode modifiedChild(final PathArgument childIdentifier,
+                final List<DataTreeCandidateNode> childOriginals) {
+            final NetEffectNode child = new NetEffectNode(childIdentifier, getChild(before, childIdentifier),
+                getChild(after, childIdentifier), childOriginals);
+            return child.getModificationType() != ModificationType.UNMODIFIED ? child : null;
+        }
+
+        private static ModificationType modificationType(final NormalizedNode<?, ?> before,
+                final NormalizedNode<?, ?> after) {
+            if (before == null) {
+                return after == null ? ModificationType.UNMODIFIED : ModificationType.WRITE;
+            }
+            if (after == null) {
+                return ModificationType.DELETE;
+            }
+            if (before == after) {
+                return ModificationType.UNMODIFIED;
+            }
+            if (before instanceof NormalizedNodeContainer && after instanceof NormalizedNodeContainer) {
+                return ModificationType.SUBTREE_MODIFIED;
+            }
+            return before.equals(after) ? ModificationType.UNMODIFIED : ModificationType.WRITE;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static NormalizedNode<?, ?> getChild(final NormalizedNode<?, ?> node, final PathArgument id) {
+            if (node instanceof NormalizedNodeContainer) {
+                return ((NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) node).getChild(id)
+                        .orElse(null);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,621 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModificationCursor;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tiering of cold subtrees of an {@link InMemoryDOMDataStore}. Subtrees which have not been modified for a configured
+ * amount of time are demoted to a {@link MappedNormalizedNode}, whose contents are held in a memory-mapped file and
+ * faulted back in lazily when read. Each demoted subtree is mapped from its own file, which is unlinked as soon as it
+ * is mapped, so that its storage is reclaimed once the mapping is garbage collected.
+ *
+ * <p>
+ * Immutable node builders cannot use a {@link MappedNormalizedNode} as a base, hence modifications have to go through
+ * {@link #wrap(DataTreeSnapshot)}. Before a modification is made inside a demoted subtree, or a merge reaches into it,
+ * the modification derives a {@link Promotion} from the state it is based on: that state with the demoted node
+ * replaced by its materialized form. The modification is rebased onto the promotion, by replaying its operations, so
+ * that the promotion is not part of the modification and does not conflict with it. This happens entirely within the
+ * modification, its contents are materialized from its own snapshot and neither the store nor the data tree is
+ * involved. The store commits the promotion internally, without journaling or publishing it, once a modification
+ * rebased onto it is validated.
+ *
+ * <p>
+ * Each subtree is driven through the {@link State}s, with every transition made with the tier locked. Where the store
+ * lock is needed as well, it is always taken first. A pending promotion is shared by all modifications based on the
+ * same state, and a committed one is remembered until the subtree is demoted again, so that such modifications do not
+ * conflict with each other. Promotions derived from different states conflict, the first one to be committed wins.
+ * A modification which cannot be rebased onto a promotion, because it is based on a state the subtree has changed
+ * since, replaces the subtree root with its materialized form as part of its own changes.
+ */
+final class ColdSubtreeTier {
+    /**
+     * Tiering state of a subtree.
+     */
+    private enum State {
+        /**
+         * The subtree is on heap. It is demoted once it becomes idle.
+         */
+        HOT,
+        /**
+         * The subtree is being written out by the store. It becomes {@link #COLD} if it has not been modified in the
+         * meantime, {@link #HOT} otherwise.
+         */
+        DEMOTING,
+        /**
+         * The subtree is demoted. It becomes {@link #PROMOTING} once a modification needs it on heap, or {@link #HOT}
+         * if a committed modification replaces it.
+         */
+        COLD,
+        /**
+         * The subtree is demoted and modifications have derived promotions of it. It becomes {@link #HOT} once one of
+         * them is committed or a committed modification replaces it, and {@link #COLD} if all of them fail.
+         */
+        PROMOTING,
+    }
+
+    private static final class Subtree {
+        final YangInstanceIdentifier path;
+        volatile long lastModified;
+
+        @GuardedBy("ColdSubtreeTier.this")
+        State state = State.HOT;
+        // Demoted node, while COLD or PROMOTING
+        @GuardedBy("ColdSubtreeTier.this")
+        MappedNormalizedNode<?, ?> demoted;
+        // Promotions keyed by the root of the state they can be used from. These are the pending promotions while
+        // PROMOTING, or the last committed promotion once HOT again, which is also keyed by the root of the data tree
+        // it was committed on top of.
+        @GuardedBy("ColdSubtreeTier.this")
+        final Map<NormalizedNode<?, ?>, Promotion> promotions = new IdentityHashMap<>(2);
+
+        Subtree(final YangInstanceIdentifier path, final long lastModified) {
+            this.path = requireNonNull(path);
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * Promotion of a demoted subtree, derived by a modification from the state it is based on.
+     */
+    static final class Promotion {
+        private final Subtree subtree;
+        private final MappedNormalizedNode<?, ?> demoted;
+        private final NormalizedNode<?, ?> baseRoot;
+        private final DataTreeModification modification;
+
+        // State of the data tree after this promotion has been committed
+        @GuardedBy("ColdSubtreeTier.this")
+        private DataTreeSnapshot tipState;
+
+        Promotion(final Subtree subtree, final MappedNormalizedNode<?, ?> demoted, final NormalizedNode<?, ?> baseRoot,
+                final DataTreeModification modification) {
+            this.subtree = requireNonNull(subtree);
+            this.demoted = requireNonNull(demoted);
+            this.baseRoot = requireNonNull(baseRoot);
+            this.modification = requireNonNull(modification);
+        }
+
+        YangInstanceIdentifier getPath() {
+            return subtree.path;
+        }
+
+        /**
+         * Return the sealed modification writing the materialized subtree, which the store commits.
+         *
+         * @return Promoting modification
+         */
+        DataTreeModification getModification() {
+            return modification;
+        }
+
+        @GuardedBy("ColdSubtreeTier.this")
+        DataTreeSnapshot stateFor(final NormalizedNode<?, ?> root) {
+            return root == baseRoot ? modification : tipState;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("path", subtree.path).toString();
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(ColdSubtreeTier.class);
+    private static final int BUFFER_SIZE = 65536;
+
+    private final List<Subtree> subtrees;
+    private final Path directory;
+    private final long idleNanos;
+
+    ColdSubtreeTier(final Path directory, final Collection<YangInstanceIdentifier> paths, final long idleMillis)
+            throws IOException {
+        checkArgument(idleMillis > 0, "Idle time %s is not positive", idleMillis);
+        this.directory = Files.createDirectories(directory);
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+
+        final long now = System.nanoTime();
+        final ImmutableList.Builder<Subtree> builder = ImmutableList.builder();
+        for (YangInstanceIdentifier path : paths) {
+            for (YangInstanceIdentifier other : paths) {
+                checkArgument(path.equals(other) || !path.contains(other), "Cold subtree %s contains %s", path,
+                    other);
+            }
+            checkArgument(!YangInstanceIdentifier.EMPTY.equals(path), "Data tree root cannot be a cold subtree");
+            builder.add(new Subtree(path, now));
+        }
+        subtrees = builder.build();
+    }
+
+    /**
+     * Start demoting the subtrees which are on heap and have not been modified within the idle time. Each of them has
+     * to be finished by either {@link #demoted(YangInstanceIdentifier, MappedNormalizedNode)} or
+     * {@link #demotionAborted(YangInstanceIdentifier)}.
+     *
+     * @param force True if all subtrees on heap should be demoted
+     * @return Paths of subtrees to demote
+     */
+    synchronized List<YangInstanceIdentifier> beginDemotions(final boolean force) {
+        final long now = System.nanoTime();
+        final ImmutableList.Builder<YangInstanceIdentifier> builder = ImmutableList.builder();
+        for (Subtree subtree : subtrees) {
+            if (subtree.state == State.HOT && (force || now - subtree.lastModified >= idleNanos)) {
+                subtree.state = State.DEMOTING;
+                builder.add(subtree.path);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Demote a node to a memory-mapped file.
+     *
+     * @param node Node to demote, must be {@link MappedNormalizedNode#isSupported(NormalizedNode) supported}
+     * @return A mapped node with the same contents
+     * @throws IOException if the node cannot be written out
+     */
+    MappedNormalizedNode<?, ?> demote(final NormalizedNode<?, ?> node) throws IOException {
+        final Path file = Files.createTempFile(directory, "cold-", ".bin");
+        final MappedByteBuffer buffer;
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // Not closing the stream, as that would close the channel, flushing it is enough
+                final DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(
+                    Channels.newOutputStream(channel), BUFFER_SIZE));
+                new NormalizedNodeBinaryCodec.Writer(dos).writeNode(node);
+                dos.flush();
+
+                // The mapping remains valid after the channel is closed
+                buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+            }
+        } finally {
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                LOG.debug("Failed to unlink {}, deferring until exit", file, e);
+                file.toFile().deleteOnExit();
+            }
+        }
+
+        return MappedNormalizedNode.create(node, buffer);
+    }
+
+    /**
+     * Record a demotion, which has been committed to the data tree. This forgets the last promotion, releasing the
+     * materialized contents held by it. Must be invoked with the store lock held.
+     *
+     * @param path Subtree path
+     * @param demoted Node the subtree has been replaced with
+     */
+    synchronized void demoted(final YangInstanceIdentifier path, final MappedNormalizedNode<?, ?> demoted) {
+        final Subtree subtree = subtree(path);
+        checkState(subtree.state == State.DEMOTING, "Subtree %s is not being demoted", path);
+        subtree.state = State.COLD;
+        subtree.demoted = requireNonNull(demoted);
+        subtree.promotions.clear();
+    }
+
+    /**
+     * Record that a subtree has not been demoted, leaving it on heap.
+     *
+     * @param path Subtree path
+     */
+    synchronized void demotionAborted(final YangInstanceIdentifier path) {
+        final Subtree subtree = subtree(path);
+        checkState(subtree.state == State.DEMOTING, "Subtree %s is not being demoted", path);
+        subtree.state = State.HOT;
+    }
+
+    /**
+     * Check whether a promotion still needs to be committed.
+     *
+     * @param promotion Promotion to check
+     * @return True if the promotion is pending
+     */
+    synchronized boolean isPending(final Promotion promotion) {
+        final Subtree subtree = promotion.subtree;
+        return subtree.state == State.PROMOTING && subtree.promotions.get(promotion.baseRoot) == promotion;
+    }
+
+    /**
+     * Record a promotion, which has been committed to the data tree. Other pending promotions of the subtree are
+     * dropped, as they conflict with it. Must be invoked with the store lock held.
+     *
+     * @param promotion Committed promotion
+     * @param tipRoot Root of the data tree the promotion was committed on top of
+     * @param tipState The data tree after the promotion
+     */
+    synchronized void promoted(final Promotion promotion, final NormalizedNode<?, ?> tipRoot,
+            final DataTreeSnapshot tipState) {
+        checkState(isPending(promotion), "Promotion %s is not pending", promotion);
+        final Subtree subtree = promotion.subtree;
+        subtree.state = State.HOT;
+        subtree.demoted = null;
+        subtree.promotions.clear();
+
+        promotion.tipState = requireNonNull(tipState);
+        subtree.promotions.put(promotion.baseRoot, promotion);
+        subtree.promotions.putIfAbsent(tipRoot, promotion);
+    }
+
+    /**
+     * Record a promotion which has failed validation and cannot be committed. Must be invoked with the store lock
+     * held.
+     *
+     * @param promotion Failed promotion
+     */
+    synchronized void promotionFailed(final Promotion promotion) {
+        if (isPending(promotion)) {
+            final Subtree subtree = promotion.subtree;
+            subtree.promotions.remove(promotion.baseRoot);
+            if (subtree.promotions.isEmpty()) {
+                subtree.state = State.COLD;
+            }
+        }
+    }
+
+    /**
+     * Update the state of demoted subtrees after a modification has been committed. Subtrees whose demoted node has
+     * been replaced or deleted are no longer demoted. Must be invoked with the store lock held.
+     *
+     * @param snapshot The data tree after the commit
+     */
+    synchronized void committed(final DataTreeSnapshot snapshot) {
+        for (Subtree subtree : subtrees) {
+            if ((subtree.state == State.COLD || subtree.state == State.PROMOTING)
+                    && snapshot.readNode(subtree.path).orElse(null) != subtree.demoted) {
+                subtree.state = State.HOT;
+                subtree.demoted = null;
+                subtree.promotions.clear();
+            }
+        }
+    }
+
+    /**
+     * Wrap a snapshot, so that modifications created from it materialize demoted subtrees as needed.
+     *
+     * @param snapshot Snapshot to wrap
+     * @return Wrapped snapshot
+     */
+    DataTreeSnapshot wrap(final DataTreeSnapshot snapshot) {
+        return new TieredSnapshot(snapshot);
+    }
+
+    /**
+     * Unwrap a modification created from a {@link #wrap(DataTreeSnapshot) wrapped snapshot}, so that it can be
+     * passed to the data tree.
+     *
+     * @param modification Modification to unwrap
+     * @return Unwrapped modification
+     */
+    static DataTreeModification unwrap(final DataTreeModification modification) {
+        return modification instanceof TieredModification ? ((TieredModification) modification).delegate
+                : modification;
+    }
+
+    /**
+     * Return the promotions a modification created from a {@link #wrap(DataTreeSnapshot) wrapped snapshot} has been
+     * rebased onto. These need to be committed before the modification can be validated.
+     *
+     * @param modification Modification
+     * @return Promotions the modification depends on
+     */
+    static List<Promotion> promotions(final DataTreeModification modification) {
+        return modification instanceof TieredModification ? ((TieredModification) modification).promotions
+                : ImmutableList.of();
+    }
+
+    private Subtree subtree(final YangInstanceIdentifier path) {
+        for (Subtree subtree : subtrees) {
+            if (subtree.path.equals(path)) {
+                return subtree;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cold subtree " + path);
+    }
+
+    /**
+     * Look up or derive a promotion of a demoted subtree, for a modification based on the specified state.
+     *
+     * @return A promotion the modification can be rebased onto, or null if the subtree has changed since its state
+     */
+    @GuardedBy("this")
+    private @Nullable Promotion promotion(final Subtree subtree, final MappedNormalizedNode<?, ?> demoted,
+            final NormalizedNode<?, ?> materialized, final DataTreeSnapshot base, final NormalizedNode<?, ?> baseRoot) {
+        final Promotion existing = subtree.promotions.get(baseRoot);
+        if (existing != null && existing.demoted == demoted) {
+            return existing;
+        }
+        if (subtree.state != State.COLD && subtree.state != State.PROMOTING || subtree.demoted != demoted) {
+            return null;
+        }
+
+        final DataTreeModification modification = base.newModification();
+        modification.write(subtree.path, materialized);
+        modification.ready();
+        final Promotion promotion = new Promotion(subtree, demoted, baseRoot, modification);
+        subtree.promotions.put(baseRoot, promotion);
+        subtree.state = State.PROMOTING;
+        return promotion;
+    }
+
+    private final class TieredSnapshot implements DataTreeSnapshot {
+        private final DataTreeSnapshot delegate;
+
+        TieredSnapshot(final DataTreeSnapshot delegate) {
+            this.delegate = requireNonNull(delegate);
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> readNode(final YangInstanceIdentifier path) {
+            return delegate.readNode(path);
+        }
+
+        @Override
+        public DataTreeModification newModification() {
+            return new TieredModification(delegate, ImmutableList.of());
+        }
+
+        @Override
+        public SchemaContext getSchemaContext() {
+            return delegate.getSchemaContext();
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("delegate", delegate).toString();
+        }
+    }
+
+    /**
+     * Modification which promotes demoted subtrees before modifying them. It is confined to a single transaction,
+     * hence it does not need to be thread-safe.
+     */
+    private final class TieredModification implements DataTreeModification {
+        // Promotions this modification has been rebased onto, including those of the modification it is based on
+        final List<Promotion> promotions;
+        // State the delegate is based on, changes when the modification is rebased onto a promotion
+        private DataTreeSnapshot base;
+        DataTreeModification delegate;
+
+        TieredModification(final DataTreeSnapshot base, final List<Promotion> promotions) {
+            this.base = requireNonNull(base);
+            this.delegate = base.newModification();
+            this.promotions = new ArrayList<>(promotions);
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> readNode(final YangInstanceIdentifier path) {
+            return delegate.readNode(path);
+        }
+
+        @Override
+        public DataTreeModification newModification() {
+            return new TieredModification(delegate, promotions);
+        }
+
+        @Override
+        public SchemaContext getSchemaContext() {
+            return delegate.getSchemaContext();
+        }
+
+        @Override
+        public void delete(final YangInstanceIdentifier path) {
+            beforeModification(path, null);
+            delegate.delete(path);
+        }
+
+        @Override
+        public void merge(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data) {
+            beforeModification(path, data);
+            delegate.merge(path, data);
+        }
+
+        @Override
+        public void write(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data) {
+            beforeModification(path, null);
+            delegate.write(path, data);
+        }
+
+        @Override
+        public void ready() {
+            delegate.ready();
+        }
+
+        @Override
+        public void applyToCursor(final DataTreeModificationCursor cursor) {
+            delegate.applyToCursor(cursor);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("delegate", delegate).toString();
+        }
+
+        private void beforeModification(final YangInstanceIdentifier path, final NormalizedNode<?, ?> mergedData) {
+            for (Subtree subtree : subtrees) {
+                if (path.contains(subtree.path)) {
+                    // Modification at or above the subtree root, merges may need to reach into it
+                    subtree.lastModified = System.nanoTime();
+                    if (mergedData != null) {
+                        final List<PathArgument> root = subtree.path.getPathArguments();
+                        final List<PathArgument> relative = root.subList(path.getPathArguments().size(),
+                            root.size());
+                        if (NormalizedNodes.findNode(mergedData, relative).isPresent()) {
+                            promote(subtree);
+                        }
+                    }
+                } else if (subtree.path.contains(path)) {
+                    // Modification inside the subtree
+                    subtree.lastModified = System.nanoTime();
+                    promote(subtree);
+                }
+            }
+        }
+
+        private void promote(final Subtree subtree) {
+            final YangInstanceIdentifier path = subtree.path;
+            final Optional<NormalizedNode<?, ?>> current = delegate.readNode(path);
+            if (!current.isPresent() || !(current.get() instanceof MappedNormalizedNode)) {
+                return;
+            }
+
+            final MappedNormalizedNode<?, ?> demoted = (MappedNormalizedNode<?, ?>) current.get();
+            final NormalizedNode<?, ?> materialized = demoted.materialize();
+            final NormalizedNode<?, ?> baseRoot = base.readNode(YangInstanceIdentifier.EMPTY).get();
+            final Promotion promotion;
+            final DataTreeSnapshot promoted;
+            synchronized (ColdSubtreeTier.this) {
+                promotion = promotion(subtree, demoted, materialized, base, baseRoot);
+                promoted = promotion == null ? null : promotion.stateFor(baseRoot);
+            }
+
+            if (promoted != null) {
+                LOG.debug("Rebasing modification onto promotion of cold subtree {}", path);
+                final DataTreeModification rebased = promoted.newModification();
+                try (ReplayCursor cursor = new ReplayCursor(rebased)) {
+                    delegate.applyToCursor(cursor);
+                }
+                base = promoted;
+                delegate = rebased;
+                promotions.add(promotion);
+                if (!(rebased.readNode(path).orElse(null) instanceof MappedNormalizedNode)) {
+                    return;
+                }
+            }
+
+            // The subtree has changed since this modification's state, or the modification itself has written
+            // the demoted node back, it has to carry the materialized subtree
+            LOG.debug("Materializing cold subtree {} within modification", path);
+            delegate.write(path, materialized);
+        }
+    }
+
+    /**
+     * Cursor replaying a modification into another modification.
+     */
+    private static final class ReplayCursor implements DataTreeModificationCursor {
+        private final DataTreeModification target;
+        private YangInstanceIdentifier current = YangInstanceIdentifier.EMPTY;
+
+        ReplayCursor(final DataTreeModification target) {
+            this.target = requireNonNull(target);
+        }
+
+        @Override
+        public void enter(final PathArgument child) {
+            current = current.node(child);
+        }
+
+        @Override
+        public void enter(final PathArgument... path) {
+            for (PathArgument child : path) {
+                enter(child);
+            }
+        }
+
+        @Override
+        public void enter(final Iterable<PathArgument> path) {
+            for (PathArgument child : path) {
+                enter(child);
+            }
+        }
+
+        @Override
+        public void exit() {
+            final YangInstanceIdentifier parent = current.getParent();
+            checkState(parent != null, "Cannot exit the data tree root");
+            current = parent;
+        }
+
+        @Override
+        public void exit(final int depth) {
+            for (int i = 0; i < depth; ++i) {
+                exit();
+            }
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> readNode(final PathArgument child) {
+            return target.readNode(current.node(child));
+        }
+
+        @Override
+        public void delete(final PathArgument child) {
+            target.delete(current.node(child));
+        }
+
+        @Override
+        public void merge(final PathArgument child, final NormalizedNode<?, ?> data) {
+            target.merge(current.node(child), data);
+        }
+
+        @Override
+        public void write(final PathArgument child, final NormalizedNode<?, ?> data) {
+            target.write(current.node(child), data);
+        }
+
+        @Override
+        public void close() {
+            // Nothing to do
+        }
+    }
+}
@@ -0,0 +1,526 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local persistence of an {@link InMemoryDOMDataStore}. Committed {@link DataTreeCandidate}s are appended to a journal,
+ * which is split into segments. Each segment is named after the sequence number of its first record. Once enough
+ * records accumulate, the journal is compacted. A snapshot of the data tree root, named after the sequence number
+ * of the last record it covers, is written in the background, after which all segments covered by it are deleted.
+ *
+ * <p>
+ * Journal writes are performed by a dedicated thread. Records appended while a write is in progress are written as a
+ * group and made durable with a single {@link FileChannel#force(boolean)}. This amortizes the cost of syncing across
+ * concurrent commits.
+ *
+ * <p>
+ * All records and snapshots are protected by a CRC32 checksum. A torn record at the end of the last segment, as left
+ * behind by a crash, is discarded during recovery.
+ *
+ * <p>
+ * The first write failure is permanent. It is reported to the failure callback before any record is failed, so that
+ * the owner can stop serving data which is no longer being persisted.
+ */
+final class DataTreeJournal implements AutoCloseable {
+    private static final class PendingWrite {
+        final SettableFuture<Void> future = SettableFuture.create();
+        final long sequence;
+        // Null for segment rotation requests
+        final ByteBuffer record;
+
+        PendingWrite(final long sequence, final ByteBuffer record) {
+            this.sequence = sequence;
+            this.record = record;
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(DataTreeJournal.class);
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int SNAPSHOT_MAGIC = 0x4D444453;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int BUFFER_SIZE = 65536;
+    // Record header: length + sequence, trailer: checksum
+    private static final int RECORD_OVERHEAD = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final PendingWrite SHUTDOWN = new PendingWrite(-1, null);
+
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Consumer<IOException> failureCallback;
+    private final ExecutorService snapshotExecutor;
+    private final Path directory;
+    private final int snapshotThreshold;
+    private final Thread writer;
+
+    // Accessed only by the writer thread
+    private FileChannel segment;
+
+    @GuardedBy("this")
+    private long lastSequence;
+    @GuardedBy("this")
+    private int recordsSinceSnapshot;
+    @GuardedBy("this")
+    private boolean snapshotInProgress;
+    // Set once close() has started, no records are accepted afterwards as the writer may no longer pick them up
+    @GuardedBy("this")
+    private boolean closed;
+
+    private volatile IOException failure;
+
+    private DataTreeJournal(final String name, final Path directory, final int snapshotThreshold,
+            final long lastSequence, final int recordsSinceSnapshot, final Consumer<IOException> failureCallback)
+                    throws IOException {
+        this.directory = requireNonNull(directory);
+        this.failureCallback = requireNonNull(failureCallback);
+        this.snapshotThreshold = snapshotThreshold;
+        this.lastSequence = lastSequence;
+        this.recordsSinceSnapshot = recordsSinceSnapshot;
+
+        segment = openSegment(lastSequence + 1);
+        snapshotExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat(name + "-snapshot").setDaemon(true).build());
+        writer = new ThreadFactoryBuilder().setNameFormat(name + "-journal").setDaemon(true).build()
+                .newThread(this::runWriter);
+        writer.start();
+    }
+
+    /**
+     * Recover the contents of the persistence directory and start journaling. The latest snapshot and all journal
+     * records following it are applied to the supplied modification.
+     *
+     * @param name Store name, used to name threads
+     * @param directory Persistence directory, created if it does not exist
+     * @param snapshotThreshold Number of journal records after which a new snapshot is taken
+     * @param modification Modification to receive recovered data
+     * @param failureCallback Callback invoked, on the writer thread, when the journal fails
+     * @return An open journal
+     * @throws IOException if recovery fails
+     */
+    static DataTreeJournal recover(final String name, final Path directory, final int snapshotThreshold,
+            final DataTreeModification modification, final Consumer<IOException> failureCallback)
+                    throws IOException {
+        checkArgument(snapshotThreshold > 0, "Snapshot threshold %s is not positive", snapshotThreshold);
+        Files.createDirectories(directory);
+
+        final NavigableMap<Long, Path> snapshots = list(directory, SNAPSHOT_PREFIX);
+        final NavigableMap<Long, Path> segments = list(directory, SEGMENT_PREFIX);
+
+        long sequence = 0;
+        if (!snapshots.isEmpty()) {
+            final Path snapshot = snapshots.lastEntry().getValue();
+            sequence = snapshots.lastKey();
+            LOG.debug("Recovering snapshot {}", snapshot);
+            modification.write(YangInstanceIdentifier.EMPTY, readSnapshot(snapshot, sequence));
+        }
+
+        int replayed = 0;
+        for (Path path : segments.values()) {
+            final long last = replaySegment(path, path.equals(segments.lastEntry().getValue()), sequence,
+                modification);
+            replayed += (int) (last - sequence);
+            sequence = last;
+        }
+
+        LOG.info("Recovered persisted data up to record {} ({} journal records replayed) from {}", sequence, replayed,
+            directory);
+        final DataTreeJournal ret = new DataTreeJournal(name, directory, snapshotThreshold, sequence, replayed,
+            failureCallback);
+        ret.deleteObsolete(snapshots.isEmpty() ? 0 : snapshots.lastKey());
+        return ret;
+    }
+
+    /**
+     * Append a candidate to the journal. This method must be invoked in commit order.
+     *
+     * @param candidate Committed candidate
+     * @return Future which completes once the record is durable, or fails if the journal has been closed
+     * @throws IOException if the journal has failed or the candidate cannot be encoded
+     */
+    synchronized ListenableFuture<Void> append(final DataTreeCandidate candidate) throws IOException {
+        if (closed) {
+            return Futures.immediateFailedFuture(new IOException("Journal in " + directory + " has been closed"));
+        }
+
+        final IOException local = failure;
+        if (local != null) {
+            throw new IOException("Journal in " + directory + " has failed", local);
+        }
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataOutputStream dos = new DataOutputStream(bos)) {
+            new NormalizedNodeBinaryCodec.Writer(dos).writeCandidate(candidate);
+        }
+
+        final byte[] payload = bos.toByteArray();
+        final long sequence = lastSequence + 1;
+        final ByteBuffer record = ByteBuffer.allocate(payload.length + RECORD_OVERHEAD);
+        record.putInt(payload.length).putLong(sequence).put(payload).putInt(checksum(sequence, payload)).flip();
+
+        lastSequence = sequence;
+        recordsSinceSnapshot++;
+        return enqueue(new PendingWrite(sequence, record));
+    }
+
+    /**
+     * Check whether enough records have accumulated to warrant a new snapshot.
+     *
+     * @return True if {@link #snapshot(DataTreeSnapshot)} should be invoked.
+     */
+    synchronized boolean needsSnapshot() {
+        return !closed && !snapshotInProgress && recordsSinceSnapshot >= snapshotThreshold;
+    }
+
+    /**
+     * Take a snapshot. The supplied snapshot has to reflect exactly the records appended so far. The journal is
+     * switched to a new segment immediately, while the snapshot itself is written in the background.
+     *
+     * @param snapshot Data tree snapshot
+     */
+    synchronized void snapshot(final DataTreeSnapshot snapshot) {
+        checkState(!closed, "Journal in %s has been closed", directory);
+        checkState(!snapshotInProgress, "Snapshot already in progress");
+        final long sequence = lastSequence;
+        final ListenableFuture<Void> rotated = enqueue(new PendingWrite(sequence + 1, null));
+        snapshotInProgress = true;
+        recordsSinceSnapshot = 0;
+
+        snapshotExecutor.execute(() -> {
+            try {
+                final Optional<NormalizedNode<?, ?>> root = snapshot.readNode(YangInstanceIdentifier.EMPTY);
+                checkState(root.isPresent(), "Data tree root is missing");
+                writeSnapshot(sequence, root.get());
+                rotated.get();
+                deleteObsolete(sequence);
+            } catch (IOException | ExecutionException e) {
+                LOG.warn("Failed to take snapshot at record {}, journal will be retained", sequence, e);
+            } catch (InterruptedException e) {
+                LOG.warn("Interrupted while taking snapshot at record {}", sequence, e);
+                Thread.currentThread().interrupt();
+            } finally {
+                synchronized (DataTreeJournal.this) {
+                    snapshotInProgress = false;
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+
+        snapshotExecutor.shutdown();
+        try {
+            if (!snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOG.warn("Timed out waiting for snapshot of {} to complete", directory);
+            }
+        } catch (InterruptedException e) {
+            LOG.warn("Interrupted while waiting for snapshot of {} to complete", directory, e);
+            Thread.currentThread().interrupt();
+        }
+
+        queue.add(SHUTDOWN);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            LOG.warn("Interrupted while waiting for journal of {} to close", directory, e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ListenableFuture<Void> enqueue(final PendingWrite write) {
+        queue.add(write);
+        return write.future;
+    }
+
+    private void runWriter() {
+        final List<PendingWrite> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                LOG.warn("Journal writer of {} interrupted", directory, e);
+                fail(new IOException("Journal writer interrupted", e));
+                break;
+            }
+            queue.drainTo(batch);
+            running = writeBatch(batch);
+            batch.clear();
+        }
+
+        closeSegment();
+    }
+
+    private boolean writeBatch(final List<PendingWrite> batch) {
+        boolean running = true;
+        final List<SettableFuture<Void>> completed = new ArrayList<>(batch.size());
+        IOException local = failure;
+        if (local == null) {
+            try {
+                for (PendingWrite write : batch) {
+                    if (write == SHUTDOWN) {
+                        running = false;
+                    } else if (write.record != null) {
+                        while (write.record.hasRemaining()) {
+                            segment.write(write.record);
+                        }
+                        completed.add(write.future);
+                    } else {
+                        segment.force(false);
+                        segment.close();
+                        segment = openSegment(write.sequence);
+                        completed.add(write.future);
+                    }
+                }
+                segment.force(false);
+            } catch (IOException e) {
+                LOG.error("Failed to write journal in {}, persistence is disabled", directory, e);
+                fail(e);
+                local = e;
+            }
+        }
+
+        if (local == null) {
+            completed.forEach(future -> future.set(null));
+        } else {
+            for (PendingWrite write : batch) {
+                if (write == SHUTDOWN) {
+                    running = false;
+                } else {
+                    write.future.setException(local);
+                }
+            }
+        }
+        return running;
+    }
+
+    private void fail(final IOException cause) {
+        // The callback goes first, so that the owner has stopped by the time any append or write is failed
+        failureCallback.accept(cause);
+        failure = cause;
+    }
+
+    private void closeSegment() {
+        try {
+            segment.force(false);
+            segment.close();
+        } catch (IOException e) {
+            LOG.warn("Failed to close journal segment in {}", directory, e);
+        }
+    }
+
+    private FileChannel openSegment(final long firstSequence) throws IOException {
+        final Path path = directory.resolve(SEGMENT_PREFIX + firstSequence + SUFFIX);
+        LOG.debug("Opening journal segment {}", path);
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE);
+    }
+
+    private void writeSnapshot(final long sequence, final NormalizedNode<?, ?> root) throws IOException {
+        final Path temp = directory.resolve(SNAPSHOT_PREFIX + sequence + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final BufferedOutputStream bos = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+            final CheckedOutputStream cos = new CheckedOutputStream(bos, new CRC32());
+            final DataOutputStream dos = new DataOutputStream(cos);
+            dos.writeInt(SNAPSHOT_MAGIC);
+            dos.writeInt(SNAPSHOT_VERSION);
+            dos.writeLong(sequence);
+            new NormalizedNodeBinaryCodec.Writer(dos).writeNode(root);
+            dos.flush();
+            new DataOutputStream(bos).writeInt((int) cos.getChecksum().getValue());
+            bos.flush();
+            channel.force(true);
+        }
+
+        Files.move(temp, directory.resolve(SNAPSHOT_PREFIX + sequence + SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        LOG.debug("Snapshot at record {} written to {}", sequence, directory);
+    }
+
+    private static NormalizedNode<?, ?> readSnapshot(final Path path, final long sequence) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final BufferedInputStream bis = new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE);
+            final CheckedInputStream cis = new CheckedInputStream(bis, new CRC32());
+            final DataInputStream dis = new DataInputStream(cis);
+            if (dis.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Snapshot " + path + " has invalid format");
+            }
+            final int version = dis.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Snapshot " + path + " has unsupported version " + version);
+            }
+            final long fileSequence = dis.readLong();
+            if (fileSequence != sequence) {
+                throw new IOException("Snapshot " + path + " covers record " + fileSequence + ", expected "
+                        + sequence);
+            }
+
+            final NormalizedNode<?, ?> root = new NormalizedNodeBinaryCodec.Reader(dis).readNode();
+            final int expected = (int) cis.getChecksum().getValue();
+            if (new DataInputStream(bis).readInt() != expected) {
+                throw new IOException("Snapshot " + path + " is corrupted");
+            }
+            return root;
+        }
+    }
+
+    /**
+     * Replay a journal segment, skipping records already covered.
+     *
+     * @return Sequence number of the last record applied
+     */
+    private static long replaySegment(final Path path, final boolean lastSegment, final long lastApplied,
+            final DataTreeModification modification) throws IOException {
+        long sequence = lastApplied;
+        long validLength = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final DataInputStream dis = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel),
+                BUFFER_SIZE));
+            final long size = channel.size();
+            while (validLength < size) {
+                final byte[] payload;
+                final long recordSequence;
+                try {
+                    final int length = dis.readInt();
+                    if (length < 0 || validLength + length + RECORD_OVERHEAD > size) {
+                        throw new EOFException("Record length " + length + " exceeds segment size");
+                    }
+                    recordSequence = dis.readLong();
+                    payload = new byte[length];
+                    dis.readFully(payload);
+                    if (dis.readInt() != checksum(recordSequence, payload)) {
+                        throw new EOFException("Record checksum mismatch");
+                    }
+                } catch (EOFException e) {
+                    if (!lastSegment) {
+                        throw new IOException("Journal segment " + path + " is corrupted at offset " + validLength,
+                            e);
+                    }
+                    LOG.warn("Discarding torn journal tail of {} at offset {}", path, validLength, e);
+                    channel.truncate(validLength);
+                    break;
+                }
+
+                if (recordSequence > sequence) {
+                    if (recordSequence != sequence + 1) {
+                        throw new IOException("Journal segment " + path + " is missing records " + (sequence + 1)
+                            + " to " + (recordSequence - 1));
+                    }
+                    new NormalizedNodeBinaryCodec.Reader(new DataInputStream(new ByteArrayInputStream(payload)))
+                        .readCandidate(modification);
+                    sequence = recordSequence;
+                }
+                validLength += payload.length + RECORD_OVERHEAD;
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Delete snapshots and journal segments made obsolete by a snapshot.
+     *
+     * @param sequence Last record covered by the most recent snapshot
+     */
+    private void deleteObsolete(final long sequence) throws IOException {
+        for (Path path : list(directory, SNAPSHOT_PREFIX).headMap(sequence, false).values()) {
+            LOG.debug("Deleting obsolete snapshot {}", path);
+            Files.delete(path);
+        }
+        // Segments are named after their first record, hence a segment is covered if its successor starts no later
+        // than the first record following the snapshot
+        Path previous = null;
+        for (Entry<Long, Path> entry : list(directory, SEGMENT_PREFIX).entrySet()) {
+            if (entry.getKey() > sequence + 1) {
+                break;
+            }
+            if (previous != null) {
+                LOG.debug("Deleting obsolete journal segment {}", previous);
+                Files.delete(previous);
+            }
+            previous = entry.getValue();
+        }
+    }
+
+    private static NavigableMap<Long, Path> list(final Path directory, final String prefix) throws IOException {
+        final NavigableMap<Long, Path> ret = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + SUFFIX)) {
+            for (Path path : stream) {
+                final String fileName = path.getFileName().toString();
+                final String sequence = fileName.substring(prefix.length(), fileName.length() - SUFFIX.length());
+                try {
+                    ret.put(Long.valueOf(sequence), path);
+                } catch (NumberFormatException e) {
+                    LOG.warn("Ignoring unrecognized file {}", path, e);
+                }
+            }
+        }
+        return ret;
+    }
+
+    private static int checksum(final long sequence, final byte[] payload) {
+        final CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -7,14 +7,39 @@
  */
 package org.opendaylight.mdsal.dom.store.inmemory;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Table.Cell;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.GuardedBy;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.mdsal.dom.spi.store.DOMStore;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreIndexLookup;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreReadTransaction;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreReadWriteTransaction;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
@@ -27,8 +52,11 @@ import org.opendaylight.mdsal.dom.spi.store.SnapshotBackedWriteTransaction.Trans
 import org.opendaylight.yangtools.concepts.Identifiable;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.util.ExecutorServiceUtil;
+import org.opendaylight.yangtools.util.concurrent.FluentFutures;
 import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManager;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
@@ -50,10 +78,67 @@ import org.slf4j.LoggerFactory;
  * {@link org.opendaylight.mdsal.dom.spi.store.SnapshotBackedReadTransaction} to implement {@link DOMStore}
  * contract.
  *
+ *<p>
+ * The store can optionally operate in group-commit mode, enabled by specifying a maximum group commit batch size
+ * greater than one. In this mode each transaction is still applied to the {@link DataTree} as soon as it commits,
+ * so that subsequent transactions are validated against it, but the resulting {@link DataTreeCandidate}s are
+ * accumulated and published to listeners as a single batch, once either the batch size is reached or the group
+ * commit window expires. Listener queue handoffs and wakeups are then paid once per batch, at the cost of delaying
+ * notifications by up to the group commit window.
+ *
+ *<p>
+ * The store can also optionally persist its contents to a local directory, see
+ * {@link #enablePersistence(Path, int)}. Committed changes are then appended to an on-disk journal, which is
+ * periodically compacted into a snapshot, and the contents are recovered from there when the store is restarted.
+ * A commit is applied before its journal record is durable, hence the store fails stop on the first journal error:
+ * it then rejects new transactions, commits and listener registrations, so that changes which have not been
+ * persisted are not served any further.
+ *
+ *<p>
+ * Large and rarely modified subtrees can be moved off the Java heap, see
+ * {@link #enableColdSubtreeTiering(Path, Collection, long)}. Such subtrees are demoted to memory-mapped files once
+ * they have been idle for a while, and their contents are faulted back in when they are accessed.
+ *
+ *<p>
+ * Finally, entries of keyed lists can be looked up by the value of a non-key leaf, see
+ * {@link #enableSecondaryIndexes(Multimap)}. Indexes are updated as part of each commit, from its
+ * {@link DataTreeCandidate}, and each lookup is served from the snapshot the index version was derived from.
  */
 public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> implements DOMStore,
-        Identifiable<String>, SchemaContextListener, AutoCloseable, DOMStoreTreeChangePublisher {
+        Identifiable<String>, SchemaContextListener, AutoCloseable, DOMStoreTreeChangePublisher, DOMStoreIndexLookup {
+    /**
+     * Secondary indexes along with the snapshot they reflect. Both are published atomically, so that lookups do not
+     * observe an index which is out of sync with the data.
+     */
+    private static final class IndexedState {
+        final DataTreeSnapshot snapshot;
+        final ImmutableTable<YangInstanceIdentifier, YangInstanceIdentifier, SecondaryIndex> indexes;
+
+        IndexedState(final DataTreeSnapshot snapshot,
+                final ImmutableTable<YangInstanceIdentifier, YangInstanceIdentifier, SecondaryIndex> indexes) {
+            this.snapshot = requireNonNull(snapshot);
+            this.indexes = requireNonNull(indexes);
+        }
+
+        IndexedState update(final DataTreeSnapshot newSnapshot, final @Nullable DataTreeCandidate candidate) {
+            if (candidate == null) {
+                return new IndexedState(newSnapshot, indexes);
+            }
+
+            final ImmutableTable.Builder<YangInstanceIdentifier, YangInstanceIdentifier, SecondaryIndex> builder =
+                    ImmutableTable.builder();
+            boolean changed = false;
+            for (Cell<YangInstanceIdentifier, YangInstanceIdentifier, SecondaryIndex> cell : indexes.cellSet()) {
+                final SecondaryIndex index = cell.getValue().update(candidate);
+                changed |= index != cell.getValue();
+                builder.put(cell.getRowKey(), cell.getColumnKey(), index);
+            }
+            return new IndexedState(newSnapshot, changed ? builder.build() : indexes);
+        }
+    }
+
     private static final Logger LOG = LoggerFactory.getLogger(InMemoryDOMDataStore.class);
+    private static final ListenableFuture<Void> COMMITTED_FUTURE = Futures.immediateFuture(null);
 
     private final AtomicLong txCounter = new AtomicLong(0);
     private final DataTree dataTree;
@@ -63,6 +148,29 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
     private final boolean debugTransactions;
     private final String name;
 
+    private final int maxGroupCommitBatchSize;
+    private final long groupCommitWindowNanos;
+    private final ScheduledExecutorService groupCommitExecutor;
+    @GuardedBy("this")
+    private final List<DataTreeCandidate> pendingCandidates;
+    // Flush of the current batch once its window expires, cancelled if the batch is flushed any sooner
+    @GuardedBy("this")
+    private ScheduledFuture<?> pendingFlush;
+    @GuardedBy("this")
+    private DataTreeJournal journal;
+    // Modifications validated but not yet committed or aborted, demotion must not replace nodes they were validated
+    // against. Prepared candidates are counted separately, as promotions cannot be committed under them. Each cohort
+    // tracks which of the two it has been counted in, so that a cohort skipping validation does not skew the counts.
+    @GuardedBy("this")
+    private int validatedModifications;
+    @GuardedBy("this")
+    private int preparedCandidates;
+
+    private volatile ColdSubtreeTier coldSubtreeTier;
+    private volatile ScheduledExecutorService coldSubtreeExecutor;
+    private volatile IndexedState indexedState;
+    private volatile IOException journalFailure;
+
     private volatile AutoCloseable closeable;
 
     public InMemoryDOMDataStore(final String name, final ExecutorService dataChangeListenerExecutor) {
@@ -85,12 +193,68 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
     public InMemoryDOMDataStore(final String name, final DataTreeConfiguration config,
             final ExecutorService dataChangeListenerExecutor, final int maxDataChangeListenerQueueSize,
             final boolean debugTransactions) {
+        this(name, config, dataChangeListenerExecutor, maxDataChangeListenerQueueSize, debugTransactions, 1, 0);
+    }
+
+    /**
+     * Create a new store.
+     *
+     * @param name Store name
+     * @param config Data tree configuration
+     * @param dataChangeListenerExecutor Executor used to dispatch data tree change notifications
+     * @param maxDataChangeListenerQueueSize Maximum size of per-listener notification queues
+     * @param debugTransactions True if transaction allocation debugging should be enabled
+     * @param maxGroupCommitBatchSize Maximum number of committed transactions whose changes are published to
+     *                                listeners in a single batch. Values lower than 2 disable group commit.
+     * @param groupCommitWindowMicros Maximum time, in microseconds, a committed transaction's changes are held back
+     *                                waiting for a batch to fill up. Must be positive if group commit is enabled.
+     */
+    public InMemoryDOMDataStore(final String name, final DataTreeConfiguration config,
+            final ExecutorService dataChangeListenerExecutor, final int maxDataChangeListenerQueueSize,
+            final boolean debugTransactions, final int maxGroupCommitBatchSize, final long groupCommitWindowMicros) {
+        this(name, config, dataChangeListenerExecutor, maxDataChangeListenerQueueSize, debugTransactions,
+            maxGroupCommitBatchSize, groupCommitWindowMicros, false);
+    }
+
+    /**
+     * Create a new store.
+     *
+     * @param name Store name
+     * @param config Data tree configuration
+     * @param dataChangeListenerExecutor Executor used to dispatch data tree change notifications
+     * @param maxDataChangeListenerQueueSize Maximum size of per-listener notification queues
+     * @param debugTransactions True if transaction allocation debugging should be enabled
+     * @param maxGroupCommitBatchSize Maximum number of committed transactions whose changes are published to
+     *                                listeners in a single batch. Values lower than 2 disable group commit.
+     * @param groupCommitWindowMicros Maximum time, in microseconds, a committed transaction's changes are held back
+     *                                waiting for a batch to fill up. Must be positive if group commit is enabled.
+     * @param coalesceDataTreeChanges True if changes queued for a listener should be delivered as one net-effect
+     *                                change per path, instead of being replayed one by one
+     */
+    public InMemoryDOMDataStore(final String name, final DataTreeConfiguration config,
+            final ExecutorService dataChangeListenerExecutor, final int maxDataChangeListenerQueueSize,
+            final boolean debugTransactions, final int maxGroupCommitBatchSize, final long groupCommitWindowMicros,
+            final boolean coalesceDataTreeChanges) {
         this.name = requireNonNull(name);
         this.dataChangeListenerExecutor = requireNonNull(dataChangeListenerExecutor);
         this.debugTransactions = debugTransactions;
         dataTree = new InMemoryDataTreeFactory().create(config);
         changePublisher = new InMemoryDOMStoreTreeChangePublisher(this.dataChangeListenerExecutor,
-                maxDataChangeListenerQueueSize);
+                maxDataChangeListenerQueueSize, coalesceDataTreeChanges);
+
+        this.maxGroupCommitBatchSize = maxGroupCommitBatchSize;
+        if (maxGroupCommitBatchSize > 1) {
+            checkArgument(groupCommitWindowMicros > 0, "Group commit window %s is not positive",
+                groupCommitWindowMicros);
+            groupCommitWindowNanos = TimeUnit.MICROSECONDS.toNanos(groupCommitWindowMicros);
+            groupCommitExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat(name + "-group-commit").setDaemon(true).build());
+            pendingCandidates = new ArrayList<>(maxGroupCommitBatchSize);
+        } else {
+            groupCommitWindowNanos = 0;
+            groupCommitExecutor = null;
+            pendingCandidates = null;
+        }
     }
 
     public QueuedNotificationManager<?, ?> getDataChangeListenerNotificationManager() {
@@ -108,6 +272,7 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
 
     @Override
     public DOMStoreReadTransaction newReadOnlyTransaction() {
+        checkNotFailed();
         return SnapshotBackedTransactions.newReadTransaction(nextIdentifier(), debugTransactions,
             dataTree.takeSnapshot());
     }
@@ -115,17 +280,18 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
     @Override
     public DOMStoreReadWriteTransaction newReadWriteTransaction() {
         return SnapshotBackedTransactions.newReadWriteTransaction(nextIdentifier(), debugTransactions,
-            dataTree.takeSnapshot(), this);
+            takeSnapshot(), this);
     }
 
     @Override
     public DOMStoreWriteTransaction newWriteOnlyTransaction() {
         return SnapshotBackedTransactions.newWriteTransaction(nextIdentifier(), debugTransactions,
-            dataTree.takeSnapshot(), this);
+            takeSnapshot(), this);
     }
 
     @Override
     public DOMStoreTransactionChain createTransactionChain() {
+        checkNotFailed();
         return new DOMStoreTransactionChainImpl(this);
     }
 
@@ -134,9 +300,117 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
         dataTree.setSchemaContext(ctx);
     }
 
+    /**
+     * Enable local persistence of this store's contents. The contents of the specified directory, if any, are
+     * recovered into the store and all subsequent commits are journaled there, with commits completing only once
+     * their journal record is durable. This method must be invoked after the store has received its
+     * {@link SchemaContext}, but before it is put into service. If the journal cannot be written, the store fails
+     * stop: all subsequent transactions, commits and listener registrations are rejected.
+     *
+     * @param directory Persistence directory, created if it does not exist
+     * @param snapshotThreshold Number of journal records after which the journal is compacted into a new snapshot
+     * @throws IOException if the persisted data cannot be recovered
+     * @throws IllegalStateException if persistence has already been enabled
+     */
+    public synchronized void enablePersistence(final Path directory, final int snapshotThreshold) throws IOException {
+        checkState(journal == null, "Persistence of %s has already been enabled", name);
+
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        final DataTreeJournal recovered = DataTreeJournal.recover(name, directory, snapshotThreshold, modification,
+            this::journalFailed);
+        modification.ready();
+        try {
+            dataTree.validate(modification);
+        } catch (DataValidationFailedException e) {
+            recovered.close();
+            throw new IOException("Persisted data in " + directory + " is not valid", e);
+        }
+
+        final DataTreeCandidate candidate = dataTree.prepare(modification);
+        dataTree.commit(candidate);
+        updateIndexes(candidate);
+        changePublisher.publishChange(candidate);
+        journal = recovered;
+    }
+
+    /**
+     * Enable secondary indexes of keyed lists, which are then available through {@link #lookup(YangInstanceIdentifier,
+     * YangInstanceIdentifier, Object)}. Each index is identified by the wildcarded path of the list entries and the
+     * path of the indexed leaf, relative to an entry. Indexes are populated from the current contents of the store.
+     *
+     * @param indexes Indexed leaves, keyed by the wildcarded path of list entries
+     * @throws IllegalArgumentException if a list path does not end with a wildcard or a leaf path is empty
+     * @throws IllegalStateException if secondary indexes have already been enabled
+     */
+    public synchronized void enableSecondaryIndexes(
+            final Multimap<YangInstanceIdentifier, YangInstanceIdentifier> indexes) {
+        checkState(indexedState == null, "Secondary indexes of %s have already been enabled", name);
+
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+        final NormalizedNode<?, ?> root = snapshot.readNode(YangInstanceIdentifier.EMPTY).get();
+        final ImmutableTable.Builder<YangInstanceIdentifier, YangInstanceIdentifier, SecondaryIndex> builder =
+                ImmutableTable.builder();
+        for (Entry<YangInstanceIdentifier, YangInstanceIdentifier> entry : indexes.entries()) {
+            builder.put(entry.getKey(), entry.getValue(),
+                SecondaryIndex.create(entry.getKey(), entry.getValue(), root));
+        }
+        indexedState = new IndexedState(snapshot, builder.build());
+    }
+
+    /**
+     * Enable tiering of cold subtrees. Each of the specified subtrees is demoted to a memory-mapped file once it has
+     * not been modified for the specified idle time, so that it no longer occupies the Java heap. The contents of
+     * a demoted subtree are faulted back in when it is read, and are cached only as long as heap is available.
+     * A transaction modifying a demoted subtree sees it materialized from its own snapshot. The subtree is promoted
+     * back to the heap when such a transaction is validated, and stays there until it becomes idle again.
+     *
+     *<p>
+     * Only containers and unordered keyed lists can be demoted. Neither demotion nor promotion is visible to data tree
+     * change listeners or journaled, and a promotion does not become part of the transaction which triggered it.
+     * Transactions which modify a subtree while it is being demoted, or which promote it from a state other than
+     * the one a concurrent transaction promoted it from, may fail with an optimistic lock failure.
+     *
+     * @param directory Directory to hold the mapped files, created if it does not exist
+     * @param subtrees Paths of cold subtrees, which must not be nested
+     * @param idleMillis Time, in milliseconds, a subtree needs to be left unmodified before it is demoted
+     * @throws IOException if the directory cannot be created
+     * @throws IllegalArgumentException if the subtrees are nested or the idle time is not positive
+     * @throws IllegalStateException if tiering has already been enabled
+     */
+    public synchronized void enableColdSubtreeTiering(final Path directory,
+            final Collection<YangInstanceIdentifier> subtrees, final long idleMillis) throws IOException {
+        checkState(coldSubtreeTier == null, "Cold subtree tiering of %s has already been enabled", name);
+        coldSubtreeTier = new ColdSubtreeTier(directory, subtrees, idleMillis);
+        coldSubtreeExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat(name + "-cold-subtrees").setDaemon(true).build());
+        coldSubtreeExecutor.scheduleWithFixedDelay(() -> demoteColdSubtrees(false), idleMillis, idleMillis,
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Demote all cold subtrees immediately, regardless of when they were last modified. This is useful after cold
+     * data has been bulk-loaded. Subtrees which cannot be demoted right now are left for the periodic demotion.
+     *
+     * @throws IllegalStateException if cold subtree tiering is not enabled
+     */
+    public void demoteColdSubtrees() {
+        checkState(coldSubtreeTier != null, "Cold subtree tiering of %s is not enabled", name);
+        demoteColdSubtrees(true);
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     public void close() {
+        final ScheduledExecutorService executor = coldSubtreeExecutor;
+        if (executor != null) {
+            executor.shutdown();
+        }
+        if (groupCommitExecutor != null) {
+            groupCommitExecutor.shutdown();
+            publishPendingCandidates();
+        }
+        closeJournal();
+
         ExecutorServiceUtil.tryGracefulShutdown(dataChangeListenerExecutor, 30, TimeUnit.SECONDS);
 
         if (closeable != null) {
@@ -153,7 +427,25 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
     }
 
     final DataTreeSnapshot takeSnapshot() {
-        return dataTree.takeSnapshot();
+        checkNotFailed();
+        return wrapSnapshot(dataTree.takeSnapshot());
+    }
+
+    @Override
+    public FluentFuture<Map<YangInstanceIdentifier, MapEntryNode>> lookup(final YangInstanceIdentifier list,
+            final YangInstanceIdentifier leaf, final Object value) {
+        requireNonNull(value);
+        checkNotFailed();
+        final IndexedState state = indexedState;
+        final SecondaryIndex index = state == null ? null : state.indexes.get(list, leaf);
+        checkArgument(index != null, "Store %s does not index %s by %s", name, list, leaf);
+
+        final DataTreeSnapshot snapshot = wrapSnapshot(state.snapshot);
+        final ImmutableMap.Builder<YangInstanceIdentifier, MapEntryNode> builder = ImmutableMap.builder();
+        for (YangInstanceIdentifier path : index.lookup(value)) {
+            snapshot.readNode(path).ifPresent(entry -> builder.put(path, (MapEntryNode) entry));
+        }
+        return FluentFutures.immediateFluentFuture(builder.build());
     }
 
     @Override
@@ -162,7 +454,13 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
         /*
          * Make sure commit is not occurring right now. Listener has to be
          * registered and its state capture enqueued at a consistent point.
+         * Any changes held back by group commit need to be published beforehand,
+         * as they are already part of the snapshot.
          */
+        checkNotFailed();
+        if (pendingCandidates != null) {
+            flushPendingCandidates();
+        }
         return changePublisher.registerTreeChangeListener(treeId, listener, dataTree.takeSnapshot());
     }
 
@@ -182,17 +480,288 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
         return name + "-" + txCounter.getAndIncrement();
     }
 
+    /**
+     * Validate a modification. Once successfully validated, the modification has to be either committed or aborted.
+     * Any promotions of cold subtrees the modification depends on are committed first.
+     *
+     * @param modification Modification to validate
+     * @throws DataValidationFailedException if the modification is not valid
+     */
     void validate(final DataTreeModification modification) throws DataValidationFailedException {
-        dataTree.validate(modification);
+        checkNotFailed();
+        // Counted before validation starts, so that a concurrent demotion does not slip in before it is counted
+        synchronized (this) {
+            validatedModifications++;
+            commitPromotions(modification);
+        }
+
+        boolean valid = false;
+        try {
+            dataTree.validate(ColdSubtreeTier.unwrap(modification));
+            valid = true;
+        } finally {
+            if (!valid) {
+                synchronized (this) {
+                    validatedModifications--;
+                }
+            }
+        }
+    }
+
+    synchronized DataTreeCandidate prepare(final DataTreeModification modification) {
+        checkNotFailed();
+        // Normally done by validation, which the cohort may have skipped
+        commitPromotions(modification);
+        final DataTreeCandidate candidate = dataTree.prepare(ColdSubtreeTier.unwrap(modification));
+        // Prepared candidates need to be committed on top of the current tree
+        preparedCandidates++;
+        return candidate;
     }
 
-    DataTreeCandidate prepare(final DataTreeModification modification) {
-        return dataTree.prepare(modification);
+    /**
+     * Abort a validated or prepared modification.
+     *
+     * @param candidate Prepared candidate, or null if the modification has not been prepared
+     * @param validated True if the modification has been successfully validated
+     */
+    synchronized void abort(final @Nullable DataTreeCandidate candidate, final boolean validated) {
+        LOG.trace("Store {} aborted candidate {}", name, candidate);
+        modificationFinished(validated, candidate != null);
     }
 
-    synchronized void commit(final DataTreeCandidate candidate) {
+    /**
+     * Commit a prepared candidate.
+     *
+     * @param candidate Prepared candidate
+     * @param validated True if the modification has been successfully validated
+     * @return A future completing once the commit is durable
+     */
+    synchronized ListenableFuture<Void> commit(final DataTreeCandidate candidate, final boolean validated) {
+        modificationFinished(validated, true);
+
+        final IOException failure = journalFailure;
+        if (failure != null) {
+            return Futures.immediateFailedFuture(new IOException("Store " + name + " has failed", failure));
+        }
+
+        final ListenableFuture<Void> ret;
+        if (journal != null) {
+            // The record is queued before the candidate is applied and the commit completes once the record is
+            // durable. Should the write fail, journalFailed() stops the store before the commit is failed, so that
+            // the applied candidate is not served any further.
+            try {
+                ret = journal.append(candidate);
+            } catch (IOException e) {
+                LOG.error("Store {} failed to journal a commit", name, e);
+                return Futures.immediateFailedFuture(e);
+            }
+        } else {
+            ret = COMMITTED_FUTURE;
+        }
+
         dataTree.commit(candidate);
-        changePublisher.publishChange(candidate);
+        updateIndexes(candidate);
+        final ColdSubtreeTier tier = coldSubtreeTier;
+        if (tier != null) {
+            tier.committed(dataTree.takeSnapshot());
+        }
+        if (journal != null && journal.needsSnapshot()) {
+            journal.snapshot(dataTree.takeSnapshot());
+        }
+
+        if (pendingCandidates == null) {
+            changePublisher.publishChange(candidate);
+            return ret;
+        }
+
+        pendingCandidates.add(candidate);
+        final int pending = pendingCandidates.size();
+        if (pending >= maxGroupCommitBatchSize) {
+            flushPendingCandidates();
+        } else if (pending == 1) {
+            pendingFlush = groupCommitExecutor.schedule(this::publishPendingCandidates, groupCommitWindowNanos,
+                TimeUnit.NANOSECONDS);
+        }
+        return ret;
+    }
+
+    /**
+     * Commit the pending promotions of cold subtrees a modification has been rebased onto. A promotion is committed
+     * internally and, like a demotion, is neither journaled, published nor indexed. A promotion which cannot be
+     * committed is left out, the modification then fails validation as a conflicting one.
+     *
+     * @param modification Modification about to be validated or prepared
+     */
+    @GuardedBy("this")
+    private void commitPromotions(final DataTreeModification modification) {
+        final ColdSubtreeTier tier = coldSubtreeTier;
+        if (tier == null) {
+            return;
+        }
+
+        for (ColdSubtreeTier.Promotion promotion : ColdSubtreeTier.promotions(modification)) {
+            if (!tier.isPending(promotion)) {
+                continue;
+            }
+            // Prepared candidates need to be committed on top of the current tree
+            if (preparedCandidates > 0) {
+                LOG.debug("Store {} has {} prepared candidates, not promoting {}", name, preparedCandidates,
+                    promotion.getPath());
+                continue;
+            }
+
+            try {
+                dataTree.validate(promotion.getModification());
+            } catch (DataValidationFailedException e) {
+                LOG.debug("Store {} subtree {} has changed, not promoting it", name, promotion.getPath(), e);
+                tier.promotionFailed(promotion);
+                continue;
+            }
+
+            final NormalizedNode<?, ?> tipRoot = dataTree.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY).get();
+            dataTree.commit(dataTree.prepare(promotion.getModification()));
+            updateIndexes(null);
+            tier.promoted(promotion, tipRoot, dataTree.takeSnapshot());
+            LOG.debug("Store {} promoted {}", name, promotion.getPath());
+        }
+    }
+
+    @GuardedBy("this")
+    private void modificationFinished(final boolean validated, final boolean prepared) {
+        if (validated) {
+            validatedModifications--;
+        }
+        if (prepared) {
+            preparedCandidates--;
+        }
+    }
+
+    private void journalFailed(final IOException cause) {
+        LOG.error("Store {} failed to persist committed data, rejecting further access", name, cause);
+        journalFailure = cause;
+    }
+
+    private void checkNotFailed() {
+        final IOException failure = journalFailure;
+        if (failure != null) {
+            throw new IllegalStateException("Store " + name + " has failed to persist committed data", failure);
+        }
+    }
+
+    private void demoteColdSubtrees(final boolean force) {
+        final ColdSubtreeTier tier = coldSubtreeTier;
+        for (YangInstanceIdentifier path : tier.beginDemotions(force)) {
+            if (!demoteColdSubtree(tier, path)) {
+                tier.demotionAborted(path);
+            }
+        }
+    }
+
+    private boolean demoteColdSubtree(final ColdSubtreeTier tier, final YangInstanceIdentifier path) {
+        final Optional<NormalizedNode<?, ?>> current = dataTree.takeSnapshot().readNode(path);
+        if (!current.isPresent()) {
+            return false;
+        }
+
+        final NormalizedNode<?, ?> node = current.get();
+        final MappedNormalizedNode<?, ?> mapped;
+        if (node instanceof MappedNormalizedNode) {
+            // A transaction has written a demoted node back, there is nothing to serialize
+            mapped = (MappedNormalizedNode<?, ?>) node;
+        } else if (!MappedNormalizedNode.isSupported(node)) {
+            LOG.debug("Store {} cannot demote {} node at {}", name, node.getClass(), path);
+            return false;
+        } else {
+            // Serialization happens outside of the lock, the node is then swapped in only if it has not changed
+            try {
+                mapped = tier.demote(node);
+            } catch (IOException e) {
+                LOG.warn("Store {} failed to demote {}", name, path, e);
+                return false;
+            }
+        }
+
+        if (!replaceColdSubtree(tier, path, node, mapped)) {
+            return false;
+        }
+
+        // Validation has faulted the contents in, do not keep them around
+        mapped.evict();
+        LOG.debug("Store {} demoted {}", name, path);
+        return true;
+    }
+
+    private synchronized boolean replaceColdSubtree(final ColdSubtreeTier tier, final YangInstanceIdentifier path,
+            final NormalizedNode<?, ?> expected, final MappedNormalizedNode<?, ?> replacement) {
+        if (validatedModifications > 0) {
+            LOG.debug("Store {} has {} validated modifications, not demoting {}", name, validatedModifications, path);
+            return false;
+        }
+
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        if (modification.readNode(path).orElse(null) != expected) {
+            LOG.debug("Store {} subtree {} has been modified, not demoting it", name, path);
+            return false;
+        }
+
+        if (replacement != expected) {
+            modification.write(path, replacement);
+            modification.ready();
+            try {
+                dataTree.validate(modification);
+            } catch (DataValidationFailedException e) {
+                LOG.warn("Store {} failed to demote {}", name, path, e);
+                return false;
+            }
+
+            // The contents have not changed, hence the candidate is neither journaled, published nor indexed
+            dataTree.commit(dataTree.prepare(modification));
+            updateIndexes(null);
+        }
+        tier.demoted(path, replacement);
+        return true;
+    }
+
+    private DataTreeSnapshot wrapSnapshot(final DataTreeSnapshot snapshot) {
+        final ColdSubtreeTier tier = coldSubtreeTier;
+        return tier == null ? snapshot : tier.wrap(snapshot);
+    }
+
+    /**
+     * Publish the indexes reflecting the current data tree.
+     *
+     * @param candidate Last committed candidate, or null if it did not change the data
+     */
+    @GuardedBy("this")
+    private void updateIndexes(final @Nullable DataTreeCandidate candidate) {
+        final IndexedState state = indexedState;
+        if (state != null) {
+            indexedState = state.update(dataTree.takeSnapshot(), candidate);
+        }
+    }
+
+    private synchronized void closeJournal() {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    private synchronized void publishPendingCandidates() {
+        flushPendingCandidates();
+    }
+
+    @GuardedBy("this")
+    private void flushPendingCandidates() {
+        if (pendingFlush != null) {
+            pendingFlush.cancel(false);
+            pendingFlush = null;
+        }
+        if (!pendingCandidates.isEmpty()) {
+            LOG.trace("Store {} publishing {} candidates", name, pendingCandidates.size());
+            changePublisher.publishChanges(ImmutableList.copyOf(pendingCandidates));
+            pendingCandidates.clear();
+        }
     }
 
     private static DataTreeConfiguration defaultConfig(final LogicalDatastoreType type) {
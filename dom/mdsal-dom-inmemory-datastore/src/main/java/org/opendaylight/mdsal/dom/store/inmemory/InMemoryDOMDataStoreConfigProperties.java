@@ -7,9 +7,13 @@
  */
 package org.opendaylight.mdsal.dom.store.inmemory;
 
+import com.google.common.collect.SetMultimap;
+import java.util.List;
+import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
 import org.immutables.value.Value;
 import org.immutables.value.Value.Style.ImplementationVisibility;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 
 /**
  * Holds configuration properties when creating an {@link InMemoryDOMDataStore} instance via the
@@ -26,6 +30,10 @@ public abstract class InMemoryDOMDataStoreConfigProperties {
     public static final int DEFAULT_MAX_DATA_CHANGE_EXECUTOR_POOL_SIZE = 20;
     public static final int DEFAULT_MAX_DATA_CHANGE_LISTENER_QUEUE_SIZE = 1000;
     public static final int DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE = 5000;
+    public static final int DEFAULT_MAX_GROUP_COMMIT_BATCH_SIZE = 1;
+    public static final long DEFAULT_GROUP_COMMIT_WINDOW_MICROS = 1000;
+    public static final int DEFAULT_PERSISTENCE_SNAPSHOT_THRESHOLD = 10000;
+    public static final long DEFAULT_COLD_SUBTREE_IDLE_MILLIS = 60000;
 
     private static final @NonNull InMemoryDOMDataStoreConfigProperties DEFAULT = builder().build();
 
@@ -92,4 +100,75 @@ public abstract class InMemoryDOMDataStoreConfigProperties {
     public int getMaxDataStoreExecutorQueueSize() {
         return DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE;
     }
+
+    /**
+     * Returns the maximum number of committed transactions whose changes are published to listeners as a single
+     * batch. Values lower than 2 disable group commit.
+     */
+    @Value.Default
+    public int getMaxGroupCommitBatchSize() {
+        return DEFAULT_MAX_GROUP_COMMIT_BATCH_SIZE;
+    }
+
+    /**
+     * Returns the maximum time, in microseconds, for which changes are held back waiting for a group commit batch
+     * to fill up. Ignored unless group commit is enabled.
+     */
+    @Value.Default
+    public long getGroupCommitWindowMicros() {
+        return DEFAULT_GROUP_COMMIT_WINDOW_MICROS;
+    }
+
+    /**
+     * Returns true if changes queued for a slow data tree change listener should be merged into a single net-effect
+     * change per path before delivery, so that the listener observes the latest state rather than a replay.
+     */
+    @Value.Default
+    public boolean getCoalesceDataTreeChanges() {
+        return false;
+    }
+
+    /**
+     * Returns the directory in which the data store persists its contents. If present, the contents are recovered from
+     * this directory when the data store is created, and all subsequent commits are journaled to it. Persistence
+     * requires a schema service to be supplied to {@link InMemoryDOMDataStoreFactory}.
+     */
+    public abstract Optional<String> getPersistenceDirectory();
+
+    /**
+     * Returns the number of journaled commits after which the persisted journal is compacted into a snapshot. Ignored
+     * unless persistence is enabled.
+     */
+    @Value.Default
+    public int getPersistenceSnapshotThreshold() {
+        return DEFAULT_PERSISTENCE_SNAPSHOT_THRESHOLD;
+    }
+
+    /**
+     * Returns the paths of large, rarely modified subtrees which should be demoted to memory-mapped files once they
+     * become idle. An empty list disables cold subtree tiering.
+     */
+    public abstract List<YangInstanceIdentifier> getColdSubtrees();
+
+    /**
+     * Returns the directory holding memory-mapped files of demoted cold subtrees. If not present, the system temporary
+     * directory is used. Ignored unless cold subtree tiering is enabled.
+     */
+    public abstract Optional<String> getColdSubtreeDirectory();
+
+    /**
+     * Returns the time, in milliseconds, a cold subtree needs to be left unmodified before it is demoted. Ignored
+     * unless cold subtree tiering is enabled.
+     */
+    @Value.Default
+    public long getColdSubtreeIdleMillis() {
+        return DEFAULT_COLD_SUBTREE_IDLE_MILLIS;
+    }
+
+    /**
+     * Returns the secondary indexes maintained by the data store. Each index is keyed by the wildcarded path of the
+     * entries of a keyed list, with the path of the indexed leaf, relative to a list entry, as its value. An empty
+     * multimap disables secondary indexes.
+     */
+    public abstract SetMultimap<YangInstanceIdentifier, YangInstanceIdentifier> getSecondaryIndexes();
 }
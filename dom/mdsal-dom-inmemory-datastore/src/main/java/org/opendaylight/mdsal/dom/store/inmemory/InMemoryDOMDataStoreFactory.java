@@ -7,11 +7,15 @@
  */
 package org.opendaylight.mdsal.dom.store.inmemory;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMSchemaService;
 import org.opendaylight.yangtools.util.concurrent.SpecialExecutors;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
 
 /**
  * A factory for creating InMemoryDOMDataStore instances.
@@ -42,17 +46,47 @@ public final class InMemoryDOMDataStoreFactory {
      * @param properties configuration properties for the InMemoryDOMDataStore instance.
      * @param schemaService the SchemaService to which to register the data store.
      * @return an InMemoryDOMDataStore instance
+     * @throws IllegalStateException if persistence is enabled and persisted data cannot be recovered, or if cold
+     *                               subtree tiering is enabled and its directory cannot be created
      */
     public static InMemoryDOMDataStore create(final String name, final InMemoryDOMDataStoreConfigProperties properties,
             @Nullable final DOMSchemaService schemaService) {
         final ExecutorService dataChangeListenerExecutor = createExecutorService(name, properties);
-        final InMemoryDOMDataStore dataStore = new InMemoryDOMDataStore(name, dataChangeListenerExecutor,
-            properties.getMaxDataChangeListenerQueueSize(), properties.getDebugTransactions());
+        final InMemoryDOMDataStore dataStore = new InMemoryDOMDataStore(name, DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            dataChangeListenerExecutor, properties.getMaxDataChangeListenerQueueSize(),
+            properties.getDebugTransactions(), properties.getMaxGroupCommitBatchSize(),
+            properties.getGroupCommitWindowMicros(), properties.getCoalesceDataTreeChanges());
 
         if (schemaService != null) {
             schemaService.registerSchemaContextListener(dataStore);
         }
 
+        final Optional<String> persistenceDirectory = properties.getPersistenceDirectory();
+        if (persistenceDirectory.isPresent()) {
+            try {
+                dataStore.enablePersistence(Paths.get(persistenceDirectory.get()),
+                    properties.getPersistenceSnapshotThreshold());
+            } catch (IOException e) {
+                dataStore.close();
+                throw new IllegalStateException("Failed to recover data store " + name, e);
+            }
+        }
+
+        if (!properties.getColdSubtrees().isEmpty()) {
+            final String directory = properties.getColdSubtreeDirectory().orElse(System.getProperty("java.io.tmpdir"));
+            try {
+                dataStore.enableColdSubtreeTiering(Paths.get(directory), properties.getColdSubtrees(),
+                    properties.getColdSubtreeIdleMillis());
+            } catch (IOException e) {
+                dataStore.close();
+                throw new IllegalStateException("Failed to set up cold subtree tiering of data store " + name, e);
+            }
+        }
+
+        if (!properties.getSecondaryIndexes().isEmpty()) {
+            dataStore.enableSecondaryIndexes(properties.getSecondaryIndexes());
+        }
+
         return dataStore;
     }
 
@@ -33,6 +33,7 @@ class InMemoryDOMStoreThreePhaseCommitCohort implements DOMStoreThreePhaseCommit
     private final DataTreeModification modification;
     private final InMemoryDOMDataStore store;
     private DataTreeCandidate candidate;
+    private boolean validated;
     private final Exception operationError;
 
     InMemoryDOMStoreThreePhaseCommitCohort(final InMemoryDOMDataStore store,
@@ -61,6 +62,7 @@ class InMemoryDOMStoreThreePhaseCommitCohort implements DOMStoreThreePhaseCommit
 
         try {
             store.validate(modification);
+            validated = true;
             LOG.debug("Store Transaction: {} can be committed", getTransaction().getIdentifier());
             return CAN_COMMIT_FUTURE;
         } catch (ConflictingModificationAppliedException e) {
@@ -100,6 +102,10 @@ class InMemoryDOMStoreThreePhaseCommitCohort implements DOMStoreThreePhaseCommit
 
     @Override
     public final ListenableFuture<Void> abort() {
+        if (validated || candidate != null) {
+            store.abort(candidate, validated);
+            validated = false;
+        }
         candidate = null;
         return SUCCESSFUL_FUTURE;
     }
@@ -111,13 +117,18 @@ class InMemoryDOMStoreThreePhaseCommitCohort implements DOMStoreThreePhaseCommit
     @Override
     public ListenableFuture<Void> commit() {
         checkState(candidate != null, "Proposed subtree must be computed");
+        final DataTreeCandidate local = candidate;
+        final boolean wasValidated = validated;
+
+        // Committing releases the candidate even if the commit fails, a subsequent abort must not release it again
+        candidate = null;
+        validated = false;
 
         /*
          * The commit has to occur atomically with regard to listener
          * registrations.
          */
-        store.commit(candidate);
-        return SUCCESSFUL_FUTURE;
+        return store.commit(local, wasValidated);
     }
 }
 
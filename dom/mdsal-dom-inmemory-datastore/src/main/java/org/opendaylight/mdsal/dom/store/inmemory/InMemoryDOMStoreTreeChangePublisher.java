@@ -10,7 +10,12 @@ package org.opendaylight.mdsal.dom.store.inmemory;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import org.eclipse.jdt.annotation.NonNull;
@@ -21,8 +26,16 @@ import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManager;
 import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManager.BatchedInvoker;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
@@ -37,19 +50,41 @@ final class InMemoryDOMStoreTreeChangePublisher extends AbstractDOMStoreTreeChan
                 inst.onDataTreeChanged(ImmutableList.copyOf(notifications));
             }
         };
+    private static final BatchedInvoker<AbstractDOMDataTreeChangeListenerRegistration<?>, DataTreeCandidate>
+        COALESCING_INVOKER = (listener, notifications) -> {
+            final DOMDataTreeChangeListener inst = listener.getInstance();
+            if (inst != null) {
+                final List<DataTreeCandidate> changes = CoalescedDataTreeCandidates.coalesce(notifications);
+                if (!changes.isEmpty()) {
+                    inst.onDataTreeChanged(changes);
+                }
+            }
+        };
     private static final Logger LOG = LoggerFactory.getLogger(InMemoryDOMStoreTreeChangePublisher.class);
 
     private final QueuedNotificationManager<AbstractDOMDataTreeChangeListenerRegistration<?>, DataTreeCandidate>
         notificationManager;
 
+    // Non-null while a batch of candidates is being processed, guarded by this
+    private Map<AbstractDOMDataTreeChangeListenerRegistration<?>, List<DataTreeCandidate>> batchedChanges;
+
     InMemoryDOMStoreTreeChangePublisher(final ExecutorService listenerExecutor, final int maxQueueSize) {
-        notificationManager = QueuedNotificationManager.create(listenerExecutor, MANAGER_INVOKER, maxQueueSize,
-                "DataTreeChangeListenerQueueMgr");
+        this(listenerExecutor, maxQueueSize, false);
     }
 
-    private InMemoryDOMStoreTreeChangePublisher(final QueuedNotificationManager<
-            AbstractDOMDataTreeChangeListenerRegistration<?>, DataTreeCandidate> notificationManager) {
-        this.notificationManager = notificationManager;
+    /**
+     * Create a new publisher.
+     *
+     * @param listenerExecutor Executor used to dispatch notifications
+     * @param maxQueueSize Maximum size of per-listener notification queues
+     * @param coalesceChanges True if candidates queued for a listener should be merged into one net-effect candidate
+     *                        per path before delivery
+     */
+    InMemoryDOMStoreTreeChangePublisher(final ExecutorService listenerExecutor, final int maxQueueSize,
+            final boolean coalesceChanges) {
+        notificationManager = QueuedNotificationManager.create(listenerExecutor,
+                coalesceChanges ? COALESCING_INVOKER : MANAGER_INVOKER, maxQueueSize,
+                "DataTreeChangeListenerQueueMgr");
     }
 
     QueuedNotificationManager<?, ?> getNotificationManager() {
@@ -59,6 +94,11 @@ final class InMemoryDOMStoreTreeChangePublisher extends AbstractDOMStoreTreeChan
     @Override
     protected void notifyListener(final AbstractDOMDataTreeChangeListenerRegistration<?> registration,
             final Collection<DataTreeCandidate> changes) {
+        if (batchedChanges != null) {
+            batchedChanges.computeIfAbsent(registration, key -> new ArrayList<>()).addAll(changes);
+            return;
+        }
+
         LOG.debug("Enqueueing candidates {} for registration {}", changes, registration);
         notificationManager.submitNotifications(registration, changes);
     }
@@ -93,21 +133,86 @@ final class InMemoryDOMStoreTreeChangePublisher extends AbstractDOMStoreTreeChan
             }
         }
 
-        final DataTreeCandidate candidate = DataTreeCandidates.fromNormalizedNode(YangInstanceIdentifier.EMPTY, data);
-        final InMemoryDOMStoreTreeChangePublisher publisher = new InMemoryDOMStoreTreeChangePublisher(
-            notificationManager);
-        publisher.registerTreeChangeListener(treeId, listener);
-        if (!publisher.publishChange(candidate)) {
+        // Walk down to the registration path, so we touch only the nodes the listener is interested in
+        final List<DataTreeCandidate> candidates = new ArrayList<>(1);
+        collectInitialData(ImmutableList.copyOf(treeId.getPathArguments()), 0, YangInstanceIdentifier.EMPTY, data,
+            candidates);
+        if (candidates.isEmpty()) {
             // There is no data in the conceptual data tree then
             // notify with 'onInitialData()'.
             listener.onInitialData();
+        } else {
+            LOG.debug("Enqueueing initial candidates {} for registration {}", candidates, reg);
+            notificationManager.submitNotifications(reg, candidates);
         }
 
         return reg;
     }
 
+    /**
+     * Find all nodes matching a registration path, reporting each of them as a written candidate. Path arguments
+     * are matched the same way {@link AbstractDOMStoreTreeChangePublisher} matches them, i.e. a
+     * {@link NodeIdentifier} also matches any list entry or leaf-set entry of the same type.
+     *
+     * @param args Registration path arguments
+     * @param offset Index of the argument to match against children of {@code node}
+     * @param path Path of {@code node}
+     * @param node Current data node
+     * @param candidates Collection of candidates to append to
+     */
+    private static void collectInitialData(final List<PathArgument> args, final int offset,
+            final YangInstanceIdentifier path, final NormalizedNode<?, ?> node,
+            final List<DataTreeCandidate> candidates) {
+        if (offset == args.size()) {
+            candidates.add(DataTreeCandidates.fromNormalizedNode(path, node));
+            return;
+        }
+
+        final PathArgument arg = args.get(offset);
+        final Optional<NormalizedNode<?, ?>> exactChild = NormalizedNodes.getDirectChild(node, arg);
+        if (exactChild.isPresent()) {
+            collectInitialData(args, offset + 1, path.node(arg), exactChild.get(), candidates);
+        }
+
+        if (arg instanceof NodeIdentifier && (node instanceof MapNode || node instanceof LeafSetNode)) {
+            for (NormalizedNode<?, ?> child : ((NormalizedNodeContainer<?, ?, ?>) node).getValue()) {
+                final PathArgument childId = child.getIdentifier();
+                if ((childId instanceof NodeIdentifierWithPredicates || childId instanceof NodeWithValue)
+                        && arg.getNodeType().equals(childId.getNodeType())) {
+                    collectInitialData(args, offset + 1, path.node(childId), child, candidates);
+                }
+            }
+        }
+    }
+
     synchronized boolean publishChange(final @NonNull DataTreeCandidate candidate) {
         // Runs synchronized with registrationRemoved()
         return processCandidateTree(candidate);
     }
+
+    /**
+     * Publish a batch of candidates, in order. Each affected registration is handed all of its changes from the batch
+     * in a single submission.
+     *
+     * @param candidates Candidates to publish
+     */
+    synchronized void publishChanges(final @NonNull List<DataTreeCandidate> candidates) {
+        // Runs synchronized with registrationRemoved()
+        final Map<AbstractDOMDataTreeChangeListenerRegistration<?>, List<DataTreeCandidate>> changes =
+                new LinkedHashMap<>();
+        batchedChanges = changes;
+        try {
+            for (DataTreeCandidate candidate : candidates) {
+                processCandidateTree(candidate);
+            }
+        } finally {
+            batchedChanges = null;
+        }
+
+        for (Entry<AbstractDOMDataTreeChangeListenerRegistration<?>, List<DataTreeCandidate>> entry
+                : changes.entrySet()) {
+            LOG.debug("Enqueueing {} candidates for registration {}", entry.getValue().size(), entry.getKey());
+            notificationManager.submitNotifications(entry.getKey(), entry.getValue());
+        }
+    }
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+
+/**
+ * A {@link NormalizedNode} whose contents have been demoted to a read-only, memory-mapped buffer, encoded by
+ * {@link NormalizedNodeBinaryCodec}. Only the node identifier is retained on heap, the contents are decoded on first
+ * access and cached via a {@link SoftReference}, so that the garbage collector can reclaim them once they are no
+ * longer in use.
+ *
+ * <p>
+ * Instances are immutable, but they cannot be used as a base for modifications by the immutable node builders.
+ * {@link ColdSubtreeTier} takes care of replacing them with their {@link #materialize() materialized} form whenever
+ * a modification would require that.
+ *
+ * @param <T> Materialized node type
+ * @param <V> Value type
+ */
+abstract class MappedNormalizedNode<T extends NormalizedNode<NodeIdentifier, V>, V>
+        implements NormalizedNode<NodeIdentifier, V> {
+    private final NodeIdentifier identifier;
+    private final Class<T> type;
+    private final ByteBuffer buffer;
+
+    private volatile SoftReference<T> cache;
+
+    MappedNormalizedNode(final NodeIdentifier identifier, final Class<T> type, final ByteBuffer buffer) {
+        this.identifier = requireNonNull(identifier);
+        this.type = requireNonNull(type);
+        this.buffer = buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Check whether a node can be demoted.
+     *
+     * @param node Node to check
+     * @return True if the node can be represented by a {@link MappedNormalizedNode}
+     */
+    static boolean isSupported(final NormalizedNode<?, ?> node) {
+        return node instanceof ContainerNode || node instanceof MapNode && !(node instanceof OrderedMapNode);
+    }
+
+    /**
+     * Create a mapped node.
+     *
+     * @param node Node being demoted, must be {@link #isSupported(NormalizedNode) supported}
+     * @param buffer Buffer holding the node encoded by {@link NormalizedNodeBinaryCodec.Writer#writeNode}
+     * @return A mapped node
+     */
+    static MappedNormalizedNode<?, ?> create(final NormalizedNode<?, ?> node, final ByteBuffer buffer) {
+        if (node instanceof ContainerNode) {
+            return new MappedContainer(((ContainerNode) node).getIdentifier(), buffer);
+        }
+        checkState(isSupported(node), "Unsupported node %s", node);
+        return new MappedMap(((MapNode) node).getIdentifier(), buffer);
+    }
+
+    @Override
+    public final NodeIdentifier getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public final QName getNodeType() {
+        return identifier.getNodeType();
+    }
+
+    @Override
+    public final V getValue() {
+        return materialize().getValue();
+    }
+
+    /**
+     * Return the contents of this node as an on-heap node, decoding them if they are not cached.
+     *
+     * @return Materialized node
+     */
+    final T materialize() {
+        final SoftReference<T> ref = cache;
+        if (ref != null) {
+            final T cached = ref.get();
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final NormalizedNode<?, ?> node;
+        try {
+            node = new NormalizedNodeBinaryCodec.Reader(new DataInputStream(new BufferInputStream(
+                buffer.duplicate()))).readNode();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to decode mapped node " + identifier, e);
+        }
+        checkState(type.isInstance(node) && identifier.equals(node.getIdentifier()), "Unexpected mapped node %s",
+            node);
+
+        final T ret = type.cast(node);
+        cache = new SoftReference<>(ret);
+        return ret;
+    }
+
+    /**
+     * Drop the cached contents of this node, if any.
+     */
+    final void evict() {
+        cache = null;
+    }
+
+    @Override
+    public final int hashCode() {
+        return materialize().hashCode();
+    }
+
+    @Override
+    public final boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        final Object other = obj instanceof MappedNormalizedNode ? ((MappedNormalizedNode<?, ?>) obj).materialize()
+                : obj;
+        return materialize().equals(other);
+    }
+
+    @Override
+    public final String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", identifier).add("size", buffer.capacity())
+                .toString();
+    }
+
+    private static final class MappedContainer
+            extends MappedNormalizedNode<ContainerNode, Collection<DataContainerChild<? extends PathArgument, ?>>>
+            implements ContainerNode {
+        MappedContainer(final NodeIdentifier identifier, final ByteBuffer buffer) {
+            super(identifier, ContainerNode.class, buffer);
+        }
+
+        @Override
+        public Optional<DataContainerChild<? extends PathArgument, ?>> getChild(final PathArgument child) {
+            return materialize().getChild(child);
+        }
+
+        @Override
+        public Map<QName, String> getAttributes() {
+            return materialize().getAttributes();
+        }
+
+        @Override
+        public Object getAttributeValue(final QName name) {
+            return materialize().getAttributeValue(name);
+        }
+    }
+
+    private static final class MappedMap extends MappedNormalizedNode<MapNode, Collection<MapEntryNode>>
+            implements MapNode {
+        MappedMap(final NodeIdentifier identifier, final ByteBuffer buffer) {
+            super(identifier, MapNode.class, buffer);
+        }
+
+        @Override
+        public Optional<MapEntryNode> getChild(final NodeIdentifierWithPredicates child) {
+            return materialize().getChild(child);
+        }
+    }
+
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
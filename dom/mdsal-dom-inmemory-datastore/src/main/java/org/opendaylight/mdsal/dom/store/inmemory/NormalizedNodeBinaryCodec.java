@@ -0,0 +1,625 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.opendaylight.yangtools.yang.common.Empty;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedLeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Compact binary encoding of {@link NormalizedNode}s and {@link DataTreeCandidate}s, used to persist the contents of
+ * an {@link InMemoryDOMDataStore}. Each {@link Writer} maintains dictionaries of the {@link QNameModule}s and
+ * {@link QName}s it has emitted, so that each of them is written out in full only once per stream. A stream must
+ * therefore be read by a single {@link Reader}, from its beginning.
+ */
+final class NormalizedNodeBinaryCodec {
+    // Node types
+    private static final byte CONTAINER = 1;
+    private static final byte MAP = 2;
+    private static final byte ORDERED_MAP = 3;
+    private static final byte MAP_ENTRY = 4;
+    private static final byte UNKEYED_LIST = 5;
+    private static final byte UNKEYED_LIST_ENTRY = 6;
+    private static final byte LEAF_SET = 7;
+    private static final byte ORDERED_LEAF_SET = 8;
+    private static final byte LEAF_SET_ENTRY = 9;
+    private static final byte LEAF = 10;
+    private static final byte CHOICE = 11;
+    private static final byte AUGMENTATION = 12;
+    private static final byte ANYXML = 13;
+
+    // Path argument types
+    private static final byte NODE_IDENTIFIER = 1;
+    private static final byte NODE_IDENTIFIER_WITH_PREDICATES = 2;
+    private static final byte NODE_WITH_VALUE = 3;
+    private static final byte AUGMENTATION_IDENTIFIER = 4;
+
+    // Value types
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte BYTE = 3;
+    private static final byte SHORT = 4;
+    private static final byte INT = 5;
+    private static final byte LONG = 6;
+    private static final byte BIG_INTEGER = 7;
+    private static final byte BIG_DECIMAL = 8;
+    private static final byte BINARY = 9;
+    private static final byte QNAME = 10;
+    private static final byte BITS = 11;
+    private static final byte INSTANCE_IDENTIFIER = 12;
+    private static final byte EMPTY = 13;
+
+    // Candidate operations
+    private static final byte OP_END = 0;
+    private static final byte OP_WRITE = 1;
+    private static final byte OP_DELETE = 2;
+
+    // Dictionary references are written as positive integers, a new entry is introduced with this marker
+    private static final int NEW_ENTRY = 0;
+
+    private NormalizedNodeBinaryCodec() {
+        // Hidden on purpose
+    }
+
+    static final class Writer {
+        private final Map<QNameModule, Integer> modules = new HashMap<>();
+        private final Map<QName, Integer> qnames = new HashMap<>();
+        private final DataOutput out;
+
+        Writer(final DataOutput out) {
+            this.out = requireNonNull(out);
+        }
+
+        /**
+         * Write a {@link DataTreeCandidate} as a sequence of write and delete operations which, when applied to the
+         * tree the candidate was prepared against, have the same effect as the candidate.
+         *
+         * @param candidate Candidate to write
+         * @throws IOException if an I/O error occurs or the candidate contains unsupported data
+         */
+        void writeCandidate(final DataTreeCandidate candidate) throws IOException {
+            writeCandidateNode(candidate.getRootPath(), candidate.getRootNode());
+            out.writeByte(OP_END);
+        }
+
+        private void writeCandidateNode(final YangInstanceIdentifier path, final DataTreeCandidateNode node)
+                throws IOException {
+            switch (node.getModificationType()) {
+                case WRITE:
+                    final Optional<NormalizedNode<?, ?>> after = node.getDataAfter();
+                    if (after.isPresent()) {
+                        out.writeByte(OP_WRITE);
+                        writePath(path);
+                        writeNode(after.get());
+                        break;
+                    }
+                    // A write resulting in no data is a delete
+                    out.writeByte(OP_DELETE);
+                    writePath(path);
+                    break;
+                case DELETE:
+                    out.writeByte(OP_DELETE);
+                    writePath(path);
+                    break;
+                case APPEARED:
+                case DISAPPEARED:
+                case SUBTREE_MODIFIED:
+                    for (DataTreeCandidateNode child : node.getChildNodes()) {
+                        writeCandidateNode(path.node(child.getIdentifier()), child);
+                    }
+                    break;
+                case UNMODIFIED:
+                    break;
+                default:
+                    throw new IOException("Unhandled modification type " + node.getModificationType());
+            }
+        }
+
+        void writePath(final YangInstanceIdentifier path) throws IOException {
+            final List<PathArgument> args = path.getPathArguments();
+            out.writeInt(args.size());
+            for (PathArgument arg : args) {
+                writePathArgument(arg);
+            }
+        }
+
+        void writeNode(final NormalizedNode<?, ?> node) throws IOException {
+            if (node instanceof LeafNode) {
+                out.writeByte(LEAF);
+                writeQName(node.getNodeType());
+                writeValue(node.getValue());
+            } else if (node instanceof LeafSetEntryNode) {
+                out.writeByte(LEAF_SET_ENTRY);
+                writeQName(node.getNodeType());
+                writeValue(node.getValue());
+            } else if (node instanceof MapEntryNode) {
+                out.writeByte(MAP_ENTRY);
+                writePredicates((NodeIdentifierWithPredicates) node.getIdentifier());
+                writeChildren((NormalizedNodeContainer<?, ?, ?>) node);
+            } else if (node instanceof ContainerNode) {
+                writeContainer(CONTAINER, node);
+            } else if (node instanceof OrderedMapNode) {
+                writeContainer(ORDERED_MAP, node);
+            } else if (node instanceof MapNode) {
+                writeContainer(MAP, node);
+            } else if (node instanceof UnkeyedListEntryNode) {
+                writeContainer(UNKEYED_LIST_ENTRY, node);
+            } else if (node instanceof UnkeyedListNode) {
+                out.writeByte(UNKEYED_LIST);
+                writeQName(node.getNodeType());
+                final Collection<UnkeyedListEntryNode> entries = ((UnkeyedListNode) node).getValue();
+                out.writeInt(entries.size());
+                for (UnkeyedListEntryNode entry : entries) {
+                    writeNode(entry);
+                }
+            } else if (node instanceof OrderedLeafSetNode) {
+                writeContainer(ORDERED_LEAF_SET, node);
+            } else if (node instanceof LeafSetNode) {
+                writeContainer(LEAF_SET, node);
+            } else if (node instanceof ChoiceNode) {
+                writeContainer(CHOICE, node);
+            } else if (node instanceof AugmentationNode) {
+                out.writeByte(AUGMENTATION);
+                writeAugmentationIdentifier((AugmentationIdentifier) node.getIdentifier());
+                writeChildren((NormalizedNodeContainer<?, ?, ?>) node);
+            } else if (node instanceof AnyXmlNode) {
+                out.writeByte(ANYXML);
+                writeQName(node.getNodeType());
+                writeString(serializeXml(((AnyXmlNode) node).getValue()));
+            } else {
+                throw new IOException("Unsupported node " + node);
+            }
+        }
+
+        private void writeContainer(final byte type, final NormalizedNode<?, ?> node) throws IOException {
+            out.writeByte(type);
+            writeQName(node.getNodeType());
+            writeChildren((NormalizedNodeContainer<?, ?, ?>) node);
+        }
+
+        private void writeChildren(final NormalizedNodeContainer<?, ?, ?> node) throws IOException {
+            final Collection<? extends NormalizedNode<?, ?>> children = node.getValue();
+            out.writeInt(children.size());
+            for (NormalizedNode<?, ?> child : children) {
+                writeNode(child);
+            }
+        }
+
+        private void writePathArgument(final PathArgument arg) throws IOException {
+            if (arg instanceof NodeIdentifierWithPredicates) {
+                out.writeByte(NODE_IDENTIFIER_WITH_PREDICATES);
+                writePredicates((NodeIdentifierWithPredicates) arg);
+            } else if (arg instanceof NodeWithValue) {
+                out.writeByte(NODE_WITH_VALUE);
+                writeQName(arg.getNodeType());
+                writeValue(((NodeWithValue<?>) arg).getValue());
+            } else if (arg instanceof AugmentationIdentifier) {
+                out.writeByte(AUGMENTATION_IDENTIFIER);
+                writeAugmentationIdentifier((AugmentationIdentifier) arg);
+            } else if (arg instanceof NodeIdentifier) {
+                out.writeByte(NODE_IDENTIFIER);
+                writeQName(arg.getNodeType());
+            } else {
+                throw new IOException("Unsupported path argument " + arg);
+            }
+        }
+
+        private void writePredicates(final NodeIdentifierWithPredicates arg) throws IOException {
+            writeQName(arg.getNodeType());
+            final Map<QName, Object> keys = arg.getKeyValues();
+            out.writeInt(keys.size());
+            for (Entry<QName, Object> entry : keys.entrySet()) {
+                writeQName(entry.getKey());
+                writeValue(entry.getValue());
+            }
+        }
+
+        private void writeAugmentationIdentifier(final AugmentationIdentifier arg) throws IOException {
+            final Set<QName> names = arg.getPossibleChildNames();
+            out.writeInt(names.size());
+            for (QName name : names) {
+                writeQName(name);
+            }
+        }
+
+        private void writeValue(final Object value) throws IOException {
+            if (value instanceof String) {
+                out.writeByte(STRING);
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Byte) {
+                out.writeByte(BYTE);
+                out.writeByte((Byte) value);
+            } else if (value instanceof Short) {
+                out.writeByte(SHORT);
+                out.writeShort((Short) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(INT);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof BigInteger) {
+                out.writeByte(BIG_INTEGER);
+                writeBytes(((BigInteger) value).toByteArray());
+            } else if (value instanceof BigDecimal) {
+                out.writeByte(BIG_DECIMAL);
+                writeString(value.toString());
+            } else if (value instanceof byte[]) {
+                out.writeByte(BINARY);
+                writeBytes((byte[]) value);
+            } else if (value instanceof QName) {
+                out.writeByte(QNAME);
+                writeQName((QName) value);
+            } else if (value instanceof Set) {
+                out.writeByte(BITS);
+                final Set<?> bits = (Set<?>) value;
+                out.writeInt(bits.size());
+                for (Object bit : bits) {
+                    writeString((String) bit);
+                }
+            } else if (value instanceof YangInstanceIdentifier) {
+                out.writeByte(INSTANCE_IDENTIFIER);
+                writePath((YangInstanceIdentifier) value);
+            } else if (value instanceof Empty) {
+                out.writeByte(EMPTY);
+            } else {
+                throw new IOException("Unsupported value " + value + " of " + (value == null ? null
+                        : value.getClass()));
+            }
+        }
+
+        private void writeQName(final QName qname) throws IOException {
+            final Integer ref = qnames.get(qname);
+            if (ref != null) {
+                out.writeInt(ref);
+                return;
+            }
+
+            out.writeInt(NEW_ENTRY);
+            writeModule(qname.getModule());
+            writeString(qname.getLocalName());
+            qnames.put(qname, qnames.size() + 1);
+        }
+
+        private void writeModule(final QNameModule module) throws IOException {
+            final Integer ref = modules.get(module);
+            if (ref != null) {
+                out.writeInt(ref);
+                return;
+            }
+
+            out.writeInt(NEW_ENTRY);
+            writeString(module.getNamespace().toString());
+            final Optional<Revision> revision = module.getRevision();
+            out.writeBoolean(revision.isPresent());
+            if (revision.isPresent()) {
+                writeString(revision.get().toString());
+            }
+            modules.put(module, modules.size() + 1);
+        }
+
+        private void writeString(final String str) throws IOException {
+            writeBytes(str.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void writeBytes(final byte[] bytes) throws IOException {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    static final class Reader {
+        private final List<QNameModule> modules = new ArrayList<>();
+        private final List<QName> qnames = new ArrayList<>();
+        private final DataInput in;
+
+        Reader(final DataInput in) {
+            this.in = requireNonNull(in);
+        }
+
+        /**
+         * Read a candidate written by {@link Writer#writeCandidate(DataTreeCandidate)} and apply it to a
+         * modification.
+         *
+         * @param modification Modification to apply the candidate to
+         * @throws IOException if an I/O error occurs or the stream is malformed
+         */
+        void readCandidate(final DataTreeModification modification) throws IOException {
+            while (true) {
+                final byte op = in.readByte();
+                switch (op) {
+                    case OP_END:
+                        return;
+                    case OP_WRITE:
+                        final YangInstanceIdentifier path = readPath();
+                        modification.write(path, readNode());
+                        break;
+                    case OP_DELETE:
+                        modification.delete(readPath());
+                        break;
+                    default:
+                        throw new IOException("Unknown operation " + op);
+                }
+            }
+        }
+
+        YangInstanceIdentifier readPath() throws IOException {
+            final int size = readSize();
+            final List<PathArgument> args = new ArrayList<>(size);
+            for (int i = 0; i < size; ++i) {
+                args.add(readPathArgument());
+            }
+            return YangInstanceIdentifier.create(args);
+        }
+
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        NormalizedNode<?, ?> readNode() throws IOException {
+            final byte type = in.readByte();
+            switch (type) {
+                case LEAF:
+                    return Builders.leafBuilder().withNodeIdentifier(new NodeIdentifier(readQName()))
+                            .withValue(readValue()).build();
+                case LEAF_SET_ENTRY:
+                    final QName entryName = readQName();
+                    final Object entryValue = readValue();
+                    return Builders.leafSetEntryBuilder().withNodeIdentifier(new NodeWithValue(entryName, entryValue))
+                            .withValue(entryValue).build();
+                case MAP_ENTRY:
+                    return readChildren(Builders.mapEntryBuilder(),
+                        readPredicates());
+                case CONTAINER:
+                    return readChildren(Builders.containerBuilder(),
+                        new NodeIdentifier(readQName()));
+                case MAP:
+                    return readChildren(Builders.mapBuilder(), new NodeIdentifier(readQName()));
+                case ORDERED_MAP:
+                    return readChildren(Builders.orderedMapBuilder(), new NodeIdentifier(readQName()));
+                case UNKEYED_LIST_ENTRY:
+                    return readChildren(Builders.unkeyedListEntryBuilder(),
+                        new NodeIdentifier(readQName()));
+                case UNKEYED_LIST:
+                    return readChildren(Builders.unkeyedListBuilder(), new NodeIdentifier(readQName()));
+                case LEAF_SET:
+                    return readChildren(Builders.leafSetBuilder(), new NodeIdentifier(readQName()));
+                case ORDERED_LEAF_SET:
+                    return readChildren(Builders.orderedLeafSetBuilder(), new NodeIdentifier(readQName()));
+                case CHOICE:
+                    return readChildren(Builders.choiceBuilder(), new NodeIdentifier(readQName()));
+                case AUGMENTATION:
+                    return readChildren(Builders.augmentationBuilder(), readAugmentationIdentifier());
+                case ANYXML:
+                    return Builders.anyXmlBuilder().withNodeIdentifier(new NodeIdentifier(readQName()))
+                            .withValue(parseXml(readString())).build();
+                default:
+                    throw new IOException("Unknown node type " + type);
+            }
+        }
+
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        private NormalizedNode<?, ?> readChildren(final NormalizedNodeContainerBuilder builder,
+                final PathArgument identifier) throws IOException {
+            builder.withNodeIdentifier(identifier);
+            final int size = readSize();
+            for (int i = 0; i < size; ++i) {
+                builder.addChild(readNode());
+            }
+            return builder.build();
+        }
+
+        private PathArgument readPathArgument() throws IOException {
+            final byte type = in.readByte();
+            switch (type) {
+                case NODE_IDENTIFIER:
+                    return new NodeIdentifier(readQName());
+                case NODE_IDENTIFIER_WITH_PREDICATES:
+                    return readPredicates();
+                case NODE_WITH_VALUE:
+                    final QName name = readQName();
+                    return new NodeWithValue<>(name, readValue());
+                case AUGMENTATION_IDENTIFIER:
+                    return readAugmentationIdentifier();
+                default:
+                    throw new IOException("Unknown path argument type " + type);
+            }
+        }
+
+        private NodeIdentifierWithPredicates readPredicates() throws IOException {
+            final QName name = readQName();
+            final int size = readSize();
+            if (size == 1) {
+                return new NodeIdentifierWithPredicates(name, readQName(), readValue());
+            }
+
+            final ImmutableMap.Builder<QName, Object> keys = ImmutableMap.builder();
+            for (int i = 0; i < size; ++i) {
+                keys.put(readQName(), readValue());
+            }
+            return new NodeIdentifierWithPredicates(name, keys.build());
+        }
+
+        private AugmentationIdentifier readAugmentationIdentifier() throws IOException {
+            final int size = readSize();
+            final ImmutableSet.Builder<QName> names = ImmutableSet.builder();
+            for (int i = 0; i < size; ++i) {
+                names.add(readQName());
+            }
+            return new AugmentationIdentifier(names.build());
+        }
+
+        private Object readValue() throws IOException {
+            final byte type = in.readByte();
+            switch (type) {
+                case STRING:
+                    return readString();
+                case BOOLEAN:
+                    return in.readBoolean();
+                case BYTE:
+                    return in.readByte();
+                case SHORT:
+                    return in.readShort();
+                case INT:
+                    return in.readInt();
+                case LONG:
+                    return in.readLong();
+                case BIG_INTEGER:
+                    return new BigInteger(readBytes());
+                case BIG_DECIMAL:
+                    return new BigDecimal(readString());
+                case BINARY:
+                    return readBytes();
+                case QNAME:
+                    return readQName();
+                case BITS:
+                    final int size = readSize();
+                    final ImmutableSet.Builder<String> bits = ImmutableSet.builder();
+                    for (int i = 0; i < size; ++i) {
+                        bits.add(readString());
+                    }
+                    return bits.build();
+                case INSTANCE_IDENTIFIER:
+                    return readPath();
+                case EMPTY:
+                    return Empty.getInstance();
+                default:
+                    throw new IOException("Unknown value type " + type);
+            }
+        }
+
+        private QName readQName() throws IOException {
+            final int ref = in.readInt();
+            if (ref != NEW_ENTRY) {
+                return lookup(qnames, ref);
+            }
+
+            final QName qname = QName.create(readModule(), readString()).intern();
+            qnames.add(qname);
+            return qname;
+        }
+
+        private QNameModule readModule() throws IOException {
+            final int ref = in.readInt();
+            if (ref != NEW_ENTRY) {
+                return lookup(modules, ref);
+            }
+
+            final URI namespace = URI.create(readString());
+            final Optional<Revision> revision = in.readBoolean() ? Optional.of(Revision.of(readString()))
+                    : Optional.empty();
+            final QNameModule module = QNameModule.create(namespace, revision);
+            modules.add(module);
+            return module;
+        }
+
+        private String readString() throws IOException {
+            return new String(readBytes(), StandardCharsets.UTF_8);
+        }
+
+        private byte[] readBytes() throws IOException {
+            final byte[] bytes = new byte[readSize()];
+            in.readFully(bytes);
+            return bytes;
+        }
+
+        private int readSize() throws IOException {
+            final int size = in.readInt();
+            if (size < 0) {
+                throw new IOException("Invalid size " + size);
+            }
+            return size;
+        }
+
+        private static <T> T lookup(final List<T> dictionary, final int ref) throws IOException {
+            if (ref < 1 || ref > dictionary.size()) {
+                throw new IOException("Invalid dictionary reference " + ref);
+            }
+            return dictionary.get(ref - 1);
+        }
+    }
+
+    private static String serializeXml(final DOMSource source) throws IOException {
+        final StringWriter writer = new StringWriter();
+        try {
+            TransformerFactory.newInstance().newTransformer().transform(source, new StreamResult(writer));
+        } catch (TransformerException e) {
+            throw new IOException("Failed to serialize " + source, e);
+        }
+        return writer.toString();
+    }
+
+    private static DOMSource parseXml(final String xml) throws IOException {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        final Document doc;
+        try {
+            doc = factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Failed to parse anyxml content", e);
+        }
+        return new DOMSource(doc.getDocumentElement());
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.util.MapAdaptor;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * An immutable version of a secondary index of a keyed list, mapping values of a leaf of the list entries to the paths
+ * of the entries. The list is identified by the path of its entries, where a {@link NodeIdentifier} argument matching
+ * a map node selects all of its entries.
+ *
+ * <p>
+ * A new version is derived from the previous one for each committed {@link DataTreeCandidate}, visiting only
+ * the modified entries. Both the index and its per-value path sets are held in maps provided by {@link MapAdaptor},
+ * which switches large maps to a persistent implementation, so that deriving a version does not copy them.
+ */
+final class SecondaryIndex {
+    private static final MapAdaptor ADAPTOR = MapAdaptor.getDefaultInstance();
+
+    private final YangInstanceIdentifier list;
+    private final YangInstanceIdentifier leaf;
+    private final List<PathArgument> pattern;
+    // Path sets are maps with Boolean.TRUE values, as MapAdaptor does not provide persistent sets
+    private final Map<Object, Map<YangInstanceIdentifier, Boolean>> values;
+
+    private SecondaryIndex(final SecondaryIndex prev, final Map<Object, Map<YangInstanceIdentifier, Boolean>> values) {
+        this.list = prev.list;
+        this.leaf = prev.leaf;
+        this.pattern = prev.pattern;
+        this.values = requireNonNull(values);
+    }
+
+    private SecondaryIndex(final YangInstanceIdentifier list, final YangInstanceIdentifier leaf) {
+        this.list = requireNonNull(list);
+        this.leaf = requireNonNull(leaf);
+        this.pattern = list.getPathArguments();
+        this.values = ImmutableMap.of();
+
+        final int size = pattern.size();
+        checkArgument(size >= 2 && pattern.get(size - 1) instanceof NodeIdentifier
+            && pattern.get(size - 2).equals(pattern.get(size - 1)), "%s does not select entries of a list", list);
+        checkArgument(!YangInstanceIdentifier.EMPTY.equals(leaf), "Leaf of index of %s is not specified", list);
+    }
+
+    /**
+     * Create an index of a list, populated from existing data.
+     *
+     * @param list Wildcarded path of the list entries
+     * @param leaf Path of the indexed leaf, relative to a list entry
+     * @param root Root node of the data tree
+     * @return A populated index
+     * @throws IllegalArgumentException if the list path does not end with a wildcard or the leaf path is empty
+     */
+    static SecondaryIndex create(final YangInstanceIdentifier list, final YangInstanceIdentifier leaf,
+            final NormalizedNode<?, ?> root) {
+        final SecondaryIndex empty = new SecondaryIndex(list, leaf);
+        final Updater updater = empty.new Updater();
+        empty.populate(updater, root, YangInstanceIdentifier.EMPTY, 0);
+        return updater.build();
+    }
+
+    YangInstanceIdentifier getList() {
+        return list;
+    }
+
+    YangInstanceIdentifier getLeaf() {
+        return leaf;
+    }
+
+    /**
+     * Return the paths of entries whose indexed leaf has the specified value.
+     *
+     * @param value Leaf value
+     * @return Paths of matching entries
+     */
+    Iterable<YangInstanceIdentifier> lookup(final Object value) {
+        final Map<YangInstanceIdentifier, Boolean> paths = values.get(value);
+        return paths == null ? ImmutableSet.of() : paths.keySet();
+    }
+
+    /**
+     * Derive the version of this index reflecting a committed candidate.
+     *
+     * @param candidate Committed candidate
+     * @return Updated index, or this index if the candidate did not affect it
+     */
+    SecondaryIndex update(final DataTreeCandidate candidate) {
+        final List<PathArgument> rootArgs = candidate.getRootPath().getPathArguments();
+        if (rootArgs.size() > pattern.size()) {
+            // Candidates rooted inside a list entry are not expected from the data tree
+            return this;
+        }
+        for (int i = 0; i < rootArgs.size(); ++i) {
+            final PathArgument arg = pattern.get(i);
+            final PathArgument rootArg = rootArgs.get(i);
+            if (!arg.equals(rootArg) && !(isWildcard(i) && arg.getNodeType().equals(rootArg.getNodeType()))) {
+                return this;
+            }
+        }
+
+        final Updater updater = new Updater();
+        update(updater, candidate.getRootNode(), candidate.getRootPath(), rootArgs.size());
+        return updater.build();
+    }
+
+    private boolean isWildcard(final int depth) {
+        return depth > 0 && pattern.get(depth) instanceof NodeIdentifier
+                && pattern.get(depth - 1).equals(pattern.get(depth));
+    }
+
+    private void populate(final Updater updater, final NormalizedNode<?, ?> node, final YangInstanceIdentifier path,
+            final int depth) {
+        if (depth == pattern.size()) {
+            updater.add(leafValue(node), path);
+            return;
+        }
+
+        final PathArgument arg = pattern.get(depth);
+        if (node instanceof MapNode && arg instanceof NodeIdentifier) {
+            for (NormalizedNode<?, ?> child : ((MapNode) node).getValue()) {
+                populate(updater, child, path.node(child.getIdentifier()), depth + 1);
+            }
+        } else {
+            final Optional<NormalizedNode<?, ?>> child = NormalizedNodes.getDirectChild(node, arg);
+            if (child.isPresent()) {
+                populate(updater, child.get(), path.node(arg), depth + 1);
+            }
+        }
+    }
+
+    private void update(final Updater updater, final DataTreeCandidateNode node, final YangInstanceIdentifier path,
+            final int depth) {
+        if (node.getModificationType() == ModificationType.UNMODIFIED) {
+            return;
+        }
+        if (depth == pattern.size()) {
+            final Object before = node.getDataBefore().map(this::leafValue).orElse(null);
+            final Object after = node.getDataAfter().map(this::leafValue).orElse(null);
+            if (before == null ? after != null : !before.equals(after)) {
+                updater.remove(before, path);
+                updater.add(after, path);
+            }
+            return;
+        }
+
+        final PathArgument arg = pattern.get(depth);
+        final NormalizedNode<?, ?> data = node.getDataAfter().orElse(node.getDataBefore().orElse(null));
+        if (data instanceof MapNode && arg instanceof NodeIdentifier) {
+            for (DataTreeCandidateNode child : node.getChildNodes()) {
+                update(updater, child, path.node(child.getIdentifier()), depth + 1);
+            }
+        } else {
+            final DataTreeCandidateNode child = node.getModifiedChild(arg);
+            if (child != null) {
+                update(updater, child, path.node(arg), depth + 1);
+            }
+        }
+    }
+
+    private @Nullable Object leafValue(final NormalizedNode<?, ?> entry) {
+        final Optional<NormalizedNode<?, ?>> node = NormalizedNodes.findNode(entry, leaf.getPathArguments());
+        return node.isPresent() && node.get() instanceof LeafNode ? node.get().getValue() : null;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("list", list).add("leaf", leaf).add("values", values.size())
+                .toString();
+    }
+
+    /**
+     * Accumulates changes to an index version, copying its maps only once they are actually modified.
+     */
+    private final class Updater {
+        private Map<Object, Map<YangInstanceIdentifier, Boolean>> mutable;
+
+        void add(final @Nullable Object value, final YangInstanceIdentifier path) {
+            if (value != null) {
+                final Map<YangInstanceIdentifier, Boolean> prev = mutable().get(value);
+                final Map<YangInstanceIdentifier, Boolean> paths = prev == null ? ADAPTOR.initialSnapshot(1)
+                        : ADAPTOR.takeSnapshot(prev);
+                paths.put(path, Boolean.TRUE);
+                mutable.put(value, ADAPTOR.optimize(paths));
+            }
+        }
+
+        void remove(final @Nullable Object value, final YangInstanceIdentifier path) {
+            if (value != null) {
+                final Map<YangInstanceIdentifier, Boolean> prev = mutable().get(value);
+                if (prev != null && prev.containsKey(path)) {
+                    if (prev.size() == 1) {
+                        mutable.remove(value);
+                    } else {
+                        final Map<YangInstanceIdentifier, Boolean> paths = ADAPTOR.takeSnapshot(prev);
+                        paths.remove(path);
+                        mutable.put(value, ADAPTOR.optimize(paths));
+                    }
+                }
+            }
+        }
+
+        SecondaryIndex build() {
+            return mutable == null ? SecondaryIndex.this : new SecondaryIndex(SecondaryIndex.this,
+                ADAPTOR.optimize(mutable));
+        }
+
+        private Map<Object, Map<YangInstanceIdentifier, Boolean>> mutable() {
+            if (mutable == null) {
+                mutable = ADAPTOR.takeSnapshot(values);
+            }
+            return mutable;
+        }
+    }
+}
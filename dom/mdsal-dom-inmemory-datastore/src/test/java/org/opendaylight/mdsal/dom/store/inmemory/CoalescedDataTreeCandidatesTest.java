@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.store.impl.TestModel;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+
+public class CoalescedDataTreeCandidatesTest {
+
+    private DataTree dataTree;
+
+    @Before
+    public void setUp() {
+        dataTree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL);
+        dataTree.setSchemaContext(TestModel.createTestContext());
+    }
+
+    @Test
+    public void testSingleCandidate() throws Exception {
+        final DataTreeCandidate candidate = write(TestModel.TEST_PATH,
+            ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+
+        final List<DataTreeCandidate> result = CoalescedDataTreeCandidates.coalesce(ImmutableList.of(candidate));
+        assertEquals(1, result.size());
+        assertSame(candidate, result.get(0));
+    }
+
+    @Test
+    public void testNetEffect() throws Exception {
+        final DataTreeCandidate first = write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        final DataTreeCandidate second = writeOuterList(1);
+        final DataTreeCandidate third = writeOuterList(2);
+
+        final List<DataTreeCandidate> result = CoalescedDataTreeCandidates.coalesce(
+            ImmutableList.of(first, second, third));
+        assertEquals(1, result.size());
+
+        final DataTreeCandidate candidate = result.get(0);
+        assertEquals(YangInstanceIdentifier.EMPTY, candidate.getRootPath());
+        final DataTreeCandidateNode root = candidate.getRootNode();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, root.getModificationType());
+        assertSame(first.getRootNode().getDataBefore().get(), root.getDataBefore().get());
+        assertSame(third.getRootNode().getDataAfter().get(), root.getDataAfter().get());
+
+        final DataTreeCandidateNode test = root.getModifiedChild(new NodeIdentifier(TestModel.TEST_QNAME));
+        assertNotNull(test);
+        assertEquals(ModificationType.WRITE, test.getModificationType());
+        assertFalse(test.getDataBefore().isPresent());
+        assertEquals(1, root.getChildNodes().size());
+    }
+
+    @Test
+    public void testModifiedChildrenOnly() throws Exception {
+        write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1))
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2))
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3))
+            .build());
+
+        final YangInstanceIdentifier entryPath = TestModel.OUTER_LIST_PATH.node(
+            new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2));
+        final DataTreeCandidate first = write(entryPath.node(new NodeIdentifier(TestModel.TWO_QNAME)),
+            ImmutableNodes.leafNode(TestModel.TWO_QNAME, "first"));
+        final DataTreeCandidate second = write(entryPath.node(new NodeIdentifier(TestModel.TWO_QNAME)),
+            ImmutableNodes.leafNode(TestModel.TWO_QNAME, "second"));
+
+        final List<DataTreeCandidate> result = CoalescedDataTreeCandidates.coalesce(ImmutableList.of(first, second));
+        assertEquals(1, result.size());
+
+        // Untouched entries are not reported, nor is the intermediate value
+        final DataTreeCandidateNode list = result.get(0).getRootNode()
+                .getModifiedChild(new NodeIdentifier(TestModel.TEST_QNAME))
+                .getModifiedChild(new NodeIdentifier(TestModel.OUTER_LIST_QNAME));
+        assertEquals(ModificationType.SUBTREE_MODIFIED, list.getModificationType());
+        assertEquals(1, list.getChildNodes().size());
+
+        final DataTreeCandidateNode entry = list.getChildNodes().iterator().next();
+        assertEquals(entryPath.getLastPathArgument(), entry.getIdentifier());
+        final DataTreeCandidateNode two = entry.getModifiedChild(new NodeIdentifier(TestModel.TWO_QNAME));
+        assertEquals(ModificationType.WRITE, two.getModificationType());
+        assertFalse(two.getDataBefore().isPresent());
+        assertEquals("second", two.getDataAfter().get().getValue());
+    }
+
+    @Test
+    public void testNoNetEffect() throws Exception {
+        final NormalizedNode<?, ?> data = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+        final DataTreeCandidate first = write(TestModel.TEST_PATH, data);
+        final DataTreeCandidate second = delete(TestModel.TEST_PATH);
+
+        assertTrue(CoalescedDataTreeCandidates.coalesce(ImmutableList.of(first, second)).isEmpty());
+    }
+
+    private DataTreeCandidate writeOuterList(final int id) throws Exception {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id)).build());
+        return commit(mod);
+    }
+
+    private DataTreeCandidate write(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data)
+            throws Exception {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(path, data);
+        return commit(mod);
+    }
+
+    private DataTreeCandidate delete(final YangInstanceIdentifier path) throws Exception {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.delete(path);
+        return commit(mod);
+    }
+
+    private DataTreeCandidate commit(final DataTreeModification mod) throws Exception {
+        mod.ready();
+        dataTree.validate(mod);
+        final DataTreeCandidate candidate = dataTree.prepare(mod);
+        dataTree.commit(candidate);
+        return candidate;
+    }
+}
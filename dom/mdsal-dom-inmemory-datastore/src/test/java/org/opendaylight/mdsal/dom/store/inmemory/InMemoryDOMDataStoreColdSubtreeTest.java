@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.md.sal.dom.store.impl.TestModel;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreReadWriteTransaction;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class InMemoryDOMDataStoreColdSubtreeTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private InMemoryDOMDataStore domStore;
+
+    @Before
+    public void setUp() throws Exception {
+        domStore = new InMemoryDOMDataStore("TEST", MoreExecutors.newDirectExecutorService());
+        domStore.onGlobalContextUpdated(TestModel.createTestContext());
+        domStore.enableColdSubtreeTiering(folder.getRoot().toPath(), ImmutableList.of(TestModel.OUTER_LIST_PATH),
+            TimeUnit.HOURS.toMillis(1));
+
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        tx.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        tx.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1))
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2))
+            .build());
+        commit(tx);
+    }
+
+    @After
+    public void tearDown() {
+        domStore.close();
+    }
+
+    @Test
+    public void testDemotion() throws Exception {
+        final NormalizedNode<?, ?> expected = read(TestModel.OUTER_LIST_PATH);
+        assertFalse(expected instanceof MappedNormalizedNode);
+
+        domStore.demoteColdSubtrees();
+        final NormalizedNode<?, ?> demoted = read(TestModel.OUTER_LIST_PATH);
+        assertTrue(demoted instanceof MappedNormalizedNode);
+        assertTrue(demoted instanceof MapNode);
+        assertEquals(demoted, expected);
+        assertEquals(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1),
+            read(outerListEntry(1)));
+    }
+
+    @Test
+    public void testModificationInsideDemotedSubtree() throws Exception {
+        domStore.demoteColdSubtrees();
+
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        tx.write(outerListEntry(3), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3));
+        tx.delete(outerListEntry(1));
+        commit(tx);
+
+        final NormalizedNode<?, ?> promoted = read(TestModel.OUTER_LIST_PATH);
+        assertFalse(promoted instanceof MappedNormalizedNode);
+        assertEquals(2, ((MapNode) promoted).getValue().size());
+        assertTrue(((MapNode) promoted).getChild(outerListEntryId(3)).isPresent());
+
+        domStore.demoteColdSubtrees();
+        final NormalizedNode<?, ?> demoted = read(TestModel.OUTER_LIST_PATH);
+        assertTrue(demoted instanceof MappedNormalizedNode);
+        assertEquals(demoted, promoted);
+    }
+
+    @Test
+    public void testPromotionDeferredUntilCommit() throws Exception {
+        domStore.demoteColdSubtrees();
+
+        final DOMStoreReadWriteTransaction tx = domStore.newReadWriteTransaction();
+        tx.write(outerListEntry(3), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3));
+        final Optional<NormalizedNode<?, ?>> modified = tx.read(TestModel.OUTER_LIST_PATH).get();
+        assertTrue(modified.isPresent());
+        assertEquals(3, ((MapNode) modified.get()).getValue().size());
+
+        // The transaction works on its own promotion, the store is not touched until it commits
+        assertTrue(read(TestModel.OUTER_LIST_PATH) instanceof MappedNormalizedNode);
+
+        commit(tx);
+        final NormalizedNode<?, ?> promoted = read(TestModel.OUTER_LIST_PATH);
+        assertFalse(promoted instanceof MappedNormalizedNode);
+        assertEquals(modified.get(), promoted);
+    }
+
+    @Test
+    public void testAbortedPromotion() throws Exception {
+        domStore.demoteColdSubtrees();
+
+        final DOMStoreWriteTransaction aborted = domStore.newWriteOnlyTransaction();
+        aborted.write(outerListEntry(3), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3));
+        aborted.close();
+        assertTrue(read(TestModel.OUTER_LIST_PATH) instanceof MappedNormalizedNode);
+
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        tx.write(outerListEntry(4), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 4));
+        commit(tx);
+
+        final MapNode list = (MapNode) read(TestModel.OUTER_LIST_PATH);
+        assertFalse(list instanceof MappedNormalizedNode);
+        assertEquals(3, list.getValue().size());
+        assertFalse(list.getChild(outerListEntryId(3)).isPresent());
+        assertTrue(list.getChild(outerListEntryId(4)).isPresent());
+    }
+
+    @Test
+    public void testMergeIntoDemotedSubtree() throws Exception {
+        domStore.demoteColdSubtrees();
+
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        tx.merge(TestModel.TEST_PATH, Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+            .withChild(ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+                .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 4)).build())
+            .build());
+        commit(tx);
+
+        final MapNode merged = (MapNode) read(TestModel.OUTER_LIST_PATH);
+        assertEquals(3, merged.getValue().size());
+        assertTrue(merged.getChild(outerListEntryId(1)).isPresent());
+        assertTrue(merged.getChild(outerListEntryId(4)).isPresent());
+    }
+
+    @Test
+    public void testDemotionNotPublished() {
+        final DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        doNothing().when(listener).onDataTreeChanged(any());
+        domStore.registerTreeChangeListener(TestModel.OUTER_LIST_PATH, listener);
+        verify(listener).onDataTreeChanged(any());
+
+        domStore.demoteColdSubtrees();
+        verify(listener).onDataTreeChanged(any());
+    }
+
+    @Test
+    public void testPromotionNotPublished() throws Exception {
+        domStore.demoteColdSubtrees();
+
+        final DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        doNothing().when(listener).onDataTreeChanged(any());
+        domStore.registerTreeChangeListener(TestModel.OUTER_LIST_PATH, listener);
+
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        tx.write(outerListEntry(3), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3));
+        commit(tx);
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Collection<DataTreeCandidate>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(listener, times(2)).onDataTreeChanged(captor.capture());
+        final Collection<DataTreeCandidate> changes = captor.getAllValues().get(1);
+        assertEquals(1, changes.size());
+
+        // Only the written entry is reported, not a replacement of the whole list
+        final DataTreeCandidateNode list = changes.iterator().next().getRootNode();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, list.getModificationType());
+        assertEquals(1, list.getChildNodes().size());
+        final DataTreeCandidateNode entry = list.getChildNodes().iterator().next();
+        assertEquals(outerListEntryId(3), entry.getIdentifier());
+        assertEquals(ModificationType.WRITE, entry.getModificationType());
+    }
+
+    @Test
+    public void testConcurrentDisjointModifications() throws Exception {
+        domStore.demoteColdSubtrees();
+
+        final DOMStoreWriteTransaction first = domStore.newWriteOnlyTransaction();
+        final DOMStoreWriteTransaction second = domStore.newWriteOnlyTransaction();
+        final DOMStoreWriteTransaction third = domStore.newWriteOnlyTransaction();
+        first.write(outerListEntry(3), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3));
+        second.delete(outerListEntry(2));
+        commit(first);
+        commit(second);
+
+        // Rebased onto the same promotion even though the promotion has been modified since
+        third.write(outerListEntry(4), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 4));
+        commit(third);
+
+        final MapNode list = (MapNode) read(TestModel.OUTER_LIST_PATH);
+        final List<NodeIdentifierWithPredicates> expected = ImmutableList.of(outerListEntryId(1),
+            outerListEntryId(3), outerListEntryId(4));
+        assertEquals(expected.size(), list.getValue().size());
+        for (NodeIdentifierWithPredicates id : expected) {
+            assertTrue(list.getChild(id).isPresent());
+        }
+    }
+
+    @Test
+    public void testNoDemotionOfValidatedModification() throws Exception {
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        tx.write(outerListEntry(3), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3));
+        final DOMStoreThreePhaseCommitCohort cohort = tx.ready();
+        assertTrue(cohort.canCommit().get());
+
+        // The modification has been validated against the heap subtree, which has to stay until it is committed
+        domStore.demoteColdSubtrees();
+        assertFalse(read(TestModel.OUTER_LIST_PATH) instanceof MappedNormalizedNode);
+
+        cohort.preCommit().get();
+        cohort.commit().get();
+        domStore.demoteColdSubtrees();
+        final MapNode demoted = (MapNode) read(TestModel.OUTER_LIST_PATH);
+        assertTrue(demoted instanceof MappedNormalizedNode);
+        assertEquals(3, demoted.getValue().size());
+    }
+
+    @Test
+    public void testNoDemotionAfterUnvalidatedCommit() throws Exception {
+        // Committed without canCommit(), which must not offset the validation count
+        final DOMStoreWriteTransaction unvalidated = domStore.newWriteOnlyTransaction();
+        unvalidated.write(outerListEntry(3), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME,
+            3));
+        final DOMStoreThreePhaseCommitCohort unvalidatedCohort = unvalidated.ready();
+        unvalidatedCohort.preCommit().get();
+        unvalidatedCohort.commit().get();
+
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        tx.write(outerListEntry(4), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 4));
+        final DOMStoreThreePhaseCommitCohort cohort = tx.ready();
+        assertTrue(cohort.canCommit().get());
+
+        domStore.demoteColdSubtrees();
+        assertFalse(read(TestModel.OUTER_LIST_PATH) instanceof MappedNormalizedNode);
+
+        cohort.abort().get();
+        domStore.demoteColdSubtrees();
+        assertTrue(read(TestModel.OUTER_LIST_PATH) instanceof MappedNormalizedNode);
+    }
+
+    private NormalizedNode<?, ?> read(final YangInstanceIdentifier path) throws Exception {
+        final Optional<NormalizedNode<?, ?>> data = domStore.newReadOnlyTransaction().read(path).get();
+        assertTrue(data.isPresent());
+        return data.get();
+    }
+
+    private static void commit(final DOMStoreWriteTransaction tx) throws Exception {
+        final DOMStoreThreePhaseCommitCohort cohort = tx.ready();
+        assertTrue(cohort.canCommit().get());
+        cohort.preCommit().get();
+        cohort.commit().get();
+    }
+
+    private static NodeIdentifierWithPredicates outerListEntryId(final int id) {
+        return new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id);
+    }
+
+    private static YangInstanceIdentifier outerListEntry(final int id) {
+        return TestModel.OUTER_LIST_PATH.node(outerListEntryId(id));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Collection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.md.sal.dom.store.impl.TestModel;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class InMemoryDOMDataStoreGroupCommitTest {
+
+    private InMemoryDOMDataStore domStore;
+    private DOMDataTreeChangeListener listener;
+
+    @Before
+    public void setUp() {
+        domStore = new InMemoryDOMDataStore("TEST", DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            MoreExecutors.newDirectExecutorService(), 1000, false, 3, 1_000_000);
+        domStore.onGlobalContextUpdated(TestModel.createTestContext());
+
+        listener = mock(DOMDataTreeChangeListener.class);
+        doNothing().when(listener).onInitialData();
+        doNothing().when(listener).onDataTreeChanged(any());
+        domStore.registerTreeChangeListener(TestModel.TEST_PATH, listener);
+        verify(listener).onInitialData();
+    }
+
+    @After
+    public void tearDown() {
+        domStore.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatchSize() throws Exception {
+        commitOuterListEntry(1);
+        commitOuterListEntry(2);
+        verify(listener, never()).onDataTreeChanged(any());
+
+        commitOuterListEntry(3);
+        final ArgumentCaptor<Collection<DataTreeCandidate>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(listener).onDataTreeChanged(captor.capture());
+        assertEquals(3, captor.getValue().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWindow() throws Exception {
+        commitOuterListEntry(1);
+
+        final ArgumentCaptor<Collection<DataTreeCandidate>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(listener, timeout(5000)).onDataTreeChanged(captor.capture());
+        assertEquals(1, captor.getValue().size());
+    }
+
+    @Test
+    public void testWindowRestartsAfterBatchSize() throws Exception {
+        commitOuterListEntry(1);
+        commitOuterListEntry(2);
+        commitOuterListEntry(3);
+        verify(listener).onDataTreeChanged(any());
+
+        // The window of the first batch would expire 300ms from now, it must not flush the next batch
+        Thread.sleep(700);
+        commitOuterListEntry(4);
+        verify(listener, after(600).times(1)).onDataTreeChanged(any());
+        verify(listener, timeout(5000).times(2)).onDataTreeChanged(any());
+    }
+
+    @Test
+    public void testFlushOnRegistration() throws Exception {
+        commitOuterListEntry(1);
+
+        final DOMDataTreeChangeListener second = mock(DOMDataTreeChangeListener.class);
+        doNothing().when(second).onDataTreeChanged(any());
+        domStore.registerTreeChangeListener(TestModel.TEST_PATH, second);
+
+        // Pending changes have been published before the new listener was registered
+        verify(listener).onDataTreeChanged(any());
+        verify(second).onDataTreeChanged(any());
+        verify(second, never()).onInitialData();
+    }
+
+    private void commitOuterListEntry(final int id) throws Exception {
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        if (id == 1) {
+            tx.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        }
+        tx.merge(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id)).build());
+
+        final DOMStoreThreePhaseCommitCohort cohort = tx.ready();
+        assertTrue(cohort.canCommit().get());
+        cohort.preCommit().get();
+        cohort.commit().get();
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.controller.md.sal.dom.store.impl.TestModel;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class InMemoryDOMDataStorePersistenceTest {
+    private static final SchemaContext SCHEMA_CONTEXT = TestModel.createTestContext();
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testJournalRecovery() throws Exception {
+        final Path directory = folder.getRoot().toPath();
+        final InMemoryDOMDataStore first = openStore(directory, 100);
+        commitOuterListEntry(first, 1);
+        commitOuterListEntry(first, 2);
+        final NormalizedNode<?, ?> expected = readOuterList(first);
+        first.close();
+
+        assertTrue(Files.exists(directory.resolve("journal-1.bin")));
+        assertFalse(Files.exists(directory.resolve("snapshot-2.bin")));
+
+        final InMemoryDOMDataStore second = openStore(directory, 100);
+        assertEquals(expected, readOuterList(second));
+
+        // Recovered store continues journaling
+        commitOuterListEntry(second, 3);
+        final NormalizedNode<?, ?> expectedAfter = readOuterList(second);
+        second.close();
+
+        final InMemoryDOMDataStore third = openStore(directory, 100);
+        assertEquals(expectedAfter, readOuterList(third));
+        third.close();
+    }
+
+    @Test
+    public void testSnapshotRecovery() throws Exception {
+        final Path directory = folder.getRoot().toPath();
+        final InMemoryDOMDataStore first = openStore(directory, 2);
+        commitOuterListEntry(first, 1);
+        commitOuterListEntry(first, 2);
+        commitOuterListEntry(first, 3);
+        final NormalizedNode<?, ?> expected = readOuterList(first);
+        first.close();
+
+        // Snapshot covers the first two commits, the third one remains in the journal
+        assertTrue(Files.exists(directory.resolve("snapshot-2.bin")));
+        assertFalse(Files.exists(directory.resolve("journal-1.bin")));
+        assertTrue(Files.exists(directory.resolve("journal-3.bin")));
+
+        final InMemoryDOMDataStore second = openStore(directory, 2);
+        assertEquals(expected, readOuterList(second));
+        second.close();
+    }
+
+    @Test
+    public void testTornJournalTail() throws Exception {
+        final Path directory = folder.getRoot().toPath();
+        final InMemoryDOMDataStore first = openStore(directory, 100);
+        commitOuterListEntry(first, 1);
+        final NormalizedNode<?, ?> expected = readOuterList(first);
+        first.close();
+
+        // Simulate a crash in the middle of writing a record
+        try (FileChannel channel = FileChannel.open(directory.resolve("journal-1.bin"), StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 1, 0, 0, 0 }));
+        }
+
+        final InMemoryDOMDataStore second = openStore(directory, 100);
+        assertEquals(expected, readOuterList(second));
+        second.close();
+    }
+
+    @Test
+    public void testJournalFailureStopsStore() throws Exception {
+        final Path directory = folder.newFolder("journal").toPath();
+        final InMemoryDOMDataStore store = openStore(directory, 1);
+
+        // Replace the directory with a file, so that the journal fails when it switches to a new segment after the
+        // first commit
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                Files.delete(path);
+            }
+        }
+        Files.delete(directory);
+        Files.createFile(directory);
+
+        try {
+            commitOuterListEntry(store, 1);
+        } catch (ExecutionException e) {
+            // The first record may have been part of the failed write
+        }
+
+        try {
+            commitOuterListEntry(store, 2);
+            fail("Expected commit to fail");
+        } catch (ExecutionException | IllegalStateException e) {
+            // Expected
+        }
+
+        // The store has stopped serving data which has not been persisted
+        try {
+            store.newReadOnlyTransaction();
+            fail("Expected exception");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        try {
+            store.newWriteOnlyTransaction();
+            fail("Expected exception");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        store.close();
+    }
+
+    @Test
+    public void testAppendAfterClose() throws Exception {
+        final DataTree dataTree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL);
+        dataTree.setSchemaContext(SCHEMA_CONTEXT);
+        final DataTreeJournal journal = DataTreeJournal.recover("TEST", folder.getRoot().toPath(), 100,
+            dataTree.takeSnapshot().newModification(), cause -> fail("Unexpected journal failure " + cause));
+
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        modification.ready();
+        dataTree.validate(modification);
+        final DataTreeCandidate candidate = dataTree.prepare(modification);
+        journal.close();
+
+        // The writer has shut down, the record must not be left pending forever
+        final ListenableFuture<Void> future = journal.append(candidate);
+        assertTrue(future.isDone());
+        try {
+            future.get();
+            fail("Expected append to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertFalse(journal.needsSnapshot());
+    }
+
+    private static InMemoryDOMDataStore openStore(final Path directory, final int snapshotThreshold)
+            throws IOException {
+        final InMemoryDOMDataStore store = new InMemoryDOMDataStore("TEST", MoreExecutors.newDirectExecutorService());
+        store.onGlobalContextUpdated(SCHEMA_CONTEXT);
+        store.enablePersistence(directory, snapshotThreshold);
+        return store;
+    }
+
+    private static NormalizedNode<?, ?> readOuterList(final InMemoryDOMDataStore store) throws Exception {
+        final Optional<NormalizedNode<?, ?>> data = store.newReadOnlyTransaction().read(TestModel.OUTER_LIST_PATH)
+                .get();
+        assertTrue(data.isPresent());
+        assertTrue(data.get() instanceof MapNode);
+        return data.get();
+    }
+
+    private static void commitOuterListEntry(final InMemoryDOMDataStore store, final int id) throws Exception {
+        final DOMStoreWriteTransaction tx = store.newWriteOnlyTransaction();
+        if (id == 1) {
+            tx.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        }
+        tx.merge(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id)).build());
+
+        final DOMStoreThreePhaseCommitCohort cohort = tx.ready();
+        assertTrue(cohort.canCommit().get());
+        cohort.preCommit().get();
+        cohort.commit().get();
+    }
+}
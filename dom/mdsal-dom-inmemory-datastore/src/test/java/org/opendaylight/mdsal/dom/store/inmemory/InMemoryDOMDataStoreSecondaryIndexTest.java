@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.store.impl.TestModel;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class InMemoryDOMDataStoreSecondaryIndexTest {
+    private static final NodeIdentifier OUTER_LIST_ID = new NodeIdentifier(TestModel.OUTER_LIST_QNAME);
+    private static final NodeIdentifier INNER_LIST_ID = new NodeIdentifier(TestModel.INNER_LIST_QNAME);
+    private static final YangInstanceIdentifier OUTER_ENTRIES = TestModel.OUTER_LIST_PATH.node(OUTER_LIST_ID);
+    private static final YangInstanceIdentifier INNER_ENTRIES = OUTER_ENTRIES.node(INNER_LIST_ID)
+            .node(INNER_LIST_ID);
+    private static final YangInstanceIdentifier TWO = YangInstanceIdentifier.create(
+        new NodeIdentifier(TestModel.OUTER_CHOICE_QNAME), new NodeIdentifier(TestModel.TWO_QNAME));
+    private static final YangInstanceIdentifier VALUE = YangInstanceIdentifier.of(TestModel.VALUE_QNAME);
+
+    private InMemoryDOMDataStore domStore;
+
+    @Before
+    public void setUp() throws Exception {
+        domStore = new InMemoryDOMDataStore("TEST", MoreExecutors.newDirectExecutorService());
+        domStore.onGlobalContextUpdated(TestModel.createTestContext());
+
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        tx.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        tx.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(outerEntry(1, "a"))
+            .withChild(outerEntry(2, "b"))
+            .build());
+        commit(tx);
+
+        domStore.enableSecondaryIndexes(ImmutableMultimap.of(OUTER_ENTRIES, TWO, INNER_ENTRIES, VALUE));
+    }
+
+    @After
+    public void tearDown() {
+        domStore.close();
+    }
+
+    @Test
+    public void testExistingData() throws Exception {
+        final Map<YangInstanceIdentifier, MapEntryNode> found = domStore.lookup(OUTER_ENTRIES, TWO, "a").get();
+        assertEquals(1, found.size());
+        assertEquals(outerEntry(1, "a"), found.get(outerListEntry(1)));
+        assertTrue(domStore.lookup(OUTER_ENTRIES, TWO, "c").get().isEmpty());
+    }
+
+    @Test
+    public void testCommittedChanges() throws Exception {
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        tx.write(outerListEntry(1), outerEntry(1, "b"));
+        tx.write(outerListEntry(3), outerEntry(3, "c"));
+        commit(tx);
+
+        assertTrue(domStore.lookup(OUTER_ENTRIES, TWO, "a").get().isEmpty());
+        final Map<YangInstanceIdentifier, MapEntryNode> found = domStore.lookup(OUTER_ENTRIES, TWO, "b").get();
+        assertEquals(2, found.size());
+        assertEquals(outerEntry(1, "b"), found.get(outerListEntry(1)));
+        assertEquals(outerEntry(2, "b"), found.get(outerListEntry(2)));
+        assertEquals(1, domStore.lookup(OUTER_ENTRIES, TWO, "c").get().size());
+
+        final DOMStoreWriteTransaction delete = domStore.newWriteOnlyTransaction();
+        delete.delete(TestModel.OUTER_LIST_PATH);
+        commit(delete);
+        assertTrue(domStore.lookup(OUTER_ENTRIES, TWO, "b").get().isEmpty());
+        assertTrue(domStore.lookup(OUTER_ENTRIES, TWO, "c").get().isEmpty());
+    }
+
+    @Test
+    public void testNestedList() throws Exception {
+        final YangInstanceIdentifier innerList = outerListEntry(2).node(INNER_LIST_ID);
+        final YangInstanceIdentifier innerEntry = innerList.node(
+            new NodeIdentifierWithPredicates(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "x"));
+        final MapEntryNode inner = Builders.mapEntryBuilder()
+                .withNodeIdentifier((NodeIdentifierWithPredicates) innerEntry.getLastPathArgument())
+                .withChild(ImmutableNodes.leafNode(TestModel.NAME_QNAME, "x"))
+                .withChild(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, "v"))
+                .build();
+
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        tx.write(innerList, Builders.orderedMapBuilder().withNodeIdentifier(INNER_LIST_ID).withChild(inner).build());
+        commit(tx);
+
+        final Map<YangInstanceIdentifier, MapEntryNode> found = domStore.lookup(INNER_ENTRIES, VALUE, "v").get();
+        assertEquals(1, found.size());
+        assertEquals(inner, found.get(innerEntry));
+
+        final DOMStoreWriteTransaction delete = domStore.newWriteOnlyTransaction();
+        delete.delete(outerListEntry(2));
+        commit(delete);
+        assertTrue(domStore.lookup(INNER_ENTRIES, VALUE, "v").get().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotIndexed() {
+        domStore.lookup(OUTER_ENTRIES, VALUE, "a");
+    }
+
+    private static MapEntryNode outerEntry(final int id, final String two) {
+        return Builders.mapEntryBuilder()
+                .withNodeIdentifier(outerListEntryId(id))
+                .withChild(ImmutableNodes.leafNode(TestModel.ID_QNAME, id))
+                .withChild(Builders.choiceBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(TestModel.OUTER_CHOICE_QNAME))
+                    .withChild(ImmutableNodes.leafNode(TestModel.TWO_QNAME, two))
+                    .build())
+                .build();
+    }
+
+    private static void commit(final DOMStoreWriteTransaction tx) throws Exception {
+        final DOMStoreThreePhaseCommitCohort cohort = tx.ready();
+        assertTrue(cohort.canCommit().get());
+        cohort.preCommit().get();
+        cohort.commit().get();
+    }
+
+    private static NodeIdentifierWithPredicates outerListEntryId(final int id) {
+        return new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id);
+    }
+
+    private static YangInstanceIdentifier outerListEntry(final int id) {
+        return TestModel.OUTER_LIST_PATH.node(outerListEntryId(id));
+    }
+}
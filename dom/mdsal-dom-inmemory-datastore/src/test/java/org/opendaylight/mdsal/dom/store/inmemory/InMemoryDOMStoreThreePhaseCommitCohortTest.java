@@ -12,12 +12,16 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import com.google.common.util.concurrent.Futures;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.concurrent.ExecutionException;
 import org.junit.Before;
@@ -173,10 +177,34 @@ public class InMemoryDOMStoreThreePhaseCommitCohortTest {
 
     @Test
     public void commitTest() throws Exception {
-        doNothing().when(IN_MEMORY_DOM_DATA_STORE).commit(any());
+        doReturn(Futures.immediateFuture(null)).when(IN_MEMORY_DOM_DATA_STORE).commit(any());
         doReturn(DATA_TREE_CANDIDATE).when(IN_MEMORY_DOM_DATA_STORE).prepare(any());
         inMemoryDOMStoreThreePhaseCommitCohort.preCommit();
         inMemoryDOMStoreThreePhaseCommitCohort.commit();
         verify(IN_MEMORY_DOM_DATA_STORE).commit(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void abortValidatedTest() throws Exception {
+        doNothing().when(IN_MEMORY_DOM_DATA_STORE).validate(any());
+        assertTrue(inMemoryDOMStoreThreePhaseCommitCohort.canCommit().get());
+        inMemoryDOMStoreThreePhaseCommitCohort.abort();
+        verify(IN_MEMORY_DOM_DATA_STORE).abort(isNull());
+    }
+
+    @Test
+    public void abortAfterFailedCommitTest() throws Exception {
+        doNothing().when(IN_MEMORY_DOM_DATA_STORE).validate(any());
+        doReturn(DATA_TREE_CANDIDATE).when(IN_MEMORY_DOM_DATA_STORE).prepare(any());
+        doReturn(Futures.immediateFailedFuture(new IOException("testException")))
+                .when(IN_MEMORY_DOM_DATA_STORE).commit(any());
+        assertTrue(inMemoryDOMStoreThreePhaseCommitCohort.canCommit().get());
+        inMemoryDOMStoreThreePhaseCommitCohort.preCommit().get();
+        inMemoryDOMStoreThreePhaseCommitCohort.commit();
+
+        // The commit has released the candidate already
+        inMemoryDOMStoreThreePhaseCommitCohort.abort();
+        verify(IN_MEMORY_DOM_DATA_STORE).commit(DATA_TREE_CANDIDATE);
+        verify(IN_MEMORY_DOM_DATA_STORE, never()).abort(any());
+    }
+}
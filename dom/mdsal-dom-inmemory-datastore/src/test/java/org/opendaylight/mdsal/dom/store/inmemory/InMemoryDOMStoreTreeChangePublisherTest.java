@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.md.sal.dom.store.impl.TestModel;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class InMemoryDOMStoreTreeChangePublisherTest {
+    private static final YangInstanceIdentifier OUTER_LIST_ENTRY_1 = outerListEntry(1);
+    private static final YangInstanceIdentifier OUTER_LIST_ENTRY_2 = outerListEntry(2);
+    private static final YangInstanceIdentifier OUTER_LIST_WILDCARD =
+            TestModel.OUTER_LIST_PATH.node(TestModel.OUTER_LIST_QNAME);
+
+    private InMemoryDOMDataStore domStore;
+
+    @Before
+    public void setUp() throws Exception {
+        domStore = new InMemoryDOMDataStore("TEST", MoreExecutors.newDirectExecutorService());
+        domStore.onGlobalContextUpdated(TestModel.createTestContext());
+
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        tx.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        tx.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1))
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2))
+            .build());
+
+        final DOMStoreThreePhaseCommitCohort cohort = tx.ready();
+        assertTrue(cohort.canCommit().get());
+        cohort.preCommit().get();
+        cohort.commit().get();
+    }
+
+    @After
+    public void tearDown() {
+        domStore.close();
+    }
+
+    @Test
+    public void testExactPath() {
+        assertEquals(ImmutableSet.of(OUTER_LIST_ENTRY_1), registerAndCapture(OUTER_LIST_ENTRY_1));
+    }
+
+    @Test
+    public void testWildcardPath() {
+        assertEquals(ImmutableSet.of(OUTER_LIST_ENTRY_1, OUTER_LIST_ENTRY_2), registerAndCapture(OUTER_LIST_WILDCARD));
+    }
+
+    @Test
+    public void testWildcardLeafPath() {
+        assertEquals(ImmutableSet.of(OUTER_LIST_ENTRY_1.node(TestModel.ID_QNAME),
+            OUTER_LIST_ENTRY_2.node(TestModel.ID_QNAME)),
+            registerAndCapture(OUTER_LIST_WILDCARD.node(TestModel.ID_QNAME)));
+    }
+
+    @Test
+    public void testNonExistentPath() {
+        final DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        doNothing().when(listener).onInitialData();
+        domStore.registerTreeChangeListener(outerListEntry(3), listener);
+
+        verify(listener).onInitialData();
+        verify(listener, never()).onDataTreeChanged(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<YangInstanceIdentifier> registerAndCapture(final YangInstanceIdentifier path) {
+        final DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        doNothing().when(listener).onDataTreeChanged(any());
+        domStore.registerTreeChangeListener(path, listener);
+
+        final ArgumentCaptor<Collection<DataTreeCandidate>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(listener).onDataTreeChanged(captor.capture());
+        verify(listener, never()).onInitialData();
+
+        final Collection<DataTreeCandidate> candidates = captor.getValue();
+        candidates.forEach(candidate -> assertEquals(ModificationType.WRITE,
+            candidate.getRootNode().getModificationType()));
+        return candidates.stream().map(DataTreeCandidate::getRootPath).collect(Collectors.toSet());
+    }
+
+    private static YangInstanceIdentifier outerListEntry(final int id) {
+        return TestModel.OUTER_LIST_PATH.node(new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME,
+            TestModel.ID_QNAME, id));
+    }
+}
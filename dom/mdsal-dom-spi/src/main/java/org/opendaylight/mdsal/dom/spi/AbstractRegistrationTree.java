@@ -7,29 +7,41 @@
  */
 package org.opendaylight.mdsal.dom.spi;
 
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.StampedLock;
+import java.util.function.UnaryOperator;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * An abstract tree of registrations. Allows a read-only snapshot to be taken.
  *
+ * <p>
+ * The tree is persistent: each modification creates a new root, which shares all unmodified nodes with the previous
+ * root, and publishes it through a single volatile field. Taking a snapshot is therefore a single volatile read and
+ * never blocks, nor is it blocked by, modifications. Modifications are serialized by a lock.
+ *
  * @param <T> Type of registered object
  */
 public abstract class AbstractRegistrationTree<T> {
-    private final RegistrationTreeNode<T> rootNode = new RegistrationTreeNode<>(null, null);
-    private final Lock writeLock;
-    private final Lock readLock;
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractRegistrationTree.class);
+
+    private final Lock writeLock = new StampedLock().asWriteLock();
+
+    private volatile RegistrationTreeNode<T> rootNode = RegistrationTreeNode.empty(ImmutableList.of());
 
     protected AbstractRegistrationTree() {
-        final StampedLock lock = new StampedLock();
-        readLock = lock.asReadLock();
-        writeLock = lock.asWriteLock();
+        // Nothing else to do
     }
 
     /**
-     * Acquire the read-write lock. This should be done before invoking {@link #findNodeFor(Iterable)}. This method
+     * Acquire the modification lock. This should be done before invoking {@link #findNodeFor(Iterable)}. This method
      * must not be called when the lock is already held by this thread.
      */
     protected final void takeLock() {
@@ -37,23 +49,29 @@ public abstract class AbstractRegistrationTree<T> {
     }
 
     /**
-     * Release the read-write lock. This should be done after invocation of {@link #findNodeFor(Iterable)}
-     * and modification of the returned node. Note that callers should do so in a finally block.
+     * Release the modification lock. This should be done after invocation of {@link #findNodeFor(Iterable)}
+     * and {@link #addRegistration(RegistrationTreeNode, Object)}. Note that callers should do so in a finally block.
      */
     protected final void releaseLock() {
         writeLock.unlock();
     }
 
     /**
-     * Find an existing, or allocate a fresh, node for a particular path. Must be called with the lock held.
+     * Find an existing, or allocate a fresh, node for a particular path. Must be called with the lock held. The
+     * returned node is not attached to the tree until a registration is added to it.
      *
      * @param path Path to find a node for
      * @return A registration node for the specified path
      */
     protected final @NonNull RegistrationTreeNode<T> findNodeFor(final @NonNull Iterable<PathArgument> path) {
+        final List<PathArgument> args = ImmutableList.copyOf(path);
         RegistrationTreeNode<T> walkNode = rootNode;
-        for (final PathArgument arg : path) {
-            walkNode = walkNode.ensureChild(arg);
+        for (int i = 0; i < args.size(); ++i) {
+            final RegistrationTreeNode<T> child = walkNode.getExactChild(args.get(i));
+            if (child == null) {
+                return RegistrationTreeNode.empty(args);
+            }
+            walkNode = child;
         }
 
         return walkNode;
@@ -67,7 +85,9 @@ public abstract class AbstractRegistrationTree<T> {
      * @param registration Registration instance
      */
     protected final void addRegistration(final @NonNull RegistrationTreeNode<T> node, final @NonNull T registration) {
-        node.addRegistration(registration);
+        requireNonNull(registration);
+        rootNode = update(rootNode, node.getPath(), 0, target -> target.withRegistration(registration));
+        LOG.debug("Registration {} added", registration);
     }
 
     /**
@@ -78,10 +98,13 @@ public abstract class AbstractRegistrationTree<T> {
      */
     protected final void removeRegistration(final @NonNull RegistrationTreeNode<T> node,
             final @NonNull T registration) {
+        requireNonNull(registration);
+
         // Take the write lock
         writeLock.lock();
         try {
-            node.removeRegistration(registration);
+            rootNode = update(rootNode, node.getPath(), 0, target -> target.withoutRegistration(registration));
+            LOG.debug("Registration {} removed", registration);
         } finally {
             // Always release the lock
             writeLock.unlock();
@@ -89,14 +112,33 @@ public abstract class AbstractRegistrationTree<T> {
     }
 
     /**
-     * Obtain a tree snapshot. This snapshot ensures a consistent view of
-     * registrations. The snapshot should be closed as soon as it is not required,
-     * because each unclosed instance blocks modification of this tree.
+     * Obtain a tree snapshot. This snapshot ensures a consistent view of registrations. Since the tree is immutable,
+     * unclosed snapshots do not block modification of this tree, but they should be closed nevertheless.
      *
      * @return A snapshot instance.
      */
     public final @NonNull RegistrationTreeSnapshot<T> takeSnapshot() {
-        readLock.lock();
-        return new RegistrationTreeSnapshot<>(readLock, rootNode);
+        return new RegistrationTreeSnapshot<>(rootNode);
+    }
+
+    /**
+     * Create a copy of a subtree, with the node at the specified path replaced by the result of an operation.
+     * Missing nodes are created and nodes which become empty are pruned.
+     */
+    private static <T> RegistrationTreeNode<T> update(final RegistrationTreeNode<T> node,
+            final List<PathArgument> path, final int offset, final UnaryOperator<RegistrationTreeNode<T>> operation) {
+        if (offset == path.size()) {
+            return operation.apply(node);
+        }
+
+        final PathArgument arg = path.get(offset);
+        final RegistrationTreeNode<T> child = node.getExactChild(arg);
+        final RegistrationTreeNode<T> newChild = update(
+            child != null ? child : RegistrationTreeNode.empty(path.subList(0, offset + 1)), path, offset + 1,
+                operation);
+        if (newChild == child) {
+            return node;
+        }
+        return newChild.isEmpty() ? node.withoutChild(arg) : node.withChild(newChild);
     }
 }
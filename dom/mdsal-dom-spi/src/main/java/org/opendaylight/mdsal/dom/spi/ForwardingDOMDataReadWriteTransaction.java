@@ -9,10 +9,13 @@ package org.opendaylight.mdsal.dom.spi;
 
 import com.google.common.collect.ForwardingObject;
 import com.google.common.util.concurrent.FluentFuture;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.mdsal.common.api.CommitInfo;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeProjectedReadOperations;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadWriteTransaction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -22,7 +25,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
  * method invocation to a delegate instance.
  */
 public abstract class ForwardingDOMDataReadWriteTransaction extends ForwardingObject
-        implements DOMDataTreeReadWriteTransaction {
+        implements DOMDataTreeReadWriteTransaction, DOMDataTreeProjectedReadOperations {
     @Override
     protected abstract @NonNull DOMDataTreeReadWriteTransaction delegate();
 
@@ -32,11 +35,23 @@ public abstract class ForwardingDOMDataReadWriteTransaction extends ForwardingOb
         return delegate().read(store, path);
     }
 
+    @Override
+    public FluentFuture<Optional<NormalizedNode<?, ?>>> read(final LogicalDatastoreType store,
+            final YangInstanceIdentifier path, final Collection<YangInstanceIdentifier> fields) {
+        return NormalizedNodeProjection.read(delegate(), store, path, fields);
+    }
+
     @Override
     public FluentFuture<Boolean> exists(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
         return delegate().exists(store, path);
     }
 
+    @Override
+    public FluentFuture<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>> readAll(
+            final LogicalDatastoreType store, final Collection<YangInstanceIdentifier> paths) {
+        return delegate().readAll(store, paths);
+    }
+
     @Override
     public Object getIdentifier() {
         return delegate().getIdentifier();
@@ -9,6 +9,7 @@ package org.opendaylight.mdsal.dom.spi;
 
 import com.google.common.collect.ForwardingObject;
 import com.google.common.util.concurrent.ListenableFuture;
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.mdsal.dom.api.DOMNotification;
 import org.opendaylight.mdsal.dom.api.DOMNotificationPublishService;
@@ -39,4 +40,16 @@ public abstract class ForwardingDOMNotificationPublishService extends
             final TimeUnit unit) throws InterruptedException {
         return delegate().offerNotification(notification, timeout, unit);
     }
+
+    @Override
+    public ListenableFuture<? extends Object> putNotifications(
+            final Collection<? extends DOMNotification> notifications) throws InterruptedException {
+        return delegate().putNotifications(notifications);
+    }
+
+    @Override
+    public ListenableFuture<? extends Object> offerNotifications(
+            final Collection<? extends DOMNotification> notifications) {
+        return delegate().offerNotifications(notifications);
+    }
 }
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.spi;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeProjectedReadOperations;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeReadOperations;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedLeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
+
+/**
+ * Utility for projecting a {@link NormalizedNode} onto a set of fields, each identified by a path relative to the node.
+ * The result contains the subtree at each of the fields, along with the nodes leading to it. All other nodes are
+ * pruned. Selected subtrees are shared with the original node, only the nodes leading to them are rebuilt.
+ *
+ * <p>
+ * Within a field, a {@link NodeIdentifier} matching the node type of a keyed list, unkeyed list or leaf-list selects
+ * all of its entries, in the same way as it does in data tree change listener registrations. Key leaves of selected
+ * keyed list entries are always retained.
+ */
+@Beta
+public final class NormalizedNodeProjection {
+    private static final class Selection {
+        // Null if the entire node is selected
+        private Map<PathArgument, Selection> children = new LinkedHashMap<>();
+
+        boolean isAll() {
+            return children == null;
+        }
+
+        void selectAll() {
+            children = null;
+        }
+
+        Selection addChild(final PathArgument arg) {
+            return children.computeIfAbsent(arg, key -> new Selection());
+        }
+
+        Selection getChild(final PathArgument arg) {
+            return children.get(arg);
+        }
+
+        static Selection merge(final Selection first, final Selection second) {
+            if (first == null) {
+                return second;
+            }
+            if (second == null || first == second) {
+                return first;
+            }
+
+            final Selection ret = new Selection();
+            if (first.isAll() || second.isAll()) {
+                ret.selectAll();
+                return ret;
+            }
+            for (Entry<PathArgument, Selection> entry : first.children.entrySet()) {
+                ret.children.put(entry.getKey(), merge(entry.getValue(), second.children.get(entry.getKey())));
+            }
+            for (Entry<PathArgument, Selection> entry : second.children.entrySet()) {
+                ret.children.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+            return ret;
+        }
+    }
+
+    private NormalizedNodeProjection() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Project a node onto a set of fields.
+     *
+     * @param node Node to project
+     * @param fields Paths of selected fields, relative to the node. An empty collection selects the entire node.
+     * @return Projected node
+     * @throws NullPointerException if any of the arguments is null
+     */
+    public static NormalizedNode<?, ?> project(final NormalizedNode<?, ?> node,
+            final Collection<YangInstanceIdentifier> fields) {
+        if (fields.isEmpty()) {
+            return node;
+        }
+
+        final Selection root = new Selection();
+        for (YangInstanceIdentifier field : fields) {
+            Selection selection = root;
+            for (PathArgument arg : field.getPathArguments()) {
+                if (selection.isAll()) {
+                    break;
+                }
+                selection = selection.addChild(arg);
+            }
+            selection.selectAll();
+        }
+        return project(node, root);
+    }
+
+    /**
+     * Project an optional node onto a set of fields.
+     *
+     * @param node Optional node to project
+     * @param fields Paths of selected fields, relative to the node. An empty collection selects the entire node.
+     * @return Projected node, or empty if the node is not present
+     * @throws NullPointerException if any of the arguments is null
+     */
+    public static Optional<NormalizedNode<?, ?>> project(final Optional<NormalizedNode<?, ?>> node,
+            final Collection<YangInstanceIdentifier> fields) {
+        return node.map(present -> project(present, fields));
+    }
+
+    /**
+     * Read a projection of data from a logical data store. If the supplied operations are
+     * {@link DOMDataTreeProjectedReadOperations}, the read is delegated to them. Otherwise the whole subtree is read
+     * and projected afterwards.
+     *
+     * @param operations Read operations to use
+     * @param store Logical data store from which read should occur
+     * @param path Path which uniquely identifies subtree which client want to read
+     * @param fields Paths of selected fields, relative to the path. An empty collection selects the entire subtree.
+     * @return a FluentFuture containing the result of the read, as specified by
+     *         {@link DOMDataTreeProjectedReadOperations#read(LogicalDatastoreType, YangInstanceIdentifier, Collection)}
+     * @throws NullPointerException if any of the arguments is null
+     */
+    public static FluentFuture<Optional<NormalizedNode<?, ?>>> read(final DOMDataTreeReadOperations operations,
+            final LogicalDatastoreType store, final YangInstanceIdentifier path,
+            final Collection<YangInstanceIdentifier> fields) {
+        if (operations instanceof DOMDataTreeProjectedReadOperations) {
+            return ((DOMDataTreeProjectedReadOperations) operations).read(store, path, fields);
+        }
+        requireNonNull(fields);
+        return operations.read(store, path).transform(data -> project(data, fields), MoreExecutors.directExecutor());
+    }
+
+    private static NormalizedNode<?, ?> project(final NormalizedNode<?, ?> node, final Selection selection) {
+        if (selection.isAll()) {
+            return node;
+        }
+        if (node instanceof DataContainerNode) {
+            return projectContainer((DataContainerNode<?>) node, selection);
+        }
+        if (node instanceof MapNode) {
+            return projectMap((MapNode) node, selection);
+        }
+        if (node instanceof UnkeyedListNode) {
+            return projectUnkeyedList((UnkeyedListNode) node, selection);
+        }
+        if (node instanceof LeafSetNode) {
+            return projectLeafSet((LeafSetNode<?>) node, selection);
+        }
+
+        // Leaves and anyxml nodes have no children to prune
+        return node;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static NormalizedNode<?, ?> projectContainer(final DataContainerNode<?> node,
+            final Selection selection) {
+        final NormalizedNodeContainerBuilder builder = newContainerBuilder(node);
+        builder.withNodeIdentifier(node.getIdentifier());
+
+        if (node instanceof MapEntryNode) {
+            for (QName key : ((MapEntryNode) node).getIdentifier().getKeyValues().keySet()) {
+                final NodeIdentifier keyId = new NodeIdentifier(key);
+                if (selection.getChild(keyId) == null) {
+                    node.getChild(keyId).ifPresent(builder::addChild);
+                }
+            }
+        }
+
+        for (Entry<PathArgument, Selection> entry : selection.children.entrySet()) {
+            final Optional<DataContainerChild<? extends PathArgument, ?>> child = node.getChild(entry.getKey());
+            if (child.isPresent()) {
+                builder.addChild(project(child.get(), entry.getValue()));
+            }
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static NormalizedNode<?, ?> projectMap(final MapNode node, final Selection selection) {
+        final boolean ordered = node instanceof OrderedMapNode;
+        final NormalizedNodeContainerBuilder builder = ordered ? Builders.orderedMapBuilder() : Builders.mapBuilder();
+        builder.withNodeIdentifier(node.getIdentifier());
+
+        final Selection wildcard = selection.getChild(node.getIdentifier());
+        if (wildcard == null && !ordered) {
+            // Only specific entries are selected, look them up instead of iterating over all entries
+            for (Entry<PathArgument, Selection> entry : selection.children.entrySet()) {
+                if (entry.getKey() instanceof NodeIdentifierWithPredicates) {
+                    node.getChild((NodeIdentifierWithPredicates) entry.getKey())
+                        .ifPresent(child -> builder.addChild(project(child, entry.getValue())));
+                }
+            }
+        } else {
+            for (MapEntryNode child : node.getValue()) {
+                final Selection childSelection = Selection.merge(wildcard, selection.getChild(child.getIdentifier()));
+                if (childSelection != null) {
+                    builder.addChild(project(child, childSelection));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static NormalizedNode<?, ?> projectUnkeyedList(final UnkeyedListNode node, final Selection selection) {
+        final NormalizedNodeContainerBuilder builder = Builders.unkeyedListBuilder();
+        builder.withNodeIdentifier(node.getIdentifier());
+
+        // Entries of an unkeyed list cannot be addressed individually
+        final Selection wildcard = selection.getChild(node.getIdentifier());
+        if (wildcard != null) {
+            for (UnkeyedListEntryNode child : node.getValue()) {
+                builder.addChild(project(child, wildcard));
+            }
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static NormalizedNode<?, ?> projectLeafSet(final LeafSetNode<?> node, final Selection selection) {
+        if (selection.getChild(node.getIdentifier()) != null) {
+            return node;
+        }
+
+        final NormalizedNodeContainerBuilder builder = node instanceof OrderedLeafSetNode
+                ? Builders.orderedLeafSetBuilder() : Builders.leafSetBuilder();
+        builder.withNodeIdentifier(node.getIdentifier());
+        for (LeafSetEntryNode<?> child : node.getValue()) {
+            if (selection.getChild(child.getIdentifier()) != null) {
+                builder.addChild(child);
+            }
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static NormalizedNodeContainerBuilder newContainerBuilder(final DataContainerNode<?> node) {
+        if (node instanceof ContainerNode) {
+            return Builders.containerBuilder();
+        }
+        if (node instanceof MapEntryNode) {
+            return Builders.mapEntryBuilder();
+        }
+        if (node instanceof AugmentationNode) {
+            return Builders.augmentationBuilder();
+        }
+        if (node instanceof ChoiceNode) {
+            return Builders.choiceBuilder();
+        }
+        if (node instanceof UnkeyedListEntryNode) {
+            return Builders.unkeyedListEntryBuilder();
+        }
+        throw new IllegalArgumentException("Unsupported node " + node);
+    }
+}
@@ -10,48 +10,59 @@ package org.opendaylight.mdsal.dom.spi;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects;
-import java.lang.ref.Reference;
-import java.lang.ref.WeakReference;
-import java.util.ArrayList;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.Map.Entry;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.concepts.Identifiable;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
- * This is a single node within the registration tree. Note that the data returned from
- * and instance of this class is guaranteed to have any relevance or consistency
- * only as long as the {@link RegistrationTreeSnapshot} instance through which it is reached
- * remains unclosed.
+ * This is a single node within the registration tree. Instances are immutable: modifications of the tree create
+ * new nodes along the modified path, sharing all other nodes with the previous version of the tree. The data returned
+ * from an instance of this class is therefore consistent with the {@link RegistrationTreeSnapshot} through which it
+ * was reached and never changes.
  *
  * @param <T> registration type
  * @author Robert Varga
  */
 public final class RegistrationTreeNode<T> implements Identifiable<PathArgument> {
-    private static final Logger LOG = LoggerFactory.getLogger(RegistrationTreeNode.class);
+    private final ImmutableMap<PathArgument, RegistrationTreeNode<T>> children;
+    // Children identified by a NodeIdentifier, indexed by their QName, so wildcard lookups do not need to allocate
+    private final ImmutableMap<QName, RegistrationTreeNode<T>> wildcardChildren;
+    private final ImmutableList<T> registrations;
+    private final ImmutableList<PathArgument> path;
+
+    private RegistrationTreeNode(final ImmutableList<PathArgument> path,
+            final ImmutableMap<PathArgument, RegistrationTreeNode<T>> children,
+            final ImmutableMap<QName, RegistrationTreeNode<T>> wildcardChildren,
+            final ImmutableList<T> registrations) {
+        this.path = requireNonNull(path);
+        this.children = requireNonNull(children);
+        this.wildcardChildren = requireNonNull(wildcardChildren);
+        this.registrations = requireNonNull(registrations);
+    }
 
-    private final Map<PathArgument, RegistrationTreeNode<T>> children = new HashMap<>();
-    private final Collection<T> registrations = new ArrayList<>(2);
-    private final Collection<T> publicRegistrations = Collections.unmodifiableCollection(registrations);
-    private final Reference<RegistrationTreeNode<T>> parent;
-    private final PathArgument identifier;
+    private RegistrationTreeNode(final ImmutableList<PathArgument> path,
+            final ImmutableMap<PathArgument, RegistrationTreeNode<T>> children, final ImmutableList<T> registrations) {
+        this(path, children, indexWildcardChildren(children), registrations);
+    }
 
-    RegistrationTreeNode(final RegistrationTreeNode<T> parent, final PathArgument identifier) {
-        this.parent = new WeakReference<>(parent);
-        this.identifier = identifier;
+    static <T> @NonNull RegistrationTreeNode<T> empty(final @NonNull List<PathArgument> path) {
+        return new RegistrationTreeNode<>(ImmutableList.copyOf(path), ImmutableMap.of(), ImmutableMap.of(),
+            ImmutableList.of());
     }
 
     @Override
     public PathArgument getIdentifier() {
-        return identifier;
+        return path.isEmpty() ? null : path.get(path.size() - 1);
     }
 
     /**
@@ -72,67 +83,114 @@ public final class RegistrationTreeNode<T> implements Identifiable<PathArgument>
      * @return Collection of children, guaranteed to be non-null.
      */
     public @NonNull Collection<RegistrationTreeNode<T>> getInexactChildren(final @NonNull PathArgument arg) {
-        requireNonNull(arg);
-        if (arg instanceof NodeWithValue || arg instanceof NodeIdentifierWithPredicates) {
-            /*
-             * TODO: This just all-or-nothing wildcards, which we have historically supported. Given
-             *       that the argument is supposed to have all the elements filled out, we could support
-             *       partial wildcards by iterating over the registrations and matching the maps for
-             *       partial matches.
-             */
-            final RegistrationTreeNode<T> child = children.get(new NodeIdentifier(arg.getNodeType()));
-            if (child == null) {
-                return Collections.emptyList();
-            }
+        final RegistrationTreeNode<T> child = getWildcardChild(arg);
+        return child == null ? Collections.emptyList() : Collections.singletonList(child);
+    }
 
-            return Collections.singletonList(child);
-        }
+    /**
+     * Return the child which matches a {@link PathArgument} specification inexactly. This is the allocation-free
+     * equivalent of {@link #getInexactChildren(PathArgument)}.
+     *
+     * @param arg Child identifier
+     * @return Child matching inexactly, or null.
+     */
+    public RegistrationTreeNode<T> getWildcardChild(final @NonNull PathArgument arg) {
+        requireNonNull(arg);
+        /*
+         * TODO: This just all-or-nothing wildcards, which we have historically supported. Given
+         *       that the argument is supposed to have all the elements filled out, we could support
+         *       partial wildcards by iterating over the registrations and matching the maps for
+         *       partial matches.
+         */
+        return arg instanceof NodeWithValue || arg instanceof NodeIdentifierWithPredicates
+                ? wildcardChildren.get(arg.getNodeType()) : null;
+    }
 
-        return Collections.emptyList();
+    /**
+     * Check whether this node has any children.
+     *
+     * @return True if this node has at least one child.
+     */
+    public boolean hasChildren() {
+        return !children.isEmpty();
     }
 
     public Collection<T> getRegistrations() {
-        return publicRegistrations;
+        return registrations;
     }
 
-    RegistrationTreeNode<T> ensureChild(final @NonNull PathArgument child) {
-        RegistrationTreeNode<T> potential = children.get(requireNonNull(child));
-        if (potential == null) {
-            potential = new RegistrationTreeNode<>(this, child);
-            children.put(child, potential);
-        }
-        return potential;
+    /**
+     * Return the path of this node from the root of the tree.
+     *
+     * @return Path of this node
+     */
+    @NonNull List<PathArgument> getPath() {
+        return path;
     }
 
-    void addRegistration(final @NonNull T registration) {
-        registrations.add(requireNonNull(registration));
-        LOG.debug("Registration {} added", registration);
+    private static <T> ImmutableMap<QName, RegistrationTreeNode<T>> indexWildcardChildren(
+            final ImmutableMap<PathArgument, RegistrationTreeNode<T>> children) {
+        final ImmutableMap.Builder<QName, RegistrationTreeNode<T>> builder = ImmutableMap.builder();
+        for (Entry<PathArgument, RegistrationTreeNode<T>> entry : children.entrySet()) {
+            if (entry.getKey() instanceof NodeIdentifier) {
+                builder.put(entry.getKey().getNodeType(), entry.getValue());
+            }
+        }
+        return builder.build();
     }
 
-    void removeRegistration(final @NonNull T registration) {
-        registrations.remove(requireNonNull(registration));
-        LOG.debug("Registration {} removed", registration);
+    boolean isEmpty() {
+        return registrations.isEmpty() && children.isEmpty();
+    }
 
-        // We have been called with the write-lock held, so we can perform some cleanup.
-        removeThisIfUnused();
+    @NonNull RegistrationTreeNode<T> withChild(final @NonNull RegistrationTreeNode<T> child) {
+        final PathArgument arg = child.getIdentifier();
+        final ImmutableMap.Builder<PathArgument, RegistrationTreeNode<T>> builder =
+                ImmutableMap.builderWithExpectedSize(children.size() + 1);
+        for (Entry<PathArgument, RegistrationTreeNode<T>> entry : children.entrySet()) {
+            if (!arg.equals(entry.getKey())) {
+                builder.put(entry);
+            }
+        }
+        builder.put(arg, child);
+        return new RegistrationTreeNode<>(path, builder.build(), registrations);
     }
 
-    private void removeThisIfUnused() {
-        final RegistrationTreeNode<T> p = parent.get();
-        if (p != null && registrations.isEmpty() && children.isEmpty()) {
-            p.removeChild(identifier);
+    @NonNull RegistrationTreeNode<T> withoutChild(final @NonNull PathArgument arg) {
+        if (!children.containsKey(arg)) {
+            return this;
         }
+
+        final ImmutableMap.Builder<PathArgument, RegistrationTreeNode<T>> builder =
+                ImmutableMap.builderWithExpectedSize(children.size() - 1);
+        for (Entry<PathArgument, RegistrationTreeNode<T>> entry : children.entrySet()) {
+            if (!arg.equals(entry.getKey())) {
+                builder.put(entry);
+            }
+        }
+        return new RegistrationTreeNode<>(path, builder.build(), registrations);
     }
 
-    private void removeChild(final PathArgument arg) {
-        children.remove(arg);
-        removeThisIfUnused();
+    @NonNull RegistrationTreeNode<T> withRegistration(final @NonNull T registration) {
+        return new RegistrationTreeNode<>(path, children, wildcardChildren, ImmutableList.<T>builderWithExpectedSize(
+            registrations.size() + 1).addAll(registrations).add(requireNonNull(registration)).build());
+    }
+
+    @NonNull RegistrationTreeNode<T> withoutRegistration(final @NonNull T registration) {
+        final int index = registrations.indexOf(requireNonNull(registration));
+        if (index == -1) {
+            return this;
+        }
+
+        return new RegistrationTreeNode<>(path, children, wildcardChildren, ImmutableList.<T>builderWithExpectedSize(
+            registrations.size() - 1).addAll(registrations.subList(0, index))
+                .addAll(registrations.subList(index + 1, registrations.size())).build());
     }
 
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
-                .add("identifier", identifier)
+                .add("identifier", getIdentifier())
                 .add("registrations", registrations.size())
                 .add("children", children.size()).toString();
     }
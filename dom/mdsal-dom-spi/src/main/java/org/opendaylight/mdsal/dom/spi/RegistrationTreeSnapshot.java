@@ -9,22 +9,20 @@ package org.opendaylight.mdsal.dom.spi;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.concurrent.locks.Lock;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.opendaylight.yangtools.concepts.AbstractRegistration;
 
 /**
- * A stable read-only snapshot of a {@link AbstractRegistrationTree}.
+ * A stable read-only snapshot of a {@link AbstractRegistrationTree}. The snapshot holds an immutable version of the
+ * tree, hence closing it does not need to release any resources.
  *
  * @author Robert Varga
  */
 @NonNullByDefault
 public final class RegistrationTreeSnapshot<T> extends AbstractRegistration {
     private final RegistrationTreeNode<T> node;
-    private final Lock lock;
 
-    RegistrationTreeSnapshot(final Lock lock, final RegistrationTreeNode<T> node) {
-        this.lock = requireNonNull(lock);
+    RegistrationTreeSnapshot(final RegistrationTreeNode<T> node) {
         this.node = requireNonNull(node);
     }
 
@@ -34,6 +32,6 @@ public final class RegistrationTreeSnapshot<T> extends AbstractRegistration {
 
     @Override
     protected void removeRegistration() {
-        lock.unlock();
+        // No-op
     }
 }
@@ -128,9 +128,10 @@ public abstract class AbstractDOMStoreTreeChangePublisher
                 lookupAndNotify(args, offset + 1, exactChild, candidate, listenerChanges);
             }
 
-            for (RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> c :
-                    node.getInexactChildren(arg)) {
-                lookupAndNotify(args, offset + 1, c, candidate, listenerChanges);
+            final RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> wildcardChild
+                = node.getWildcardChild(arg);
+            if (wildcardChild != null) {
+                lookupAndNotify(args, offset + 1, wildcardChild, candidate, listenerChanges);
             }
         } else {
             notifyNode(candidate.getRootPath(), node, candidate.getRootNode(), listenerChanges);
@@ -151,17 +152,24 @@ public abstract class AbstractDOMStoreTreeChangePublisher
             addToListenerChanges(regs, path, candNode, listenerChanges);
         }
 
+        if (!regNode.hasChildren()) {
+            // Nobody is listening on anything below this node, do not bother looking at candidate children
+            return;
+        }
+
         for (DataTreeCandidateNode candChild : candNode.getChildNodes()) {
             if (candChild.getModificationType() != ModificationType.UNMODIFIED) {
+                final PathArgument childId = candChild.getIdentifier();
                 final RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> regChild =
-                        regNode.getExactChild(candChild.getIdentifier());
+                        regNode.getExactChild(childId);
                 if (regChild != null) {
-                    notifyNode(path.node(candChild.getIdentifier()), regChild, candChild, listenerChanges);
+                    notifyNode(path.node(childId), regChild, candChild, listenerChanges);
                 }
 
-                for (RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> rc :
-                    regNode.getInexactChildren(candChild.getIdentifier())) {
-                    notifyNode(path.node(candChild.getIdentifier()), rc, candChild, listenerChanges);
+                final RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> wildcardChild =
+                        regNode.getWildcardChild(childId);
+                if (wildcardChild != null) {
+                    notifyNode(path.node(childId), wildcardChild, candChild, listenerChanges);
                 }
             }
         }
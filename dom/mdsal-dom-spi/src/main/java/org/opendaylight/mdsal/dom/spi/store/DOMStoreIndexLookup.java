@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.spi.store;
+
+import com.google.common.annotations.Beta;
+import com.google.common.util.concurrent.FluentFuture;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIndexService;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+
+/**
+ * Interface implemented by {@link DOMStore}s which maintain secondary indexes of keyed lists, backing
+ * {@link DOMDataTreeIndexService}.
+ */
+@Beta
+public interface DOMStoreIndexLookup {
+    /**
+     * Look up entries of a keyed list whose indexed leaf has the specified value, as specified by
+     * {@link DOMDataTreeIndexService#lookup(org.opendaylight.mdsal.common.api.LogicalDatastoreType,
+     * YangInstanceIdentifier, YangInstanceIdentifier, Object)}.
+     *
+     * @param list Wildcarded path of the list entries
+     * @param leaf Path of the indexed leaf, relative to a list entry
+     * @param value Value of the leaf to look up
+     * @return a FluentFuture containing matching entries, keyed by their path
+     * @throws NullPointerException if any of the arguments is null
+     * @throws IllegalArgumentException if this store does not index the list by the leaf
+     */
+    @NonNull FluentFuture<Map<YangInstanceIdentifier, MapEntryNode>> lookup(@NonNull YangInstanceIdentifier list,
+            @NonNull YangInstanceIdentifier leaf, @NonNull Object value);
+}
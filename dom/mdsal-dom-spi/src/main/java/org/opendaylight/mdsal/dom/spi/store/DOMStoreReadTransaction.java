@@ -8,8 +8,12 @@
 package org.opendaylight.mdsal.dom.spi.store;
 
 import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
+import org.opendaylight.mdsal.dom.spi.NormalizedNodeProjection;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
@@ -55,4 +59,51 @@ public interface DOMStoreReadTransaction extends DOMStoreTransaction {
      *         </ul>
      */
     FluentFuture<Boolean> exists(YangInstanceIdentifier path);
+
+    /**
+     * Reads a projection of data from provided logical data store located at provided path. The result contains only
+     * the subtrees identified by the supplied fields, along with the nodes leading to them, as defined by
+     * {@link NormalizedNodeProjection}.
+     *
+     * <p>
+     * Default implementation reads the whole subtree and prunes it afterwards.
+     *
+     * @param path
+     *            Path which uniquely identifies subtree which client want to
+     *            read
+     * @param fields
+     *            Paths of the fields which client want to read, relative to
+     *            {@code path}. An empty collection selects the whole subtree.
+     * @return a FluentFuture containing the result of the read, as specified by
+     *         {@link #read(YangInstanceIdentifier)}.
+     */
+    default FluentFuture<Optional<NormalizedNode<?, ?>>> read(final YangInstanceIdentifier path,
+            final Collection<YangInstanceIdentifier> fields) {
+        return read(path).transform(data -> NormalizedNodeProjection.project(data, fields),
+            MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Reads data from provided logical data store located at each of the provided paths, from the same state of
+     * the data store.
+     *
+     * <p>
+     * Default implementation issues an individual {@link #read(YangInstanceIdentifier)} for each path.
+     * Implementations are recommended to override it with a more efficient implementation.
+     *
+     * @param paths
+     *            Paths which uniquely identify subtrees which client want to
+     *            read
+     * @return a FluentFuture containing the results of the read. Once complete:
+     *         <ul>
+     *         <li>The Future returns a Map with an entry for each distinct path, in the order
+     *         in which the paths were supplied, containing the result of reading that path.</li>
+     *         <li>If the read of any of the paths fails, the Future will fail with a
+     *         {@link ReadFailedException} or an exception derived from ReadFailedException.</li>
+     *         </ul>
+     */
+    default FluentFuture<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>> readAll(
+            final Collection<YangInstanceIdentifier> paths) {
+        return IndividualReads.readAll(paths, this::read);
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.spi.store;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Utility methods for implementing multi-path reads on top of single-path reads.
+ */
+final class IndividualReads {
+    private IndividualReads() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Read multiple paths by issuing an individual read for each distinct path and combining their results.
+     *
+     * @param paths Paths to read
+     * @param read Function issuing a single read
+     * @return Future map of results, with an entry for each distinct path in the order of supplied paths
+     */
+    static <P, T> FluentFuture<Map<P, T>> readAll(final Collection<P> paths,
+            final Function<P, FluentFuture<T>> read) {
+        final List<P> distinct = ImmutableSet.copyOf(paths).asList();
+        final ImmutableList.Builder<FluentFuture<T>> reads = ImmutableList.builder();
+        for (P path : distinct) {
+            reads.add(read.apply(path));
+        }
+
+        return FluentFuture.from(Futures.allAsList(reads.build())).transform(results -> {
+            final ImmutableMap.Builder<P, T> builder = ImmutableMap.builder();
+            final Iterator<T> it = results.iterator();
+            for (P path : distinct) {
+                builder.put(path, it.next());
+            }
+            return builder.build();
+        }, MoreExecutors.directExecutor());
+    }
+}
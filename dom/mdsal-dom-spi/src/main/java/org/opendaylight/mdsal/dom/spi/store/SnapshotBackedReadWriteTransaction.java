@@ -12,6 +12,8 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.annotations.Beta;
 import com.google.common.util.concurrent.FluentFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
 import org.opendaylight.yangtools.util.concurrent.FluentFutures;
@@ -59,6 +61,26 @@ public final class SnapshotBackedReadWriteTransaction<T> extends
         return FluentFutures.immediateFluentFuture(result);
     }
 
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    @Override
+    public FluentFuture<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>> readAll(
+            final Collection<YangInstanceIdentifier> paths) {
+        LOG.debug("Tx: {} Read: {}", getIdentifier(), paths);
+        requireNonNull(paths, "Paths must not be null.");
+
+        final Optional<DataTreeSnapshot> snapshot = getSnapshot();
+        if (!snapshot.isPresent()) {
+            return FluentFutures.immediateFailedFluentFuture(new ReadFailedException("Transaction is closed"));
+        }
+
+        try {
+            return FluentFutures.immediateFluentFuture(SnapshotReads.readAll(snapshot.get(), paths));
+        } catch (Exception e) {
+            LOG.error("Tx: {} Failed Read of {}", getIdentifier(), paths, e);
+            return FluentFutures.immediateFailedFluentFuture(new ReadFailedException("Read failed", e));
+        }
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     public FluentFuture<Boolean> exists(final YangInstanceIdentifier path) {
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.spi.store;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+
+/**
+ * Utility methods for reading multiple paths from a {@link DataTreeSnapshot}.
+ */
+final class SnapshotReads {
+    private SnapshotReads() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Read multiple paths from a snapshot. The snapshot is consulted only once for each distinct top-level node, and
+     * the paths are then resolved from there, with each common prefix of the paths being resolved only once. The root
+     * itself is not read unless it is requested, as reading it from a modification would apply all of its pending
+     * changes, not only those affecting the requested paths.
+     *
+     * @param snapshot Snapshot to read from
+     * @param paths Paths to read
+     * @return Map of results, with an entry for each distinct path in the order of supplied paths
+     */
+    static Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> readAll(final DataTreeSnapshot snapshot,
+            final Collection<YangInstanceIdentifier> paths) {
+        final Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> resolved = new HashMap<>();
+        final ImmutableMap.Builder<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> builder =
+                ImmutableMap.builder();
+        for (YangInstanceIdentifier path : ImmutableSet.copyOf(paths)) {
+            builder.put(path, resolve(snapshot, resolved, path));
+        }
+        return builder.build();
+    }
+
+    private static Optional<NormalizedNode<?, ?>> resolve(final DataTreeSnapshot snapshot,
+            final Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> resolved,
+            final YangInstanceIdentifier path) {
+        final Optional<NormalizedNode<?, ?>> existing = resolved.get(path);
+        if (existing != null) {
+            return existing;
+        }
+
+        final YangInstanceIdentifier parentPath = path.getParent();
+        final Optional<NormalizedNode<?, ?>> ret;
+        if (parentPath == null || YangInstanceIdentifier.EMPTY.equals(parentPath)) {
+            ret = snapshot.readNode(path);
+        } else {
+            final Optional<NormalizedNode<?, ?>> parent = resolve(snapshot, resolved, parentPath);
+            ret = parent.isPresent() ? NormalizedNodes.getDirectChild(parent.get(), path.getLastPathArgument())
+                    : Optional.empty();
+        }
+        resolved.put(path, ret);
+        return ret;
+    }
+}
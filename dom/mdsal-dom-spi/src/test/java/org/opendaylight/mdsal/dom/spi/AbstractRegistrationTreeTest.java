@@ -9,6 +9,8 @@ package org.opendaylight.mdsal.dom.spi;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -21,21 +23,50 @@ public class AbstractRegistrationTreeTest extends AbstractRegistrationTree<Objec
     @Test
     public void basicTest() throws Exception {
         final PathArgument pathArgument = mock(PathArgument.class);
-        final RegistrationTreeNode<Object> registrationTreeNodeParent = new RegistrationTreeNode<>(null, pathArgument);
-        final RegistrationTreeNode<Object> registrationTreeNode =
-                new RegistrationTreeNode<>(registrationTreeNodeParent, pathArgument);
-
         final Object registration = new Object();
+
         this.takeLock();
+        final RegistrationTreeNode<Object> registrationTreeNode = this.findNodeFor(ImmutableList.of(pathArgument));
+        assertNotNull(registrationTreeNode);
         this.addRegistration(registrationTreeNode, registration);
-        assertTrue(registrationTreeNode.getRegistrations().contains(registration));
         this.releaseLock();
 
+        final RegistrationTreeSnapshot<Object> snapshot = this.takeSnapshot();
+        final RegistrationTreeNode<Object> added = snapshot.getRootNode().getExactChild(pathArgument);
+        assertNotNull(added);
+        assertTrue(added.getRegistrations().contains(registration));
+
         this.removeRegistration(registrationTreeNode, registration);
-        assertFalse(registrationTreeNode.getRegistrations().contains(registration));
+        assertNull(this.takeSnapshot().getRootNode().getExactChild(pathArgument));
+
+        // The old snapshot is not affected by the removal
+        assertTrue(snapshot.getRootNode().getExactChild(pathArgument).getRegistrations().contains(registration));
+        snapshot.close();
+    }
+
+    @Test
+    public void sharedNodeTest() throws Exception {
+        final PathArgument parentArg = mock(PathArgument.class);
+        final PathArgument firstArg = mock(PathArgument.class);
+        final PathArgument secondArg = mock(PathArgument.class);
+        final Object first = new Object();
+        final Object second = new Object();
+
+        this.takeLock();
+        final RegistrationTreeNode<Object> firstNode = this.findNodeFor(ImmutableList.of(parentArg, firstArg));
+        this.addRegistration(firstNode, first);
+        final RegistrationTreeNode<Object> secondNode = this.findNodeFor(ImmutableList.of(parentArg, secondArg));
+        this.addRegistration(secondNode, second);
+        this.releaseLock();
+
+        final RegistrationTreeNode<Object> before = this.takeSnapshot().getRootNode().getExactChild(parentArg);
+        this.removeRegistration(secondNode, second);
 
-        assertNotNull(this.findNodeFor(ImmutableList.of(pathArgument)));
-        assertNotNull(this.takeSnapshot());
+        final RegistrationTreeNode<Object> after = this.takeSnapshot().getRootNode().getExactChild(parentArg);
+        assertNotNull(after);
+        assertNull(after.getExactChild(secondArg));
+        assertSame(before.getExactChild(firstArg), after.getExactChild(firstArg));
+        assertFalse(after.getExactChild(firstArg).getRegistrations().isEmpty());
     }
 
     @Test(expected = IllegalMonitorStateException.class)
@@ -12,6 +12,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import com.google.common.collect.ImmutableList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -40,6 +42,15 @@ public class ForwardingDOMNotificationPublishServiceTest extends ForwardingDOMNo
         doReturn(null).when(domNotificationPublishService).offerNotification(domNotification, 1, TimeUnit.MILLISECONDS);
         this.offerNotification(domNotification, 1, TimeUnit.MILLISECONDS);
         verify(domNotificationPublishService).offerNotification(domNotification, 1, TimeUnit.MILLISECONDS);
+
+        final List<DOMNotification> batch = ImmutableList.of(domNotification);
+        doReturn(null).when(domNotificationPublishService).putNotifications(batch);
+        this.putNotifications(batch);
+        verify(domNotificationPublishService).putNotifications(batch);
+
+        doReturn(null).when(domNotificationPublishService).offerNotifications(batch);
+        this.offerNotifications(batch);
+        verify(domNotificationPublishService).offerNotifications(batch);
     }
 
     @Override
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.FluentFuture;
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeProjectedReadOperations;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeReadOperations;
+import org.opendaylight.yangtools.util.concurrent.FluentFutures;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class NormalizedNodeProjectionTest {
+    private static final QName TOP = QName.create("urn:test", "top");
+    private static final QName LIST = QName.create(TOP, "list");
+    private static final QName ID = QName.create(TOP, "id");
+    private static final QName NAME = QName.create(TOP, "name");
+    private static final QName DESCRIPTION = QName.create(TOP, "description");
+    private static final QName NESTED = QName.create(TOP, "nested");
+
+    private static final NodeIdentifier LIST_ID = new NodeIdentifier(LIST);
+    private static final NodeIdentifier NAME_ID = new NodeIdentifier(NAME);
+    private static final NodeIdentifier DESCRIPTION_ID = new NodeIdentifier(DESCRIPTION);
+    private static final NodeIdentifier NESTED_ID = new NodeIdentifier(NESTED);
+
+    private static final ContainerNode NESTED_NODE = ImmutableNodes.containerNode(NESTED);
+    private static final ContainerNode DATA = Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(TOP))
+            .withChild(ImmutableNodes.leafNode(DESCRIPTION, "top"))
+            .withChild(NESTED_NODE)
+            .withChild(ImmutableNodes.mapNodeBuilder(LIST).withChild(entry(1)).withChild(entry(2)).build())
+            .build();
+
+    @Test
+    public void testNoFields() {
+        assertSame(DATA, NormalizedNodeProjection.project(DATA, ImmutableList.of()));
+        assertSame(DATA, NormalizedNodeProjection.project(DATA, ImmutableList.of(YangInstanceIdentifier.EMPTY)));
+    }
+
+    @Test
+    public void testContainerChildren() {
+        final ContainerNode projected = (ContainerNode) NormalizedNodeProjection.project(DATA,
+            ImmutableList.of(YangInstanceIdentifier.create(NESTED_ID)));
+        assertEquals(1, projected.getValue().size());
+        assertSame(NESTED_NODE, projected.getChild(NESTED_ID).get());
+    }
+
+    @Test
+    public void testWildcardListEntries() {
+        final ContainerNode projected = (ContainerNode) NormalizedNodeProjection.project(DATA,
+            ImmutableList.of(YangInstanceIdentifier.create(LIST_ID, LIST_ID, NAME_ID)));
+        assertFalse(projected.getChild(DESCRIPTION_ID).isPresent());
+
+        final MapNode list = (MapNode) projected.getChild(LIST_ID).get();
+        assertEquals(2, list.getValue().size());
+        for (MapEntryNode entry : list.getValue()) {
+            // Key leaf is retained along with the selected leaf
+            assertEquals(2, entry.getValue().size());
+            assertTrue(entry.getChild(new NodeIdentifier(ID)).isPresent());
+            assertTrue(entry.getChild(NAME_ID).isPresent());
+            assertFalse(entry.getChild(DESCRIPTION_ID).isPresent());
+        }
+    }
+
+    @Test
+    public void testSpecificListEntry() {
+        final NodeIdentifierWithPredicates first = entryId(1);
+        final NodeIdentifierWithPredicates second = entryId(2);
+        final ContainerNode projected = (ContainerNode) NormalizedNodeProjection.project(DATA, ImmutableList.of(
+            YangInstanceIdentifier.create(LIST_ID, first), YangInstanceIdentifier.create(LIST_ID, LIST_ID, NAME_ID)));
+
+        final MapNode list = (MapNode) projected.getChild(LIST_ID).get();
+        assertSame(((MapNode) DATA.getChild(LIST_ID).get()).getChild(first).get(), list.getChild(first).get());
+        assertEquals(2, list.getChild(second).get().getValue().size());
+    }
+
+    @Test
+    public void testMissingField() {
+        final ContainerNode projected = (ContainerNode) NormalizedNodeProjection.project(DATA,
+            ImmutableList.of(YangInstanceIdentifier.create(new NodeIdentifier(QName.create(TOP, "missing")))));
+        assertTrue(projected.getValue().isEmpty());
+    }
+
+    @Test
+    public void testReadFallback() throws Exception {
+        final YangInstanceIdentifier path = YangInstanceIdentifier.create(new NodeIdentifier(TOP));
+        final DOMDataTreeReadOperations operations = mock(DOMDataTreeReadOperations.class);
+        doReturn(FluentFutures.immediateFluentFuture(Optional.of(DATA))).when(operations)
+            .read(LogicalDatastoreType.OPERATIONAL, path);
+
+        final ContainerNode projected = (ContainerNode) NormalizedNodeProjection.read(operations,
+            LogicalDatastoreType.OPERATIONAL, path, ImmutableList.of(YangInstanceIdentifier.create(NESTED_ID)))
+                .get().get();
+        assertEquals(1, projected.getValue().size());
+        assertSame(NESTED_NODE, projected.getChild(NESTED_ID).get());
+    }
+
+    @Test
+    public void testReadProjected() {
+        final YangInstanceIdentifier path = YangInstanceIdentifier.create(new NodeIdentifier(TOP));
+        final ImmutableList<YangInstanceIdentifier> fields = ImmutableList.of(YangInstanceIdentifier.create(NESTED_ID));
+        final FluentFuture<Optional<NormalizedNode<?, ?>>> future = FluentFutures.immediateFluentFuture(
+            Optional.of(DATA));
+        final DOMDataTreeProjectedReadOperations operations = mock(DOMDataTreeProjectedReadOperations.class);
+        doReturn(future).when(operations).read(LogicalDatastoreType.OPERATIONAL, path, fields);
+
+        assertSame(future, NormalizedNodeProjection.read(operations, LogicalDatastoreType.OPERATIONAL, path, fields));
+        verify(operations, never()).read(LogicalDatastoreType.OPERATIONAL, path);
+    }
+
+    private static NodeIdentifierWithPredicates entryId(final int id) {
+        return new NodeIdentifierWithPredicates(LIST, ID, id);
+    }
+
+    private static MapEntryNode entry(final int id) {
+        return Builders.mapEntryBuilder()
+                .withNodeIdentifier(entryId(id))
+                .withChild(ImmutableNodes.leafNode(ID, id))
+                .withChild(ImmutableNodes.leafNode(NAME, "name" + id))
+                .withChild(ImmutableNodes.leafNode(DESCRIPTION, "description" + id))
+                .build();
+    }
+}
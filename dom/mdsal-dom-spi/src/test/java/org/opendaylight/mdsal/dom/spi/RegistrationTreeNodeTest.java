@@ -10,10 +10,13 @@ package org.opendaylight.mdsal.dom.spi;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
+import com.google.common.collect.ImmutableList;
 import java.util.Collections;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -26,33 +29,44 @@ public class RegistrationTreeNodeTest {
     @Test
     public void basicTest() throws Exception {
         final PathArgument pathArgument = mock(PathArgument.class);
-        final RegistrationTreeNode<Object> registrationTreeNodeParent = new RegistrationTreeNode<>(null, pathArgument);
         final RegistrationTreeNode<Object> registrationTreeNode =
-                new RegistrationTreeNode<>(registrationTreeNodeParent, pathArgument);
+                RegistrationTreeNode.empty(ImmutableList.of(pathArgument, pathArgument));
 
         assertEquals(pathArgument, registrationTreeNode.getIdentifier());
+        assertTrue(registrationTreeNode.isEmpty());
 
         final Object registration = new Object();
         assertFalse(registrationTreeNode.getRegistrations().contains(registration));
-        registrationTreeNode.addRegistration(registration);
-        assertTrue(registrationTreeNode.getRegistrations().contains(registration));
-        registrationTreeNode.removeRegistration(registration);
+        final RegistrationTreeNode<Object> withRegistration = registrationTreeNode.withRegistration(registration);
+        assertTrue(withRegistration.getRegistrations().contains(registration));
         assertFalse(registrationTreeNode.getRegistrations().contains(registration));
-        registrationTreeNode.removeRegistration(registration);
+        final RegistrationTreeNode<Object> withoutRegistration = withRegistration.withoutRegistration(registration);
+        assertFalse(withoutRegistration.getRegistrations().contains(registration));
+        assertSame(withoutRegistration, withoutRegistration.withoutRegistration(registration));
 
-        assertNotNull(registrationTreeNode.ensureChild(pathArgument));
-        assertNotNull(registrationTreeNode.getExactChild(pathArgument));
+        final RegistrationTreeNode<Object> child = RegistrationTreeNode.empty(
+            ImmutableList.of(pathArgument, pathArgument, pathArgument));
+        final RegistrationTreeNode<Object> withChild = registrationTreeNode.withChild(child);
+        assertSame(child, withChild.getExactChild(pathArgument));
+        assertNull(registrationTreeNode.getExactChild(pathArgument));
+        assertNull(withChild.withoutChild(pathArgument).getExactChild(pathArgument));
 
         final NodeWithValue<?> nodeWithValue = new NodeWithValue<>(QName.create("", "testNode"), new Object());
-        assertEquals(Collections.EMPTY_LIST, registrationTreeNode.getInexactChildren(nodeWithValue));
-        assertEquals(Collections.EMPTY_LIST, registrationTreeNode.getInexactChildren(pathArgument));
+        assertEquals(Collections.EMPTY_LIST, withChild.getInexactChildren(nodeWithValue));
+        assertEquals(Collections.EMPTY_LIST, withChild.getInexactChildren(pathArgument));
 
         final NodeIdentifier nodeWithoutValue = new NodeIdentifier(QName.create("", "testNode"));
-        assertNotNull(registrationTreeNode.ensureChild(nodeWithoutValue));
-        assertFalse(registrationTreeNode.getInexactChildren(nodeWithValue).isEmpty());
+        final RegistrationTreeNode<Object> withWildcard = withChild.withChild(RegistrationTreeNode.empty(
+            ImmutableList.of(pathArgument, pathArgument, nodeWithoutValue)));
+        assertFalse(withWildcard.getInexactChildren(nodeWithValue).isEmpty());
+        assertSame(withWildcard.getExactChild(nodeWithoutValue), withWildcard.getWildcardChild(nodeWithValue));
+        assertNull(withWildcard.getWildcardChild(nodeWithoutValue));
+        assertNull(withChild.getWildcardChild(nodeWithValue));
+        assertTrue(withWildcard.hasChildren());
+        assertFalse(registrationTreeNode.hasChildren());
 
         doReturn("TestPathArgument").when(pathArgument).toString();
         assertNotNull(registrationTreeNode.toString());
         assertTrue(registrationTreeNode.toString().contains(pathArgument.toString()));
     }
-}
\ No newline at end of file
+}
@@ -9,11 +9,10 @@ package org.opendaylight.mdsal.dom.spi;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
-import static org.mockito.Mockito.doNothing;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
 
-import java.util.concurrent.locks.Lock;
+import com.google.common.collect.ImmutableList;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 
@@ -21,17 +20,15 @@ public class RegistrationTreeSnapshotTest {
 
     @Test
     public void basicTest() throws Exception {
-        final Lock lock = mock(Lock.class);
         final PathArgument pathArgument = mock(PathArgument.class);
-        final RegistrationTreeNode<?> registrationTreeNode = new RegistrationTreeNode<>(null, pathArgument);
+        final RegistrationTreeNode<?> registrationTreeNode = RegistrationTreeNode.empty(ImmutableList.of(pathArgument));
         final RegistrationTreeSnapshot<?> registrationTreeSnapshot =
-                new RegistrationTreeSnapshot<>(lock, registrationTreeNode);
+                new RegistrationTreeSnapshot<>(registrationTreeNode);
 
         assertNotNull(registrationTreeSnapshot.getRootNode());
         assertEquals(registrationTreeNode, registrationTreeSnapshot.getRootNode());
 
-        doNothing().when(lock).unlock();
         registrationTreeSnapshot.close();
-        verify(lock).unlock();
+        assertSame(registrationTreeNode, registrationTreeSnapshot.getRootNode());
     }
-}
\ No newline at end of file
+}
@@ -16,12 +16,20 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import java.lang.reflect.Field;
 import java.util.Optional;
 import org.junit.Test;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
 
@@ -51,6 +59,35 @@ public class SnapshotBackedReadTransactionTest {
         assertNull(stableSnapshot);
     }
 
+    @Test
+    public void readAllTest() throws Exception {
+        final NodeIdentifier containerId = new NodeIdentifier(QName.create("urn:test", "container"));
+        final NodeIdentifier leafId = new NodeIdentifier(QName.create("urn:test", "leaf"));
+        final NodeIdentifier otherId = new NodeIdentifier(QName.create("urn:test", "other"));
+        final YangInstanceIdentifier containerPath = YangInstanceIdentifier.create(containerId);
+        final YangInstanceIdentifier leafPath = containerPath.node(leafId);
+        final YangInstanceIdentifier otherPath = containerPath.node(otherId);
+
+        final ContainerNode container = mock(ContainerNode.class);
+        final LeafNode<?> leaf = mock(LeafNode.class);
+        doReturn(Optional.of(leaf)).when(container).getChild(leafId);
+        doReturn(Optional.empty()).when(container).getChild(otherId);
+
+        final DataTreeSnapshot snapshot = mock(DataTreeSnapshot.class);
+        doReturn(Optional.of(container)).when(snapshot).readNode(containerPath);
+        final SnapshotBackedReadTransaction<Object> tx = new SnapshotBackedReadTransaction<>(new Object(), false,
+            snapshot);
+
+        assertEquals(ImmutableMap.of(leafPath, Optional.of(leaf), otherPath, Optional.empty(),
+            containerPath, Optional.of(container)),
+            tx.readAll(ImmutableList.of(leafPath, otherPath, containerPath, leafPath)).get());
+
+        // The snapshot is consulted only once, for the top-level node, and common prefixes are resolved only once
+        verify(snapshot).readNode(containerPath);
+        verifyNoMoreInteractions(snapshot);
+        verify(container).getChild(leafId);
+    }
+
     @SuppressWarnings({ "checkstyle:IllegalThrows", "checkstyle:avoidHidingCauseException" })
     @Test(expected = ReadFailedException.class)
     public void readTestWithException() throws Throwable {
@@ -14,14 +14,22 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import org.junit.Before;
 import org.junit.Test;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
 import org.opendaylight.mdsal.dom.spi.store.SnapshotBackedWriteTransaction.TransactionReadyPrototype;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
@@ -51,6 +59,37 @@ public class SnapshotBackedReadWriteTransactionTest {
         assertEquals(optional, snapshotBackedReadWriteTransaction.read(YangInstanceIdentifier.EMPTY).get());
     }
 
+    @Test
+    public void readAllWithPendingWritesTest() throws Exception {
+        final NodeIdentifier containerId = new NodeIdentifier(QName.create("urn:test", "container"));
+        final NodeIdentifier leafId = new NodeIdentifier(QName.create("urn:test", "leaf"));
+        final YangInstanceIdentifier containerPath = YangInstanceIdentifier.create(containerId);
+        final YangInstanceIdentifier leafPath = containerPath.node(leafId);
+        final YangInstanceIdentifier otherPath = YangInstanceIdentifier.create(
+            new NodeIdentifier(QName.create("urn:test", "other")));
+
+        final DataTreeModification modification = mock(DataTreeModification.class);
+        final DataTreeSnapshot snapshot = mock(DataTreeSnapshot.class);
+        doReturn(modification).when(snapshot).newModification();
+        final SnapshotBackedReadWriteTransaction<Object> tx = new SnapshotBackedReadWriteTransaction<>(new Object(),
+            false, snapshot, TRANSACTION_READY_PROTOTYPE);
+
+        final ContainerNode container = mock(ContainerNode.class);
+        final LeafNode<?> leaf = mock(LeafNode.class);
+        doReturn(Optional.of(leaf)).when(container).getChild(leafId);
+        doReturn(Optional.of(container)).when(modification).readNode(containerPath);
+
+        tx.write(leafPath, leaf);
+        tx.write(otherPath, container);
+        assertEquals(ImmutableMap.of(leafPath, Optional.of(leaf), containerPath, Optional.of(container)),
+            tx.readAll(ImmutableList.of(leafPath, containerPath)).get());
+
+        // Only the requested top-level subtree is resolved from the pending modification, not its root
+        verify(modification).readNode(containerPath);
+        verify(modification, never()).readNode(YangInstanceIdentifier.EMPTY);
+        verify(modification, never()).readNode(otherPath);
+    }
+
     @SuppressWarnings({"checkstyle:IllegalThrows", "checkstyle:avoidHidingCauseException" })
     @Test(expected = ReadFailedException.class)
     public void readTestWithNullException() throws Throwable {